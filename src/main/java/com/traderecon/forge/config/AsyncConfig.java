@@ -1,19 +1,98 @@
 package com.traderecon.forge.config;
 
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.AdaptiveConcurrencyLimiter;
+import com.traderecon.forge.service.InstrumentedExecutor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * Executor used to process trades (processing.executor.strategy).
+ *
+ * - fixed: platform thread pool
+ * - work-stealing: ForkJoinPool in FIFO mode, for CPU-heavy workloads
+ * - virtual: one virtual thread per trade, so blocking JDBC calls do not
+ *   hold a platform thread; needs a JDK with virtual threads (21+) and
+ *   falls back to fixed otherwise
+ *
+ * Pools are sized so the adaptive concurrency limit can reach its maximum.
+ */
 @Configuration
+@Slf4j
 public class AsyncConfig {
 
     @Bean
-    public ExecutorService executorService(
-            @Value("${processing.thread-pool-size:8}") int threadPoolSize
+    public InstrumentedExecutor tradeExecutor(
+            @Value("${processing.executor.strategy:fixed}") String strategy,
+            @Value("${processing.thread-pool-size:8}") int threadPoolSize,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            ProcessingMetrics metrics
     ) {
-        return Executors.newFixedThreadPool(threadPoolSize);
+        int threads = concurrencyLimiter.isEnabled()
+                ? Math.max(threadPoolSize, concurrencyLimiter.getMaxLimit())
+                : threadPoolSize;
+        return tradeExecutor(strategy, threads, AsyncConfig::virtualThreadPerTask, metrics);
     }
-}
\ No newline at end of file
+
+    /**
+     * The executor for a strategy; virtualThreads gives null when virtual
+     * threads are not available.
+     */
+    static InstrumentedExecutor tradeExecutor(String strategy, int threads,
+                                              Supplier<ExecutorService> virtualThreads, ProcessingMetrics metrics) {
+        String selected = strategy;
+        ExecutorService delegate = switch (strategy) {
+            case "fixed" -> fixedPool(threads);
+            case "work-stealing" -> new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+            case "virtual" -> {
+                ExecutorService virtual = virtualThreads.get();
+                if (virtual == null) {
+                    log.warn("Virtual threads are not available on Java {}, using a fixed pool",
+                            Runtime.version().feature());
+                    selected = "fixed";
+                    yield fixedPool(threads);
+                }
+                yield virtual;
+            }
+            default -> throw new IllegalArgumentException("Unsupported processing.executor.strategy: " + strategy);
+        };
+
+        log.info("Trade executor strategy: {} ({} threads)", selected, "virtual".equals(selected) ? "per-trade" : threads);
+        return new InstrumentedExecutor(selected, delegate, metrics);
+    }
+
+    private static ExecutorService fixedPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "trade-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor(), looked up at runtime
+     * because the build targets Java 17.
+     */
+    private static ExecutorService virtualThreadPerTask() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
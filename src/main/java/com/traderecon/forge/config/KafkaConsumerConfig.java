@@ -9,8 +9,11 @@ import io.annapurna.model.EquityOption;
 import io.annapurna.model.EquitySwap;
 import io.annapurna.model.FXForward;
 import io.annapurna.model.InterestRateSwap;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.jsontype.NamedType;
 /**
@@ -18,6 +21,7 @@ import com.fasterxml.jackson.databind.jsontype.NamedType;
  *
  * Configures ObjectMapper for deserializing polymorphic Trade types from JSON.
  * Registers all trade subtypes for proper Jackson deserialization.
+ * Also provides the container factory used by the batch listener mode.
  */
 @Configuration
 public class KafkaConsumerConfig {
@@ -50,4 +54,22 @@ public class KafkaConsumerConfig {
 
         return mapper;
     }
-}
\ No newline at end of file
+
+    /**
+     * Container factory for kafka.listener.mode=batch.
+     *
+     * Inherits the spring.kafka.listener settings (manual ack, concurrency)
+     * and hands each poll to the listener as one List.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory
+    ) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        return factory;
+    }
+}
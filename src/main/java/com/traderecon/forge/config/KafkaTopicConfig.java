@@ -0,0 +1,37 @@
+package com.traderecon.forge.config;
+
+import com.traderecon.forge.consumer.DeadLetterPublisher;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka Topic Configuration
+ *
+ * Declares the retry tier and dead-letter topics so they exist before the
+ * first failed trade is published. Existing topics are left untouched.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    @Bean
+    public KafkaAdmin.NewTopics failureTopics(
+            DeadLetterPublisher deadLetterPublisher,
+            @Value("${kafka.topic.dead-letter}") String deadLetterTopic,
+            @Value("${kafka.retry.partitions:10}") int partitions
+    ) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String retryTopic : deadLetterPublisher.retryTopics()) {
+            topics.add(TopicBuilder.name(retryTopic).partitions(partitions).build());
+        }
+        topics.add(TopicBuilder.name(deadLetterTopic).partitions(partitions).build());
+
+        return new KafkaAdmin.NewTopics(topics.toArray(new NewTopic[0]));
+    }
+}
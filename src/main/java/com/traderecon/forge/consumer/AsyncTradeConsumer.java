@@ -0,0 +1,113 @@
+package com.traderecon.forge.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fully asynchronous listener (kafka.listener.mode=async).
+ *
+ * The listener thread only dispatches: every record of a poll is handed to
+ * the processing pipeline and the thread goes straight back to polling.
+ * Completion callbacks mark offsets in the {@link OffsetTracker}; the
+ * consumer thread commits the completed prefix at the start of each poll,
+ * and on container idle events so the tail of a burst is committed too.
+ *
+ * Nothing here waits on processing, so backpressure (pausing the
+ * containers) is what bounds the number of trades in flight. For the same
+ * reason a rewind happens while later offsets of the partition are still
+ * processing: records of this poll at or after the rewind point are skipped
+ * since they will be fetched again, and completions of the earlier dispatch
+ * are discarded by the tracker's generation check.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "kafka.listener.mode", havingValue = "async")
+public class AsyncTradeConsumer {
+
+    private final TradeDispatcher tradeDispatcher;
+    private final OffsetTracker offsetTracker;
+
+    @Autowired
+    public AsyncTradeConsumer(TradeDispatcher tradeDispatcher, OffsetTracker offsetTracker) {
+        this.tradeDispatcher = tradeDispatcher;
+        this.offsetTracker = offsetTracker;
+    }
+
+    @KafkaListener(
+            id = TradeConsumer.LISTENER_ID,
+            topics = "${kafka.topic.trade-input}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "3"
+    )
+    public void consumeTrades(List<ConsumerRecord<String, byte[]>> records, Consumer<?, ?> consumer) {
+        // Commit whatever finished since the previous poll
+        Map<TopicPartition, Long> rewinds = commitCompleted(consumer, consumer.assignment());
+
+        int dispatched = 0;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            Long rewoundTo = rewinds.get(partition);
+            if (rewoundTo != null && record.offset() >= rewoundTo) {
+                // Fetched before the seek; the next polls deliver it again
+                continue;
+            }
+            long generation = offsetTracker.track(partition, record.offset());
+
+            tradeDispatcher.dispatch(record).whenComplete((handled, error) -> {
+                if (error != null) {
+                    log.error("Failed to handle trade from partition {}, offset {}: {}",
+                            record.partition(), record.offset(), error.getMessage(), error);
+                }
+                offsetTracker.complete(partition, record.offset(), generation, error == null && handled);
+            });
+            dispatched++;
+        }
+
+        log.debug("Dispatched {} of {} trades", dispatched, records.size());
+    }
+
+    /**
+     * Runs on the idle container's consumer thread, so the consumer is safe to use.
+     */
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        Consumer<?, ?> consumer = event.getConsumer();
+        Collection<TopicPartition> partitions = event.getTopicPartitions();
+        if (consumer != null && partitions != null) {
+            commitCompleted(consumer, partitions);
+        }
+    }
+
+    /**
+     * @return the partitions that were rewound, with the offset each now resumes from
+     */
+    private Map<TopicPartition, Long> commitCompleted(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        OffsetTracker.Progress progress = offsetTracker.drain(partitions);
+
+        if (!progress.commits().isEmpty()) {
+            consumer.commitAsync(progress.commits(), (offsets, error) -> {
+                if (error != null) {
+                    log.warn("Failed to commit offsets {}: {}", offsets, error.getMessage());
+                }
+            });
+        }
+
+        // Records that could not be handed off (and everything after them) will be redelivered.
+        // Later offsets may still be processing; the tracker ignores their completions.
+        progress.rewinds().forEach(consumer::seek);
+        return progress.rewinds();
+    }
+}
@@ -0,0 +1,169 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.TradeProcessingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Pauses Kafka intake while the processing side is saturated.
+ *
+ * Samples in-flight trades, executor queue depth and heap usage on a fixed
+ * interval. When any of them reaches its high-water mark, or any trade was
+ * rejected by a full queue since the last check, the input topic's
+ * listener container ({@link TradeConsumer#LISTENER_ID}) is paused: its
+ * consumers keep polling (so no rebalance) but fetch nothing, and the
+ * backlog stays in Kafka. The retry tier containers keep running; they
+ * process one trade at a time per tier and have their own pauses while
+ * records wait out their backoff, which resuming here must not undo. A single trade type's bulkhead
+ * can fill before the shared queue depth gets anywhere near its mark; the
+ * rejections cover that case, and the rejected records are rewound rather
+ * than sent to a retry tier. Intake resumes once all signals are back
+ * under their low-water marks and nothing was rejected since the last
+ * check.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "processing.backpressure.enabled", havingValue = "true", matchIfMissing = true)
+public class BackpressureController {
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final TradeProcessingService processingService;
+    private final ProcessingMetrics metrics;
+    private final DoubleSupplier heapUsage;
+
+    private final int inFlightHigh;
+    private final int inFlightLow;
+    private final int queueDepthHigh;
+    private final int queueDepthLow;
+    private final double heapHigh;
+    private final double heapLow;
+
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean paused;
+    private volatile long pausedAt;
+    // Only touched by the monitor thread
+    private long lastRejected;
+
+    @Autowired
+    public BackpressureController(
+            KafkaListenerEndpointRegistry listenerRegistry,
+            TradeProcessingService processingService,
+            ProcessingMetrics metrics,
+            @Value("${processing.backpressure.in-flight-high:500}") int inFlightHigh,
+            @Value("${processing.backpressure.in-flight-low:250}") int inFlightLow,
+            @Value("${processing.backpressure.queue-depth-high:300}") int queueDepthHigh,
+            @Value("${processing.backpressure.queue-depth-low:100}") int queueDepthLow,
+            @Value("${processing.backpressure.heap-high:0.85}") double heapHigh,
+            @Value("${processing.backpressure.heap-low:0.70}") double heapLow,
+            @Value("${processing.backpressure.check-interval-ms:100}") long checkIntervalMs
+    ) {
+        this(listenerRegistry, processingService, metrics, inFlightHigh, inFlightLow, queueDepthHigh,
+                queueDepthLow, heapHigh, heapLow, checkIntervalMs, BackpressureController::heapUsage);
+    }
+
+    BackpressureController(KafkaListenerEndpointRegistry listenerRegistry, TradeProcessingService processingService,
+                           ProcessingMetrics metrics, int inFlightHigh, int inFlightLow, int queueDepthHigh,
+                           int queueDepthLow, double heapHigh, double heapLow, long checkIntervalMs,
+                           DoubleSupplier heapUsage) {
+        this.listenerRegistry = listenerRegistry;
+        this.processingService = processingService;
+        this.metrics = metrics;
+        this.heapUsage = heapUsage;
+        this.inFlightHigh = inFlightHigh;
+        this.inFlightLow = inFlightLow;
+        this.queueDepthHigh = queueDepthHigh;
+        this.queueDepthLow = queueDepthLow;
+        this.heapHigh = heapHigh;
+        this.heapLow = heapLow;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "backpressure-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::check, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("BackpressureController initialized (in-flight {}/{}, queue {}/{}, heap {}/{})",
+                inFlightHigh, inFlightLow, queueDepthHigh, queueDepthLow, heapHigh, heapLow);
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    void check() {
+        try {
+            int inFlight = processingService.getInFlightCount();
+            int queueDepth = processingService.getQueueDepth();
+            double heap = heapUsage.getAsDouble();
+            long rejected = processingService.getRejectedCount();
+            boolean rejecting = rejected > lastRejected;
+            lastRejected = rejected;
+
+            if (!paused) {
+                String reason = inFlight >= inFlightHigh ? "in_flight"
+                        : queueDepth >= queueDepthHigh ? "queue_depth"
+                        : heap >= heapHigh ? "heap"
+                        : rejecting ? "rejected"
+                        : null;
+                if (reason != null) {
+                    pause(reason, inFlight, queueDepth, heap);
+                }
+            } else if (inFlight <= inFlightLow && queueDepth <= queueDepthLow && heap <= heapLow && !rejecting) {
+                resume(inFlight, queueDepth, heap);
+            }
+        } catch (Exception e) {
+            log.error("Backpressure check failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void pause(String reason, int inFlight, int queueDepth, double heap) {
+        paused = true;
+        pausedAt = System.currentTimeMillis();
+        intakeContainer().ifPresent(MessageListenerContainer::pause);
+        metrics.recordConsumerPaused(reason);
+
+        log.warn("Pausing Kafka intake ({}): inFlight={}, queueDepth={}, heap={}",
+                reason, inFlight, queueDepth, String.format("%.2f", heap));
+    }
+
+    private void resume(int inFlight, int queueDepth, double heap) {
+        paused = false;
+        intakeContainer().ifPresent(MessageListenerContainer::resume);
+        long pausedMs = System.currentTimeMillis() - pausedAt;
+        metrics.recordConsumerResumed(pausedMs);
+
+        log.info("Resuming Kafka intake after {}ms: inFlight={}, queueDepth={}, heap={}",
+                pausedMs, inFlight, queueDepth, String.format("%.2f", heap));
+    }
+
+    private Optional<MessageListenerContainer> intakeContainer() {
+        return Optional.ofNullable(listenerRegistry.getListenerContainer(TradeConsumer.LISTENER_ID));
+    }
+
+    private static double heapUsage() {
+        MemoryUsage usage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = usage.getMax() > 0 ? usage.getMax() : usage.getCommitted();
+        return max > 0 ? (double) usage.getUsed() / max : 0.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
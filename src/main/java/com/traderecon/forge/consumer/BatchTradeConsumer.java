@@ -0,0 +1,88 @@
+package com.traderecon.forge.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Batch listener (kafka.listener.mode=batch).
+ *
+ * Receives the whole poll and processes records from the same partition
+ * concurrently. Trades sharing an ordering key (kafka.listener.ordering-key)
+ * are still processed in offset order. Completions are recorded in an
+ * {@link OffsetTracker} and each partition is committed once per batch up to
+ * its highest contiguous completed offset. Failed trades count as completed
+ * once they are on a retry tier or the dead-letter topic; the partition is
+ * rewound so the record is redelivered only if that send fails, or if the
+ * trade was rejected because processing is saturated.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "kafka.listener.mode", havingValue = "batch")
+public class BatchTradeConsumer {
+
+    private final TradeDispatcher tradeDispatcher;
+    private final OffsetTracker offsetTracker;
+
+    @Autowired
+    public BatchTradeConsumer(TradeDispatcher tradeDispatcher, OffsetTracker offsetTracker) {
+        this.tradeDispatcher = tradeDispatcher;
+        this.offsetTracker = offsetTracker;
+    }
+
+    @KafkaListener(
+            id = TradeConsumer.LISTENER_ID,
+            topics = "${kafka.topic.trade-input}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            concurrency = "3"
+    )
+    public void consumeTrades(List<ConsumerRecord<String, byte[]>> records, Consumer<?, ?> consumer) {
+        long startTime = System.currentTimeMillis();
+
+        // Fan out: every record is dispatched before we wait on any of them
+        Set<TopicPartition> partitions = new HashSet<>();
+        List<CompletableFuture<Boolean>> completions = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            partitions.add(partition);
+            long generation = offsetTracker.track(partition, record.offset());
+
+            completions.add(tradeDispatcher.dispatch(record).handle((handled, error) -> {
+                if (error != null) {
+                    log.error("Failed to handle trade from partition {}, offset {}: {}",
+                            record.partition(), record.offset(), error.getMessage(), error);
+                }
+                boolean success = error == null && handled;
+                offsetTracker.complete(partition, record.offset(), generation, success);
+                return success;
+            }));
+        }
+        CompletableFuture.allOf(completions.toArray(new CompletableFuture<?>[0])).join();
+
+        OffsetTracker.Progress progress = offsetTracker.drain(partitions);
+
+        // One commit for the whole batch
+        if (!progress.commits().isEmpty()) {
+            consumer.commitSync(progress.commits());
+        }
+
+        // Failed records (and everything after them) will be redelivered
+        progress.rewinds().forEach(consumer::seek);
+
+        log.info("Processed batch of {} trades across {} partitions in {}ms ({} partitions rewound)",
+                records.size(), partitions.size(),
+                System.currentTimeMillis() - startTime, progress.rewinds().size());
+    }
+}
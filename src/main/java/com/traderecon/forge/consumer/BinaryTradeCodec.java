@@ -0,0 +1,451 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.model.TradeEnvelope;
+import com.traderecon.forge.processor.TradeProcessorRegistry;
+import io.annapurna.model.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compact binary encoding for the annapurna trade types.
+ *
+ * Selected per record by the content-type header ({@link #CONTENT_TYPE});
+ * anything else is treated as JSON. Layout:
+ * <pre>
+ *   magic 'T' | version | type tag | presence bitmap (varint) | present fields in schema order
+ * </pre>
+ * Strings are varint length + UTF-8, dates are zigzag varint epoch days,
+ * integers are zigzag varints, decimals are zigzag varint scale followed
+ * by the length-prefixed two's-complement unscaled value, and currencies
+ * are written as their code.
+ *
+ * The schemas below cover every field of the model and are the single
+ * definition used by both directions. Decoding creates the concrete trade
+ * with its constructor and fills it through its setters; there is no
+ * reflection, field-name lookup or intermediate token stream.
+ *
+ * Each schema carries its own type tag, fixed here rather than derived
+ * from {@link TradeType}, so the wire format does not change if the model
+ * library reorders its enum. Startup fails if a type registered in
+ * {@link TradeProcessorRegistry} has no schema or two schemas share a tag,
+ * and encode rejects trades of any other class.
+ */
+@Component
+@Slf4j
+public class BinaryTradeCodec {
+
+    public static final String CONTENT_TYPE = "application/x-trade-forge-binary";
+
+    private static final byte MAGIC = 0x54;
+    private static final byte VERSION = 1;
+
+    private enum Kind { STRING, DATE, DECIMAL, INT, CURRENCY }
+
+    private record Field<T extends Trade>(String name, Kind kind, Function<T, Object> getter,
+                                          BiConsumer<T, Object> setter) {
+    }
+
+    private record Schema<T extends Trade>(int tag, Supplier<T> factory, List<Field<T>> fields) {
+    }
+
+    private static final Map<Class<? extends Trade>, Schema<?>> SCHEMAS = Map.of(
+            InterestRateSwap.class, schema(1, InterestRateSwap::new,
+                    List.of(
+                            decimal("fixedRate", InterestRateSwap::getFixedRate, InterestRateSwap::setFixedRate),
+                            string("floatingRateIndex", InterestRateSwap::getFloatingRateIndex,
+                                    InterestRateSwap::setFloatingRateIndex),
+                            integer("floatingSpreadBps", InterestRateSwap::getFloatingSpreadBps,
+                                    InterestRateSwap::setFloatingSpreadBps),
+                            string("direction", InterestRateSwap::getDirection, InterestRateSwap::setDirection),
+                            date("effectiveDate", InterestRateSwap::getEffectiveDate,
+                                    InterestRateSwap::setEffectiveDate),
+                            string("fixedLegFrequency", InterestRateSwap::getFixedLegFrequency,
+                                    InterestRateSwap::setFixedLegFrequency),
+                            string("floatingLegFrequency", InterestRateSwap::getFloatingLegFrequency,
+                                    InterestRateSwap::setFloatingLegFrequency),
+                            string("dayCountConvention", InterestRateSwap::getDayCountConvention,
+                                    InterestRateSwap::setDayCountConvention))),
+            EquitySwap.class, schema(2, EquitySwap::new,
+                    List.of(
+                            string("referenceAsset", EquitySwap::getReferenceAsset, EquitySwap::setReferenceAsset),
+                            string("returnType", EquitySwap::getReturnType, EquitySwap::setReturnType),
+                            string("fundingLeg", EquitySwap::getFundingLeg, EquitySwap::setFundingLeg),
+                            integer("fundingSpreadBps", EquitySwap::getFundingSpreadBps,
+                                    EquitySwap::setFundingSpreadBps),
+                            string("settlementFrequency", EquitySwap::getSettlementFrequency,
+                                    EquitySwap::setSettlementFrequency),
+                            decimal("initialPrice", EquitySwap::getInitialPrice, EquitySwap::setInitialPrice),
+                            decimal("quantity", EquitySwap::getQuantity, EquitySwap::setQuantity),
+                            string("direction", EquitySwap::getDirection, EquitySwap::setDirection))),
+            FXForward.class, schema(3, FXForward::new,
+                    List.of(
+                            string("currencyPair", FXForward::getCurrencyPair, FXForward::setCurrencyPair),
+                            decimal("forwardRate", FXForward::getForwardRate, FXForward::setForwardRate),
+                            currency("baseCurrency", FXForward::getBaseCurrency, FXForward::setBaseCurrency),
+                            currency("quoteCurrency", FXForward::getQuoteCurrency, FXForward::setQuoteCurrency),
+                            decimal("spotRate", FXForward::getSpotRate, FXForward::setSpotRate),
+                            decimal("forwardPoints", FXForward::getForwardPoints, FXForward::setForwardPoints),
+                            string("direction", FXForward::getDirection, FXForward::setDirection),
+                            string("settlementType", FXForward::getSettlementType, FXForward::setSettlementType))),
+            EquityOption.class, schema(4, EquityOption::new,
+                    List.of(
+                            string("optionType", EquityOption::getOptionType, EquityOption::setOptionType),
+                            decimal("strikePrice", EquityOption::getStrikePrice, EquityOption::setStrikePrice),
+                            decimal("premium", EquityOption::getPremium, EquityOption::setPremium),
+                            date("expiryDate", EquityOption::getExpiryDate, EquityOption::setExpiryDate),
+                            string("underlyingAsset", EquityOption::getUnderlyingAsset,
+                                    EquityOption::setUnderlyingAsset),
+                            decimal("spotPrice", EquityOption::getSpotPrice, EquityOption::setSpotPrice),
+                            integer("contracts", EquityOption::getContracts, EquityOption::setContracts),
+                            decimal("quantity", EquityOption::getQuantity, EquityOption::setQuantity),
+                            string("exerciseStyle", EquityOption::getExerciseStyle, EquityOption::setExerciseStyle),
+                            string("moneyness", EquityOption::getMoneyness, EquityOption::setMoneyness),
+                            string("position", EquityOption::getPosition, EquityOption::setPosition),
+                            decimal("impliedVolatility", EquityOption::getImpliedVolatility,
+                                    EquityOption::setImpliedVolatility))),
+            CreditDefaultSwap.class, schema(5, CreditDefaultSwap::new,
+                    List.of(
+                            string("referenceEntity", CreditDefaultSwap::getReferenceEntity,
+                                    CreditDefaultSwap::setReferenceEntity),
+                            integer("spreadBps", CreditDefaultSwap::getSpreadBps, CreditDefaultSwap::setSpreadBps),
+                            decimal("recoveryRate", CreditDefaultSwap::getRecoveryRate,
+                                    CreditDefaultSwap::setRecoveryRate),
+                            string("referenceTicker", CreditDefaultSwap::getReferenceTicker,
+                                    CreditDefaultSwap::setReferenceTicker),
+                            string("sector", CreditDefaultSwap::getSector, CreditDefaultSwap::setSector),
+                            string("creditRating", CreditDefaultSwap::getCreditRating,
+                                    CreditDefaultSwap::setCreditRating),
+                            decimal("upfrontPayment", CreditDefaultSwap::getUpfrontPayment,
+                                    CreditDefaultSwap::setUpfrontPayment),
+                            string("paymentFrequency", CreditDefaultSwap::getPaymentFrequency,
+                                    CreditDefaultSwap::setPaymentFrequency),
+                            string("position", CreditDefaultSwap::getPosition, CreditDefaultSwap::setPosition),
+                            string("restructuringClause", CreditDefaultSwap::getRestructuringClause,
+                                    CreditDefaultSwap::setRestructuringClause),
+                            string("seniority", CreditDefaultSwap::getSeniority, CreditDefaultSwap::setSeniority)))
+    );
+
+    private final TradeProcessorRegistry processorRegistry;
+    private final Map<TradeType, Schema<?>> schemasByType = new EnumMap<>(TradeType.class);
+    private final Map<Integer, TradeType> typesByTag = new HashMap<>();
+
+    @Autowired
+    public BinaryTradeCodec(TradeProcessorRegistry processorRegistry) {
+        this.processorRegistry = processorRegistry;
+        for (TradeType tradeType : processorRegistry.tradeTypes()) {
+            Class<? extends Trade> tradeClass = processorRegistry.tradeClass(tradeType);
+            Schema<?> schema = SCHEMAS.get(tradeClass);
+            if (schema == null) {
+                throw new IllegalStateException("No binary schema for trade class " + tradeClass.getSimpleName());
+            }
+            TradeType tagged = typesByTag.putIfAbsent(schema.tag(), tradeType);
+            if (tagged != null) {
+                throw new IllegalStateException("Binary tag " + schema.tag() + " is used by both " + tagged
+                        + " and " + tradeType);
+            }
+            schemasByType.put(tradeType, schema);
+        }
+
+        log.info("BinaryTradeCodec initialized for trade types {}", schemasByType.keySet());
+    }
+
+    /**
+     * Whether a record's content-type selects this codec.
+     */
+    public boolean supports(String contentType) {
+        return CONTENT_TYPE.equals(contentType);
+    }
+
+    /**
+     * Read only the trade type and id, which lead every payload.
+     */
+    public TradeEnvelope scan(byte[] payload) throws IOException {
+        Input in = new Input(payload);
+        TradeType tradeType = readHeader(in);
+        long present = in.readVarLong();
+        String tradeId = (present & 1L) != 0 ? in.readString() : null;
+        return new TradeEnvelope(tradeId, tradeType);
+    }
+
+    /**
+     * Decode a binary payload into its concrete Trade type.
+     */
+    public Trade decode(byte[] payload) throws IOException {
+        Input in = new Input(payload);
+        TradeType tradeType = readHeader(in);
+        long present = in.readVarLong();
+
+        Trade trade = decode(schemasByType.get(tradeType), in, present);
+        trade.setTradeType(tradeType);
+        return trade;
+    }
+
+    /**
+     * Encode a trade of one of the registered model classes.
+     *
+     * @throws IllegalArgumentException if the trade's class is not registered
+     */
+    public byte[] encode(Trade trade) {
+        Schema<?> schema = schemasByType.get(processorRegistry.tradeType(trade.getClass()));
+
+        Output body = new Output();
+        long present = encode(schema, trade, body);
+
+        Output out = new Output();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte((byte) schema.tag());
+        out.writeVarLong(present);
+        out.writeBytes(body.toByteArray());
+        return out.toByteArray();
+    }
+
+    private TradeType readHeader(Input in) throws IOException {
+        if (in.readByte() != MAGIC) {
+            throw new IOException("Not a binary trade payload");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary trade version: " + version);
+        }
+        int tag = in.readByte();
+        TradeType tradeType = typesByTag.get(tag);
+        if (tradeType == null) {
+            throw new IOException("Unknown binary trade type tag: " + tag);
+        }
+        return tradeType;
+    }
+
+    private static <T extends Trade> T decode(Schema<T> schema, Input in, long present) throws IOException {
+        T trade = schema.factory().get();
+        List<Field<T>> fields = schema.fields();
+        for (int i = 0; i < fields.size(); i++) {
+            if ((present & (1L << i)) == 0) {
+                continue;
+            }
+            Field<T> field = fields.get(i);
+            Object value = switch (field.kind()) {
+                case STRING -> in.readString();
+                case DATE -> LocalDate.ofEpochDay(in.readZigZagLong());
+                case DECIMAL -> in.readDecimal();
+                case INT -> (int) in.readZigZagLong();
+                case CURRENCY -> currency(in.readString());
+            };
+            field.setter().accept(trade, value);
+        }
+        return trade;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Trade> long encode(Schema<T> schema, Trade trade, Output body) {
+        T typed = (T) trade;
+        List<Field<T>> fields = schema.fields();
+        long present = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            Field<T> field = fields.get(i);
+            Object value = field.getter().apply(typed);
+            if (value == null) {
+                continue;
+            }
+            present |= 1L << i;
+            switch (field.kind()) {
+                case STRING -> body.writeString((String) value);
+                case DATE -> body.writeZigZagLong(((LocalDate) value).toEpochDay());
+                case DECIMAL -> body.writeDecimal((BigDecimal) value);
+                case INT -> body.writeZigZagLong(((Integer) value).longValue());
+                case CURRENCY -> body.writeString(((Currency) value).name());
+            }
+        }
+        return present;
+    }
+
+    private static Currency currency(String code) throws IOException {
+        try {
+            return Currency.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown currency in binary trade payload: " + code);
+        }
+    }
+
+    /**
+     * The common fields followed by the type-specific ones.
+     */
+    private static <T extends Trade> Schema<T> schema(int tag, Supplier<T> factory, List<Field<T>> specific) {
+        List<Field<T>> fields = new ArrayList<>();
+        fields.add(string("tradeId", Trade::getTradeId, Trade::setTradeId));
+        fields.add(date("tradeDate", Trade::getTradeDate, Trade::setTradeDate));
+        fields.add(date("settlementDate", Trade::getSettlementDate, Trade::setSettlementDate));
+        fields.add(date("maturityDate", Trade::getMaturityDate, Trade::setMaturityDate));
+        fields.add(string("counterparty", Trade::getCounterparty, Trade::setCounterparty));
+        fields.add(decimal("notional", Trade::getNotional, Trade::setNotional));
+        fields.add(currency("currency", Trade::getCurrency, Trade::setCurrency));
+        fields.add(string("book", Trade::getBook, Trade::setBook));
+        fields.add(string("trader", Trade::getTrader, Trade::setTrader));
+        fields.addAll(specific);
+        if (fields.size() > Long.SIZE) {
+            throw new IllegalStateException("Binary schema exceeds the presence bitmap: " + fields.size());
+        }
+        return new Schema<>(tag, factory, List.copyOf(fields));
+    }
+
+    private static <T extends Trade> Field<T> string(String name, Function<T, String> getter,
+                                                     BiConsumer<T, String> setter) {
+        return new Field<>(name, Kind.STRING, getter::apply, (trade, value) -> setter.accept(trade, (String) value));
+    }
+
+    private static <T extends Trade> Field<T> date(String name, Function<T, LocalDate> getter,
+                                                   BiConsumer<T, LocalDate> setter) {
+        return new Field<>(name, Kind.DATE, getter::apply, (trade, value) -> setter.accept(trade, (LocalDate) value));
+    }
+
+    private static <T extends Trade> Field<T> decimal(String name, Function<T, BigDecimal> getter,
+                                                      BiConsumer<T, BigDecimal> setter) {
+        return new Field<>(name, Kind.DECIMAL, getter::apply,
+                (trade, value) -> setter.accept(trade, (BigDecimal) value));
+    }
+
+    private static <T extends Trade> Field<T> integer(String name, Function<T, Integer> getter,
+                                                      BiConsumer<T, Integer> setter) {
+        return new Field<>(name, Kind.INT, getter::apply, (trade, value) -> setter.accept(trade, (Integer) value));
+    }
+
+    private static <T extends Trade> Field<T> currency(String name, Function<T, Currency> getter,
+                                                       BiConsumer<T, Currency> setter) {
+        return new Field<>(name, Kind.CURRENCY, getter::apply,
+                (trade, value) -> setter.accept(trade, (Currency) value));
+    }
+
+    /**
+     * Cursor over an encoded payload.
+     */
+    private static final class Input {
+
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() throws IOException {
+            if (position >= data.length) {
+                throw new EOFException("Truncated binary trade payload");
+            }
+            return data[position++];
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in binary trade payload");
+        }
+
+        long readZigZagLong() throws IOException {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        byte[] readBytes() throws IOException {
+            int length = (int) readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new EOFException("Truncated binary trade payload");
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            int length = (int) readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new EOFException("Truncated binary trade payload");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal readDecimal() throws IOException {
+            int scale = (int) readZigZagLong();
+            return new BigDecimal(new BigInteger(readBytes()), scale);
+        }
+    }
+
+    /**
+     * Growable output buffer.
+     */
+    private static final class Output {
+
+        private byte[] data = new byte[128];
+        private int size;
+
+        void writeByte(byte b) {
+            ensureCapacity(1);
+            data[size++] = b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, data, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((byte) value);
+        }
+
+        void writeZigZagLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void writeDecimal(BigDecimal value) {
+            writeZigZagLong(value.scale());
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeVarLong(unscaled.length);
+            writeBytes(unscaled);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.ProcessingStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Routes failed trades to the retry tiers and the dead-letter topic.
+ *
+ * Retryable failures go to retry tier N ({trade-input}-retry-N) with a
+ * not-before timestamp that grows exponentially per attempt; once the
+ * attempts are used up, or when the failure cannot succeed on a retry
+ * (bad JSON, validation), the payload goes to the dead-letter topic.
+ * The original topic/partition/offset and failure reason travel in headers.
+ *
+ * Sends go through the shared idempotent, batching producer and are never
+ * waited on here; callers decide when the returned future must complete.
+ */
+@Component
+@Slf4j
+public class DeadLetterPublisher {
+
+    public static final String HEADER_ORIGINAL_TOPIC = "x-original-topic";
+    public static final String HEADER_ORIGINAL_PARTITION = "x-original-partition";
+    public static final String HEADER_ORIGINAL_OFFSET = "x-original-offset";
+    public static final String HEADER_FAILURE_REASON = "x-failure-reason";
+    public static final String HEADER_FAILURE_MESSAGE = "x-failure-message";
+    public static final String HEADER_RETRY_ATTEMPT = "x-retry-attempt";
+    public static final String HEADER_RETRY_NOT_BEFORE = "x-retry-not-before";
+
+    private static final String DESERIALIZATION_FAILED = "DESERIALIZATION_FAILED";
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final ProcessingMetrics metrics;
+    private final String inputTopic;
+    private final String deadLetterTopic;
+    private final int maxAttempts;
+    private final long initialDelayMs;
+    private final double multiplier;
+    private final long maxDelayMs;
+
+    @Autowired
+    public DeadLetterPublisher(
+            KafkaTemplate<String, byte[]> kafkaTemplate,
+            ProcessingMetrics metrics,
+            @Value("${kafka.topic.trade-input}") String inputTopic,
+            @Value("${kafka.topic.dead-letter}") String deadLetterTopic,
+            @Value("${kafka.retry.attempts:3}") int maxAttempts,
+            @Value("${kafka.retry.initial-delay-ms:1000}") long initialDelayMs,
+            @Value("${kafka.retry.multiplier:2.0}") double multiplier,
+            @Value("${kafka.retry.max-delay-ms:60000}") long maxDelayMs
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.metrics = metrics;
+        this.inputTopic = inputTopic;
+        this.deadLetterTopic = deadLetterTopic;
+        this.maxAttempts = maxAttempts;
+        this.initialDelayMs = initialDelayMs;
+        this.multiplier = multiplier;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * Names of the retry tier topics, one per attempt.
+     */
+    public String[] retryTopics() {
+        return IntStream.range(0, maxAttempts)
+                .mapToObj(this::retryTopic)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Route a processed trade according to its result.
+     *
+     * Completes immediately for successful trades.
+     */
+    public CompletableFuture<Void> publishResult(ConsumerRecord<String, byte[]> record, ProcessingResult result) {
+        ProcessingStatus status = result.getStatus();
+        if (status == ProcessingStatus.SUCCESS) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return publish(record, status.name(), result.getErrorMessage(), status.isRetryable());
+    }
+
+    /**
+     * Send a payload that could not be turned into a trade straight to the dead-letter topic.
+     */
+    public CompletableFuture<Void> publishError(ConsumerRecord<String, byte[]> record, Exception error) {
+        return publish(record, DESERIALIZATION_FAILED, error.getMessage(), false);
+    }
+
+    /**
+     * Epoch millis before which a retry-tier record must not be reprocessed.
+     */
+    public long notBefore(ConsumerRecord<String, byte[]> record) {
+        String value = header(record.headers(), HEADER_RETRY_NOT_BEFORE);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    private CompletableFuture<Void> publish(ConsumerRecord<String, byte[]> record, String reason,
+                                            String message, boolean retryable) {
+        int attempt = retryAttempt(record);
+        boolean retry = retryable && attempt < maxAttempts;
+        String topic = retry ? retryTopic(attempt) : deadLetterTopic;
+
+        ProducerRecord<String, byte[]> failed = new ProducerRecord<>(topic, record.key(), record.value());
+        copyOrigin(record, failed.headers());
+        addHeader(failed.headers(), HEADER_FAILURE_REASON, reason);
+        addHeader(failed.headers(), HEADER_FAILURE_MESSAGE, message != null ? message : "");
+        addHeader(failed.headers(), HEADER_RETRY_ATTEMPT, String.valueOf(attempt + 1));
+        if (retry) {
+            addHeader(failed.headers(), HEADER_RETRY_NOT_BEFORE,
+                    String.valueOf(System.currentTimeMillis() + delayMs(attempt)));
+        }
+
+        return kafkaTemplate.send(failed)
+                .thenAccept(sendResult -> {
+                    if (retry) {
+                        metrics.recordRetry(attempt);
+                        log.warn("Trade from {}-{}@{} sent to retry tier {} ({}): {}",
+                                record.topic(), record.partition(), record.offset(), attempt, reason, message);
+                    } else {
+                        metrics.recordDeadLetter(reason);
+                        log.warn("Trade from {}-{}@{} sent to dead-letter topic ({}): {}",
+                                record.topic(), record.partition(), record.offset(), reason, message);
+                    }
+                });
+    }
+
+    private String retryTopic(int attempt) {
+        return inputTopic + "-retry-" + attempt;
+    }
+
+    private long delayMs(int attempt) {
+        return (long) Math.min(initialDelayMs * Math.pow(multiplier, attempt), maxDelayMs);
+    }
+
+    private int retryAttempt(ConsumerRecord<String, byte[]> record) {
+        String value = header(record.headers(), HEADER_RETRY_ATTEMPT);
+        return value != null ? Integer.parseInt(value) : 0;
+    }
+
+    /**
+     * Carry the incoming headers over, keeping the first origin of a trade
+     * when it moves between retry tiers. Failure details are replaced.
+     */
+    private void copyOrigin(ConsumerRecord<String, byte[]> record, Headers target) {
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("x-failure-") && !header.key().startsWith("x-retry-")) {
+                target.add(header);
+            }
+        }
+        if (target.lastHeader(HEADER_ORIGINAL_TOPIC) == null) {
+            addHeader(target, HEADER_ORIGINAL_TOPIC, record.topic());
+            addHeader(target, HEADER_ORIGINAL_PARTITION, String.valueOf(record.partition()));
+            addHeader(target, HEADER_ORIGINAL_OFFSET, String.valueOf(record.offset()));
+        }
+    }
+
+    private static void addHeader(Headers headers, String key, String value) {
+        headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String header(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
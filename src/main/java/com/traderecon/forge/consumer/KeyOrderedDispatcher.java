@@ -0,0 +1,56 @@
+package com.traderecon.forge.consumer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous tasks concurrently while keeping tasks that share a key
+ * in submission order.
+ *
+ * Each key keeps only the future of its most recent task; a new task for the
+ * same key starts when that future completes. Tasks for different keys never
+ * wait on each other, so records from one partition can use every worker.
+ */
+public class KeyOrderedDispatcher {
+
+    private final ConcurrentMap<String, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * Start a task once every earlier task with the same key has finished.
+     *
+     * A null key means the task has no ordering constraint and starts
+     * immediately.
+     */
+    public <T> CompletableFuture<T> dispatch(String key, Supplier<CompletableFuture<T>> task) {
+        if (key == null) {
+            return task.get();
+        }
+
+        CompletableFuture<T> next = new CompletableFuture<>();
+        CompletableFuture<?> previous = tails.put(key, next);
+        CompletableFuture<?> ready = previous != null ? previous : CompletableFuture.completedFuture(null);
+
+        // Wait for the previous task whether it succeeded or not
+        ready.handle((value, error) -> null)
+                .thenCompose(ignored -> task.get())
+                .whenComplete((value, error) -> {
+                    tails.remove(key, next);
+                    if (error != null) {
+                        next.completeExceptionally(error);
+                    } else {
+                        next.complete(value);
+                    }
+                });
+
+        return next;
+    }
+
+    /**
+     * Number of keys with a task still running or waiting.
+     */
+    public int activeKeys() {
+        return tails.size();
+    }
+}
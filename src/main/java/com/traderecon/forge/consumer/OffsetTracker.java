@@ -0,0 +1,164 @@
+package com.traderecon.forge.consumer;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks out-of-order completion of dispatched offsets per partition.
+ *
+ * Only offsets that have been dispatched but not yet committed are held, so
+ * the structure stays sparse no matter how far apart the offsets are. Worker
+ * threads mark offsets done in any order; the consumer thread drains the
+ * contiguous completed prefix of each partition as the offset to commit.
+ *
+ * Shared by the listener and {@link RebalanceDrainer}. Partitions are owned
+ * by one consumer thread at a time, so per-partition state never crosses
+ * consumers.
+ *
+ * Every tracked offset carries the generation of its partition, which
+ * changes whenever the partition is rewound or re-created. A rewind does not
+ * wait for the later offsets still being processed; their completions
+ * arrive with the old generation and are ignored, so they cannot mark the
+ * redelivered copies of the same offsets as done.
+ */
+@Component
+public class OffsetTracker {
+
+    private enum OffsetState { PENDING, COMPLETED, FAILED }
+
+    private record Tracked(long generation, OffsetState state) {
+    }
+
+    /**
+     * Tracked offsets of one partition and the generation they belong to.
+     */
+    private static final class PartitionOffsets {
+
+        final ConcurrentSkipListMap<Long, Tracked> offsets = new ConcurrentSkipListMap<>();
+        // Written only by the owning consumer thread
+        volatile long generation;
+
+        PartitionOffsets(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    // Never reused, so a partition that is revoked and assigned again starts fresh too
+    private final AtomicLong generations = new AtomicLong();
+    private final ConcurrentMap<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Register an offset that has been handed to a worker.
+     *
+     * @return the generation to pass to {@link #complete}
+     */
+    public long track(TopicPartition partition, long offset) {
+        PartitionOffsets tracked = partitions.computeIfAbsent(partition,
+                p -> new PartitionOffsets(generations.incrementAndGet()));
+        long generation = tracked.generation;
+        tracked.offsets.put(offset, new Tracked(generation, OffsetState.PENDING));
+        return generation;
+    }
+
+    /**
+     * Mark a tracked offset as finished. Safe to call from any thread.
+     *
+     * Completions from an earlier generation (dispatched before a rewind or
+     * before the partition was revoked) and for offsets that are no longer
+     * tracked are ignored.
+     */
+    public void complete(TopicPartition partition, long offset, long generation, boolean success) {
+        PartitionOffsets tracked = partitions.get(partition);
+        if (tracked != null) {
+            tracked.offsets.replace(offset, new Tracked(generation, OffsetState.PENDING),
+                    new Tracked(generation, success ? OffsetState.COMPLETED : OffsetState.FAILED));
+        }
+    }
+
+    /**
+     * Number of offsets dispatched but not yet drained for a partition.
+     */
+    public int pending(TopicPartition partition) {
+        PartitionOffsets tracked = partitions.get(partition);
+        return tracked != null ? tracked.offsets.size() : 0;
+    }
+
+    /**
+     * Whether any of the given partitions still has offsets of the current
+     * generation being processed.
+     */
+    public boolean hasInFlight(Collection<TopicPartition> owned) {
+        for (TopicPartition partition : owned) {
+            PartitionOffsets tracked = partitions.get(partition);
+            if (tracked != null && tracked.offsets.values().stream()
+                    .anyMatch(offset -> offset.state() == OffsetState.PENDING)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drain the contiguous completed prefix of the given partitions.
+     *
+     * Must be called from the consumer thread that owns the partitions. A
+     * failed offset at the head of a partition stops its prefix; the
+     * partition is reported for rewind, its remaining state is dropped since
+     * everything after it will be redelivered, and it moves to a new
+     * generation.
+     */
+    public Progress drain(Collection<TopicPartition> owned) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        Map<TopicPartition, Long> rewinds = new HashMap<>();
+
+        for (TopicPartition partition : owned) {
+            PartitionOffsets tracked = partitions.get(partition);
+            if (tracked == null) {
+                continue;
+            }
+            ConcurrentSkipListMap<Long, Tracked> offsets = tracked.offsets;
+
+            long nextOffset = -1;
+            Map.Entry<Long, Tracked> head;
+            while ((head = offsets.firstEntry()) != null && head.getValue().state() == OffsetState.COMPLETED) {
+                offsets.remove(head.getKey());
+                nextOffset = head.getKey() + 1;
+            }
+
+            if (nextOffset >= 0) {
+                commits.put(partition, new OffsetAndMetadata(nextOffset));
+            }
+
+            if (head != null && head.getValue().state() == OffsetState.FAILED) {
+                rewinds.put(partition, head.getKey());
+                // Completions still in flight from before the rewind no longer match
+                tracked.generation = generations.incrementAndGet();
+                offsets.clear();
+            }
+        }
+
+        return new Progress(commits, rewinds);
+    }
+
+    /**
+     * Forget all state for partitions this consumer no longer owns.
+     */
+    public void remove(Collection<TopicPartition> revoked) {
+        revoked.forEach(partitions::remove);
+    }
+
+    /**
+     * Offsets to commit and partitions to rewind after a drain.
+     */
+    public record Progress(Map<TopicPartition, OffsetAndMetadata> commits, Map<TopicPartition, Long> rewinds) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.traderecon.forge.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Finishes in-flight trades of revoked partitions before they move
+ * (kafka.listener.mode=async).
+ *
+ * Only the async listener returns to polling while its trades are still
+ * processing; the record and batch listeners finish their work before the
+ * next poll, so a rebalance never finds anything of theirs in flight.
+ *
+ * Spring Boot installs this listener on every container factory. When
+ * partitions are revoked it pauses them, waits up to
+ * kafka.listener.drain-timeout-ms for their tracked offsets to finish, and
+ * commits the completed prefix so the next owner starts after it instead of
+ * reprocessing. With cooperative-sticky assignment only the partitions that
+ * actually move are revoked; the rest keep running through the rebalance.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "kafka.listener.mode", havingValue = "async")
+public class RebalanceDrainer implements ConsumerAwareRebalanceListener {
+
+    private static final long POLL_INTERVAL_MS = 10;
+
+    private final OffsetTracker offsetTracker;
+    private final long drainTimeoutMs;
+
+    @Autowired
+    public RebalanceDrainer(
+            OffsetTracker offsetTracker,
+            @Value("${kafka.listener.drain-timeout-ms:10000}") long drainTimeoutMs
+    ) {
+        this.offsetTracker = offsetTracker;
+        this.drainTimeoutMs = drainTimeoutMs;
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+
+        // No new records from partitions that are leaving
+        consumer.pause(partitions);
+
+        boolean drained = awaitInFlight(partitions, startTime + drainTimeoutMs);
+
+        OffsetTracker.Progress progress = offsetTracker.drain(partitions);
+        if (!progress.commits().isEmpty()) {
+            try {
+                consumer.commitSync(progress.commits());
+            } catch (Exception e) {
+                log.warn("Failed to commit drained offsets for {}: {}", partitions, e.getMessage());
+            }
+        }
+        offsetTracker.remove(partitions);
+
+        log.info("Revoked {} partitions: drained in {}ms{}, committed {}",
+                partitions.size(), System.currentTimeMillis() - startTime,
+                drained ? "" : " (timed out, unfinished trades will be redelivered)",
+                progress.commits().keySet());
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // Already owned by someone else: committing is no longer allowed
+        offsetTracker.remove(partitions);
+        log.warn("Lost {} partitions; their in-flight trades will be redelivered", partitions.size());
+    }
+
+    private boolean awaitInFlight(Collection<TopicPartition> partitions, long deadline) {
+        while (offsetTracker.hasInFlight(partitions)) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
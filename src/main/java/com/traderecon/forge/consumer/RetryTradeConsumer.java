@@ -0,0 +1,117 @@
+package com.traderecon.forge.consumer;
+
+import io.annapurna.model.Trade;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.service.TradeProcessingService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListenerConfigurer;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistrar;
+import org.springframework.kafka.config.MethodKafkaListenerEndpoint;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+
+/**
+ * Listener for the retry tier topics.
+ *
+ * Each tier holds trades with the same backoff, so records become due in
+ * offset order. Every tier gets its own listener container (id
+ * retry-tier-N), registered here rather than through @KafkaListener. A
+ * record that is not due yet is nacked for the remaining delay, which
+ * pauses only its tier's container while it keeps polling: waiting never
+ * blocks the main topic or a shorter tier, and never triggers a rebalance.
+ * With kafka.retry.attempts=0 there are no tiers and no containers.
+ */
+@Component
+@Slf4j
+public class RetryTradeConsumer implements KafkaListenerConfigurer {
+
+    public static final String LISTENER_ID_PREFIX = "retry-tier-";
+
+    private final TradeIntake tradeIntake;
+    private final TradeProcessingService processingService;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final String groupId;
+
+    @Autowired
+    public RetryTradeConsumer(TradeIntake tradeIntake, TradeProcessingService processingService,
+                              DeadLetterPublisher deadLetterPublisher,
+                              @Value("${spring.kafka.consumer.group-id}") String groupId) {
+        this.tradeIntake = tradeIntake;
+        this.processingService = processingService;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.groupId = groupId;
+    }
+
+    /**
+     * Register one listener container per retry tier.
+     */
+    @Override
+    public void configureKafkaListeners(KafkaListenerEndpointRegistrar registrar) {
+        DefaultMessageHandlerMethodFactory handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.afterPropertiesSet();
+
+        String[] topics = deadLetterPublisher.retryTopics();
+        for (int tier = 0; tier < topics.length; tier++) {
+            MethodKafkaListenerEndpoint<String, byte[]> endpoint = new MethodKafkaListenerEndpoint<>();
+            endpoint.setId(LISTENER_ID_PREFIX + tier);
+            endpoint.setGroupId(groupId);
+            endpoint.setTopics(topics[tier]);
+            endpoint.setBean(this);
+            endpoint.setMethod(ClassUtils.getMethod(RetryTradeConsumer.class, "consumeRetry",
+                    ConsumerRecord.class, Acknowledgment.class));
+            endpoint.setMessageHandlerMethodFactory(handlerMethodFactory);
+            registrar.registerEndpoint(endpoint);
+        }
+
+        log.info("Registered retry listeners for {}", String.join(", ", topics));
+    }
+
+    public void consumeRetry(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        long waitMs = deadLetterPublisher.notBefore(record) - System.currentTimeMillis();
+        if (waitMs > 0) {
+            acknowledgment.nack(Duration.ofMillis(waitMs));
+            return;
+        }
+
+        try {
+            Trade trade;
+            try {
+                trade = tradeIntake.read(record);
+            } catch (Exception e) {
+                log.error("Failed to deserialize retried trade from {}, offset {}: {}",
+                        record.topic(), record.offset(), e.getMessage());
+                deadLetterPublisher.publishError(record, e).join();
+                acknowledgment.acknowledge();
+                return;
+            }
+
+            // Filtered out before the full parse
+            if (trade == null) {
+                acknowledgment.acknowledge();
+                return;
+            }
+
+            ProcessingResult result = processingService.process(trade);
+
+            log.info("Retried trade {} from {}: Status={}, Duration={}ms",
+                    trade.getTradeId(), record.topic(), result.getStatus(), result.getProcessingTimeMs());
+
+            // Still failing: move on to the next tier or the dead-letter topic
+            deadLetterPublisher.publishResult(record, result).join();
+            acknowledgment.acknowledge();
+
+        } catch (Exception e) {
+            log.error("Failed to retry trade from {}, offset {}: {}",
+                    record.topic(), record.offset(), e.getMessage(), e);
+
+            // DO NOT acknowledge - message will be retried
+        }
+    }
+}
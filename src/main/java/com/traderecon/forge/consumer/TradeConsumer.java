@@ -1,49 +1,75 @@
 package com.traderecon.forge.consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.annapurna.model.*;
+import io.annapurna.model.Trade;
 import com.traderecon.forge.model.ProcessingResult;
 import com.traderecon.forge.service.TradeProcessingService;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+/**
+ * Record-at-a-time listener (kafka.listener.mode=record, the default).
+ *
+ * Processes one trade per listener call and commits its offset once the
+ * trade is processed or handed to the retry/dead-letter topics.
+ */
 @Component
 @Slf4j
+@ConditionalOnProperty(name = "kafka.listener.mode", havingValue = "record", matchIfMissing = true)
 public class TradeConsumer {
 
-    private final ObjectMapper objectMapper;
+    /**
+     * Container id of the input topic listener. Every listener mode uses
+     * it; only one mode is active at a time.
+     */
+    public static final String LISTENER_ID = "trade-intake";
+
+    private final TradeIntake tradeIntake;
     private final TradeProcessingService processingService;
+    private final DeadLetterPublisher deadLetterPublisher;
 
     @Autowired
-    public TradeConsumer(ObjectMapper objectMapper, TradeProcessingService processingService) {
-        this.objectMapper = objectMapper;
+    public TradeConsumer(TradeIntake tradeIntake, TradeProcessingService processingService,
+                         DeadLetterPublisher deadLetterPublisher) {
+        this.tradeIntake = tradeIntake;
         this.processingService = processingService;
+        this.deadLetterPublisher = deadLetterPublisher;
     }
 
     @KafkaListener(
+            id = LISTENER_ID,
             topics = "${kafka.topic.trade-input}",
             groupId = "${spring.kafka.consumer.group-id}",
             concurrency = "3"
     )
-    public void consumeTrade(
-            @Payload String tradeJson,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment
-    ) {
+    public void consumeTrade(ConsumerRecord<String, byte[]> record, Acknowledgment acknowledgment) {
+        int partition = record.partition();
+        long offset = record.offset();
+
         try {
-            // Deserialize JSON to Trade object
-            Trade trade = objectMapper.readValue(tradeJson, Trade.class);
+            // Route on headers / prefix scan, then deserialize the payload
+            Trade trade;
+            try {
+                trade = tradeIntake.read(record);
+            } catch (Exception e) {
+                log.error("Failed to deserialize trade from partition {}, offset {}: {}",
+                        partition, offset, e.getMessage());
 
-            // WORKAROUND: tradeType field is @JsonIgnore in Annapurna
-            // Manually set it based on concrete type
-            setTradeType(trade);
+                // Poison payload: park it on the dead-letter topic and move on
+                deadLetterPublisher.publishError(record, e).join();
+                acknowledgment.acknowledge();
+                return;
+            }
+
+            // Filtered out before the full parse
+            if (trade == null) {
+                acknowledgment.acknowledge();
+                return;
+            }
 
             log.info("Received trade from partition {}, offset {}: ID={}, Type={}",
                     partition, offset, trade.getTradeId(), trade.getTradeType());
@@ -55,6 +81,9 @@ public class TradeConsumer {
             log.info("Processed trade {}: Status={}, Duration={}ms",
                     trade.getTradeId(), result.getStatus(), result.getProcessingTimeMs());
 
+            // Failed trades continue on the retry tiers instead of blocking the partition
+            deadLetterPublisher.publishResult(record, result).join();
+
             // Acknowledge message (commit offset)
             acknowledgment.acknowledge();
 
@@ -65,18 +94,4 @@ public class TradeConsumer {
             // DO NOT acknowledge - message will be retried
         }
     }
-
-    private void setTradeType(Trade trade) {
-        if (trade instanceof InterestRateSwap) {
-            trade.setTradeType(TradeType.INTEREST_RATE_SWAP);
-        } else if (trade instanceof EquitySwap) {
-            trade.setTradeType(TradeType.EQUITY_SWAP);
-        } else if (trade instanceof FXForward) {
-            trade.setTradeType(TradeType.FX_FORWARD);
-        } else if (trade instanceof EquityOption) {
-            trade.setTradeType(TradeType.EQUITY_OPTION);
-        } else if (trade instanceof CreditDefaultSwap) {
-            trade.setTradeType(TradeType.CREDIT_DEFAULT_SWAP);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.traderecon.forge.consumer;
+
+import io.annapurna.model.Trade;
+import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.service.TradeProcessingService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands one record to the processing pipeline without blocking.
+ *
+ * Used by the listener modes that keep many records in flight (batch and
+ * async). Trades sharing an ordering key (kafka.listener.ordering-key, the
+ * trading book by default) are processed in offset order; everything else
+ * runs concurrently.
+ */
+@Component
+@Slf4j
+public class TradeDispatcher {
+
+    private final TradeIntake tradeIntake;
+    private final TradeProcessingService processingService;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final String orderingKey;
+
+    private final KeyOrderedDispatcher keyDispatcher = new KeyOrderedDispatcher();
+
+    @Autowired
+    public TradeDispatcher(
+            TradeIntake tradeIntake,
+            TradeProcessingService processingService,
+            DeadLetterPublisher deadLetterPublisher,
+            @Value("${kafka.listener.ordering-key:book}") String orderingKey
+    ) {
+        if (!List.of("book", "counterparty", "trade-id", "none").contains(orderingKey)) {
+            throw new IllegalArgumentException("Unsupported kafka.listener.ordering-key: " + orderingKey);
+        }
+        this.tradeIntake = tradeIntake;
+        this.processingService = processingService;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.orderingKey = orderingKey;
+
+        log.info("TradeDispatcher initialized with ordering key: {}", orderingKey);
+    }
+
+    /**
+     * Parse, process and (on failure) hand off a record.
+     *
+     * Completes with true once the record is done with: processed, filtered
+     * out, or published to a retry tier / the dead-letter topic. Completes
+     * with false if the trade was rejected because processing is saturated;
+     * it never started, so the caller rewinds the partition and the record
+     * comes back from Kafka once backpressure has let the queues drain,
+     * rather than using up a retry attempt. Completes exceptionally only if
+     * the hand-off failed.
+     */
+    public CompletableFuture<Boolean> dispatch(ConsumerRecord<String, byte[]> record) {
+        Trade trade;
+        try {
+            trade = tradeIntake.read(record);
+        } catch (Exception e) {
+            log.error("Failed to deserialize trade from partition {}, offset {}: {}",
+                    record.partition(), record.offset(), e.getMessage());
+
+            // Poison payload: the offset counts as done once it is on the dead-letter topic
+            return deadLetterPublisher.publishError(record, e).thenApply(sent -> true);
+        }
+
+        // Filtered out before the full parse
+        if (trade == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return keyDispatcher.dispatch(orderingKey(trade), () -> processingService.processAsync(trade))
+                .thenCompose(result -> {
+                    if (result.getStatus() == ProcessingStatus.REJECTED) {
+                        log.debug("Trade {} from partition {}, offset {} rejected under load; rewinding",
+                                trade.getTradeId(), record.partition(), record.offset());
+                        return CompletableFuture.completedFuture(false);
+                    }
+
+                    log.debug("Processed trade {} from partition {}, offset {}: Status={}, Duration={}ms",
+                            trade.getTradeId(), record.partition(), record.offset(),
+                            result.getStatus(), result.getProcessingTimeMs());
+
+                    // Failed trades continue on the retry tiers instead of blocking the partition
+                    return deadLetterPublisher.publishResult(record, result).thenApply(sent -> true);
+                });
+    }
+
+    private String orderingKey(Trade trade) {
+        return switch (orderingKey) {
+            case "book" -> trade.getBook();
+            case "counterparty" -> trade.getCounterparty();
+            case "trade-id" -> trade.getTradeId();
+            default -> null;
+        };
+    }
+}
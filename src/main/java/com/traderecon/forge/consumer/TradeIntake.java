@@ -0,0 +1,129 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.TradeEnvelope;
+import com.traderecon.forge.service.IdempotencyFilter;
+import io.annapurna.model.Trade;
+import io.annapurna.model.TradeType;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Decides whether a record is worth parsing, then parses it.
+ *
+ * Routing fields come from the trade-id / trade-type headers, or from a
+ * cheap prefix scan of the payload when the headers are missing or name
+ * an unknown trade type. Records
+ * that are filtered out (disabled trade types, already-booked trades) are
+ * dropped before the full parse, which is what keeps topic replays cheap.
+ *
+ * The content-type header picks the payload format: the compact binary
+ * encoding when it names {@link BinaryTradeCodec#CONTENT_TYPE}, JSON
+ * otherwise.
+ */
+@Component
+@Slf4j
+public class TradeIntake {
+
+    private final TradePayloadParser payloadParser;
+    private final BinaryTradeCodec binaryCodec;
+    private final IdempotencyFilter idempotencyFilter;
+    private final ProcessingMetrics metrics;
+    private final Set<TradeType> disabledTradeTypes = EnumSet.noneOf(TradeType.class);
+
+    @Autowired
+    public TradeIntake(
+            TradePayloadParser payloadParser,
+            BinaryTradeCodec binaryCodec,
+            IdempotencyFilter idempotencyFilter,
+            ProcessingMetrics metrics,
+            @Value("${processing.disabled-trade-types:}") String[] disabledTradeTypes
+    ) {
+        this.payloadParser = payloadParser;
+        this.binaryCodec = binaryCodec;
+        this.idempotencyFilter = idempotencyFilter;
+        this.metrics = metrics;
+        Arrays.stream(disabledTradeTypes)
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .map(TradeType::valueOf)
+                .forEach(this.disabledTradeTypes::add);
+
+        log.info("TradeIntake initialized (disabled trade types: {})", this.disabledTradeTypes);
+    }
+
+    /**
+     * Parse a record into a trade.
+     *
+     * @return the trade, or null if the record was filtered out
+     */
+    public Trade read(ConsumerRecord<String, byte[]> record) throws IOException {
+        boolean binary = binaryCodec.supports(header(record, TradeEnvelope.HEADER_CONTENT_TYPE));
+        TradeEnvelope envelope = envelope(record, binary);
+
+        String skipReason = skipReason(envelope);
+        if (skipReason != null) {
+            metrics.recordSkipped(envelope.tradeType(), skipReason);
+            log.debug("Skipped trade {} from partition {}, offset {}: {}",
+                    envelope.tradeId(), record.partition(), record.offset(), skipReason);
+            return null;
+        }
+
+        if (binary) {
+            return binaryCodec.decode(record.value());
+        }
+        return envelope.tradeType() != null
+                ? payloadParser.parse(record.value(), envelope.tradeType())
+                : payloadParser.parse(record.value());
+    }
+
+    private TradeEnvelope envelope(ConsumerRecord<String, byte[]> record, boolean binary) throws IOException {
+        String tradeId = header(record, TradeEnvelope.HEADER_TRADE_ID);
+        String tradeType = header(record, TradeEnvelope.HEADER_TRADE_TYPE);
+
+        if (tradeId != null && tradeType != null) {
+            TradeType type = tradeType(tradeType);
+            if (type != null) {
+                return new TradeEnvelope(tradeId, type);
+            }
+            // A bad header must not poison a payload that names its own type
+            log.warn("Ignoring unknown trade-type header '{}' on partition {}, offset {}",
+                    tradeType, record.partition(), record.offset());
+        }
+        return binary ? binaryCodec.scan(record.value()) : payloadParser.scan(record.value());
+    }
+
+    private String skipReason(TradeEnvelope envelope) {
+        if (envelope.tradeType() != null && disabledTradeTypes.contains(envelope.tradeType())) {
+            return "disabled_type";
+        }
+        if (idempotencyFilter.isDuplicate(envelope.tradeId())) {
+            return "duplicate";
+        }
+        return null;
+    }
+
+    private static TradeType tradeType(String name) {
+        for (TradeType type : TradeType.values()) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static String header(ConsumerRecord<String, byte[]> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
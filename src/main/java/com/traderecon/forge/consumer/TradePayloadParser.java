@@ -0,0 +1,221 @@
+package com.traderecon.forge.consumer;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.traderecon.forge.model.TradeEnvelope;
+import com.traderecon.forge.processor.TradeProcessorRegistry;
+import io.annapurna.model.Trade;
+import io.annapurna.model.TradeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts raw Kafka payloads into Trade objects.
+ *
+ * Parses straight from the record bytes. The type discriminator is read from
+ * the token stream, and the rest of the object is bound by a reader for the
+ * concrete class with polymorphic handling switched off, so Jackson never
+ * resolves the subtype itself. TradeType is set from the discriminator as
+ * part of the parse. Fields that appear before the discriminator are
+ * buffered and replayed, which is also what Jackson's own type handling does.
+ *
+ * When the type is already known (from headers or a prefix scan), the
+ * concrete reader binds the payload directly and skips the discriminator.
+ */
+@Component
+@Slf4j
+public class TradePayloadParser {
+
+    private static final String TRADE_ID_PROPERTY = "tradeId";
+
+    private final ObjectMapper objectMapper;
+    private final TradeProcessorRegistry processorRegistry;
+    private final JsonFactory jsonFactory;
+    private final String typeProperty;
+    private final Map<String, TypedReader> readers = new HashMap<>();
+    private final Map<TradeType, TypedReader> readersByType = new EnumMap<>(TradeType.class);
+
+    @Autowired
+    public TradePayloadParser(ObjectMapper objectMapper, TradeProcessorRegistry processorRegistry) {
+        this.objectMapper = objectMapper;
+        this.processorRegistry = processorRegistry;
+        this.jsonFactory = objectMapper.getFactory();
+        this.typeProperty = typeProperty();
+
+        // Same configuration and modules, minus the inherited @JsonTypeInfo
+        ObjectMapper concreteMapper = objectMapper.copy()
+                .addMixIn(Trade.class, UntypedTrade.class)
+                .addHandler(new DiscriminatorSkippingHandler(typeProperty));
+        for (TradeType tradeType : processorRegistry.tradeTypes()) {
+            register(concreteMapper, tradeType, processorRegistry.tradeClass(tradeType));
+        }
+
+        log.info("TradePayloadParser initialized with type property '{}'", typeProperty);
+    }
+
+    /**
+     * Deserialize a UTF-8 JSON payload into its concrete Trade type.
+     */
+    public Trade parse(byte[] payload) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Trade payload must be a JSON object");
+            }
+
+            TokenBuffer prefix = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+
+                if (typeProperty.equals(name)) {
+                    TypedReader reader = readers.get(parser.getText());
+                    if (reader == null) {
+                        throw new JsonParseException(parser, "Unknown trade type: " + parser.getText());
+                    }
+                    return reader.read(parser, prefix);
+                }
+
+                if (prefix == null) {
+                    prefix = new TokenBuffer(parser);
+                }
+                prefix.writeFieldName(name);
+                prefix.copyCurrentStructure(parser);
+            }
+        }
+
+        // No discriminator in the stream: let Jackson resolve the type
+        Trade trade = objectMapper.readValue(payload, Trade.class);
+        trade.setTradeType(processorRegistry.tradeType(trade.getClass()));
+        return trade;
+    }
+
+    /**
+     * Deserialize a payload whose trade type is already known.
+     */
+    public Trade parse(byte[] payload, TradeType tradeType) throws IOException {
+        Trade trade = readersByType.get(tradeType).reader().readValue(payload);
+        trade.setTradeType(tradeType);
+        return trade;
+    }
+
+    /**
+     * Read only the trade id and type from the start of a payload.
+     *
+     * Stops as soon as both are found; other values are skipped without
+     * being decoded.
+     */
+    public TradeEnvelope scan(byte[] payload) throws IOException {
+        String tradeId = null;
+        TradeType tradeType = null;
+
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Trade payload must be a JSON object");
+            }
+
+            while ((tradeId == null || tradeType == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+
+                if (typeProperty.equals(name)) {
+                    TypedReader reader = readers.get(parser.getText());
+                    if (reader == null) {
+                        throw new JsonParseException(parser, "Unknown trade type: " + parser.getText());
+                    }
+                    tradeType = reader.tradeType();
+                } else if (TRADE_ID_PROPERTY.equals(name)) {
+                    tradeId = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return new TradeEnvelope(tradeId, tradeType);
+    }
+
+    private void register(ObjectMapper concreteMapper, TradeType tradeType, Class<? extends Trade> tradeClass) {
+        TypedReader reader = new TypedReader(tradeType, tradeClass, concreteMapper.readerFor(tradeClass));
+        readers.put(tradeType.name(), reader);
+        readersByType.put(tradeType, reader);
+    }
+
+    private static String typeProperty() {
+        JsonTypeInfo typeInfo = Trade.class.getAnnotation(JsonTypeInfo.class);
+        if (typeInfo == null) {
+            return JsonTypeInfo.Id.NAME.getDefaultPropertyName();
+        }
+        return typeInfo.property().isEmpty() ? typeInfo.use().getDefaultPropertyName() : typeInfo.property();
+    }
+
+    /**
+     * Binds the remainder of a trade object once its concrete type is known.
+     */
+    private record TypedReader(TradeType tradeType, Class<? extends Trade> tradeClass, ObjectReader reader) {
+
+        Trade read(JsonParser parser, TokenBuffer prefix) throws IOException {
+            JsonParser fields = parser;
+            if (prefix != null) {
+                // Replay the fields seen before the discriminator, then continue the stream
+                parser.clearCurrentToken();
+                fields = JsonParserSequence.createFlattened(false, prefix.asParser(parser), parser);
+            }
+
+            // Step past the discriminator value (or onto the first buffered field)
+            JsonToken token = fields.nextToken();
+            Trade trade = token == JsonToken.END_OBJECT
+                    ? reader.readValue("{}")
+                    : reader.readValue(fields);
+
+            trade.setTradeType(tradeType);
+            return trade;
+        }
+    }
+
+    /**
+     * Lets the concrete readers bind a whole payload by ignoring the
+     * discriminator, which is not a bean property once type info is off.
+     */
+    private static class DiscriminatorSkippingHandler extends DeserializationProblemHandler {
+
+        private final String typeProperty;
+
+        DiscriminatorSkippingHandler(String typeProperty) {
+            this.typeProperty = typeProperty;
+        }
+
+        @Override
+        public boolean handleUnknownProperty(DeserializationContext ctxt, JsonParser p,
+                                             JsonDeserializer<?> deserializer, Object beanOrClass,
+                                             String propertyName) throws IOException {
+            if (typeProperty.equals(propertyName)) {
+                p.skipChildren();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Mix-in that switches off the @JsonTypeInfo inherited from Trade.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NONE)
+    private abstract static class UntypedTrade {
+    }
+}
@@ -0,0 +1,113 @@
+package com.traderecon.forge.credit;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Immutable survival and discount tables for one reference entity and
+ * valuation date.
+ *
+ * Survival probability, discount factor and cumulative protection value
+ * (per unit loss given default) are tabulated every gridDays out to the
+ * horizon; the risky annuity is accumulated at each quarterly IMM coupon
+ * date. Pricing a trade is a binary search and a few interpolations.
+ * Maturities past the horizon are valued at the horizon.
+ */
+public final class CreditCurve {
+
+    private final String name;
+    private final LocalDate valuationDate;
+    private final int gridDays;
+    private final double[] survival;
+    private final double[] discount;
+    private final double[] cumulativeProtection;
+    private final long[] couponEpochDays;
+    private final double[] cumulativeAnnuity;
+
+    CreditCurve(String name, LocalDate valuationDate, int gridDays, double[] survival, double[] discount,
+                double[] cumulativeProtection, long[] couponEpochDays, double[] cumulativeAnnuity) {
+        this.name = name;
+        this.valuationDate = valuationDate;
+        this.gridDays = gridDays;
+        this.survival = survival;
+        this.discount = discount;
+        this.cumulativeProtection = cumulativeProtection;
+        this.couponEpochDays = couponEpochDays;
+        this.cumulativeAnnuity = cumulativeAnnuity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getValuationDate() {
+        return valuationDate;
+    }
+
+    public double survivalProbability(LocalDate date) {
+        return logInterpolate(survival, gridPosition(date));
+    }
+
+    public double discountFactor(LocalDate date) {
+        return logInterpolate(discount, gridPosition(date));
+    }
+
+    /**
+     * Present value of the protection leg to maturity.
+     */
+    public double protectionLegPV(LocalDate maturity, double notional, double recoveryRate) {
+        double position = gridPosition(maturity);
+        int i = (int) position;
+        double value = i + 1 < cumulativeProtection.length
+                ? cumulativeProtection[i] + (position - i) * (cumulativeProtection[i + 1] - cumulativeProtection[i])
+                : cumulativeProtection[cumulativeProtection.length - 1];
+        return notional * (1 - recoveryRate) * value;
+    }
+
+    /**
+     * Present value of the premium leg to maturity, including accrual on default.
+     */
+    public double premiumLegPV(LocalDate maturity, double notional, double spread) {
+        return notional * spread * riskyAnnuity(maturity);
+    }
+
+    /**
+     * Risky PV01: coupons through the last IMM date on or before maturity,
+     * plus the stub from there to maturity.
+     */
+    public double riskyAnnuity(LocalDate maturity) {
+        long maturityDay = Math.min(maturity.toEpochDay(), horizon().toEpochDay());
+        int found = Arrays.binarySearch(couponEpochDays, maturityDay);
+        int last = found >= 0 ? found : -found - 2;
+
+        double annuity = last >= 0 ? cumulativeAnnuity[last] : 0;
+        long stubStartDay = last >= 0 ? couponEpochDays[last] : valuationDate.toEpochDay();
+        if (maturityDay > stubStartDay) {
+            LocalDate end = LocalDate.ofEpochDay(maturityDay);
+            annuity += (maturityDay - stubStartDay) / 360.0 * discountFactor(end) * survivalProbability(end);
+        }
+        return annuity;
+    }
+
+    private LocalDate horizon() {
+        return valuationDate.plusDays((long) (survival.length - 1) * gridDays);
+    }
+
+    private double gridPosition(LocalDate date) {
+        double days = ChronoUnit.DAYS.between(valuationDate, date);
+        return Math.min(Math.max(days / gridDays, 0), survival.length - 1);
+    }
+
+    private static double logInterpolate(double[] table, double position) {
+        int i = (int) position;
+        if (i + 1 >= table.length) {
+            return table[table.length - 1];
+        }
+        double fraction = position - i;
+        if (table[i] <= 0 || table[i + 1] <= 0) {
+            return table[i] + fraction * (table[i + 1] - table[i]);
+        }
+        return table[i] * Math.pow(table[i + 1] / table[i], fraction);
+    }
+}
@@ -0,0 +1,195 @@
+package com.traderecon.forge.credit;
+
+import com.traderecon.forge.curve.CurveBootstrapper;
+import com.traderecon.forge.curve.DayCount;
+import com.traderecon.forge.curve.DiscountCurve;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds a {@link CreditCurve} from par CDS spread quotes.
+ *
+ * Hazard rates are piecewise constant between quote maturities (the IMM
+ * date on or after valuation + tenor, rounded up to the table grid) and
+ * flat beyond the last one. Each
+ * segment's rate is solved by bisection so its quote prices at par, with
+ * quarterly IMM coupons on ACT/360, accrual on default at half a period,
+ * and the protection leg integrated over the table grid.
+ */
+public final class CreditCurveBootstrapper {
+
+    private static final int MAX_ITERATIONS = 100;
+    private static final double MAX_HAZARD = 10.0;
+    private static final double TOLERANCE = 1e-14;
+    private static final int[] IMM_MONTHS = {3, 6, 9, 12};
+    private static final int IMM_DAY = 20;
+
+    private CreditCurveBootstrapper() {
+    }
+
+    /**
+     * @param spreadsBps par spread per tenor (e.g. 5Y -> 140)
+     */
+    public static CreditCurve bootstrap(String name, LocalDate valuationDate, Map<String, Double> spreadsBps,
+                                        double recoveryRate, DiscountCurve discountCurve,
+                                        int gridDays, int horizonYears) {
+        // Table grid, plus coupon dates out to the horizon
+        int points = (int) Math.ceil(ChronoUnit.DAYS.between(valuationDate, valuationDate.plusYears(horizonYears))
+                / (double) gridDays) + 1;
+        double[] gridTimes = new double[points];
+        double[] discount = new double[points];
+        for (int i = 0; i < points; i++) {
+            LocalDate date = valuationDate.plusDays((long) i * gridDays);
+            gridTimes[i] = time(valuationDate, date);
+            discount[i] = discountCurve.discountFactor(date);
+        }
+
+        List<LocalDate> coupons = immDates(valuationDate, valuationDate.plusDays((long) (points - 1) * gridDays));
+        double[] couponTimes = new double[coupons.size()];
+        double[] couponAccruals = new double[coupons.size()];
+        double[] couponDiscounts = new double[coupons.size()];
+        LocalDate previous = valuationDate;
+        for (int m = 0; m < coupons.size(); m++) {
+            couponTimes[m] = time(valuationDate, coupons.get(m));
+            couponAccruals[m] = DayCount.ACT_360.yearFraction(previous, coupons.get(m));
+            couponDiscounts[m] = discountCurve.discountFactor(coupons.get(m));
+            previous = coupons.get(m);
+        }
+
+        // Quotes ordered by maturity
+        TreeMap<Double, Double> quotes = new TreeMap<>();
+        spreadsBps.forEach((tenor, spread) -> quotes.put(
+                time(valuationDate, nextImmDate(CurveBootstrapper.tenorDate(valuationDate, tenor))), spread / 10_000));
+
+        double[] pillarTimes = new double[quotes.size()];
+        double[] hazards = new double[quotes.size()];
+        int n = 0;
+        for (Map.Entry<Double, Double> quote : quotes.entrySet()) {
+            // Segments end on a grid point so no table step straddles two hazard rates
+            int gridIndex = Math.min((int) Math.ceil(quote.getKey() * 365 / gridDays - 1e-9), points - 1);
+            pillarTimes[n] = gridTimes[gridIndex];
+            double low = 0;
+            double high = MAX_HAZARD;
+            for (int iteration = 0; iteration < MAX_ITERATIONS && high - low > TOLERANCE; iteration++) {
+                hazards[n] = 0.5 * (low + high);
+                double protection = (1 - recoveryRate)
+                        * protection(gridTimes, discount, pillarTimes, hazards, n + 1, quote.getKey());
+                double premium = quote.getValue()
+                        * annuity(couponTimes, couponAccruals, couponDiscounts, pillarTimes, hazards, n + 1, quote.getKey());
+                if (protection > premium) {
+                    high = hazards[n];
+                } else {
+                    low = hazards[n];
+                }
+            }
+            hazards[n] = 0.5 * (low + high);
+            n++;
+        }
+
+        // Tables for pricing
+        double[] survival = new double[points];
+        double[] cumulativeProtection = new double[points];
+        survival[0] = 1;
+        for (int i = 1; i < points; i++) {
+            survival[i] = survival(pillarTimes, hazards, n, gridTimes[i]);
+            cumulativeProtection[i] = cumulativeProtection[i - 1]
+                    + 0.5 * (discount[i - 1] + discount[i]) * (survival[i - 1] - survival[i]);
+        }
+
+        long[] couponEpochDays = new long[coupons.size()];
+        double[] cumulativeAnnuity = new double[coupons.size()];
+        double previousSurvival = 1;
+        double total = 0;
+        for (int m = 0; m < coupons.size(); m++) {
+            double q = survival(pillarTimes, hazards, n, couponTimes[m]);
+            total += couponAccruals[m] * couponDiscounts[m] * 0.5 * (q + previousSurvival);
+            couponEpochDays[m] = coupons.get(m).toEpochDay();
+            cumulativeAnnuity[m] = total;
+            previousSurvival = q;
+        }
+
+        return new CreditCurve(name, valuationDate, gridDays, survival, discount, cumulativeProtection,
+                couponEpochDays, cumulativeAnnuity);
+    }
+
+    /**
+     * Protection leg per unit loss given default, from 0 to maturity,
+     * interpolated within the last grid step the same way as the table.
+     */
+    private static double protection(double[] gridTimes, double[] discount, double[] pillarTimes,
+                                     double[] hazards, int count, double maturity) {
+        double value = 0;
+        double previousSurvival = 1;
+        for (int i = 1; i < gridTimes.length && gridTimes[i - 1] < maturity; i++) {
+            double q = survival(pillarTimes, hazards, count, gridTimes[i]);
+            double step = 0.5 * (discount[i - 1] + discount[i]) * (previousSurvival - q);
+            if (gridTimes[i] > maturity) {
+                return value + step * (maturity - gridTimes[i - 1]) / (gridTimes[i] - gridTimes[i - 1]);
+            }
+            value += step;
+            previousSurvival = q;
+        }
+        return value;
+    }
+
+    /**
+     * Risky annuity to maturity; averaging survival over each period
+     * accounts for accrual paid on default.
+     */
+    private static double annuity(double[] couponTimes, double[] accruals, double[] discounts,
+                                  double[] pillarTimes, double[] hazards, int count, double maturity) {
+        double value = 0;
+        double previousSurvival = 1;
+        for (int m = 0; m < couponTimes.length && couponTimes[m] <= maturity; m++) {
+            double q = survival(pillarTimes, hazards, count, couponTimes[m]);
+            value += accruals[m] * discounts[m] * 0.5 * (q + previousSurvival);
+            previousSurvival = q;
+        }
+        return value;
+    }
+
+    private static double survival(double[] pillarTimes, double[] hazards, int count, double t) {
+        double cumulative = 0;
+        double start = 0;
+        for (int j = 0; j < count && start < t; j++) {
+            double end = j == count - 1 ? t : Math.min(pillarTimes[j], t);
+            cumulative += hazards[j] * (end - start);
+            start = end;
+        }
+        return Math.exp(-cumulative);
+    }
+
+    /**
+     * Quarterly CDS coupon dates (20 Mar / Jun / Sep / Dec) after start, through end.
+     */
+    static List<LocalDate> immDates(LocalDate start, LocalDate end) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate date = nextImmDate(start.plusDays(1));
+        while (!date.isAfter(end)) {
+            dates.add(date);
+            date = date.plusMonths(3);
+        }
+        return dates;
+    }
+
+    /**
+     * The first IMM date on or after date.
+     */
+    static LocalDate nextImmDate(LocalDate date) {
+        for (int month : IMM_MONTHS) {
+            LocalDate candidate = LocalDate.of(date.getYear(), month, IMM_DAY);
+            if (!candidate.isBefore(date)) {
+                return candidate;
+            }
+        }
+        return LocalDate.of(date.getYear() + 1, IMM_MONTHS[0], IMM_DAY);
+    }
+    private static double time(LocalDate valuationDate, LocalDate date) {
+        return DayCount.ACT_365F.yearFraction(valuationDate, date);
+    }
+}
@@ -0,0 +1,179 @@
+package com.traderecon.forge.credit;
+
+import com.traderecon.forge.curve.CurveCache;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Credit curves per reference entity and valuation date.
+ *
+ * Entities with quotes under processing.credit-curves.entities.&lt;entity&gt;
+ * (lower case, non-alphanumerics as '-') get a curve bootstrapped from
+ * them; the quotes are parsed once at startup, and each reference entity
+ * name as trades spell it is matched to them on first sight. Any other
+ * entity is valued on a flat curve at the trade's own spread and recovery,
+ * shared by every trade with both, so the trade reprices to par. Curves
+ * are discounted on the discount-index curve from {@link CurveCache}. At
+ * most max-cached curves are kept, least recently used first out.
+ *
+ * Curves are built outside any lock: the first caller for a key builds it
+ * and concurrent callers for the same key wait for that build, while
+ * lookups of other curves carry on. A lock is held only to record use
+ * order for eviction.
+ */
+@Component
+@Slf4j
+public class CreditCurveCache {
+
+    private static final String ENTITIES = "processing.credit-curves.entities";
+    private static final String FLAT_TENOR = "5Y";
+
+    private final CurveCache curveCache;
+    private final ProcessingMetrics metrics;
+    private final String discountIndex;
+    private final int gridDays;
+    private final int horizonYears;
+    // Quoted entities by key, and by reference entity name as trades spell it
+    private final Map<String, EntityDefinition> entities;
+    private final Map<String, Optional<EntityDefinition>> definitions = new ConcurrentHashMap<>();
+    private final Map<CurveKey, CompletableFuture<CreditCurve>> curves = new ConcurrentHashMap<>();
+    // Use order for eviction, guarded by itself
+    private final Map<CurveKey, Boolean> recency;
+
+    @Autowired
+    public CreditCurveCache(Environment environment, CurveCache curveCache, ProcessingMetrics metrics) {
+        this.curveCache = curveCache;
+        this.metrics = metrics;
+        this.discountIndex = environment.getProperty("processing.credit-curves.discount-index", "SOFR");
+        this.gridDays = environment.getProperty("processing.credit-curves.grid-days", Integer.class, 7);
+        this.horizonYears = environment.getProperty("processing.credit-curves.horizon-years", Integer.class, 15);
+        this.entities = parseEntities(environment,
+                environment.getProperty("processing.credit-curves.recovery-rate", Double.class, 40.0));
+
+        int maxCached = environment.getProperty("processing.credit-curves.max-cached", Integer.class, 5000);
+        this.recency = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CurveKey, Boolean> eldest) {
+                if (size() <= maxCached) {
+                    return false;
+                }
+                curves.remove(eldest.getKey());
+                return true;
+            }
+        };
+
+        metrics.registerCreditCurveCache(curves::size);
+        log.info("CreditCurveCache initialized (discount index: {}, entities: {}, grid: {} days, horizon: {}y, "
+                + "max cached: {})", discountIndex, entities.size(), gridDays, horizonYears, maxCached);
+    }
+
+    /**
+     * The curve for an entity, or the flat curve for the trade's spread and
+     * recovery if the entity has no quotes.
+     *
+     * @param recoveryRate the trade's recovery rate as a fraction
+     */
+    public CreditCurve curve(String referenceEntity, int spreadBps, double recoveryRate, LocalDate valuationDate) {
+        EntityDefinition definition = definitions
+                .computeIfAbsent(referenceEntity, name -> Optional.ofNullable(entities.get(entityKey(name))))
+                .orElse(null);
+
+        CurveKey key = definition != null
+                ? new CurveKey(definition.name(), valuationDate)
+                : new CurveKey("flat-" + spreadBps + "bps-" + recoveryRate, valuationDate);
+        CompletableFuture<CreditCurve> curve = curves.get(key);
+        if (curve == null) {
+            CompletableFuture<CreditCurve> building = new CompletableFuture<>();
+            curve = curves.putIfAbsent(key, building);
+            if (curve == null) {
+                curve = building;
+                try {
+                    building.complete(definition != null
+                            ? build(key, definition.spreads(), definition.recoveryRate())
+                            : build(key, Map.of(FLAT_TENOR, (double) spreadBps), recoveryRate));
+                } catch (RuntimeException e) {
+                    curves.remove(key, building);
+                    building.completeExceptionally(e);
+                }
+            }
+        }
+
+        synchronized (recency) {
+            recency.put(key, Boolean.TRUE);
+        }
+        try {
+            return curve.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private CreditCurve build(CurveKey key, Map<String, Double> spreads, double recovery) {
+        long start = System.nanoTime();
+        CreditCurve curve = CreditCurveBootstrapper.bootstrap(key.name(), key.valuationDate(), spreads, recovery,
+                curveCache.curve(discountIndex, key.valuationDate()), gridDays, horizonYears);
+
+        metrics.recordCreditCurveBuild(System.nanoTime() - start);
+        log.debug("Built credit curve {} for {} from {} quotes", key.name(), key.valuationDate(), spreads.size());
+        return curve;
+    }
+
+    /**
+     * Quotes and recovery of every configured entity, by entity key.
+     */
+    private static Map<String, EntityDefinition> parseEntities(Environment environment, double defaultRecovery) {
+        Map<String, String> properties = Binder.get(environment)
+                .bind(ENTITIES, Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+
+        Map<String, EntityDefinition> entities = new HashMap<>();
+        properties.forEach((property, value) -> {
+            if (!property.endsWith(".spreads")) {
+                return;
+            }
+            String entity = property.substring(0, property.length() - ".spreads".length());
+            String recovery = properties.get(entity + ".recovery-rate");
+            entities.put(entityKey(entity), new EntityDefinition(entity, parse(entity, value.split(",")),
+                    (recovery != null ? Double.parseDouble(recovery.trim()) : defaultRecovery) / 100));
+        });
+        return Map.copyOf(entities);
+    }
+
+    private static Map<String, Double> parse(String entity, String[] quotes) {
+        Map<String, Double> spreads = new LinkedHashMap<>();
+        for (String entry : quotes) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid credit spread quote for " + entity + ": " + entry);
+            }
+            spreads.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+        }
+        return Collections.unmodifiableMap(spreads);
+    }
+
+    static String entityKey(String referenceEntity) {
+        return referenceEntity.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+    }
+
+    private record EntityDefinition(String name, Map<String, Double> spreads, double recoveryRate) {
+    }
+
+    private record CurveKey(String name, LocalDate valuationDate) {
+    }
+}
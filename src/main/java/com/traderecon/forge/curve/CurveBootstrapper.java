@@ -0,0 +1,99 @@
+package com.traderecon.forge.curve;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds a {@link DiscountCurve} from deposit and par swap quotes.
+ *
+ * Pillars are solved in maturity order. A deposit gives its discount
+ * factor directly; for a swap the one unknown is its maturity discount
+ * factor, with coupon dates after the previous pillar interpolated
+ * towards it, found by bisection so the swap prices at par.
+ */
+public final class CurveBootstrapper {
+
+    private static final int MAX_ITERATIONS = 100;
+    private static final double TOLERANCE = 1e-15;
+
+    private CurveBootstrapper() {
+    }
+
+    public static DiscountCurve bootstrap(CurveDefinition definition, LocalDate valuationDate) {
+        List<Pillar> pillars = new ArrayList<>();
+        for (CurveDefinition.Quote quote : definition.quotes()) {
+            pillars.add(new Pillar(tenorDate(valuationDate, quote.tenor()), quote.ratePercent() / 100));
+        }
+        pillars.sort(Comparator.comparing(Pillar::maturity));
+
+        double[] times = new double[pillars.size()];
+        double[] logDiscounts = new double[pillars.size()];
+        LocalDate depositLimit = valuationDate.plusYears(1);
+
+        for (int n = 0; n < pillars.size(); n++) {
+            Pillar pillar = pillars.get(n);
+            times[n] = DiscountCurve.time(valuationDate, pillar.maturity());
+
+            if (!pillar.maturity().isAfter(depositLimit)) {
+                double accrual = definition.floatingDayCount().yearFraction(valuationDate, pillar.maturity());
+                logDiscounts[n] = -Math.log(1 + pillar.rate() * accrual);
+            } else {
+                logDiscounts[n] = solveSwap(definition, valuationDate, pillar, times, logDiscounts, n);
+            }
+        }
+
+        return new DiscountCurve(definition, valuationDate, times, logDiscounts);
+    }
+
+    /**
+     * Log discount factor at the swap's maturity that makes it price at par.
+     */
+    private static double solveSwap(CurveDefinition definition, LocalDate valuationDate, Pillar pillar,
+                                    double[] times, double[] logDiscounts, int n) {
+        List<LocalDate> dates = ScheduleGenerator.dates(valuationDate, pillar.maturity(),
+                definition.fixedFrequencyMonths());
+
+        double low = 1e-6;
+        double high = 2.0;
+        for (int iteration = 0; iteration < MAX_ITERATIONS && high - low > TOLERANCE; iteration++) {
+            double mid = 0.5 * (low + high);
+            logDiscounts[n] = Math.log(mid);
+
+            // Par condition: rate x annuity + final discount factor = 1
+            double annuity = 0;
+            for (int i = 1; i < dates.size(); i++) {
+                double t = DiscountCurve.time(valuationDate, dates.get(i));
+                double accrual = definition.fixedDayCount().yearFraction(dates.get(i - 1), dates.get(i));
+                annuity += accrual * Math.exp(DiscountCurve.logDiscount(times, logDiscounts, n + 1, t));
+            }
+            double error = pillar.rate() * annuity + mid - 1;
+
+            if (error > 0) {
+                high = mid;
+            } else {
+                low = mid;
+            }
+        }
+        return Math.log(0.5 * (low + high));
+    }
+
+    /**
+     * Date a tenor such as 2W, 3M or 5Y after the valuation date.
+     */
+    public static LocalDate tenorDate(LocalDate valuationDate, String tenor) {
+        String value = tenor.trim().toUpperCase();
+        int amount = Integer.parseInt(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 'D' -> valuationDate.plusDays(amount);
+            case 'W' -> valuationDate.plusWeeks(amount);
+            case 'M' -> valuationDate.plusMonths(amount);
+            case 'Y' -> valuationDate.plusYears(amount);
+            default -> throw new IllegalArgumentException("Unsupported curve tenor: " + tenor);
+        };
+    }
+
+    private record Pillar(LocalDate maturity, double rate) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.traderecon.forge.curve;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.EnrichmentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bootstrapped curves per index and valuation date.
+ *
+ * Each curve is built once, on first use or at startup for the configured
+ * indices, and the immutable result is shared by every pricing thread.
+ * At most max-cached curves are kept, least recently used first out, so
+ * a replay over many past valuation dates stays bounded whatever order the
+ * dates come in.
+ *
+ * Quotes come from processing.curves.&lt;index&gt;.quotes as tenor:rate
+ * pairs (e.g. 3M:5.33,2Y:4.75). An index without quotes gets a flat curve
+ * at its EnrichmentService rate.
+ */
+@Component
+@Slf4j
+public class CurveCache {
+
+    private final Environment environment;
+    private final EnrichmentService enrichmentService;
+    private final ProcessingMetrics metrics;
+    private final List<String> indices;
+    private final Map<String, CurveDefinition> definitions = new ConcurrentHashMap<>();
+    private final Map<CurveKey, DiscountCurve> curves = new ConcurrentHashMap<>();
+    // Use order for eviction, guarded by itself
+    private final Map<CurveKey, Boolean> recency;
+
+    @Autowired
+    public CurveCache(Environment environment, EnrichmentService enrichmentService, ProcessingMetrics metrics) {
+        this.environment = environment;
+        this.enrichmentService = enrichmentService;
+        this.metrics = metrics;
+        this.indices = List.of(environment.getProperty("processing.curves.indices", String[].class,
+                new String[]{"SOFR", "LIBOR", "EURIBOR"}));
+
+        int maxCached = environment.getProperty("processing.curves.max-cached", Integer.class, 256);
+        this.recency = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CurveKey, Boolean> eldest) {
+                if (size() <= maxCached) {
+                    return false;
+                }
+                curves.remove(eldest.getKey());
+                return true;
+            }
+        };
+
+        metrics.registerCurveCache(curves::size);
+        log.info("CurveCache initialized for indices {}", indices);
+    }
+
+    /**
+     * Build today's curves before the first trade needs them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDate today = LocalDate.now();
+        indices.forEach(index -> curve(index, today));
+    }
+
+    /**
+     * The curve for an index on a valuation date, built on first request.
+     */
+    public DiscountCurve curve(String index, LocalDate valuationDate) {
+        CurveKey key = new CurveKey(index.toUpperCase(Locale.ROOT), valuationDate);
+        DiscountCurve curve = curves.get(key);
+        if (curve == null) {
+            curve = curves.computeIfAbsent(key, this::build);
+        }
+        synchronized (recency) {
+            recency.put(key, Boolean.TRUE);
+        }
+        return curve;
+    }
+
+    private DiscountCurve build(CurveKey key) {
+        long start = System.nanoTime();
+        CurveDefinition definition = definitions.computeIfAbsent(key.index(), this::definition);
+        DiscountCurve curve = CurveBootstrapper.bootstrap(definition, key.valuationDate());
+
+        metrics.recordCurveBuild(key.index(), System.nanoTime() - start);
+        log.info("Built {} curve for {} from {} quotes", key.index(), key.valuationDate(), definition.quotes().size());
+        return curve;
+    }
+
+    private CurveDefinition definition(String index) {
+        String prefix = "processing.curves." + index.toLowerCase(Locale.ROOT);
+
+        List<CurveDefinition.Quote> quotes = new ArrayList<>();
+        for (String entry : environment.getProperty(prefix + ".quotes", String[].class, new String[0])) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid curve quote for " + index + ": " + entry);
+            }
+            quotes.add(new CurveDefinition.Quote(parts[0].trim(), Double.parseDouble(parts[1].trim())));
+        }
+        if (quotes.isEmpty()) {
+            log.warn("No quotes configured for {}; using a flat curve", index);
+            quotes.add(new CurveDefinition.Quote("1Y", enrichmentService.getRateByIndex(index).doubleValue()));
+        }
+
+        return new CurveDefinition(
+                index,
+                List.copyOf(quotes),
+                environment.getProperty(prefix + ".fixed-day-count", DayCount.class, DayCount.THIRTY_360),
+                environment.getProperty(prefix + ".fixed-frequency-months", Integer.class, 12),
+                environment.getProperty(prefix + ".floating-day-count", DayCount.class, DayCount.ACT_360),
+                environment.getProperty(prefix + ".floating-frequency-months", Integer.class, 3)
+        );
+    }
+
+    private record CurveKey(String index, LocalDate valuationDate) {
+    }
+}
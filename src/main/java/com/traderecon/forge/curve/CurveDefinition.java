@@ -0,0 +1,25 @@
+package com.traderecon.forge.curve;
+
+import java.util.List;
+
+/**
+ * Quotes and leg conventions for one rate index.
+ *
+ * Quotes maturing within a year are deposits; longer ones are par swaps
+ * with a fixed leg paying every fixedFrequencyMonths. Rates are in percent.
+ */
+public record CurveDefinition(
+        String index,
+        List<Quote> quotes,
+        DayCount fixedDayCount,
+        int fixedFrequencyMonths,
+        DayCount floatingDayCount,
+        int floatingFrequencyMonths
+) {
+
+    /**
+     * An instrument quote such as 3M at 5.33 or 5Y at 4.25.
+     */
+    public record Quote(String tenor, double ratePercent) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.traderecon.forge.curve;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Day count conventions for accrual fractions.
+ */
+public enum DayCount {
+    ACT_360,     // Money market (SOFR, EURIBOR floating legs)
+    ACT_365F,    // Curve time axis
+    THIRTY_360;  // Fixed legs (30/360 bond basis)
+
+    /**
+     * The day count for a trade's convention string, e.g. ACT/360 or 30/360.
+     *
+     * @throws IllegalArgumentException if the convention is not supported
+     */
+    public static DayCount fromConvention(String convention) {
+        return switch (convention.trim().toUpperCase(Locale.ROOT).replace('_', '/')) {
+            case "ACT/360" -> ACT_360;
+            case "ACT/365", "ACT/365F" -> ACT_365F;
+            case "30/360", "THIRTY/360" -> THIRTY_360;
+            default -> throw new IllegalArgumentException("Unsupported day count convention: " + convention);
+        };
+    }
+
+    public double yearFraction(LocalDate start, LocalDate end) {
+        return switch (this) {
+            case ACT_360 -> ChronoUnit.DAYS.between(start, end) / 360.0;
+            case ACT_365F -> ChronoUnit.DAYS.between(start, end) / 365.0;
+            case THIRTY_360 -> {
+                int d1 = Math.min(start.getDayOfMonth(), 30);
+                int d2 = end.getDayOfMonth() == 31 && d1 == 30 ? 30 : end.getDayOfMonth();
+                yield (360.0 * (end.getYear() - start.getYear())
+                        + 30.0 * (end.getMonthValue() - start.getMonthValue())
+                        + (d2 - d1)) / 360.0;
+            }
+        };
+    }
+}
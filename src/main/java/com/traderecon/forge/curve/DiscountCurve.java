@@ -0,0 +1,81 @@
+package com.traderecon.forge.curve;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable discount curve for one index and valuation date.
+ *
+ * Pillars are stored as ACT/365F times and log discount factors and are
+ * interpolated log-linearly (piecewise flat forwards), extrapolating the
+ * last forward beyond the final pillar. Safe to share across threads.
+ */
+public final class DiscountCurve {
+
+    private final CurveDefinition definition;
+    private final LocalDate valuationDate;
+    private final double[] times;
+    private final double[] logDiscounts;
+
+    DiscountCurve(CurveDefinition definition, LocalDate valuationDate, double[] times, double[] logDiscounts) {
+        this.definition = definition;
+        this.valuationDate = valuationDate;
+        this.times = times.clone();
+        this.logDiscounts = logDiscounts.clone();
+    }
+
+    public CurveDefinition getDefinition() {
+        return definition;
+    }
+
+    public LocalDate getValuationDate() {
+        return valuationDate;
+    }
+
+    public double discountFactor(LocalDate date) {
+        return discountFactor(time(valuationDate, date));
+    }
+
+    public double discountFactor(double t) {
+        return Math.exp(logDiscount(times, logDiscounts, times.length, t));
+    }
+
+    /**
+     * Simply compounded forward rate over [start, end] on the given basis.
+     */
+    public double forwardRate(LocalDate start, LocalDate end, DayCount dayCount) {
+        double accrual = dayCount.yearFraction(start, end);
+        if (accrual <= 0) {
+            return 0;
+        }
+        return (discountFactor(start) / discountFactor(end) - 1) / accrual;
+    }
+
+    static double time(LocalDate valuationDate, LocalDate date) {
+        return DayCount.ACT_365F.yearFraction(valuationDate, date);
+    }
+
+    /**
+     * Log discount factor at t from the first count pillars.
+     */
+    static double logDiscount(double[] times, double[] logDiscounts, int count, double t) {
+        if (t <= 0 || count == 0) {
+            return 0;
+        }
+
+        double previousTime = 0;
+        double previousLog = 0;
+        for (int i = 0; i < count; i++) {
+            if (t <= times[i]) {
+                return previousLog + (logDiscounts[i] - previousLog) * (t - previousTime) / (times[i] - previousTime);
+            }
+            previousTime = times[i];
+            previousLog = logDiscounts[i];
+        }
+
+        // Flat forward beyond the last pillar
+        double slope = count == 1
+                ? logDiscounts[0] / times[0]
+                : (logDiscounts[count - 1] - logDiscounts[count - 2]) / (times[count - 1] - times[count - 2]);
+        return previousLog + slope * (t - previousTime);
+    }
+}
@@ -0,0 +1,55 @@
+package com.traderecon.forge.curve;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Regular payment schedules, rolled backward from maturity.
+ *
+ * Any odd period ends up as a short stub at the front. Dates are not
+ * adjusted for holidays.
+ */
+public final class ScheduleGenerator {
+
+    private ScheduleGenerator() {
+    }
+
+    /**
+     * Period boundaries from start to end inclusive: start, d1, ..., end.
+     */
+    public static List<LocalDate> dates(LocalDate start, LocalDate end, int frequencyMonths) {
+        List<LocalDate> dates = new ArrayList<>();
+        dates.add(end);
+
+        int periods = 1;
+        LocalDate date = end.minusMonths(frequencyMonths);
+        while (date.isAfter(start)) {
+            dates.add(date);
+            date = end.minusMonths((long) frequencyMonths * ++periods);
+        }
+        if (start.isBefore(end)) {
+            dates.add(start);
+        }
+
+        Collections.reverse(dates);
+        return dates;
+    }
+
+    /**
+     * Months per period for a trade's frequency, e.g. QUARTERLY or SEMI_ANNUAL.
+     *
+     * @throws IllegalArgumentException if the frequency is not supported
+     */
+    public static int frequencyMonths(String frequency) {
+        return switch (frequency.trim().toUpperCase(Locale.ROOT)) {
+            case "MONTHLY" -> 1;
+            case "QUARTERLY" -> 3;
+            case "SEMI_ANNUAL", "SEMIANNUAL" -> 6;
+            case "ANNUAL" -> 12;
+            default -> throw new IllegalArgumentException("Unsupported payment frequency: " + frequency);
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.traderecon.forge.exception;
+
+/**
+ * Exception thrown when a trade's processing deadline has passed.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,49 @@
+package com.traderecon.forge.fx;
+
+import java.time.LocalDate;
+
+/**
+ * Forward points for one currency pair at the standard tenors of a snapshot.
+ *
+ * The first node is the spot date, where the points are zero. Broken dates
+ * are interpolated linearly in days between nodes; dates past the last
+ * tenor extend the last segment, and dates on or before spot (including
+ * those between valuation and spot) are clamped to spot, at zero points.
+ */
+public final class FxForwardGrid {
+
+    private final String pair;
+    private final double spot;
+    private final long[] days;
+    private final double[] points;
+
+    FxForwardGrid(String pair, double spot, long[] days, double[] points) {
+        this.pair = pair;
+        this.spot = spot;
+        this.days = days;
+        this.points = points;
+    }
+
+    public String getPair() {
+        return pair;
+    }
+
+    public double getSpot() {
+        return spot;
+    }
+
+    public double forwardPoints(LocalDate date) {
+        long day = Math.max(date.toEpochDay(), days[0]);
+
+        int i = 1;
+        while (i < days.length - 1 && days[i] < day) {
+            i++;
+        }
+        double weight = (double) (day - days[i - 1]) / (days[i] - days[i - 1]);
+        return points[i - 1] + (points[i] - points[i - 1]) * weight;
+    }
+
+    public double forwardRate(LocalDate date) {
+        return spot + forwardPoints(date);
+    }
+}
@@ -0,0 +1,224 @@
+package com.traderecon.forge.fx;
+
+import com.traderecon.forge.curve.CurveBootstrapper;
+import com.traderecon.forge.curve.CurveCache;
+import com.traderecon.forge.curve.DiscountCurve;
+import com.traderecon.forge.marketdata.MarketDataSnapshot;
+import com.traderecon.forge.marketdata.MarketDataStore;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * FX market snapshots per valuation date and market data version.
+ *
+ * Spots are USD pairs (EUR/USD, USD/JPY) supplied by the caller: those of
+ * a {@link MarketDataSnapshot}, or history for a past valuation date. Each
+ * currency is discounted on the CurveCache curve named in
+ * processing.fx.curves (USD:SOFR,EUR:EURIBOR). A snapshot computes the USD
+ * forwards of every currency at the standard tenors once, and the
+ * configured pairs' grids are built with it so trades only interpolate.
+ * At most max-cached snapshots are kept, least recently used first out, so
+ * superseded market data versions age out and a replay over many past
+ * dates stays bounded whatever order the dates come in.
+ */
+@Component
+@Slf4j
+public class FxMarketCache {
+
+    private final CurveCache curveCache;
+    private final MarketDataStore marketDataStore;
+    private final ProcessingMetrics metrics;
+    private final Map<String, String> curveIndices;
+    private final List<String> tenors;
+    private final List<String> pairs;
+    private final int spotLagDays;
+    private final Map<SnapshotKey, FxMarketSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Use order for eviction, guarded by itself
+    private final Map<SnapshotKey, Boolean> recency;
+
+    @Autowired
+    public FxMarketCache(Environment environment, CurveCache curveCache, MarketDataStore marketDataStore,
+                         ProcessingMetrics metrics) {
+        this.curveCache = curveCache;
+        this.marketDataStore = marketDataStore;
+        this.metrics = metrics;
+        this.curveIndices = parseCurves(environment.getProperty("processing.fx.curves", String[].class,
+                new String[]{"USD:SOFR", "EUR:EURIBOR", "GBP:SONIA", "JPY:TONA", "CHF:SARON", "AUD:AONIA"}));
+        this.tenors = List.of(environment.getProperty("processing.fx.tenors", String[].class,
+                new String[]{"1W", "1M", "2M", "3M", "6M", "9M", "1Y", "18M", "2Y"}));
+        this.pairs = List.of(environment.getProperty("processing.fx.pairs", String[].class, new String[0]));
+        this.spotLagDays = environment.getProperty("processing.fx.spot-lag-days", Integer.class, 2);
+
+        int maxCached = environment.getProperty("processing.fx.max-cached", Integer.class, 16);
+        this.recency = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SnapshotKey, Boolean> eldest) {
+                if (size() <= maxCached) {
+                    return false;
+                }
+                snapshots.remove(eldest.getKey());
+                return true;
+            }
+        };
+
+        metrics.registerFxGrids(this::gridCount);
+        log.info("FxMarketCache initialized for currencies {} ({} tenors, spot lag {} days)",
+                curveIndices.keySet(), tenors.size(), spotLagDays);
+    }
+
+    /**
+     * Build today's snapshot before the first trade needs it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        MarketDataSnapshot marketData = marketDataStore.current();
+        snapshot(LocalDate.now(), marketData.getVersion(), marketData::fxSpots);
+    }
+
+    /**
+     * The snapshot for a valuation date and the market data version its
+     * spots come from, built on first request.
+     */
+    public FxMarketSnapshot snapshot(LocalDate valuationDate, long marketDataVersion,
+                                     Supplier<Map<String, BigDecimal>> fxSpots) {
+        SnapshotKey key = new SnapshotKey(valuationDate, marketDataVersion);
+        FxMarketSnapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            snapshot = snapshots.computeIfAbsent(key, k -> build(k, fxSpots.get()));
+        }
+        synchronized (recency) {
+            recency.put(key, Boolean.TRUE);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Whether a currency has a deposit curve, and so can be priced given a
+     * USD spot.
+     */
+    public boolean supports(String currency) {
+        return curveIndices.containsKey(currency);
+    }
+
+    private FxMarketSnapshot build(SnapshotKey key, Map<String, BigDecimal> fxSpots) {
+        long start = System.nanoTime();
+        LocalDate valuationDate = key.valuationDate();
+        Map<String, Double> usdSpots = usdSpots(fxSpots);
+        LocalDate spotDate = addWeekdays(valuationDate, spotLagDays);
+
+        TreeSet<Long> days = new TreeSet<>();
+        days.add(spotDate.toEpochDay());
+        tenors.forEach(tenor -> days.add(CurveBootstrapper.tenorDate(spotDate, tenor).toEpochDay()));
+        long[] gridDays = days.stream().mapToLong(Long::longValue).toArray();
+
+        Map<String, DiscountCurve> curves = new HashMap<>();
+        Map<String, double[]> usdForwards = new HashMap<>();
+        DiscountCurve usdCurve = curve(FxMarketSnapshot.USD, valuationDate, curves);
+        for (Map.Entry<String, Double> entry : usdSpots.entrySet()) {
+            if (!curveIndices.containsKey(entry.getKey())) {
+                log.warn("No deposit curve configured for {} in processing.fx.curves; skipping its spot", entry.getKey());
+                continue;
+            }
+            DiscountCurve curve = curve(entry.getKey(), valuationDate, curves);
+            usdForwards.put(entry.getKey(), usdForwards(entry.getValue(), curve, usdCurve, gridDays));
+        }
+
+        FxMarketSnapshot snapshot = new FxMarketSnapshot(valuationDate, spotDate, gridDays, curves, usdForwards);
+        for (String pair : pairs) {
+            try {
+                snapshot.grid(pair);
+            } catch (IllegalArgumentException e) {
+                log.warn("No FX grid for {}: {}", pair, e.getMessage());
+            }
+        }
+
+        metrics.recordFxSnapshotBuild(System.nanoTime() - start);
+        log.info("Built FX snapshot for {} from market data version {} ({} currencies, {} grids)",
+                valuationDate, key.version(), usdForwards.size(), snapshot.gridCount());
+        return snapshot;
+    }
+
+    private DiscountCurve curve(String currency, LocalDate valuationDate, Map<String, DiscountCurve> curves) {
+        return curves.computeIfAbsent(currency, c -> curveCache.curve(curveIndices.get(c), valuationDate));
+    }
+
+    private static double[] usdForwards(double spot, DiscountCurve curve, DiscountCurve usdCurve, long[] gridDays) {
+        double spotDiscount = curve.discountFactor(LocalDate.ofEpochDay(gridDays[0]));
+        double usdSpotDiscount = usdCurve.discountFactor(LocalDate.ofEpochDay(gridDays[0]));
+
+        double[] forwards = new double[gridDays.length];
+        forwards[0] = spot;
+        for (int i = 1; i < gridDays.length; i++) {
+            LocalDate date = LocalDate.ofEpochDay(gridDays[i]);
+            forwards[i] = spot * (curve.discountFactor(date) / spotDiscount)
+                    / (usdCurve.discountFactor(date) / usdSpotDiscount);
+        }
+        return forwards;
+    }
+
+    private int gridCount() {
+        return snapshots.values().stream().mapToInt(FxMarketSnapshot::gridCount).sum();
+    }
+
+    private static LocalDate addWeekdays(LocalDate date, int weekdays) {
+        LocalDate result = date;
+        for (int added = 0; added < weekdays; ) {
+            result = result.plusDays(1);
+            if (result.getDayOfWeek() != DayOfWeek.SATURDAY && result.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                added++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * USD per unit of each currency, USD itself included.
+     */
+    private static Map<String, Double> usdSpots(Map<String, BigDecimal> quotes) {
+        Map<String, Double> spots = new HashMap<>();
+        spots.put(FxMarketSnapshot.USD, 1.0);
+        quotes.forEach((pair, rate) -> {
+            String[] currencies = pair.trim().toUpperCase(Locale.ROOT).split("/");
+            if (currencies.length == 2 && FxMarketSnapshot.USD.equals(currencies[1])) {
+                spots.put(currencies[0], rate.doubleValue());
+            } else if (currencies.length == 2 && FxMarketSnapshot.USD.equals(currencies[0])) {
+                spots.put(currencies[1], 1 / rate.doubleValue());
+            } else {
+                log.warn("Ignoring FX spot {}: only USD pairs are used, crosses are triangulated", pair);
+            }
+        });
+        return spots;
+    }
+
+    private static Map<String, String> parseCurves(String[] entries) {
+        Map<String, String> curves = new HashMap<>();
+        for (String entry : entries) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid FX curve mapping: " + entry);
+            }
+            curves.put(parts[0].trim().toUpperCase(Locale.ROOT), parts[1].trim());
+        }
+        return Map.copyOf(curves);
+    }
+
+    private record SnapshotKey(LocalDate valuationDate, long version) {
+    }
+}
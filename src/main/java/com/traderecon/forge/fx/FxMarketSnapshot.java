@@ -0,0 +1,93 @@
+package com.traderecon.forge.fx;
+
+import com.traderecon.forge.curve.DiscountCurve;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FX spots and deposit curves for one valuation date, with the forward-point
+ * grids derived from them.
+ *
+ * Every currency is held against USD: its spot as USD per unit and its
+ * outright forward to USD at each grid date, by interest rate parity
+ * F = S × (DF_ccy(T) / DF_ccy(spot)) / (DF_usd(T) / DF_usd(spot)).
+ * The grid for any pair, cross or not, is the ratio of its two USD legs,
+ * built on first request and kept for the life of the snapshot.
+ */
+public final class FxMarketSnapshot {
+
+    static final String USD = "USD";
+
+    private final LocalDate valuationDate;
+    private final LocalDate spotDate;
+    private final long[] gridDays;
+    private final Map<String, DiscountCurve> curves;
+    private final Map<String, double[]> usdForwards;
+    private final Map<String, FxForwardGrid> grids = new ConcurrentHashMap<>();
+
+    FxMarketSnapshot(LocalDate valuationDate, LocalDate spotDate, long[] gridDays,
+                     Map<String, DiscountCurve> curves, Map<String, double[]> usdForwards) {
+        this.valuationDate = valuationDate;
+        this.spotDate = spotDate;
+        this.gridDays = gridDays;
+        this.curves = curves;
+        this.usdForwards = usdForwards;
+    }
+
+    public LocalDate getValuationDate() {
+        return valuationDate;
+    }
+
+    public LocalDate getSpotDate() {
+        return spotDate;
+    }
+
+    /**
+     * The grid for a pair written BASE/QUOTE, e.g. EUR/GBP.
+     */
+    public FxForwardGrid grid(String pair) {
+        FxForwardGrid grid = grids.get(pair);
+        return grid != null ? grid : grids.computeIfAbsent(pair, this::triangulate);
+    }
+
+    /**
+     * Discount factor to a date from the currency's deposit curve.
+     */
+    public double discountFactor(String currency, LocalDate date) {
+        DiscountCurve curve = curves.get(currency);
+        if (curve == null) {
+            throw new IllegalArgumentException("Unsupported currency: " + currency);
+        }
+        return curve.discountFactor(date);
+    }
+
+    int gridCount() {
+        return grids.size();
+    }
+
+    private FxForwardGrid triangulate(String pair) {
+        String[] currencies = pair.split("/");
+        if (currencies.length != 2) {
+            throw new IllegalArgumentException("Invalid currency pair: " + pair);
+        }
+        double[] base = usdLeg(currencies[0], pair);
+        double[] quote = usdLeg(currencies[1], pair);
+
+        double spot = base[0] / quote[0];
+        double[] points = new double[gridDays.length];
+        for (int i = 1; i < points.length; i++) {
+            points[i] = base[i] / quote[i] - spot;
+        }
+        return new FxForwardGrid(pair, spot, gridDays, points);
+    }
+
+    private double[] usdLeg(String currency, String pair) {
+        double[] forwards = usdForwards.get(currency);
+        if (forwards == null) {
+            throw new IllegalArgumentException("Unsupported currency " + currency + " in " + pair);
+        }
+        return forwards;
+    }
+}
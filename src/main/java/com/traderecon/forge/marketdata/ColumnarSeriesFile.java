@@ -0,0 +1,345 @@
+package com.traderecon.forge.marketdata;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A daily time series per symbol, stored by column and read through
+ * memory mapping.
+ *
+ * Layout:
+ * <pre>
+ *   magic | version | first epoch day (long) | day count | symbol count
+ *   symbols: length (short) + UTF-8, padded to 8 bytes
+ *   columns: day count doubles per symbol, in symbol order
+ * </pre>
+ * Every day from the first to the last has a value, so a lookup is one
+ * index calculation and one read. Days before a symbol's first observation
+ * are NaN; later gaps (weekends, holidays) carry the previous value forward.
+ *
+ * Only the symbol index lives on the heap. Columns are mapped in segments
+ * of at most 2GB, so the file size is not limited by a single mapping.
+ */
+final class ColumnarSeriesFile {
+
+    private static final int MAGIC = 0x54464853;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    private final Path path;
+    private final long firstDay;
+    private final int dayCount;
+    private final Map<String, Integer> columns;
+    private final int columnsPerSegment;
+    private final MappedByteBuffer[] segments;
+    private final long mappedBytes;
+
+    private ColumnarSeriesFile(Path path, long firstDay, int dayCount, Map<String, Integer> columns,
+                               int columnsPerSegment, MappedByteBuffer[] segments, long mappedBytes) {
+        this.path = path;
+        this.firstDay = firstDay;
+        this.dayCount = dayCount;
+        this.columns = columns;
+        this.columnsPerSegment = columnsPerSegment;
+        this.segments = segments;
+        this.mappedBytes = mappedBytes;
+    }
+
+    /**
+     * Map an existing file.
+     */
+    static ColumnarSeriesFile open(Path path) throws IOException {
+        return open(path, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Map an existing file in segments of at most maxSegmentBytes (whole
+     * columns, at least one per segment).
+     */
+    static ColumnarSeriesFile open(Path path, long maxSegmentBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a historical series file: " + path);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported historical series version " + version + ": " + path);
+            }
+            long firstDay = header.getLong();
+            int dayCount = header.getInt();
+            int symbolCount = header.getInt();
+
+            // The symbol table is small; read it in one go
+            long dataStart = HEADER_BYTES;
+            Map<String, Integer> columns = new HashMap<>(symbolCount * 2);
+            ByteBuffer length = ByteBuffer.allocate(Short.BYTES);
+            for (int i = 0; i < symbolCount; i++) {
+                length.clear();
+                readFully(channel, length, dataStart);
+                length.flip();
+                ByteBuffer name = ByteBuffer.allocate(length.getShort() & 0xFFFF);
+                readFully(channel, name, dataStart + Short.BYTES);
+                columns.put(new String(name.array(), StandardCharsets.UTF_8), i);
+                dataStart += Short.BYTES + name.capacity();
+            }
+            dataStart = align(dataStart);
+
+            long columnBytes = (long) dayCount * Double.BYTES;
+            int columnsPerSegment = (int) Math.max(1, Math.min(maxSegmentBytes, Integer.MAX_VALUE)
+                    / Math.max(columnBytes, 1));
+            int segmentCount = (symbolCount + columnsPerSegment - 1) / columnsPerSegment;
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                int segmentColumns = Math.min(columnsPerSegment, symbolCount - s * columnsPerSegment);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        dataStart + s * columnsPerSegment * columnBytes, segmentColumns * columnBytes);
+            }
+
+            // The mapping stays valid after the channel is closed
+            return new ColumnarSeriesFile(path, firstDay, dayCount, Map.copyOf(columns), columnsPerSegment,
+                    segments, columnBytes * symbolCount);
+        }
+    }
+
+    /**
+     * Value of a column on a date, or NaN if there is none.
+     */
+    double value(int column, LocalDate date) {
+        return value(column, date.toEpochDay() - firstDay);
+    }
+
+    /**
+     * Every symbol that has a value on a date.
+     */
+    Map<String, Double> values(LocalDate date) {
+        long day = date.toEpochDay() - firstDay;
+        Map<String, Double> values = new HashMap<>();
+        columns.forEach((symbol, column) -> {
+            double value = value(column, day);
+            if (!Double.isNaN(value)) {
+                values.put(symbol, value);
+            }
+        });
+        return values;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Column index by symbol, as written in the file.
+     */
+    Map<String, Integer> getColumns() {
+        return columns;
+    }
+
+    int getSymbolCount() {
+        return columns.size();
+    }
+
+    long getMappedBytes() {
+        return mappedBytes;
+    }
+
+    LocalDate getFirstDate() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    LocalDate getLastDate() {
+        return LocalDate.ofEpochDay(firstDay + dayCount - 1);
+    }
+
+    private double value(int column, long day) {
+        if (day < 0 || day >= dayCount) {
+            return Double.NaN;
+        }
+        int offset = (int) (((long) (column % columnsPerSegment) * dayCount + day) * Double.BYTES);
+        return segments[column / columnsPerSegment].getDouble(offset);
+    }
+
+    /**
+     * Convert a CSV of date,symbol,value rows (ISO dates, header line
+     * optional), sorted by symbol and then date, into a series file.
+     *
+     * The CSV is read twice: once for the symbols and date range, then
+     * again to write each symbol's column as its rows go by, so only one
+     * column is held in memory. The file is written next to the target and
+     * moved into place, so readers never see a partial file.
+     *
+     * @throws IOException if a row is malformed or out of order
+     */
+    static void importCsv(Path csv, Path target) throws IOException {
+        List<String> symbols = new ArrayList<>();
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+
+        try (CsvRows rows = new CsvRows(csv)) {
+            String previousSymbol = null;
+            long previousDay = Long.MIN_VALUE;
+            while (rows.next()) {
+                int order = previousSymbol == null ? 1 : rows.symbol.compareTo(previousSymbol);
+                if (order < 0 || (order == 0 && rows.day <= previousDay)) {
+                    throw new IOException("Historical rows must be sorted by symbol and date at " + rows.location());
+                }
+                if (order > 0) {
+                    symbols.add(rows.symbol);
+                    previousSymbol = rows.symbol;
+                }
+                previousDay = rows.day;
+                first = Math.min(first, rows.day);
+                last = Math.max(last, rows.day);
+            }
+        }
+        if (symbols.isEmpty()) {
+            throw new IOException("No historical rows in " + csv);
+        }
+
+        int dayCount = Math.toIntExact(last - first + 1);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             CsvRows rows = new CsvRows(csv)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(first).putInt(dayCount).putInt(symbols.size());
+            writeFully(channel, header.flip());
+
+            long position = HEADER_BYTES;
+            for (String symbol : symbols) {
+                byte[] name = symbol.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer entry = ByteBuffer.allocate(Short.BYTES + name.length);
+                entry.putShort((short) name.length).put(name);
+                writeFully(channel, entry.flip());
+                position += entry.capacity();
+            }
+            writeFully(channel, ByteBuffer.allocate((int) (align(position) - position)));
+
+            // One column at a time: NaN before the first observation, then carried forward
+            ByteBuffer column = ByteBuffer.allocate(dayCount * Double.BYTES);
+            double[] values = new double[dayCount];
+            boolean more = rows.next();
+            for (String symbol : symbols) {
+                int filled = 0;
+                double current = Double.NaN;
+                for (; more && rows.symbol.equals(symbol); more = rows.next()) {
+                    long d = rows.day - first;
+                    if (d < filled || d >= dayCount) {
+                        throw new IOException(csv + " changed during import");
+                    }
+                    Arrays.fill(values, filled, (int) d, current);
+                    current = rows.value;
+                    values[(int) d] = current;
+                    filled = (int) d + 1;
+                }
+                if (filled == 0) {
+                    throw new IOException(csv + " changed during import");
+                }
+                Arrays.fill(values, filled, dayCount, current);
+                column.clear();
+                column.asDoubleBuffer().put(values);
+                writeFully(channel, column);
+            }
+            if (more) {
+                throw new IOException(csv + " changed during import");
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long align(long position) {
+        return (position + Double.BYTES - 1) & ~(long) (Double.BYTES - 1);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated historical series file");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads date,symbol,value rows one at a time.
+     */
+    private static final class CsvRows implements AutoCloseable {
+
+        private final Path csv;
+        private final BufferedReader reader;
+        private int lineNumber;
+        private String line;
+        long day;
+        String symbol;
+        double value;
+
+        CsvRows(Path csv) throws IOException {
+            this.csv = csv;
+            this.reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Advance to the next row.
+         *
+         * @return false at the end of the file
+         */
+        boolean next() throws IOException {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.startsWith("date,"))) {
+                    continue;
+                }
+                // Symbols may contain commas (counterparty names); date and value may not
+                int dateEnd = line.indexOf(',');
+                int valueStart = line.lastIndexOf(',');
+                if (dateEnd < 0 || valueStart <= dateEnd) {
+                    throw new IOException("Invalid historical row at " + location());
+                }
+                try {
+                    day = LocalDate.parse(line.substring(0, dateEnd).trim()).toEpochDay();
+                    value = Double.parseDouble(line.substring(valueStart + 1).trim());
+                } catch (RuntimeException e) {
+                    throw new IOException("Invalid historical row at " + location(), e);
+                }
+                symbol = line.substring(dateEnd + 1, valueStart).trim();
+                if (symbol.length() > 1 && symbol.startsWith("\"") && symbol.endsWith("\"")) {
+                    symbol = symbol.substring(1, symbol.length() - 1);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        String location() {
+            return csv + ":" + lineNumber + ": " + line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
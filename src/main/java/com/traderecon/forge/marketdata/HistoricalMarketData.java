@@ -0,0 +1,138 @@
+package com.traderecon.forge.marketdata;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.refdata.Symbol;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Daily market data history, for enriching trades as of their trade date.
+ *
+ * Each {@link HistoricalSeries} is a memory-mapped {@link ColumnarSeriesFile}
+ * (&lt;series&gt;.col) in processing.market-data.history.directory. A
+ * &lt;series&gt;.csv of date,symbol,value rows (sorted by symbol and date) in
+ * the same directory is converted at startup when it is newer than its .col
+ * file. The file's symbols are mapped to {@link SymbolDictionary} ids when
+ * it is opened, so a lookup is an array read for the column plus one read
+ * from the mapping, and years of history are served without being loaded
+ * onto the heap.
+ */
+@Component
+@Slf4j
+public class HistoricalMarketData {
+
+    private final boolean enabled;
+    private final SymbolDictionary symbols;
+    private final Map<HistoricalSeries, MappedSeries> files = new EnumMap<>(HistoricalSeries.class);
+
+    @Autowired
+    public HistoricalMarketData(
+            @Value("${processing.market-data.history.enabled:false}") boolean enabled,
+            @Value("${processing.market-data.history.directory:market-history}") String directory,
+            SymbolDictionary symbols,
+            ProcessingMetrics metrics
+    ) {
+        this.enabled = enabled;
+        this.symbols = symbols;
+        if (enabled) {
+            open(Path.of(directory));
+        }
+
+        metrics.registerHistoricalMarketData(
+                () -> files.values().stream().mapToLong(series -> series.file().getMappedBytes()).sum());
+        log.info("HistoricalMarketData initialized (enabled: {}, directory: {}, series: {})",
+                enabled, directory, files.keySet());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Value of a symbol's series on a date, or null if there is none.
+     */
+    public Double value(HistoricalSeries series, Symbol symbol, LocalDate date) {
+        MappedSeries mapped = files.get(series);
+        if (mapped == null || symbol == null || symbol.id() < 0 || symbol.id() >= mapped.columns().length) {
+            return null;
+        }
+        int column = mapped.columns()[symbol.id()];
+        if (column < 0) {
+            return null;
+        }
+        double value = mapped.file().value(column, date);
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Every symbol of a series that has a value on a date.
+     */
+    public Map<String, Double> values(HistoricalSeries series, LocalDate date) {
+        MappedSeries mapped = files.get(series);
+        return mapped != null ? mapped.file().values(date) : Map.of();
+    }
+
+    private void open(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            log.warn("Historical market data directory {} does not exist; trades fall back to current data",
+                    directory.toAbsolutePath());
+            return;
+        }
+
+        for (HistoricalSeries series : HistoricalSeries.values()) {
+            Path csv = directory.resolve(series.getFileName() + ".csv");
+            Path column = directory.resolve(series.getFileName() + ".col");
+            try {
+                if (Files.exists(csv) && (!Files.exists(column)
+                        || Files.getLastModifiedTime(csv).compareTo(Files.getLastModifiedTime(column)) > 0)) {
+                    long start = System.nanoTime();
+                    ColumnarSeriesFile.importCsv(csv, column);
+                    log.info("Imported {} into {} in {}ms", csv, column, (System.nanoTime() - start) / 1_000_000);
+                }
+                if (Files.exists(column)) {
+                    ColumnarSeriesFile file = ColumnarSeriesFile.open(column);
+                    files.put(series, new MappedSeries(file, columnsById(series, file)));
+                    log.info("Mapped {} history: {} symbols, {} to {}", series, file.getSymbolCount(),
+                            file.getFirstDate(), file.getLastDate());
+                }
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("Historical " + series + " data could not be opened from "
+                        + directory + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Column of each symbol id in a file, -1 where the file has none.
+     */
+    private int[] columnsById(HistoricalSeries series, ColumnarSeriesFile file) {
+        int[] columns = new int[0];
+        for (Map.Entry<String, Integer> entry : file.getColumns().entrySet()) {
+            Symbol symbol = symbols.symbol(series.getSymbolKind(), entry.getKey());
+            if (symbol == null || symbol.id() == Symbol.NO_ID) {
+                continue;
+            }
+            if (symbol.id() >= columns.length) {
+                int from = columns.length;
+                columns = Arrays.copyOf(columns, Math.max(symbol.id() + 1, columns.length * 2));
+                Arrays.fill(columns, from, columns.length, -1);
+            }
+            columns[symbol.id()] = entry.getValue();
+        }
+        return columns;
+    }
+
+    private record MappedSeries(ColumnarSeriesFile file, int[] columns) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.traderecon.forge.marketdata;
+
+import com.traderecon.forge.refdata.SymbolKind;
+
+/**
+ * The time series kept in the historical store, one file each.
+ *
+ * Symbols are rate indices, equity tickers, currency pairs (EUR/USD) and
+ * counterparty names, normalized by the symbol dictionary. Rates, volatilities and dividend
+ * yields are in percent, spreads in basis points.
+ */
+public enum HistoricalSeries {
+
+    RATE("rates", SymbolKind.RATE_INDEX),
+    EQUITY_PRICE("equity-prices", SymbolKind.TICKER),
+    VOLATILITY("volatilities", SymbolKind.TICKER),
+    DIVIDEND_YIELD("dividend-yields", SymbolKind.TICKER),
+    FX_SPOT("fx-spots", SymbolKind.CURRENCY_PAIR),
+    SPREAD("spreads", SymbolKind.COUNTERPARTY);
+
+    private final String fileName;
+    private final SymbolKind symbolKind;
+
+    HistoricalSeries(String fileName, SymbolKind symbolKind) {
+        this.fileName = fileName;
+        this.symbolKind = symbolKind;
+    }
+
+    /**
+     * File name without extension: .csv for imports, .col for the mapped file.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    public SymbolKind getSymbolKind() {
+        return symbolKind;
+    }
+}
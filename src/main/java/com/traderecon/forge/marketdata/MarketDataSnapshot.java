@@ -0,0 +1,146 @@
+package com.traderecon.forge.marketdata;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.traderecon.forge.refdata.Symbol;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import com.traderecon.forge.refdata.SymbolKind;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * One immutable version of the market data.
+ *
+ * Rates, equities and counterparty tiers are held in arrays indexed by
+ * {@link SymbolDictionary} id, so a lookup for a trade's symbol is an array
+ * read. Names are normalized by the dictionary (rate indices and tickers
+ * are case-insensitive, counterparties exact). Lookups return null when a
+ * key is missing; the caller decides the fallback and counts the miss.
+ */
+public final class MarketDataSnapshot {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final SymbolDictionary symbols;
+    private final BigDecimal[] rates;
+    private final Equity[] equities;
+    private final Map<String, BigDecimal> fxSpots;
+    private final String[] counterpartyTiers;
+    private final String summary;
+
+    MarketDataSnapshot(long version, Instant loadedAt, Data data, SymbolDictionary symbols) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.symbols = symbols;
+        this.rates = byId(data.rates(), SymbolKind.RATE_INDEX, symbols, BigDecimal[]::new);
+        this.equities = byId(data.equities(), SymbolKind.TICKER, symbols, Equity[]::new);
+        this.fxSpots = data.fxSpots() != null ? Map.copyOf(data.fxSpots()) : Map.of();
+        this.counterpartyTiers = byId(data.counterpartyTiers(), SymbolKind.COUNTERPARTY, symbols, String[]::new);
+        this.summary = size(data.rates()) + " rates, " + size(data.equities()) + " equities, " + fxSpots.size()
+                + " FX spots, " + size(data.counterpartyTiers()) + " counterparties";
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Rate for an index, in percent.
+     */
+    public BigDecimal rate(Symbol index) {
+        return Symbol.lookup(rates, index);
+    }
+
+    /**
+     * Rate for an index by name, for lookups outside a trade.
+     */
+    public BigDecimal rate(String index) {
+        return rate(symbols.find(SymbolKind.RATE_INDEX, index));
+    }
+
+    public BigDecimal equityPrice(Symbol ticker) {
+        Equity equity = Symbol.lookup(equities, ticker);
+        return equity != null ? equity.price() : null;
+    }
+
+    /**
+     * Annualised implied volatility, in percent.
+     */
+    public BigDecimal volatility(Symbol ticker) {
+        Equity equity = Symbol.lookup(equities, ticker);
+        return equity != null ? equity.volatility() : null;
+    }
+
+    /**
+     * Continuous dividend yield, in percent.
+     */
+    public BigDecimal dividendYield(Symbol ticker) {
+        Equity equity = Symbol.lookup(equities, ticker);
+        return equity != null ? equity.dividendYield() : null;
+    }
+
+    /**
+     * FX spots as quoted, keyed by pair (EUR/USD).
+     */
+    public Map<String, BigDecimal> fxSpots() {
+        return fxSpots;
+    }
+
+    public String counterpartyTier(Symbol counterparty) {
+        return Symbol.lookup(counterpartyTiers, counterparty);
+    }
+
+    /**
+     * Sizes by section, for logging a load.
+     */
+    String summary() {
+        return summary;
+    }
+
+    private static <T> T[] byId(Map<String, T> values, SymbolKind kind, SymbolDictionary symbols,
+                                IntFunction<T[]> newArray) {
+        T[] byId = newArray.apply(0);
+        if (values == null) {
+            return byId;
+        }
+        for (Map.Entry<String, T> entry : values.entrySet()) {
+            Symbol symbol = symbols.symbol(kind, entry.getKey());
+            if (symbol == null || symbol.id() == Symbol.NO_ID) {
+                continue;
+            }
+            if (symbol.id() >= byId.length) {
+                byId = Arrays.copyOf(byId, Math.max(symbol.id() + 1, byId.length * 2));
+            }
+            byId[symbol.id()] = entry.getValue();
+        }
+        return byId;
+    }
+
+    private static int size(Map<String, ?> values) {
+        return values != null ? values.size() : 0;
+    }
+
+    /**
+     * Per-ticker equity data.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Equity(BigDecimal price, BigDecimal volatility, BigDecimal dividendYield) {
+    }
+
+    /**
+     * Layout of a market data file.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Data(Map<String, BigDecimal> rates,
+                Map<String, Equity> equities,
+                Map<String, BigDecimal> fxSpots,
+                Map<String, String> counterpartyTiers) {
+    }
+}
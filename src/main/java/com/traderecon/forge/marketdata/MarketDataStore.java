@@ -0,0 +1,124 @@
+package com.traderecon.forge.marketdata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Market data as immutable, versioned snapshots.
+ *
+ * The file at processing.market-data.location (JSON, see market-data.json)
+ * is read at startup and re-read every reload-interval-ms. When its content
+ * has changed, a new snapshot with the next version replaces the current
+ * one in a single volatile write, so readers never lock and always see a
+ * complete version. A file that fails to parse is logged and the current
+ * snapshot stays in place.
+ */
+@Component
+@Slf4j
+public class MarketDataStore {
+
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+    private final SymbolDictionary symbols;
+    private final ProcessingMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile MarketDataSnapshot current;
+
+    // Guarded by this
+    private long checksum;
+
+    @Autowired
+    public MarketDataStore(
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            SymbolDictionary symbols,
+            ProcessingMetrics metrics,
+            @Value("${processing.market-data.location:classpath:market-data.json}") String location,
+            @Value("${processing.market-data.reload-interval-ms:10000}") long reloadIntervalMs
+    ) {
+        this.resource = resourceLoader.getResource(location);
+        this.objectMapper = objectMapper;
+        this.symbols = symbols;
+        this.metrics = metrics;
+
+        if (!reload()) {
+            throw new IllegalStateException("Market data could not be loaded from " + location);
+        }
+        metrics.registerMarketDataVersion(() -> current.getVersion());
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "market-data-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (reloadIntervalMs > 0) {
+            scheduler.scheduleWithFixedDelay(this::reload, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("MarketDataStore initialized from {} (reload every {}ms)", location, reloadIntervalMs);
+    }
+
+    /**
+     * The latest snapshot. Take it once per trade and read everything from it.
+     */
+    public MarketDataSnapshot current() {
+        return current;
+    }
+
+    /**
+     * Re-read the file and publish a new version if it changed.
+     *
+     * @return false if the file could not be read or parsed
+     */
+    public synchronized boolean reload() {
+        try {
+            byte[] content;
+            try (InputStream in = resource.getInputStream()) {
+                content = in.readAllBytes();
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            if (current != null && crc.getValue() == checksum) {
+                return true;
+            }
+
+            MarketDataSnapshot.Data data = objectMapper.readValue(content, MarketDataSnapshot.Data.class);
+            long version = current != null ? current.getVersion() + 1 : 1;
+            MarketDataSnapshot snapshot = new MarketDataSnapshot(version, Instant.now(), data, symbols);
+
+            current = snapshot;
+            checksum = crc.getValue();
+            metrics.recordMarketDataReload("loaded");
+            log.info("Market data version {} loaded: {}", version, snapshot.summary());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            metrics.recordMarketDataReload("failed");
+            log.error("Market data reload from {} failed, keeping version {}: {}", resource.getDescription(),
+                    current != null ? current.getVersion() : "none", e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,7 +1,9 @@
 package com.traderecon.forge.metrics;
 
 import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradePriority;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -9,7 +11,9 @@ import io.annapurna.model.TradeType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Prometheus metrics for trade processing.
@@ -22,6 +26,7 @@ public class ProcessingMetrics {
 
     private final MeterRegistry registry;
     private final AtomicInteger activeProcessingCount = new AtomicInteger(0);
+    private final AtomicInteger consumerPaused = new AtomicInteger(0);
 
     public ProcessingMetrics(MeterRegistry registry) {
         this.registry = registry;
@@ -31,6 +36,11 @@ public class ProcessingMetrics {
                 .description("Number of trades currently being processed")
                 .register(registry);
 
+        // Register backpressure gauge
+        Gauge.builder("trade_consumer_paused", consumerPaused, AtomicInteger::get)
+                .description("1 while Kafka intake is paused by backpressure")
+                .register(registry);
+
         log.info("ProcessingMetrics initialized");
     }
 
@@ -57,6 +67,160 @@ public class ProcessingMetrics {
                 tradeType, status, durationMs);
     }
 
+    /**
+     * Record submit-to-result latency for a priority class.
+     */
+    public void recordPriorityLatency(TradePriority priority, long durationMs) {
+        Timer.builder("trade_priority_latency")
+                .description("Time from submission to result, by scheduling priority")
+                .tag("priority", priority.toString())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record one shadow comparison of primitive against BigDecimal pricing.
+     */
+    public void recordPricingShadow(TradeType tradeType, String measure, double divergence, boolean matched) {
+        DistributionSummary.builder("trade_pricing_divergence")
+                .description("Relative difference between primitive and BigDecimal pricing")
+                .tag("type", tradeType.toString())
+                .tag("measure", measure)
+                .register(registry)
+                .record(divergence);
+
+        Counter.builder("trade_pricing_shadow_total")
+                .description("Total shadow pricing comparisons")
+                .tag("type", tradeType.toString())
+                .tag("result", matched ? "match" : "mismatch")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Record one Black-Scholes batch evaluation.
+     */
+    public void recordOptionBatch(int size, long durationNanos) {
+        DistributionSummary.builder("trade_option_batch_size")
+                .description("Options evaluated per analytics batch")
+                .register(registry)
+                .record(size);
+
+        Timer.builder("trade_option_batch_duration")
+                .description("Time to evaluate one batch of option prices and greeks")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Register the gauge for bootstrapped curves held in memory.
+     */
+    public void registerCurveCache(Supplier<Number> size) {
+        Gauge.builder("trade_curves_cached", size)
+                .description("Bootstrapped curves held for pricing")
+                .register(registry);
+    }
+
+    /**
+     * Record a curve being bootstrapped.
+     */
+    public void recordCurveBuild(String index, long durationNanos) {
+        Timer.builder("trade_curve_build_duration")
+                .description("Time to bootstrap a curve")
+                .tag("index", index)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Register the version of the current market data snapshot.
+     */
+    public void registerMarketDataVersion(Supplier<Number> version) {
+        Gauge.builder("trade_market_data_version", version)
+                .description("Version of the market data snapshot new trades are enriched from")
+                .register(registry);
+    }
+
+    /**
+     * Register the size of the memory-mapped market data history.
+     */
+    public void registerHistoricalMarketData(Supplier<Number> mappedBytes) {
+        Gauge.builder("trade_market_data_history_bytes", mappedBytes)
+                .description("Bytes of market data history mapped from disk")
+                .register(registry);
+    }
+
+    /**
+     * Register the number of interned symbols of one kind.
+     */
+    public void registerSymbolDictionary(String kind, Supplier<Number> size) {
+        Gauge.builder("trade_symbols_interned", size)
+                .description("Reference-data symbols mapped to ids in the symbol dictionary")
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    /**
+     * Record a market data reload attempt (loaded or failed).
+     */
+    public void recordMarketDataReload(String result) {
+        Counter.builder("trade_market_data_reloads_total")
+                .description("Market data reloads that published a new version or failed")
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Record a market data lookup that fell back to a default.
+     */
+    public void recordMarketDataMiss(String kind) {
+        Counter.builder("trade_market_data_misses_total")
+                .description("Market data lookups with no value in the snapshot")
+                .tag("kind", kind)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Register the number of forward-point grids held across FX snapshots.
+     */
+    public void registerFxGrids(Supplier<Number> size) {
+        Gauge.builder("trade_fx_grids_cached", size)
+                .description("FX forward-point grids held for pricing")
+                .register(registry);
+    }
+
+    /**
+     * Record an FX market snapshot being built.
+     */
+    public void recordFxSnapshotBuild(long durationNanos) {
+        Timer.builder("trade_fx_snapshot_build_duration")
+                .description("Time to build an FX snapshot and its forward-point grids")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Register the number of cached credit curves.
+     */
+    public void registerCreditCurveCache(Supplier<Number> size) {
+        Gauge.builder("trade_credit_curves_cached", size)
+                .description("Bootstrapped credit curves held for pricing")
+                .register(registry);
+    }
+
+    /**
+     * Record a credit curve being bootstrapped.
+     */
+    public void recordCreditCurveBuild(long durationNanos) {
+        Timer.builder("trade_credit_curve_build_duration")
+                .description("Time to bootstrap a credit curve and its tables")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Record a validation failure.
      */
@@ -89,6 +253,193 @@ public class ProcessingMetrics {
                 .increment();
     }
 
+    /**
+     * Record a trade dropped before it was fully parsed.
+     */
+    public void recordSkipped(TradeType tradeType, String reason) {
+        Counter.builder("trades_skipped_total")
+                .description("Total trades dropped before full deserialization")
+                .tag("type", tradeType != null ? tradeType.toString() : "UNKNOWN")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Record an idempotency lookup (miss, hit, hit_db or false_positive).
+     */
+    public void recordIdempotencyCheck(String result) {
+        Counter.builder("trade_idempotency_checks_total")
+                .description("Total duplicate-trade lookups by outcome")
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Record a failed trade sent to a retry tier.
+     */
+    public void recordRetry(int tier) {
+        Counter.builder("trades_retried_total")
+                .description("Total trades sent to a retry tier")
+                .tag("tier", String.valueOf(tier))
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Record a trade sent to the dead-letter topic.
+     */
+    public void recordDeadLetter(String reason) {
+        Counter.builder("trades_dead_lettered_total")
+                .description("Total trades sent to the dead-letter topic")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Register the gauge for trades waiting on a worker thread.
+     */
+    public void registerQueueDepth(Supplier<Number> queueDepth) {
+        Gauge.builder("trade_executor_queue_depth", queueDepth)
+                .description("Trades waiting in the processing executor queue")
+                .register(registry);
+    }
+
+    /**
+     * Register the gauge for trades running on the processing executor.
+     */
+    public void registerExecutor(String strategy, Supplier<Number> active) {
+        Gauge.builder("trade_executor_active", active)
+                .description("Trades currently running on the processing executor")
+                .tag("strategy", strategy)
+                .register(registry);
+    }
+
+    /**
+     * Record how long a trade waited for the processing executor.
+     */
+    public void recordExecutorQueueWait(long waitNanos) {
+        Timer.builder("trade_executor_queue_wait")
+                .description("Time trades wait before the processing executor runs them")
+                .register(registry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a trade the processing executor refused.
+     */
+    public void recordExecutorRejection(String strategy) {
+        Counter.builder("trade_executor_rejections_total")
+                .description("Total trades rejected by the processing executor")
+                .tag("strategy", strategy)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Register the gauge for trades waiting in a pipeline stage.
+     */
+    public void registerPipelineQueueDepth(String stage, Supplier<Number> queueDepth) {
+        Gauge.builder("trade_pipeline_queue_depth", queueDepth)
+                .description("Trades waiting in a staged pipeline buffer")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    /**
+     * Record one batch handled by a pipeline stage worker.
+     */
+    public void recordPipelineBatch(String stage, int size, long durationNanos) {
+        DistributionSummary.builder("trade_pipeline_batch_size")
+                .description("Trades handled per pipeline stage batch")
+                .tag("stage", stage)
+                .register(registry)
+                .record(size);
+
+        Timer.builder("trade_pipeline_batch_duration")
+                .description("Time a pipeline stage spends on one batch")
+                .tag("stage", stage)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Register the gauges for the adaptive concurrency limit.
+     */
+    public void registerConcurrencyLimit(Supplier<Number> limit, Supplier<Number> queued) {
+        Gauge.builder("trade_concurrency_limit", limit)
+                .description("Current adaptive limit on concurrently processed trades")
+                .register(registry);
+        Gauge.builder("trade_concurrency_queued", queued)
+                .description("Trades waiting for a slot under the concurrency limit")
+                .register(registry);
+    }
+
+    /**
+     * Record a trade rejected because the concurrency queue was full.
+     */
+    public void recordConcurrencyRejection() {
+        Counter.builder("trade_concurrency_rejections_total")
+                .description("Total trades rejected by the concurrency limiter")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Register the gauges for one trade type's bulkhead.
+     */
+    public void registerBulkhead(TradeType tradeType, Supplier<Number> active, Supplier<Number> queued,
+                                 Supplier<Number> saturation) {
+        Gauge.builder("trade_bulkhead_active", active)
+                .description("Trades running within a trade type's bulkhead")
+                .tag("type", tradeType.toString())
+                .register(registry);
+        Gauge.builder("trade_bulkhead_queued", queued)
+                .description("Trades waiting in a trade type's bulkhead queue")
+                .tag("type", tradeType.toString())
+                .register(registry);
+        Gauge.builder("trade_bulkhead_saturation", saturation)
+                .description("Share of a trade type's concurrency quota in use")
+                .tag("type", tradeType.toString())
+                .register(registry);
+    }
+
+    /**
+     * Record a trade rejected because its bulkhead queue was full.
+     */
+    public void recordBulkheadRejection(TradeType tradeType) {
+        Counter.builder("trade_bulkhead_rejections_total")
+                .description("Total trades rejected by their trade type's bulkhead")
+                .tag("type", tradeType.toString())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Record Kafka intake being paused by backpressure.
+     */
+    public void recordConsumerPaused(String reason) {
+        consumerPaused.set(1);
+        Counter.builder("trade_consumer_pauses_total")
+                .description("Total times Kafka intake was paused by backpressure")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Record Kafka intake resuming after a backpressure pause.
+     */
+    public void recordConsumerResumed(long pausedMs) {
+        consumerPaused.set(0);
+        Timer.builder("trade_consumer_paused_duration")
+                .description("Time Kafka intake spent paused by backpressure")
+                .register(registry)
+                .record(pausedMs, java.util.concurrent.TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Increment active processing count.
      */
@@ -0,0 +1,47 @@
+package com.traderecon.forge.model;
+
+import com.traderecon.forge.exception.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a trade must be processed.
+ *
+ * Created when the trade is submitted and carried in its TradeContext, so
+ * it also bounds the wait in the bulkhead and under the concurrency limit.
+ * Steps call {@link #checkpoint(String)} before starting, so a trade that
+ * has already timed out stops at the next step instead of running to the
+ * end, and booking derives its transaction (and so JDBC statement) timeout
+ * from {@link #remainingMillis()}.
+ */
+public final class Deadline {
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, (expiresAtNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Stop here if the deadline has passed.
+     *
+     * @throws DeadlineExceededException if it has
+     */
+    public void checkpoint(String step) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Deadline exceeded before " + step);
+        }
+    }
+}
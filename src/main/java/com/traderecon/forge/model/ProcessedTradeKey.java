@@ -0,0 +1,10 @@
+package com.traderecon.forge.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a booked trade in (processedAt, tradeId) order, the keyset
+ * the idempotency warm-up pages through.
+ */
+public record ProcessedTradeKey(LocalDateTime processedAt, String tradeId) {
+}
@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 /**
  * Result of trade processing.
  *
- * Contains status, timing, and error details.
+ * Contains status, timing, and error details, plus the version of the
+ * market data snapshot the trade was enriched from (null if it never was).
  */
 @Data
 @Builder
@@ -23,6 +24,7 @@ public class ProcessingResult {
     private String errorMessage;
     private long processingTimeMs;
     private LocalDateTime processedAt;
+    private Long marketDataVersion;
 
     /**
      * Create a successful processing result.
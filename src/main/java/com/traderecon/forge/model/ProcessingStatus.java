@@ -9,5 +9,17 @@ public enum ProcessingStatus {
     ENRICHMENT_FAILED, // Failed to enrich data
     PROCESSING_FAILED, // Business logic error
     DATABASE_FAILED,   // Database operation error
-    TIMEOUT            // Processing timeout
+    TIMEOUT,           // Processing timeout
+    REJECTED;          // Shed under load before it started (a full bulkhead, limiter or stage queue)
+
+    /**
+     * Whether a trade that ended in this status may succeed if processed again.
+     */
+    public boolean isRetryable() {
+        return this == ENRICHMENT_FAILED
+                || this == PROCESSING_FAILED
+                || this == DATABASE_FAILED
+                || this == TIMEOUT
+                || this == REJECTED;
+    }
 }
\ No newline at end of file
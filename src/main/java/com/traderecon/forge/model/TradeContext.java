@@ -0,0 +1,49 @@
+package com.traderecon.forge.model;
+
+import com.traderecon.forge.marketdata.MarketDataSnapshot;
+import com.traderecon.forge.refdata.TradeSymbols;
+import io.annapurna.model.Trade;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A trade plus the values its processing steps produce.
+ *
+ * The trade's reference-data symbols are resolved once, before any step
+ * runs, and every step looks them up by id.
+ * Enrichment puts the market data it looked up, pricing reads it back;
+ * the snapshot it was read from is kept so the result can name its version.
+ * The deadline bounds how long any step may still start or run.
+ * Only one step works on a context at a time; when steps run on different
+ * threads, the hand-off between them publishes the values.
+ */
+@Getter
+public class TradeContext {
+
+    private final Trade trade;
+    private final TradeSymbols symbols;
+    private final long startTime;
+    private final Deadline deadline;
+    private final Map<String, BigDecimal> values = new HashMap<>();
+    @Setter
+    private MarketDataSnapshot marketData;
+
+    public TradeContext(Trade trade, TradeSymbols symbols, Deadline deadline) {
+        this.trade = trade;
+        this.symbols = symbols;
+        this.deadline = deadline;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    public BigDecimal get(String key) {
+        return values.get(key);
+    }
+
+    public void put(String key, BigDecimal value) {
+        values.put(key, value);
+    }
+}
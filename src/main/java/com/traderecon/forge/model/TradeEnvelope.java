@@ -0,0 +1,17 @@
+package com.traderecon.forge.model;
+
+import io.annapurna.model.TradeType;
+
+/**
+ * Routing fields of a trade, known before the payload is fully parsed.
+ *
+ * Taken from the trade-id / trade-type record headers when the publisher
+ * sets them, otherwise from a prefix scan of the payload. Either field may
+ * be null if neither source has it.
+ */
+public record TradeEnvelope(String tradeId, TradeType tradeType) {
+
+    public static final String HEADER_TRADE_ID = "trade-id";
+    public static final String HEADER_TRADE_TYPE = "trade-type";
+    public static final String HEADER_CONTENT_TYPE = "content-type";
+}
@@ -0,0 +1,10 @@
+package com.traderecon.forge.model;
+
+/**
+ * Scheduling class of a trade, highest first.
+ */
+public enum TradePriority {
+    URGENT,   // Settles imminently
+    HIGH,     // Large notional or preferred counterparty
+    NORMAL    // Everything else
+}
@@ -0,0 +1,227 @@
+package com.traderecon.forge.pipeline;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.TradeContext;
+import com.traderecon.forge.processor.TradeProcessor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * One step of the staged pipeline: an input ring buffer drained by the
+ * stage's own worker threads.
+ *
+ * Workers take up to batch-size tasks per pass, run the step on each and
+ * hand successful tasks to the next stage. A full downstream buffer makes
+ * the worker wait, which backs pressure up stage by stage. Idle workers
+ * spin briefly, then yield, then park until the next offer to the stage
+ * unparks one of them, so a quiet stage costs no CPU.
+ *
+ * A stage with a batch step hands each processor all of its trades from
+ * the pass in one call; if that throws, the trades run through the single
+ * step one by one so only the bad ones fail.
+ */
+@Slf4j
+public class PipelineStage {
+
+    private static final int SPIN_LIMIT = 100;
+    private static final int YIELD_LIMIT = 200;
+    // Only for waiting on a full downstream buffer; idle workers park until unparked
+    private static final long PARK_NANOS = 100_000;
+
+    /**
+     * A trade moving through the stages.
+     */
+    public record Task(TradeProcessor processor, TradeContext context, CompletableFuture<ProcessingResult> result) {
+    }
+
+    private final String name;
+    private final RingBuffer<Task> input;
+    private final int batchSize;
+    private final BiConsumer<TradeProcessor, TradeContext> step;
+    private final BiConsumer<TradeProcessor, List<TradeContext>> batchStep;
+    private final ProcessingMetrics metrics;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Queue<Thread> parkedWorkers = new ConcurrentLinkedQueue<>();
+
+    private PipelineStage next;
+    private volatile boolean running = true;
+
+    public PipelineStage(String name, int bufferSize, int threads, int batchSize,
+                         BiConsumer<TradeProcessor, TradeContext> step,
+                         BiConsumer<TradeProcessor, List<TradeContext>> batchStep, ProcessingMetrics metrics) {
+        this.name = name;
+        this.input = new RingBuffer<>(bufferSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.step = step;
+        this.batchStep = batchStep;
+        this.metrics = metrics;
+
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread worker = new Thread(this::work, "pipeline-" + name + "-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        metrics.registerPipelineQueueDepth(name, input::size);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return input.size();
+    }
+
+    void setNext(PipelineStage next) {
+        this.next = next;
+    }
+
+    void start() {
+        workers.forEach(Thread::start);
+    }
+
+    void stop() {
+        running = false;
+        workers.forEach(LockSupport::unpark);
+    }
+
+    /**
+     * Enqueue without waiting; false if the stage is full.
+     */
+    boolean offer(Task task) {
+        if (!input.offer(task)) {
+            return false;
+        }
+        unparkWorker();
+        return true;
+    }
+
+    private void put(Task task) {
+        int attempts = 0;
+        while (!input.offer(task)) {
+            if (!running) {
+                task.result().completeExceptionally(new IllegalStateException("Pipeline stopped"));
+                return;
+            }
+            backoff(attempts++);
+        }
+        unparkWorker();
+    }
+
+    private void unparkWorker() {
+        Thread worker = parkedWorkers.poll();
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void awaitWork() {
+        Thread self = Thread.currentThread();
+        parkedWorkers.add(self);
+        // Checked after registering, so an offer that found no parked worker is still seen here
+        if (running && input.size() == 0) {
+            LockSupport.park(this);
+        }
+        parkedWorkers.remove(self);
+    }
+
+    private void work() {
+        List<Task> batch = new ArrayList<>(batchSize);
+        int idle = 0;
+        while (running) {
+            long batchStart = System.nanoTime();
+            Task task;
+            while (batch.size() < batchSize && (task = input.poll()) != null) {
+                batch.add(task);
+            }
+
+            if (!batch.isEmpty()) {
+                if (batchStep != null) {
+                    handleBatch(batch);
+                } else {
+                    batch.forEach(this::handle);
+                }
+                metrics.recordPipelineBatch(name, batch.size(), System.nanoTime() - batchStart);
+                batch.clear();
+                idle = 0;
+            } else if (idle < YIELD_LIMIT) {
+                backoff(idle++);
+            } else {
+                awaitWork();
+                idle = 0;
+            }
+        }
+    }
+
+    private void handle(Task task) {
+        // Already completed (timed out): don't spend stage time on it
+        if (task.result().isDone()) {
+            return;
+        }
+
+        try {
+            task.context().getDeadline().checkpoint(name);
+            step.accept(task.processor(), task.context());
+        } catch (Exception e) {
+            task.result().complete(task.processor().failure(task.context(), e));
+            return;
+        }
+
+        advance(task);
+    }
+
+    private void handleBatch(List<Task> batch) {
+        Map<TradeProcessor, List<Task>> byProcessor = new LinkedHashMap<>();
+        for (Task task : batch) {
+            if (task.result().isDone()) {
+                continue;
+            }
+            try {
+                task.context().getDeadline().checkpoint(name);
+            } catch (Exception e) {
+                task.result().complete(task.processor().failure(task.context(), e));
+                continue;
+            }
+            byProcessor.computeIfAbsent(task.processor(), processor -> new ArrayList<>()).add(task);
+        }
+
+        byProcessor.forEach((processor, tasks) -> {
+            try {
+                batchStep.accept(processor, tasks.stream().map(Task::context).toList());
+            } catch (Exception e) {
+                log.debug("Batch {} failed for {} trades, retrying one by one: {}", name, tasks.size(), e.getMessage());
+                tasks.forEach(this::handle);
+                return;
+            }
+            tasks.forEach(this::advance);
+        });
+    }
+
+    private void advance(Task task) {
+        if (next == null) {
+            task.result().complete(task.processor().success(task.context()));
+        } else {
+            next.put(task);
+        }
+    }
+
+    private static void backoff(int attempt) {
+        if (attempt < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.traderecon.forge.pipeline;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.TradeContext;
+import com.traderecon.forge.processor.TradeProcessor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs the processor steps as separate stages (processing.pipeline.mode=staged).
+ *
+ * validate -> enrich -> price -> book, each with its own threads and batch
+ * size (processing.pipeline.stages.&lt;stage&gt;.threads / .batch-size),
+ * connected by bounded ring buffers. CPU-bound pricing keeps its threads
+ * while booking threads wait on the database, and whichever stage is the
+ * bottleneck can be scaled on its own. The price stage hands each
+ * processor its share of a batch at once ({@link TradeProcessor#priceBatch}).
+ * Deserialization stays on the listener thread, where it already streams
+ * from the record bytes and has to happen before a record can be routed
+ * or filtered.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "processing.pipeline.mode", havingValue = "staged")
+public class StagedTradePipeline {
+
+    private final List<PipelineStage> stages;
+
+    @Autowired
+    public StagedTradePipeline(Environment environment, ProcessingMetrics metrics) {
+        int bufferSize = environment.getProperty("processing.pipeline.buffer-size", Integer.class, 1024);
+
+        this.stages = List.of(
+                stage(environment, metrics, "validate", bufferSize, 1, 32, TradeProcessor::validate, null),
+                stage(environment, metrics, "enrich", bufferSize, 2, 32, TradeProcessor::enrich, null),
+                stage(environment, metrics, "price", bufferSize, 2, 32, TradeProcessor::price, TradeProcessor::priceBatch),
+                stage(environment, metrics, "book", bufferSize, 4, 8, TradeProcessor::book, null)
+        );
+        for (int i = 0; i < stages.size() - 1; i++) {
+            stages.get(i).setNext(stages.get(i + 1));
+        }
+        stages.forEach(PipelineStage::start);
+
+        log.info("StagedTradePipeline started with stages {}", stages.stream().map(PipelineStage::getName).toList());
+    }
+
+    /**
+     * Enter a trade into the first stage.
+     *
+     * The future completes with the processor's result once the last stage
+     * has run, or as soon as a stage fails. If the first stage is full it
+     * fails with a RejectedExecutionException, which the service reports as
+     * REJECTED: the trade never started, so it is redelivered from Kafka
+     * once backpressure has paused intake rather than sent to a retry tier.
+     */
+    public CompletableFuture<ProcessingResult> submit(TradeProcessor processor, TradeContext context) {
+        PipelineStage.Task task = new PipelineStage.Task(processor, context, new CompletableFuture<>());
+        if (!stages.get(0).offer(task)) {
+            task.result().completeExceptionally(new RejectedExecutionException("Pipeline stage validate is full"));
+        }
+        return task.result();
+    }
+
+    /**
+     * Trades waiting in any stage buffer.
+     */
+    public int getQueueDepth() {
+        return stages.stream().mapToInt(PipelineStage::getQueueDepth).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stages.forEach(PipelineStage::stop);
+    }
+
+    private static PipelineStage stage(Environment environment, ProcessingMetrics metrics, String name,
+                                       int bufferSize, int defaultThreads, int defaultBatchSize,
+                                       BiConsumer<TradeProcessor, TradeContext> step,
+                                       BiConsumer<TradeProcessor, List<TradeContext>> batchStep) {
+        String prefix = "processing.pipeline.stages." + name;
+        int threads = environment.getProperty(prefix + ".threads", Integer.class, defaultThreads);
+        int batchSize = environment.getProperty(prefix + ".batch-size", Integer.class, defaultBatchSize);
+        log.info("Pipeline stage {}: {} threads, batch size {}", name, threads, batchSize);
+        return new PipelineStage(name, bufferSize, threads, batchSize, step, batchStep, metrics);
+    }
+}
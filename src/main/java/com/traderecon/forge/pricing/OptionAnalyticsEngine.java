@@ -0,0 +1,99 @@
+package com.traderecon.forge.pricing;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates {@link OptionBatch}es with {@link BlackScholes}.
+ *
+ * Batches up to chunk-size options are evaluated on the calling thread.
+ * Larger ones are split: the calling thread evaluates the first chunk while
+ * a dedicated fork-join pool (processing.analytics.parallelism threads)
+ * takes the rest, so bulk pricing uses more cores without taking threads
+ * from trade processing.
+ *
+ * The default chunk size is half the price stage's default batch size, so
+ * a full staged batch of options is split. Direct mode prices one option
+ * per call and never splits.
+ */
+@Component
+@Slf4j
+public class OptionAnalyticsEngine {
+
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+    private final ProcessingMetrics metrics;
+
+    @Autowired
+    public OptionAnalyticsEngine(
+            @Value("${processing.analytics.parallelism:0}") int parallelism,
+            @Value("${processing.analytics.chunk-size:16}") int chunkSize,
+            ProcessingMetrics metrics
+    ) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pool = new ForkJoinPool(threads);
+        this.metrics = metrics;
+
+        log.info("OptionAnalyticsEngine initialized (parallelism: {}, chunk size: {})", threads, this.chunkSize);
+    }
+
+    /**
+     * Fill in price and greeks for every option in the batch.
+     */
+    public void evaluate(OptionBatch batch) {
+        long start = System.nanoTime();
+        int size = batch.size();
+
+        if (size <= chunkSize) {
+            BlackScholes.evaluate(batch, 0, size);
+        } else {
+            ForkJoinTask<Void> rest = pool.submit(new Chunk(batch, chunkSize, size));
+            BlackScholes.evaluate(batch, 0, chunkSize);
+            rest.join();
+        }
+
+        metrics.recordOptionBatch(size, System.nanoTime() - start);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Halves its range until it fits in one chunk.
+     */
+    private final class Chunk extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final OptionBatch batch;
+        private final int from;
+        private final int to;
+
+        Chunk(OptionBatch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                BlackScholes.evaluate(batch, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(batch, from, mid), new Chunk(batch, mid, to));
+        }
+    }
+}
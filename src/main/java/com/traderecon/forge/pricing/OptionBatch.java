@@ -0,0 +1,86 @@
+package com.traderecon.forge.pricing;
+
+/**
+ * Options laid out as parallel arrays (struct of arrays) for
+ * {@link OptionAnalyticsEngine}.
+ *
+ * Inputs are added row by row; outputs are filled in place by the engine.
+ * Rates, volatilities and dividend yields are decimals (0.05 = 5%) and
+ * time is in years. Vega is per 1.00 of volatility and theta per year.
+ */
+public class OptionBatch {
+
+    final boolean[] call;
+    final double[] spot;
+    final double[] strike;
+    final double[] years;
+    final double[] volatility;
+    final double[] rate;
+    final double[] dividendYield;
+
+    final double[] price;
+    final double[] delta;
+    final double[] gamma;
+    final double[] vega;
+    final double[] theta;
+
+    private int size;
+
+    public OptionBatch(int capacity) {
+        this.call = new boolean[capacity];
+        this.spot = new double[capacity];
+        this.strike = new double[capacity];
+        this.years = new double[capacity];
+        this.volatility = new double[capacity];
+        this.rate = new double[capacity];
+        this.dividendYield = new double[capacity];
+        this.price = new double[capacity];
+        this.delta = new double[capacity];
+        this.gamma = new double[capacity];
+        this.vega = new double[capacity];
+        this.theta = new double[capacity];
+    }
+
+    /**
+     * Append an option and return its index.
+     */
+    public int add(boolean isCall, double spotPrice, double strikePrice, double yearsToExpiry,
+                   double vol, double riskFreeRate, double dividend) {
+        if (size == call.length) {
+            throw new IllegalStateException("Option batch is full (" + size + ")");
+        }
+        int i = size++;
+        call[i] = isCall;
+        spot[i] = spotPrice;
+        strike[i] = strikePrice;
+        years[i] = yearsToExpiry;
+        volatility[i] = vol;
+        rate[i] = riskFreeRate;
+        dividendYield[i] = dividend;
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double price(int i) {
+        return price[i];
+    }
+
+    public double delta(int i) {
+        return delta[i];
+    }
+
+    public double gamma(int i) {
+        return gamma[i];
+    }
+
+    public double vega(int i) {
+        return vega[i];
+    }
+
+    public double theta(int i) {
+        return theta[i];
+    }
+}
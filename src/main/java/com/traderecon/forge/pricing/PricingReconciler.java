@@ -0,0 +1,78 @@
+package com.traderecon.forge.pricing;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import io.annapurna.model.TradeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses between the primitive and BigDecimal pricing paths and checks
+ * them against each other.
+ *
+ * In primitive mode (the default) a shadow-sample-rate share of trades is
+ * also priced with BigDecimal, and every measure is compared. Divergence is
+ * measured relative to the BigDecimal value, or absolutely below 1.0, and
+ * anything over the tolerance is counted and logged.
+ */
+@Component
+@Slf4j
+public class PricingReconciler {
+
+    private final boolean primitive;
+    private final double shadowSampleRate;
+    private final double tolerance;
+    private final ProcessingMetrics metrics;
+
+    @Autowired
+    public PricingReconciler(
+            @Value("${processing.pricing.mode:primitive}") String mode,
+            @Value("${processing.pricing.shadow-sample-rate:0.01}") double shadowSampleRate,
+            @Value("${processing.pricing.tolerance:0.000000001}") double tolerance,
+            ProcessingMetrics metrics
+    ) {
+        if (!"primitive".equals(mode) && !"decimal".equals(mode)) {
+            throw new IllegalArgumentException("Unsupported processing.pricing.mode: " + mode);
+        }
+        this.primitive = "primitive".equals(mode);
+        this.shadowSampleRate = shadowSampleRate;
+        this.tolerance = tolerance;
+        this.metrics = metrics;
+
+        log.info("PricingReconciler initialized (mode: {}, shadow sample rate: {}, tolerance: {})",
+                mode, shadowSampleRate, tolerance);
+    }
+
+    /**
+     * Whether trades are priced on primitives rather than BigDecimal.
+     */
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    /**
+     * Whether this trade should also be priced with BigDecimal for comparison.
+     */
+    public boolean shouldShadow() {
+        return primitive && shadowSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < shadowSampleRate;
+    }
+
+    /**
+     * Compare one measure from both paths.
+     */
+    public void reconcile(TradeType tradeType, String tradeId, String measure, double value, BigDecimal reference) {
+        double expected = reference.doubleValue();
+        double divergence = Math.abs(value - expected) / Math.max(Math.abs(expected), 1.0);
+        boolean matched = divergence <= tolerance;
+
+        metrics.recordPricingShadow(tradeType, measure, divergence, matched);
+        if (!matched) {
+            log.warn("Pricing divergence on {} {} {}: primitive={}, decimal={}",
+                    tradeType, tradeId, measure, value, reference);
+        }
+    }
+}
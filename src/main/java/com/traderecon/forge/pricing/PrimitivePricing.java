@@ -0,0 +1,31 @@
+package com.traderecon.forge.pricing;
+
+/**
+ * Pricing formulas on double primitives.
+ *
+ * Mirrors the BigDecimal calculations in the processors step for step
+ * without allocating per trade. Inputs
+ * are converted from BigDecimal once; rates are in percent and spreads in
+ * basis points, as on the trades.
+ */
+public final class PrimitivePricing {
+
+    // Simplified tenors shared with the BigDecimal path
+    private static final double EQUITY_RETURN = 0.08;
+    private static final double FUNDING_PERIOD_YEARS = 0.5;
+
+    private PrimitivePricing() {
+    }
+
+    public static double equityLegValue(double notional) {
+        return notional * EQUITY_RETURN;
+    }
+
+    public static double fundingLegValue(double notional, double sofrRatePercent) {
+        return notional * (sofrRatePercent / 100) * FUNDING_PERIOD_YEARS;
+    }
+
+    public static double optionIntrinsicValue(boolean call, double spot, double strike) {
+        return Math.max(call ? spot - strike : strike - spot, 0.0);
+    }
+}
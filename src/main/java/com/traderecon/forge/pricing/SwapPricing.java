@@ -0,0 +1,63 @@
+package com.traderecon.forge.pricing;
+
+import com.traderecon.forge.curve.CurveDefinition;
+import com.traderecon.forge.curve.DayCount;
+import com.traderecon.forge.curve.DiscountCurve;
+import com.traderecon.forge.curve.ScheduleGenerator;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interest rate swap leg present values off a bootstrapped curve.
+ *
+ * Each leg's day count and payment frequency are passed in: the trade's
+ * own where it states them, otherwise the index conventions in the curve's
+ * definition. Floating forwards are always projected on the index's
+ * floating day count. Periods that have already paid are skipped; the
+ * period in progress on the floating leg uses the current fixing instead
+ * of a curve forward.
+ */
+public final class SwapPricing {
+
+    private SwapPricing() {
+    }
+
+    public static double fixedLegPV(DiscountCurve curve, double notional, double fixedRate, DayCount dayCount,
+                                    int frequencyMonths, LocalDate start, LocalDate maturity) {
+        List<LocalDate> dates = ScheduleGenerator.dates(start, maturity, frequencyMonths);
+
+        double pv = 0;
+        for (int i = 1; i < dates.size(); i++) {
+            LocalDate payment = dates.get(i);
+            if (!payment.isAfter(curve.getValuationDate())) {
+                continue;
+            }
+            double accrual = dayCount.yearFraction(dates.get(i - 1), payment);
+            pv += notional * fixedRate * accrual * curve.discountFactor(payment);
+        }
+        return pv;
+    }
+
+    public static double floatingLegPV(DiscountCurve curve, double notional, double currentFixing, double spread,
+                                       DayCount dayCount, int frequencyMonths, LocalDate start, LocalDate maturity) {
+        CurveDefinition definition = curve.getDefinition();
+        LocalDate valuationDate = curve.getValuationDate();
+        List<LocalDate> dates = ScheduleGenerator.dates(start, maturity, frequencyMonths);
+
+        double pv = 0;
+        for (int i = 1; i < dates.size(); i++) {
+            LocalDate accrualStart = dates.get(i - 1);
+            LocalDate payment = dates.get(i);
+            if (!payment.isAfter(valuationDate)) {
+                continue;
+            }
+            double rate = accrualStart.isAfter(valuationDate)
+                    ? curve.forwardRate(accrualStart, payment, definition.floatingDayCount())
+                    : currentFixing;
+            double accrual = dayCount.yearFraction(accrualStart, payment);
+            pv += notional * (rate + spread) * accrual * curve.discountFactor(payment);
+        }
+        return pv;
+    }
+}
@@ -0,0 +1,95 @@
+package com.traderecon.forge.processor;
+
+import com.traderecon.forge.exception.DeadlineExceededException;
+import com.traderecon.forge.exception.ValidationException;
+import com.traderecon.forge.model.Deadline;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
+import io.annapurna.model.Trade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base for the product processors.
+ *
+ * Runs the four steps serially on the calling thread and maps failures to
+ * results the same way for every product: ValidationException becomes
+ * VALIDATION_FAILED, a passed deadline TIMEOUT, anything else
+ * PROCESSING_FAILED. The deadline is checked before every step.
+ */
+public abstract class AbstractTradeProcessor implements TradeProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * Product name used in log messages.
+     */
+    protected abstract String productName();
+
+    @Override
+    public ProcessingResult process(TradeContext context) {
+        Trade trade = context.getTrade();
+        Deadline deadline = context.getDeadline();
+
+        try {
+            // Step 1: Validate
+            deadline.checkpoint("validate");
+            logger.debug("Validating {}: {}", productName(), trade.getTradeId());
+            validate(context);
+
+            // Step 2: Enrich
+            deadline.checkpoint("enrich");
+            logger.debug("Enriching {}: {}", productName(), trade.getTradeId());
+            enrich(context);
+
+            // Step 3: Business Logic
+            deadline.checkpoint("price");
+            logger.debug("Pricing {}: {}", productName(), trade.getTradeId());
+            price(context);
+
+            // Step 4: DB booking with rollback (checks the deadline itself)
+            book(context);
+
+            return success(context);
+
+        } catch (Exception e) {
+            return failure(context, e);
+        }
+    }
+
+    @Override
+    public ProcessingResult success(TradeContext context) {
+        ProcessingResult result = ProcessingResult.success(context.getTrade().getTradeId());
+        result.setProcessingTimeMs(System.currentTimeMillis() - context.getStartTime());
+        return withMarketDataVersion(result, context);
+    }
+
+    @Override
+    public ProcessingResult failure(TradeContext context, Exception e) {
+        String tradeId = context.getTrade().getTradeId();
+
+        if (e instanceof ValidationException) {
+            logger.error("Validation failed for {} {}: {}", productName(), tradeId, e.getMessage());
+            return withMarketDataVersion(
+                    ProcessingResult.failure(tradeId, ProcessingStatus.VALIDATION_FAILED, e.getMessage()), context);
+        }
+
+        // Includes database errors caused by the statement timeout the deadline set
+        if (e instanceof DeadlineExceededException || context.getDeadline().isExpired()) {
+            logger.warn("Deadline exceeded for {} {}: {}", productName(), tradeId, e.getMessage());
+            return withMarketDataVersion(ProcessingResult.timeout(tradeId), context);
+        }
+
+        logger.error("Processing failed for {} {}: {}", productName(), tradeId, e.getMessage(), e);
+        return withMarketDataVersion(
+                ProcessingResult.failure(tradeId, ProcessingStatus.PROCESSING_FAILED, e.getMessage()), context);
+    }
+
+    private static ProcessingResult withMarketDataVersion(ProcessingResult result, TradeContext context) {
+        if (context.getMarketData() != null) {
+            result.setMarketDataVersion(context.getMarketData().getVersion());
+        }
+        return result;
+    }
+}
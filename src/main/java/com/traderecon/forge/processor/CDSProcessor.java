@@ -1,22 +1,19 @@
 package com.traderecon.forge.processor;
 
-import com.traderecon.forge.model.TradeRecord;
+import com.traderecon.forge.credit.CreditCurve;
+import com.traderecon.forge.credit.CreditCurveCache;
 import com.traderecon.forge.service.DatabaseService;
 import com.traderecon.forge.service.TradeMapper;
 import io.annapurna.model.CreditDefaultSwap;
 import io.annapurna.model.Trade;
 import io.annapurna.model.TradeType;
-import com.traderecon.forge.exception.ValidationException;
-import com.traderecon.forge.model.ProcessingResult;
-import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
 import com.traderecon.forge.service.EnrichmentService;
 import com.traderecon.forge.service.ValidationService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
 
 
 
@@ -25,96 +22,76 @@ import java.time.temporal.ChronoUnit;
  */
 @Component
 @Slf4j
-public class CDSProcessor implements TradeProcessor {
+public class CDSProcessor extends AbstractTradeProcessor {
+
+    private static final String SPREAD = "spread";
 
     private final ValidationService validationService;
     private final EnrichmentService enrichmentService;
     private final DatabaseService databaseService;
     private final TradeMapper tradeMapper;
+    private final CreditCurveCache creditCurveCache;
     @Autowired
     public CDSProcessor(ValidationService validationService, EnrichmentService enrichmentService, DatabaseService databaseService,
-                        TradeMapper tradeMapper) {
+                        TradeMapper tradeMapper, CreditCurveCache creditCurveCache) {
         this.validationService = validationService;
         this.enrichmentService = enrichmentService;
         this.databaseService = databaseService;
         this.tradeMapper = tradeMapper;
+        this.creditCurveCache = creditCurveCache;
     }
 
     @Override
-    public boolean supports(TradeType type) {
-        return type == TradeType.CREDIT_DEFAULT_SWAP;
+    public TradeType tradeType() {
+        return TradeType.CREDIT_DEFAULT_SWAP;
     }
 
     @Override
-    public ProcessingResult process(Trade trade) {
-        long startTime = System.currentTimeMillis();
-        CreditDefaultSwap cds = (CreditDefaultSwap) trade;
-
-        try {
-            // Step 1: Validate
-            log.debug("Validating CDS: {}", cds.getTradeId());
-            validationService.validateCreditDefaultSwap(cds);
-
-            // Step 2: Enrich
-            log.debug("Enriching CDS: {}", cds.getTradeId());
-            BigDecimal spread = enrichmentService.getSpread(cds.getCounterparty(), cds.getNotional());
-
-            // Step 3: Business Logic
-            log.debug("Calculating CDS metrics for: {}", cds.getTradeId());
-            long daysToMaturity = ChronoUnit.DAYS.between(cds.getTradeDate(), cds.getMaturityDate());
-            BigDecimal annualPremium = calculateAnnualPremium(cds);
-            BigDecimal protectionValue = calculateProtectionValue(cds);
-            BigDecimal cdsValue = protectionValue.subtract(annualPremium);
-
-            log.info("Processed CDS {}: ReferenceEntity={}, Spread={} bps, AnnualPremium={}, ProtectionValue={}, CDSValue={}",
-                    cds.getTradeId(), cds.getReferenceEntity(), cds.getSpreadBps(),
-                    annualPremium, protectionValue, cdsValue);
-            // Step 4: DB booking with rollback
-            TradeRecord record = tradeMapper.toRecord(cds);
-            databaseService.bookTradeWithRollback(record);
-
-            ProcessingResult result = ProcessingResult.success(cds.getTradeId());
-            result.setProcessingTimeMs(System.currentTimeMillis() - startTime);
-            return result;
-
-        } catch (ValidationException e) {
-            log.error("Validation failed for CDS {}: {}", cds.getTradeId(), e.getMessage());
-            return ProcessingResult.failure(cds.getTradeId(), ProcessingStatus.VALIDATION_FAILED, e.getMessage());
-
-        } catch (Exception e) {
-            log.error("Processing failed for CDS {}: {}", cds.getTradeId(), e.getMessage(), e);
-            return ProcessingResult.failure(cds.getTradeId(), ProcessingStatus.PROCESSING_FAILED, e.getMessage());
-        }
+    public Class<? extends Trade> tradeClass() {
+        return CreditDefaultSwap.class;
     }
 
-    private BigDecimal calculateAnnualPremium(CreditDefaultSwap cds) {
-        // Annual premium = Notional × Spread (in decimal)
-        BigDecimal spreadDecimal = BigDecimal.valueOf(cds.getSpreadBps()).divide(BigDecimal.valueOf(10000));
-        return cds.getNotional().multiply(spreadDecimal);
+    @Override
+    protected String productName() {
+        return "CDS";
     }
 
-    private BigDecimal calculateProtectionValue(CreditDefaultSwap cds) {
-        // Simplified protection leg value
-        // Real calculation: (1 - RecoveryRate) × Notional × Default Probability
-
-        // Estimate default probability from spread
-        // Higher spread → higher default probability
-        BigDecimal defaultProb = estimateDefaultProbability(cds.getSpreadBps());
+    @Override
+    public void validate(TradeContext context) {
+        validationService.validateCreditDefaultSwap((CreditDefaultSwap) context.getTrade(), context.getSymbols());
+    }
 
-        // Protection value = Loss Given Default × Default Probability
-        BigDecimal recoveryRateDecimal = new BigDecimal(String.valueOf(cds.getRecoveryRate())).divide(BigDecimal.valueOf(100));
-        BigDecimal lossGivenDefault = cds.getNotional()
-                .multiply(BigDecimal.ONE.subtract(recoveryRateDecimal));
-        return lossGivenDefault.multiply(defaultProb);
+    @Override
+    public void enrich(TradeContext context) {
+        CreditDefaultSwap cds = (CreditDefaultSwap) context.getTrade();
+        context.put(SPREAD, enrichmentService.getSpread(context, context.getSymbols().counterparty(),
+                cds.getNotional()));
     }
 
-    private BigDecimal estimateDefaultProbability(int spreadBps) {
-        // Simplified: spread / 10000 as rough default probability
-        // 100 bps → 1% default prob
-        // 1000 bps → 10% default prob
-        BigDecimal prob = BigDecimal.valueOf(spreadBps).divide(BigDecimal.valueOf(10000));
+    @Override
+    public void price(TradeContext context) {
+        CreditDefaultSwap cds = (CreditDefaultSwap) context.getTrade();
+        double recoveryRate = cds.getRecoveryRate().doubleValue() / 100;
+        CreditCurve curve = creditCurveCache.curve(cds.getReferenceEntity(), cds.getSpreadBps(), recoveryRate,
+                enrichmentService.valuationDate(context));
+
+        double notional = cds.getNotional().doubleValue();
+        double spread = cds.getSpreadBps() / 10_000.0;
+
+        double annualPremium = notional * spread;
+        double premiumLegPV = curve.premiumLegPV(cds.getMaturityDate(), notional, spread);
+        double protectionLegPV = curve.protectionLegPV(cds.getMaturityDate(), notional, recoveryRate);
+        double cdsValue = protectionLegPV - premiumLegPV;
+        double defaultProbability = 1 - curve.survivalProbability(cds.getMaturityDate());
+
+        log.info("Processed CDS {}: ReferenceEntity={}, Spread={} bps, AnnualPremium={}, PremiumPV={}, ProtectionPV={}, "
+                        + "DefaultProbability={}, CDSValue={}",
+                cds.getTradeId(), cds.getReferenceEntity(), cds.getSpreadBps(), annualPremium,
+                premiumLegPV, protectionLegPV, defaultProbability, cdsValue);
+    }
 
-        // Cap at 50%
-        return prob.min(new BigDecimal("0.50"));
+    @Override
+    public void book(TradeContext context) {
+        databaseService.bookTradeWithRollback(tradeMapper.toRecord(context.getTrade()), context.getDeadline());
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,13 @@
 package com.traderecon.forge.processor;
 
-import com.traderecon.forge.model.TradeRecord;
+import com.traderecon.forge.pricing.PricingReconciler;
+import com.traderecon.forge.pricing.PrimitivePricing;
 import com.traderecon.forge.service.DatabaseService;
 import com.traderecon.forge.service.TradeMapper;
 import io.annapurna.model.EquitySwap;
 import io.annapurna.model.Trade;
 import io.annapurna.model.TradeType;
-import com.traderecon.forge.exception.ValidationException;
-import com.traderecon.forge.model.ProcessingResult;
-import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
 import com.traderecon.forge.service.EnrichmentService;
 import com.traderecon.forge.service.ValidationService;
 import lombok.extern.slf4j.Slf4j;
@@ -22,65 +21,97 @@ import java.math.BigDecimal;
  */
 @Component
 @Slf4j
-public class EquitySwapProcessor implements TradeProcessor {
+public class EquitySwapProcessor extends AbstractTradeProcessor {
+
+    private static final String CURRENT_PRICE = "currentPrice";
+    private static final String SPREAD = "spread";
+    private static final String SOFR_RATE = "sofrRate";
 
     private final ValidationService validationService;
     private final EnrichmentService enrichmentService;
     private final TradeMapper tradeMapper;
     private final DatabaseService databaseService;
+    private final PricingReconciler pricingReconciler;
     @Autowired
-    public EquitySwapProcessor(ValidationService validationService, EnrichmentService enrichmentService, TradeMapper tradeMapper, DatabaseService databaseService) {
+    public EquitySwapProcessor(ValidationService validationService, EnrichmentService enrichmentService, TradeMapper tradeMapper, DatabaseService databaseService,
+                               PricingReconciler pricingReconciler) {
         this.validationService = validationService;
         this.enrichmentService = enrichmentService;
         this.databaseService  = databaseService;
         this.tradeMapper = tradeMapper;
+        this.pricingReconciler = pricingReconciler;
+    }
+
+    @Override
+    public TradeType tradeType() {
+        return TradeType.EQUITY_SWAP;
+    }
+
+    @Override
+    public Class<? extends Trade> tradeClass() {
+        return EquitySwap.class;
+    }
+
+    @Override
+    protected String productName() {
+        return "Equity Swap";
+    }
+
+    @Override
+    public void validate(TradeContext context) {
+        validationService.validateEquitySwap((EquitySwap) context.getTrade(), context.getSymbols());
     }
 
     @Override
-    public boolean supports(TradeType type) {
-        return type == TradeType.EQUITY_SWAP;
+    public void enrich(TradeContext context) {
+        EquitySwap swap = (EquitySwap) context.getTrade();
+        context.put(CURRENT_PRICE, enrichmentService.getEquityPrice(context, context.getSymbols().ticker()));
+        context.put(SOFR_RATE, enrichmentService.getSofrRate(context));
+        context.put(SPREAD, enrichmentService.getSpread(context, context.getSymbols().counterparty(),
+                swap.getNotional()));
     }
 
     @Override
-    public ProcessingResult process(Trade trade) {
-        long startTime = System.currentTimeMillis();
-        EquitySwap swap = (EquitySwap) trade;
-
-        try {
-            // Step 1: Validate
-            log.debug("Validating Equity Swap: {}", swap.getTradeId());
-            validationService.validateEquitySwap(swap);
-
-            // Step 2: Enrich
-            log.debug("Enriching Equity Swap: {}", swap.getTradeId());
-            BigDecimal currentPrice = enrichmentService.getEquityPrice(swap.getReferenceAsset());
-            BigDecimal spread = enrichmentService.getSpread(swap.getCounterparty(), swap.getNotional());
-
-            // Step 3: Business Logic
-            log.debug("Calculating equity swap metrics for: {}", swap.getTradeId());
-            BigDecimal equityLegValue = calculateEquityLegValue(swap, currentPrice);
-            BigDecimal fundingLegValue = calculateFundingLegValue(swap);
-            BigDecimal swapValue = equityLegValue.subtract(fundingLegValue);
-
-            log.info("Processed Equity Swap {}: EquityLegValue={}, FundingLegValue={}, SwapValue={}",
-                    swap.getTradeId(), equityLegValue, fundingLegValue, swapValue);
-
-            // Step 4: DB booking with rollback
-            TradeRecord record = tradeMapper.toRecord(swap);
-            databaseService.bookTradeWithRollback(record);
-
-            ProcessingResult result = ProcessingResult.success(swap.getTradeId());
-            result.setProcessingTimeMs(System.currentTimeMillis() - startTime);
-            return result;
-
-        } catch (ValidationException e) {
-            log.error("Validation failed for Equity Swap {}: {}", swap.getTradeId(), e.getMessage());
-            return ProcessingResult.failure(swap.getTradeId(), ProcessingStatus.VALIDATION_FAILED, e.getMessage());
-
-        } catch (Exception e) {
-            log.error("Processing failed for Equity Swap {}: {}", swap.getTradeId(), e.getMessage(), e);
-            return ProcessingResult.failure(swap.getTradeId(), ProcessingStatus.PROCESSING_FAILED, e.getMessage());
+    public void price(TradeContext context) {
+        EquitySwap swap = (EquitySwap) context.getTrade();
+        BigDecimal currentPrice = context.get(CURRENT_PRICE);
+        BigDecimal sofrRate = context.get(SOFR_RATE);
+
+        if (!pricingReconciler.isPrimitive()) {
+            priceDecimal(swap, currentPrice, sofrRate);
+            return;
+        }
+
+        double notional = swap.getNotional().doubleValue();
+        double equityLegValue = PrimitivePricing.equityLegValue(notional);
+        double fundingLegValue = PrimitivePricing.fundingLegValue(notional, sofrRate.doubleValue());
+        double swapValue = equityLegValue - fundingLegValue;
+
+        if (pricingReconciler.shouldShadow()) {
+            BigDecimal equityDecimal = calculateEquityLegValue(swap, currentPrice);
+            BigDecimal fundingDecimal = calculateFundingLegValue(swap, sofrRate);
+            pricingReconciler.reconcile(tradeType(), swap.getTradeId(), "equityLegValue", equityLegValue, equityDecimal);
+            pricingReconciler.reconcile(tradeType(), swap.getTradeId(), "fundingLegValue", fundingLegValue, fundingDecimal);
+            pricingReconciler.reconcile(tradeType(), swap.getTradeId(), "swapValue", swapValue,
+                    equityDecimal.subtract(fundingDecimal));
         }
+
+        log.info("Processed Equity Swap {}: EquityLegValue={}, FundingLegValue={}, SwapValue={}",
+                swap.getTradeId(), equityLegValue, fundingLegValue, swapValue);
+    }
+
+    @Override
+    public void book(TradeContext context) {
+        databaseService.bookTradeWithRollback(tradeMapper.toRecord(context.getTrade()), context.getDeadline());
+    }
+
+    private void priceDecimal(EquitySwap swap, BigDecimal currentPrice, BigDecimal sofrRate) {
+        BigDecimal equityLegValue = calculateEquityLegValue(swap, currentPrice);
+        BigDecimal fundingLegValue = calculateFundingLegValue(swap, sofrRate);
+        BigDecimal swapValue = equityLegValue.subtract(fundingLegValue);
+
+        log.info("Processed Equity Swap {}: EquityLegValue={}, FundingLegValue={}, SwapValue={}",
+                swap.getTradeId(), equityLegValue, fundingLegValue, swapValue);
     }
 
     private BigDecimal calculateEquityLegValue(EquitySwap swap, BigDecimal currentPrice) {
@@ -90,10 +121,9 @@ public class EquitySwapProcessor implements TradeProcessor {
         return swap.getNotional().multiply(BigDecimal.valueOf(0.08)); // Assume 8% equity return
     }
 
-    private BigDecimal calculateFundingLegValue(EquitySwap swap) {
+    private BigDecimal calculateFundingLegValue(EquitySwap swap, BigDecimal sofrRate) {
         // Simplified funding cost
         // Real calculation: SOFR + spread over the period
-        BigDecimal sofrRate = enrichmentService.getSofrRate();
         return swap.getNotional()
                 .multiply(sofrRate.divide(BigDecimal.valueOf(100)))
                 .multiply(BigDecimal.valueOf(0.5)); // Assume 6 months
@@ -1,14 +1,14 @@
 package com.traderecon.forge.processor;
 
-import com.traderecon.forge.model.TradeRecord;
+import com.traderecon.forge.fx.FxForwardGrid;
+import com.traderecon.forge.fx.FxMarketCache;
+import com.traderecon.forge.fx.FxMarketSnapshot;
 import com.traderecon.forge.service.DatabaseService;
 import com.traderecon.forge.service.TradeMapper;
 import io.annapurna.model.FXForward;
 import io.annapurna.model.Trade;
 import io.annapurna.model.TradeType;
-import com.traderecon.forge.exception.ValidationException;
-import com.traderecon.forge.model.ProcessingResult;
-import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
 import com.traderecon.forge.service.EnrichmentService;
 import com.traderecon.forge.service.ValidationService;
 import lombok.extern.slf4j.Slf4j;
@@ -16,87 +16,93 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
 
 /**
  * Processor for FX Forward trades.
+ *
+ * Valued against the interest-rate-parity forward for the maturity date,
+ * interpolated from the pair's forward-point grid in the FX snapshot for
+ * the trade's valuation date and market data version.
  */
 @Component
 @Slf4j
-public class FXForwardProcessor implements TradeProcessor {
+public class FXForwardProcessor extends AbstractTradeProcessor {
+
+    private static final String SPOT_RATE = "spotRate";
+    private static final String SPREAD = "spread";
 
     private final ValidationService validationService;
     private final EnrichmentService enrichmentService;
     private final TradeMapper tradeMapper;
     private final DatabaseService databaseService;
+    private final FxMarketCache fxMarketCache;
     @Autowired
-    public FXForwardProcessor(ValidationService validationService, EnrichmentService enrichmentService, TradeMapper tradeMapper,DatabaseService databaseService ) {
+    public FXForwardProcessor(ValidationService validationService, EnrichmentService enrichmentService, TradeMapper tradeMapper,DatabaseService databaseService,
+                              FxMarketCache fxMarketCache) {
         this.validationService = validationService;
         this.enrichmentService = enrichmentService;
         this.databaseService = databaseService;
         this.tradeMapper = tradeMapper;
+        this.fxMarketCache = fxMarketCache;
     }
 
     @Override
-    public boolean supports(TradeType type) {
-        return type == TradeType.FX_FORWARD;
+    public TradeType tradeType() {
+        return TradeType.FX_FORWARD;
     }
 
     @Override
-    public ProcessingResult process(Trade trade) {
-        long startTime = System.currentTimeMillis();
-        FXForward forward = (FXForward) trade;
-
-        try {
-            // Step 1: Validate
-            log.debug("Validating FX Forward: {}", forward.getTradeId());
-            validationService.validateFXForward(forward);
-
-            // Step 2: Enrich
-            log.debug("Enriching FX Forward: {}", forward.getTradeId());
-            BigDecimal spotRate = enrichmentService.getFxRate(forward.getCurrencyPair());
-            BigDecimal spread = enrichmentService.getSpread(forward.getCounterparty(), forward.getNotional());
-
-            // Step 3: Business Logic
-            log.debug("Calculating FX forward MTM for: {}", forward.getTradeId());
-            long daysToMaturity = ChronoUnit.DAYS.between(forward.getTradeDate(), forward.getMaturityDate());
-            BigDecimal forwardPoints = calculateForwardPoints(spotRate, daysToMaturity);
-            BigDecimal theoreticalForward = spotRate.add(forwardPoints);
-            BigDecimal mtm = calculateMTM(forward, spotRate, theoreticalForward);
-
-            log.info("Processed FX Forward {}: Spot={}, Forward={}, TheoreticalForward={}, MTM={}",
-                    forward.getTradeId(), spotRate, forward.getForwardRate(), theoreticalForward, mtm);
+    public Class<? extends Trade> tradeClass() {
+        return FXForward.class;
+    }
 
-            // Step 4: DB booking with rollback
-            TradeRecord record = tradeMapper.toRecord(forward);
-            databaseService.bookTradeWithRollback(record);
+    @Override
+    protected String productName() {
+        return "FX Forward";
+    }
 
-            ProcessingResult result = ProcessingResult.success(forward.getTradeId());
-            result.setProcessingTimeMs(System.currentTimeMillis() - startTime);
-            return result;
+    @Override
+    public void validate(TradeContext context) {
+        validationService.validateFXForward((FXForward) context.getTrade(), context.getSymbols());
+    }
 
-        } catch (ValidationException e) {
-            log.error("Validation failed for FX Forward {}: {}", forward.getTradeId(), e.getMessage());
-            return ProcessingResult.failure(forward.getTradeId(), ProcessingStatus.VALIDATION_FAILED, e.getMessage());
+    @Override
+    public void enrich(TradeContext context) {
+        FXForward forward = (FXForward) context.getTrade();
+        FxForwardGrid grid = fxSnapshot(context).grid(context.getSymbols().currencyPair().name());
+        context.put(SPOT_RATE, BigDecimal.valueOf(grid.getSpot()));
+        context.put(SPREAD, enrichmentService.getSpread(context, context.getSymbols().counterparty(),
+                forward.getNotional()));
+    }
 
-        } catch (Exception e) {
-            log.error("Processing failed for FX Forward {}: {}", forward.getTradeId(), e.getMessage(), e);
-            return ProcessingResult.failure(forward.getTradeId(), ProcessingStatus.PROCESSING_FAILED, e.getMessage());
-        }
+    @Override
+    public void price(TradeContext context) {
+        FXForward forward = (FXForward) context.getTrade();
+        FxMarketSnapshot snapshot = fxSnapshot(context);
+        String currencyPair = context.getSymbols().currencyPair().name();
+        FxForwardGrid grid = snapshot.grid(currencyPair);
+        String quoteCurrency = forward.getQuoteCurrency() != null
+                ? forward.getQuoteCurrency().name()
+                : currencyPair.substring(currencyPair.indexOf('/') + 1);
+
+        double forwardPoints = grid.forwardPoints(forward.getMaturityDate());
+        double theoreticalForward = grid.getSpot() + forwardPoints;
+        // MTM in the quote currency, settled at maturity
+        double mtm = forward.getNotional().doubleValue() * (theoreticalForward - forward.getForwardRate().doubleValue());
+        double presentValue = mtm * snapshot.discountFactor(quoteCurrency, forward.getMaturityDate());
+
+        log.info("Processed FX Forward {}: Spot={}, Forward={}, ForwardPoints={}, TheoreticalForward={}, MTM={}, PV={}",
+                forward.getTradeId(), grid.getSpot(), forward.getForwardRate(), forwardPoints, theoreticalForward,
+                mtm, presentValue);
     }
 
-    private BigDecimal calculateForwardPoints(BigDecimal spotRate, long daysToMaturity) {
-        // Simplified forward points = spot × interest rate differential × days/360
-        // Assume 2% interest rate differential
-        BigDecimal rateDiff = new BigDecimal("0.02");
-        return spotRate.multiply(rateDiff)
-                .multiply(BigDecimal.valueOf(daysToMaturity))
-                .divide(BigDecimal.valueOf(360), 6, BigDecimal.ROUND_HALF_UP);
+    @Override
+    public void book(TradeContext context) {
+        databaseService.bookTradeWithRollback(tradeMapper.toRecord(context.getTrade()), context.getDeadline());
     }
 
-    private BigDecimal calculateMTM(FXForward forward, BigDecimal spotRate, BigDecimal theoreticalForward) {
-        // MTM = Notional × (TheoreticalForward - ContractForward)
-        BigDecimal rateDiff = theoreticalForward.subtract(forward.getForwardRate());
-        return forward.getNotional().multiply(rateDiff);
+    private FxMarketSnapshot fxSnapshot(TradeContext context) {
+        return fxMarketCache.snapshot(enrichmentService.valuationDate(context),
+                enrichmentService.marketData(context).getVersion(), () -> enrichmentService.getFxSpots(context));
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,15 @@
 package com.traderecon.forge.processor;
 
-import com.traderecon.forge.model.TradeRecord;
+import com.traderecon.forge.pricing.OptionAnalyticsEngine;
+import com.traderecon.forge.pricing.OptionBatch;
+import com.traderecon.forge.pricing.PricingReconciler;
+import com.traderecon.forge.pricing.PrimitivePricing;
 import com.traderecon.forge.service.DatabaseService;
 import com.traderecon.forge.service.TradeMapper;
 import io.annapurna.model.EquityOption;
 import io.annapurna.model.Trade;
 import io.annapurna.model.TradeType;
-import com.traderecon.forge.exception.ValidationException;
-import com.traderecon.forge.model.ProcessingResult;
-import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
 import com.traderecon.forge.service.EnrichmentService;
 import com.traderecon.forge.service.ValidationService;
 import lombok.extern.slf4j.Slf4j;
@@ -16,75 +17,151 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 /**
  * Processor for Equity Option trades.
  */
 @Component
 @Slf4j
-public class OptionProcessor implements TradeProcessor {
+public class OptionProcessor extends AbstractTradeProcessor {
+
+    private static final String CURRENT_PRICE = "currentPrice";
+    private static final String SPREAD = "spread";
+    private static final String VOLATILITY = "volatility";
+    private static final String DIVIDEND_YIELD = "dividendYield";
+    private static final String RISK_FREE_RATE = "riskFreeRate";
 
     private final ValidationService validationService;
     private final EnrichmentService enrichmentService;
     private final TradeMapper tradeMapper;
     private final DatabaseService databaseService;
+    private final PricingReconciler pricingReconciler;
+    private final OptionAnalyticsEngine analyticsEngine;
 
     @Autowired
-    public OptionProcessor(ValidationService validationService, EnrichmentService enrichmentService, DatabaseService databaseService, TradeMapper tradeMapper) {
+    public OptionProcessor(ValidationService validationService, EnrichmentService enrichmentService, DatabaseService databaseService, TradeMapper tradeMapper,
+                           PricingReconciler pricingReconciler, OptionAnalyticsEngine analyticsEngine) {
         this.validationService = validationService;
         this.enrichmentService = enrichmentService;
         this.tradeMapper = tradeMapper;
         this.databaseService = databaseService;
+        this.pricingReconciler = pricingReconciler;
+        this.analyticsEngine = analyticsEngine;
     }
 
     @Override
-    public boolean supports(TradeType type) {
-        return type == TradeType.EQUITY_OPTION;
+    public TradeType tradeType() {
+        return TradeType.EQUITY_OPTION;
     }
 
     @Override
-    public ProcessingResult process(Trade trade) {
-        long startTime = System.currentTimeMillis();
-        EquityOption option = (EquityOption) trade;
-
-        try {
-            // Step 1: Validate
-            log.debug("Validating Equity Option: {}", option.getTradeId());
-            validationService.validateEquityOption(option);
-
-            // Step 2: Enrich
-            log.debug("Enriching Equity Option: {}", option.getTradeId());
-            BigDecimal currentPrice = enrichmentService.getEquityPrice(option.getUnderlyingAsset());
-            BigDecimal spread = enrichmentService.getSpread(option.getCounterparty(), option.getNotional());
-
-            // Step 3: Business Logic
-            log.debug("Calculating option greeks for: {}", option.getTradeId());
-            long daysToExpiry = ChronoUnit.DAYS.between(option.getTradeDate(), option.getExpiryDate());
-            BigDecimal intrinsicValue = calculateIntrinsicValue(option, currentPrice);
-            BigDecimal timeValue = option.getPremium().subtract(intrinsicValue);
-            BigDecimal delta = calculateDelta(option, currentPrice, daysToExpiry);
+    public Class<? extends Trade> tradeClass() {
+        return EquityOption.class;
+    }
+
+    @Override
+    protected String productName() {
+        return "Option";
+    }
+
+    @Override
+    public void validate(TradeContext context) {
+        validationService.validateEquityOption((EquityOption) context.getTrade(), context.getSymbols());
+    }
+
+    @Override
+    public void enrich(TradeContext context) {
+        EquityOption option = (EquityOption) context.getTrade();
+        context.put(CURRENT_PRICE, enrichmentService.getEquityPrice(context, context.getSymbols().ticker()));
+        context.put(VOLATILITY, impliedVolatility(context, option));
+        context.put(DIVIDEND_YIELD, enrichmentService.getDividendYield(context, context.getSymbols().ticker()));
+        context.put(RISK_FREE_RATE, enrichmentService.getSofrRate(context));
+        context.put(SPREAD, enrichmentService.getSpread(context, context.getSymbols().counterparty(),
+                option.getNotional()));
+    }
+
+    @Override
+    public void price(TradeContext context) {
+        priceBatch(List.of(context));
+    }
+
+    /**
+     * Values the options with Black-Scholes in one batch, then reports each.
+     */
+    @Override
+    public void priceBatch(List<TradeContext> contexts) {
+        OptionBatch batch = new OptionBatch(contexts.size());
+        for (TradeContext context : contexts) {
+            EquityOption option = (EquityOption) context.getTrade();
+            LocalDate valuationDate = enrichmentService.valuationDate(context);
+            long daysToExpiry = Math.max(0, ChronoUnit.DAYS.between(valuationDate, option.getExpiryDate()));
+            batch.add("CALL".equalsIgnoreCase(option.getOptionType()),
+                    context.get(CURRENT_PRICE).doubleValue(),
+                    option.getStrikePrice().doubleValue(),
+                    daysToExpiry / 365.0,
+                    context.get(VOLATILITY).doubleValue() / 100,
+                    context.get(RISK_FREE_RATE).doubleValue() / 100,
+                    context.get(DIVIDEND_YIELD).doubleValue() / 100);
+        }
+        analyticsEngine.evaluate(batch);
+
+        for (int i = 0; i < contexts.size(); i++) {
+            report(contexts.get(i), batch, i);
+        }
+    }
+
+    @Override
+    public void book(TradeContext context) {
+        databaseService.bookTradeWithRollback(tradeMapper.toRecord(context.getTrade()), context.getDeadline());
+    }
 
-            log.info("Processed Option {}: Type={}, Strike={}, Spot={}, Intrinsic={}, TimeValue={}, Delta={}",
-                    option.getTradeId(), option.getOptionType(), option.getStrikePrice(),
-                    currentPrice, intrinsicValue, timeValue, delta);
+    /**
+     * The trade's own implied volatility (percent), or the underlying's
+     * market volatility when the trade does not carry one.
+     */
+    private BigDecimal impliedVolatility(TradeContext context, EquityOption option) {
+        BigDecimal impliedVolatility = option.getImpliedVolatility();
+        if (impliedVolatility != null && impliedVolatility.signum() > 0) {
+            return impliedVolatility;
+        }
+        return enrichmentService.getVolatility(context, context.getSymbols().ticker());
+    }
 
-            // Step 4: DB booking with rollback
-            TradeRecord record = tradeMapper.toRecord(option);
-            databaseService.bookTradeWithRollback(record);
+    private void report(TradeContext context, OptionBatch batch, int i) {
+        EquityOption option = (EquityOption) context.getTrade();
+        BigDecimal currentPrice = context.get(CURRENT_PRICE);
 
-            ProcessingResult result = ProcessingResult.success(option.getTradeId());
-            result.setProcessingTimeMs(System.currentTimeMillis() - startTime);
-            return result;
+        if (!pricingReconciler.isPrimitive()) {
+            BigDecimal intrinsicValue = calculateIntrinsicValue(option, currentPrice);
+            logPricing(option, currentPrice, intrinsicValue, option.getPremium().subtract(intrinsicValue), batch, i);
+            return;
+        }
 
-        } catch (ValidationException e) {
-            log.error("Validation failed for Option {}: {}", option.getTradeId(), e.getMessage());
-            return ProcessingResult.failure(option.getTradeId(), ProcessingStatus.VALIDATION_FAILED, e.getMessage());
+        boolean call = "CALL".equalsIgnoreCase(option.getOptionType());
+        double intrinsicValue = PrimitivePricing.optionIntrinsicValue(call, currentPrice.doubleValue(),
+                option.getStrikePrice().doubleValue());
+        double timeValue = option.getPremium().doubleValue() - intrinsicValue;
 
-        } catch (Exception e) {
-            log.error("Processing failed for Option {}: {}", option.getTradeId(), e.getMessage(), e);
-            return ProcessingResult.failure(option.getTradeId(), ProcessingStatus.PROCESSING_FAILED, e.getMessage());
+        if (pricingReconciler.shouldShadow()) {
+            BigDecimal intrinsicDecimal = calculateIntrinsicValue(option, currentPrice);
+            pricingReconciler.reconcile(tradeType(), option.getTradeId(), "intrinsicValue", intrinsicValue, intrinsicDecimal);
+            pricingReconciler.reconcile(tradeType(), option.getTradeId(), "timeValue", timeValue,
+                    option.getPremium().subtract(intrinsicDecimal));
         }
+
+        logPricing(option, currentPrice, intrinsicValue, timeValue, batch, i);
+    }
+
+    private void logPricing(EquityOption option, BigDecimal currentPrice, Object intrinsicValue, Object timeValue,
+                            OptionBatch batch, int i) {
+        log.info("Processed Option {}: Type={}, Strike={}, Spot={}, Intrinsic={}, TimeValue={}, "
+                        + "ModelPrice={}, Delta={}, Gamma={}, Vega={}, Theta={}",
+                option.getTradeId(), option.getOptionType(), option.getStrikePrice(),
+                currentPrice, intrinsicValue, timeValue,
+                batch.price(i), batch.delta(i), batch.gamma(i), batch.vega(i), batch.theta(i));
     }
 
     private BigDecimal calculateIntrinsicValue(EquityOption option, BigDecimal spotPrice) {
@@ -98,25 +175,4 @@ public class OptionProcessor implements TradeProcessor {
             return diff.max(BigDecimal.ZERO);
         }
     }
-
-    private BigDecimal calculateDelta(EquityOption option, BigDecimal spotPrice, long daysToExpiry) {
-        // Simplified delta calculation
-        // Real implementation would use Black-Scholes
-
-        BigDecimal moneyness = spotPrice.divide(option.getStrikePrice(), 4, BigDecimal.ROUND_HALF_UP);
-
-        if ("CALL".equalsIgnoreCase(option.getOptionType())) {
-            // Deep ITM call → delta approaches 1.0
-            // ATM call → delta around 0.5
-            // OTM call → delta approaches 0.0
-            if (moneyness.compareTo(new BigDecimal("1.1")) > 0) return new BigDecimal("0.85");
-            if (moneyness.compareTo(new BigDecimal("0.9")) < 0) return new BigDecimal("0.15");
-            return new BigDecimal("0.50");
-        } else {
-            // PUT delta is negative
-            if (moneyness.compareTo(new BigDecimal("1.1")) > 0) return new BigDecimal("-0.15");
-            if (moneyness.compareTo(new BigDecimal("0.9")) < 0) return new BigDecimal("-0.85");
-            return new BigDecimal("-0.50");
-        }
-    }
-}
\ No newline at end of file
+}
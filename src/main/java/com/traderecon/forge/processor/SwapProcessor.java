@@ -1,27 +1,42 @@
 package com.traderecon.forge.processor;
 
+import com.traderecon.forge.curve.CurveCache;
+import com.traderecon.forge.curve.CurveDefinition;
+import com.traderecon.forge.curve.DayCount;
+import com.traderecon.forge.curve.DiscountCurve;
+import com.traderecon.forge.curve.ScheduleGenerator;
+import com.traderecon.forge.pricing.SwapPricing;
 import com.traderecon.forge.service.DatabaseService;
 import com.traderecon.forge.service.TradeMapper;
 import io.annapurna.model.InterestRateSwap;
 import io.annapurna.model.Trade;
 import io.annapurna.model.TradeType;
-import com.traderecon.forge.exception.ValidationException;
-import com.traderecon.forge.model.ProcessingResult;
-import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
 import com.traderecon.forge.service.EnrichmentService;
 import com.traderecon.forge.service.ValidationService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * Processor for Interest Rate Swap trades.
+ *
+ * Legs are valued off the floating index's bootstrapped curve from
+ * {@link CurveCache}. The fixed leg uses the trade's fixedLegFrequency and
+ * dayCountConvention, the floating leg its floatingLegFrequency (and the
+ * index's floating day count, on which forwards are projected); anything
+ * the trade leaves out falls back to the index conventions. The value is
+ * from the trade's side: receive minus pay.
  */
 @Component
 @Slf4j
-public class SwapProcessor implements TradeProcessor {
+public class SwapProcessor extends AbstractTradeProcessor {
+
+    private static final String FLOATING_RATE = "floatingRate";
+    private static final String SPREAD = "spread";
+    private static final String PAY_FIXED = "PAY_FIXED";
 
     private final ValidationService validationService;
     private final EnrichmentService enrichmentService;
@@ -29,79 +44,82 @@ public class SwapProcessor implements TradeProcessor {
     private final DatabaseService databaseService;
 
     private final TradeMapper tradeMapper;
+    private final CurveCache curveCache;
 
     @Autowired
-    public SwapProcessor(ValidationService validationService, EnrichmentService enrichmentService, TradeMapper tradeMapper, DatabaseService databaseService ) {
+    public SwapProcessor(ValidationService validationService, EnrichmentService enrichmentService, TradeMapper tradeMapper, DatabaseService databaseService,
+                         CurveCache curveCache) {
         this.validationService = validationService;
         this.enrichmentService = enrichmentService;
         this.tradeMapper = tradeMapper;
         this.databaseService = databaseService;
+        this.curveCache = curveCache;
     }
 
     @Override
-    public boolean supports(TradeType type) {
-        return type == TradeType.INTEREST_RATE_SWAP;
+    public TradeType tradeType() {
+        return TradeType.INTEREST_RATE_SWAP;
     }
 
     @Override
-    public ProcessingResult process(Trade trade) {
-        long startTime = System.currentTimeMillis();
-        InterestRateSwap swap = (InterestRateSwap) trade;
-
-        try {
-            // Step 1: Validate
-            log.debug("Validating Interest Rate Swap: {}", swap.getTradeId());
-            validationService.validateInterestRateSwap(swap);
-
-            // Step 2: Enrich
-            log.debug("Enriching Interest Rate Swap: {}", swap.getTradeId());
-            BigDecimal floatingRate = enrichmentService.getRateByIndex(swap.getFloatingRateIndex());
-            BigDecimal spread = enrichmentService.getSpread(swap.getCounterparty(), swap.getNotional());
-
-            // Step 3: Business Logic (simplified pricing)
-            log.debug("Calculating swap pricing for: {}", swap.getTradeId());
-            BigDecimal fixedLegPV = calculateFixedLegPV(swap);
-            BigDecimal floatingLegPV = calculateFloatingLegPV(swap, floatingRate);
-            BigDecimal swapValue = fixedLegPV.subtract(floatingLegPV);
-
-            log.info("Processed IRS {}: FixedPV={}, FloatingPV={}, SwapValue={}",
-                    swap.getTradeId(), fixedLegPV, floatingLegPV, swapValue);
-
-            // Step 4: Database booking will be added later
-
-            ProcessingResult result = ProcessingResult.success(swap.getTradeId());
-            result.setProcessingTimeMs(System.currentTimeMillis() - startTime);
-
-            return result;
-
-        } catch (ValidationException e) {
-            log.error("Validation failed for IRS {}: {}", swap.getTradeId(), e.getMessage());
-            return ProcessingResult.failure(swap.getTradeId(), ProcessingStatus.VALIDATION_FAILED, e.getMessage());
+    public Class<? extends Trade> tradeClass() {
+        return InterestRateSwap.class;
+    }
 
-        } catch (Exception e) {
-            log.error("Processing failed for IRS {}: {}", swap.getTradeId(), e.getMessage(), e);
-            return ProcessingResult.failure(swap.getTradeId(), ProcessingStatus.PROCESSING_FAILED, e.getMessage());
-        }
+    @Override
+    protected String productName() {
+        return "IRS";
     }
 
-    private BigDecimal calculateFixedLegPV(InterestRateSwap swap) {
-        // Simplified: Notional × FixedRate × Estimated Duration
-        // Real calculation would use discount factors, day count conventions, etc.
-        return swap.getNotional()
-                .multiply(swap.getFixedRate().divide(BigDecimal.valueOf(100)))
-                .multiply(BigDecimal.valueOf(5)); // Assume 5-year duration
+    @Override
+    public void validate(TradeContext context) {
+        validationService.validateInterestRateSwap((InterestRateSwap) context.getTrade(), context.getSymbols());
     }
 
-    private BigDecimal calculateFloatingLegPV(InterestRateSwap swap, BigDecimal currentRate) {
-        // Simplified: Notional × (CurrentRate + Spread) × Estimated Duration
-        BigDecimal spreadDecimal = swap.getFloatingSpreadBps() != null
-                ? BigDecimal.valueOf(swap.getFloatingSpreadBps()).divide(BigDecimal.valueOf(10000))
-                : BigDecimal.ZERO;
+    @Override
+    public void enrich(TradeContext context) {
+        InterestRateSwap swap = (InterestRateSwap) context.getTrade();
+        context.put(FLOATING_RATE, enrichmentService.getRateByIndex(context, context.getSymbols().rateIndex()));
+        context.put(SPREAD, enrichmentService.getSpread(context, context.getSymbols().counterparty(),
+                swap.getNotional()));
+    }
 
-        BigDecimal totalRate = currentRate.divide(BigDecimal.valueOf(100)).add(spreadDecimal);
+    @Override
+    public void price(TradeContext context) {
+        InterestRateSwap swap = (InterestRateSwap) context.getTrade();
+        DiscountCurve curve = curveCache.curve(context.getSymbols().rateIndex().name(),
+                enrichmentService.valuationDate(context));
+
+        LocalDate start = swap.getEffectiveDate() != null ? swap.getEffectiveDate() : swap.getTradeDate();
+        double notional = swap.getNotional().doubleValue();
+        double spread = swap.getFloatingSpreadBps() != null ? swap.getFloatingSpreadBps() / 10_000.0 : 0;
+        double currentFixing = context.get(FLOATING_RATE).doubleValue() / 100;
+
+        CurveDefinition index = curve.getDefinition();
+        DayCount fixedDayCount = swap.getDayCountConvention() != null
+                ? DayCount.fromConvention(swap.getDayCountConvention())
+                : index.fixedDayCount();
+        int fixedFrequencyMonths = swap.getFixedLegFrequency() != null
+                ? ScheduleGenerator.frequencyMonths(swap.getFixedLegFrequency())
+                : index.fixedFrequencyMonths();
+        int floatingFrequencyMonths = swap.getFloatingLegFrequency() != null
+                ? ScheduleGenerator.frequencyMonths(swap.getFloatingLegFrequency())
+                : index.floatingFrequencyMonths();
+
+        double fixedLegPV = SwapPricing.fixedLegPV(curve, notional, swap.getFixedRate().doubleValue() / 100,
+                fixedDayCount, fixedFrequencyMonths, start, swap.getMaturityDate());
+        double floatingLegPV = SwapPricing.floatingLegPV(curve, notional, currentFixing, spread,
+                index.floatingDayCount(), floatingFrequencyMonths, start, swap.getMaturityDate());
+        double swapValue = PAY_FIXED.equalsIgnoreCase(swap.getDirection().trim())
+                ? floatingLegPV - fixedLegPV
+                : fixedLegPV - floatingLegPV;
+
+        log.info("Processed IRS {}: Direction={}, FixedPV={}, FloatingPV={}, SwapValue={}",
+                swap.getTradeId(), swap.getDirection(), fixedLegPV, floatingLegPV, swapValue);
+    }
 
-        return swap.getNotional()
-                .multiply(totalRate)
-                .multiply(BigDecimal.valueOf(5)); // Assume 5-year duration
+    @Override
+    public void book(TradeContext context) {
+        // Database booking will be added later
     }
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.traderecon.forge.processor;
 import io.annapurna.model.Trade;
 import io.annapurna.model.TradeType;
 import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.TradeContext;
+
+import java.util.List;
 
 /**
  * Interface for trade processors.
@@ -10,16 +13,76 @@ import com.traderecon.forge.model.ProcessingResult;
  * Each trade type (SWAP, EQUITY_SWAP, FX_FORWARD, OPTION, CDS) has its own
  * processor implementation that handles validation, enrichment, business logic,
  * and database booking.
+ *
+ * The four steps are exposed separately so the staged pipeline can run each
+ * of them on its own threads; {@link #process(TradeContext)} runs them in sequence.
  */
 public interface TradeProcessor {
 
+    /**
+     * The trade type this processor handles.
+     *
+     * Processors are looked up by this value through
+     * {@link TradeProcessorRegistry}; each type must have exactly one.
+     */
+    TradeType tradeType();
+
+    /**
+     * The annapurna model class for {@link #tradeType()}.
+     */
+    Class<? extends Trade> tradeClass();
+
     /**
      * Check if this processor supports the given trade type.
      *
      * @param type The trade type
      * @return true if this processor handles the trade type
      */
-    boolean supports(TradeType type);
+    default boolean supports(TradeType type) {
+        return type == tradeType();
+    }
+
+    /**
+     * Step 1: check trade fields and business rules.
+     *
+     * @throws com.traderecon.forge.exception.ValidationException if the trade is invalid
+     */
+    void validate(TradeContext context);
+
+    /**
+     * Step 2: look up the market data the trade needs.
+     */
+    void enrich(TradeContext context);
+
+    /**
+     * Step 3: apply business logic and pricing.
+     */
+    void price(TradeContext context);
+
+    /**
+     * Step 3 for several trades at once, used by the staged pipeline's
+     * price stage. Processors that price more cheaply in bulk override it.
+     * If it throws, the pipeline prices the trades again one at a time so
+     * only the bad trade fails.
+     */
+    default void priceBatch(List<TradeContext> contexts) {
+        contexts.forEach(this::price);
+    }
+
+    /**
+     * Step 4: book the trade (rolled back in simulation mode).
+     */
+    void book(TradeContext context);
+
+    /**
+     * Result for a context that passed all four steps.
+     */
+    ProcessingResult success(TradeContext context);
+
+    /**
+     * Result for a context whose step threw (or whose deadline passed).
+     */
+    ProcessingResult failure(TradeContext context, Exception e);
 
     /**
      * Process a trade through the complete workflow:
@@ -28,8 +91,8 @@ public interface TradeProcessor {
      * 3. Business logic
      * 4. Database booking (with rollback)
      *
-     * @param trade The trade to process
+     * @param context The trade to process, with its deadline
      * @return Processing result (success/failure + metrics)
      */
-    ProcessingResult process(Trade trade);
-}
\ No newline at end of file
+    ProcessingResult process(TradeContext context);
+}
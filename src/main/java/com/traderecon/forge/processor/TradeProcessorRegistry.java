@@ -0,0 +1,94 @@
+package com.traderecon.forge.processor;
+
+import io.annapurna.model.Trade;
+import io.annapurna.model.TradeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Startup-built lookup from trade type (and model class) to processor.
+ *
+ * The single extension point for trade types: adding a product means adding
+ * a TradeProcessor bean, and both the processing service and the payload
+ * parser pick it up from here. Startup fails if two processors claim the
+ * same type or class, or if a TradeType has no processor.
+ */
+@Component
+@Slf4j
+public class TradeProcessorRegistry {
+
+    private final Map<TradeType, TradeProcessor> processorsByType = new EnumMap<>(TradeType.class);
+    private final Map<Class<? extends Trade>, TradeType> typesByClass = new HashMap<>();
+
+    @Autowired
+    public TradeProcessorRegistry(List<TradeProcessor> processors) {
+        for (TradeProcessor processor : processors) {
+            TradeProcessor existing = processorsByType.putIfAbsent(processor.tradeType(), processor);
+            if (existing != null) {
+                throw new IllegalStateException("Duplicate processors for trade type " + processor.tradeType()
+                        + ": " + existing.getClass().getSimpleName()
+                        + " and " + processor.getClass().getSimpleName());
+            }
+
+            TradeType claimed = typesByClass.putIfAbsent(processor.tradeClass(), processor.tradeType());
+            if (claimed != null) {
+                throw new IllegalStateException("Trade class " + processor.tradeClass().getSimpleName()
+                        + " is mapped to both " + claimed + " and " + processor.tradeType());
+            }
+        }
+
+        List<TradeType> missing = Arrays.stream(TradeType.values())
+                .filter(type -> !processorsByType.containsKey(type))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No processor registered for trade types: " + missing);
+        }
+
+        log.info("TradeProcessorRegistry initialized with {} processors", processorsByType.size());
+    }
+
+    /**
+     * Processor for a trade type.
+     */
+    public TradeProcessor processorFor(TradeType type) {
+        TradeProcessor processor = processorsByType.get(type);
+        if (processor == null) {
+            throw new IllegalArgumentException("No processor found for trade type: " + type);
+        }
+        return processor;
+    }
+
+    /**
+     * Model class for a trade type.
+     */
+    public Class<? extends Trade> tradeClass(TradeType type) {
+        return processorFor(type).tradeClass();
+    }
+
+    /**
+     * Trade type for a model class.
+     */
+    public TradeType tradeType(Class<? extends Trade> tradeClass) {
+        TradeType type = typesByClass.get(tradeClass);
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported trade class: " + tradeClass);
+        }
+        return type;
+    }
+
+    /**
+     * All registered trade types.
+     */
+    public Set<TradeType> tradeTypes() {
+        return Collections.unmodifiableSet(processorsByType.keySet());
+    }
+}
@@ -0,0 +1,29 @@
+package com.traderecon.forge.refdata;
+
+/**
+ * An interned reference-data name and its dense id within its kind.
+ *
+ * Ids start at 0 and are never reused, so they can index arrays built from
+ * the dictionary. A symbol the dictionary had no room for has id
+ * {@link #NO_ID} and matches nothing.
+ */
+public record Symbol(SymbolKind kind, int id, String name) {
+
+    public static final int NO_ID = -1;
+
+    /**
+     * The element of an array indexed by symbol id, or null if the symbol
+     * is absent or was interned after the array was built.
+     */
+    public static <T> T lookup(T[] values, Symbol symbol) {
+        if (symbol == null || symbol.id < 0 || symbol.id >= values.length) {
+            return null;
+        }
+        return values[symbol.id];
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
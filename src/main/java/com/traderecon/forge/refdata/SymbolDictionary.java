@@ -0,0 +1,175 @@
+package com.traderecon.forge.refdata;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import io.annapurna.model.EquityOption;
+import io.annapurna.model.EquitySwap;
+import io.annapurna.model.FXForward;
+import io.annapurna.model.InterestRateSwap;
+import io.annapurna.model.Trade;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps counterparties, tickers, currency pairs and rate indices to dense
+ * int ids.
+ *
+ * Each trade's names are resolved once, as it enters processing, into
+ * {@link TradeSymbols}; market data, history and validation then index
+ * arrays and bitsets by id instead of hashing and comparing strings on
+ * every lookup. Normalization (trimming, case, aliases from
+ * processing.symbols.aliases.&lt;kind&gt;) happens the first time a
+ * spelling is seen; later sightings of the same spelling are a single map
+ * hit.
+ *
+ * Each kind holds at most max-per-kind spellings. Past that, names are
+ * still normalized but new ones get {@link Symbol#NO_ID} and match no
+ * market data.
+ */
+@Component
+@Slf4j
+public class SymbolDictionary {
+
+    private final int maxPerKind;
+    private final Map<SymbolKind, Table> tables = new EnumMap<>(SymbolKind.class);
+
+    @Autowired
+    public SymbolDictionary(Environment environment, ProcessingMetrics metrics) {
+        this.maxPerKind = environment.getProperty("processing.symbols.max-per-kind", Integer.class, 100_000);
+
+        for (SymbolKind kind : SymbolKind.values()) {
+            String[] aliases = environment.getProperty("processing.symbols.aliases." + kind.getKey(), String[].class,
+                    new String[0]);
+            Table table = new Table(kind, parseAliases(kind, aliases));
+            tables.put(kind, table);
+            metrics.registerSymbolDictionary(kind.getKey(), table::size);
+        }
+
+        log.info("SymbolDictionary initialized (max per kind: {}, aliases: {})", maxPerKind,
+                tables.values().stream().mapToInt(table -> table.aliases.size()).sum());
+    }
+
+    /**
+     * The symbol for a name, interning it if it is new.
+     *
+     * @return null if the name is null or blank
+     */
+    public Symbol symbol(SymbolKind kind, String name) {
+        if (name == null) {
+            return null;
+        }
+        Table table = tables.get(kind);
+        Symbol symbol = table.spellings.get(name);
+        return symbol != null ? symbol : table.intern(name);
+    }
+
+    /**
+     * The symbol for a name if it has been interned, without adding it.
+     */
+    public Symbol find(SymbolKind kind, String name) {
+        if (name == null) {
+            return null;
+        }
+        Table table = tables.get(kind);
+        Symbol symbol = table.spellings.get(name);
+        return symbol != null ? symbol : table.spellings.get(table.canonical(name));
+    }
+
+    /**
+     * Resolve the symbols a trade carries.
+     */
+    public TradeSymbols resolve(Trade trade) {
+        Symbol counterparty = symbol(SymbolKind.COUNTERPARTY, trade.getCounterparty());
+
+        if (trade instanceof InterestRateSwap swap) {
+            return new TradeSymbols(counterparty, null, null,
+                    symbol(SymbolKind.RATE_INDEX, swap.getFloatingRateIndex()));
+        }
+        if (trade instanceof EquitySwap swap) {
+            return new TradeSymbols(counterparty, symbol(SymbolKind.TICKER, swap.getReferenceAsset()), null, null);
+        }
+        if (trade instanceof EquityOption option) {
+            return new TradeSymbols(counterparty, symbol(SymbolKind.TICKER, option.getUnderlyingAsset()), null, null);
+        }
+        if (trade instanceof FXForward forward) {
+            return new TradeSymbols(counterparty, null, symbol(SymbolKind.CURRENCY_PAIR, forward.getCurrencyPair()),
+                    null);
+        }
+        return new TradeSymbols(counterparty, null, null, null);
+    }
+
+    private static Map<String, String> parseAliases(SymbolKind kind, String[] entries) {
+        Map<String, String> aliases = new HashMap<>();
+        for (String entry : entries) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                throw new IllegalArgumentException("Invalid " + kind.getKey() + " alias: " + entry);
+            }
+            aliases.put(kind.normalize(parts[0]), kind.normalize(parts[1]));
+        }
+        return Map.copyOf(aliases);
+    }
+
+    /**
+     * Spellings and ids of one kind.
+     */
+    private final class Table {
+
+        private final SymbolKind kind;
+        private final Map<String, String> aliases;
+        // Raw spellings and canonical names alike
+        private final Map<String, Symbol> spellings = new ConcurrentHashMap<>();
+
+        // Guarded by this
+        private int nextId;
+        private boolean full;
+
+        Table(SymbolKind kind, Map<String, String> aliases) {
+            this.kind = kind;
+            this.aliases = aliases;
+        }
+
+        String canonical(String name) {
+            String normalized = kind.normalize(name);
+            return aliases.getOrDefault(normalized, normalized);
+        }
+
+        synchronized Symbol intern(String name) {
+            Symbol symbol = spellings.get(name);
+            if (symbol != null) {
+                return symbol;
+            }
+            String canonical = canonical(name);
+            if (canonical.isEmpty()) {
+                return null;
+            }
+
+            symbol = spellings.get(canonical);
+            if (spellings.size() >= maxPerKind) {
+                if (!full) {
+                    full = true;
+                    log.warn("Symbol dictionary for {} is full at {} spellings; new names are not interned",
+                            kind.getKey(), maxPerKind);
+                }
+                return symbol != null ? symbol : new Symbol(kind, Symbol.NO_ID, canonical);
+            }
+
+            if (symbol == null) {
+                symbol = new Symbol(kind, nextId++, canonical);
+                spellings.put(canonical, symbol);
+            }
+            spellings.put(name, symbol);
+            return symbol;
+        }
+
+        synchronized int size() {
+            return nextId;
+        }
+    }
+}
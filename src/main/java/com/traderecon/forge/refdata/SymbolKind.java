@@ -0,0 +1,41 @@
+package com.traderecon.forge.refdata;
+
+import java.util.Locale;
+
+/**
+ * The kinds of reference-data symbol a trade carries, each with its own
+ * id space in the {@link SymbolDictionary}.
+ *
+ * Names are trimmed; all kinds except counterparties are case-insensitive
+ * and kept in upper case.
+ */
+public enum SymbolKind {
+
+    COUNTERPARTY("counterparty", false),
+    TICKER("ticker", true),
+    CURRENCY_PAIR("currency-pair", true),
+    RATE_INDEX("rate-index", true);
+
+    private final String key;
+    private final boolean caseInsensitive;
+
+    SymbolKind(String key, boolean caseInsensitive) {
+        this.key = key;
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    /**
+     * Name used in configuration and metric tags.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The canonical spelling of a name, before aliases are applied.
+     */
+    String normalize(String name) {
+        String trimmed = name.trim();
+        return caseInsensitive ? trimmed.toUpperCase(Locale.ROOT) : trimmed;
+    }
+}
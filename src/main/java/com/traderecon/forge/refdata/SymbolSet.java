@@ -0,0 +1,33 @@
+package com.traderecon.forge.refdata;
+
+import java.util.Arrays;
+
+/**
+ * A set of symbols of one kind, as a bitset over their ids.
+ *
+ * Reads are lock-free; adds copy the words, so this suits sets that stop
+ * growing once every symbol in use has been seen.
+ */
+public final class SymbolSet {
+
+    private volatile long[] words = new long[0];
+
+    public boolean contains(Symbol symbol) {
+        if (symbol == null || symbol.id() < 0) {
+            return false;
+        }
+        long[] current = words;
+        int word = symbol.id() >>> 6;
+        return word < current.length && (current[word] & (1L << symbol.id())) != 0;
+    }
+
+    public synchronized void add(Symbol symbol) {
+        if (symbol == null || symbol.id() < 0 || contains(symbol)) {
+            return;
+        }
+        int word = symbol.id() >>> 6;
+        long[] updated = Arrays.copyOf(words, Math.max(words.length, word + 1));
+        updated[word] |= 1L << symbol.id();
+        words = updated;
+    }
+}
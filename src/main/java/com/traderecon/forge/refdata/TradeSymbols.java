@@ -0,0 +1,11 @@
+package com.traderecon.forge.refdata;
+
+/**
+ * The symbols of one trade, resolved once as it enters processing.
+ *
+ * A field is null when the trade type has no such field or its value was
+ * null or blank. The ticker is the equity swap's reference asset or the
+ * option's underlying.
+ */
+public record TradeSymbols(Symbol counterparty, Symbol ticker, Symbol currencyPair, Symbol rateIndex) {
+}
@@ -1,9 +1,15 @@
 package com.traderecon.forge.repository;
 
+import com.traderecon.forge.model.ProcessedTradeKey;
 import com.traderecon.forge.model.TradeRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,4 +30,22 @@ public interface TradeRepository extends JpaRepository<TradeRecord, Long> {
      * Check if trade exists by trade ID.
      */
     boolean existsByTradeId(String tradeId);
-}
\ No newline at end of file
+
+    /**
+     * First page of trades processed since the given time, in
+     * (processedAt, tradeId) order.
+     */
+    @Query("select new com.traderecon.forge.model.ProcessedTradeKey(t.processedAt, t.tradeId) from TradeRecord t"
+            + " where t.processedAt >= :since order by t.processedAt, t.tradeId")
+    List<ProcessedTradeKey> findProcessedSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Next page of trades after the given key, in (processedAt, tradeId)
+     * order.
+     */
+    @Query("select new com.traderecon.forge.model.ProcessedTradeKey(t.processedAt, t.tradeId) from TradeRecord t"
+            + " where t.processedAt > :processedAt or (t.processedAt = :processedAt and t.tradeId > :tradeId)"
+            + " order by t.processedAt, t.tradeId")
+    List<ProcessedTradeKey> findProcessedAfter(@Param("processedAt") LocalDateTime processedAt,
+                                               @Param("tradeId") String tradeId, Pageable pageable);
+}
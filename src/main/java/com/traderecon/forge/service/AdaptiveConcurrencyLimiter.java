@@ -0,0 +1,228 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.TradePriority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many trades are processed at once and adapts the cap to latency.
+ *
+ * AIMD over windows of completed trades: while the window's average latency
+ * stays within latency-tolerance of the best observed average and the limit
+ * was actually reached, the limit grows by one; a slow window or a timeout
+ * cuts it by backoff-ratio. The limit never exceeds max-limit, which
+ * defaults to the Hikari pool size so workers do not queue on connections.
+ *
+ * Trades over the limit wait in a bounded queue without holding a thread,
+ * served by priority with aging ({@link PriorityWaitQueue}); once that is
+ * full they are rejected with a RejectedExecutionException.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final int sampleWindow;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final ProcessingMetrics metrics;
+
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicInteger queuedCount = new AtomicInteger(0);
+    private final PriorityWaitQueue queued;
+
+    private volatile int limit;
+    private volatile boolean saturated;
+
+    // Guarded by this
+    private int windowCount;
+    private long windowLatencyNanos;
+    private boolean windowDropped;
+    private double baselineNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(
+            @Value("${processing.concurrency.enabled:true}") boolean enabled,
+            @Value("${processing.concurrency.initial-limit:${processing.thread-pool-size:8}}") int initialLimit,
+            @Value("${processing.concurrency.min-limit:1}") int minLimit,
+            @Value("${processing.concurrency.max-limit:${spring.datasource.hikari.maximum-pool-size:10}}") int maxLimit,
+            @Value("${processing.concurrency.max-queued:1000}") int maxQueued,
+            @Value("${processing.concurrency.sample-window:50}") int sampleWindow,
+            @Value("${processing.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${processing.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${processing.priority.aging-ms:500}") long agingMillis,
+            ProcessingMetrics metrics
+    ) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueued = maxQueued;
+        this.sampleWindow = Math.max(1, sampleWindow);
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.metrics = metrics;
+        this.queued = new PriorityWaitQueue(agingMillis);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+
+        metrics.registerConcurrencyLimit(this::getLimit, queuedCount::get);
+
+        log.info("AdaptiveConcurrencyLimiter initialized (enabled: {}, limit: {}, range: {}-{})",
+                enabled, limit, this.minLimit, this.maxLimit);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Trades waiting for a slot under the limit.
+     */
+    public int getQueued() {
+        return queuedCount.get();
+    }
+
+    /**
+     * Start a task now if under the limit, otherwise once a slot frees up.
+     *
+     * The task's latency is measured from the moment it starts. A task that
+     * fails with a TimeoutException counts as an overload signal.
+     */
+    public <T> CompletableFuture<T> submit(TradePriority priority, Supplier<CompletableFuture<T>> task) {
+        if (!enabled) {
+            return task.get();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> run(task, result);
+
+        if (tryAcquire()) {
+            start.run();
+            return result;
+        }
+
+        saturated = true;
+        if (queuedCount.incrementAndGet() > maxQueued) {
+            queuedCount.decrementAndGet();
+            metrics.recordConcurrencyRejection();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Concurrency limit " + limit + " reached with " + maxQueued + " trades queued"));
+            return result;
+        }
+        queued.add(priority, start);
+
+        // A slot may have been released before the task was queued
+        drain();
+        return result;
+    }
+
+    private <T> void run(Supplier<CompletableFuture<T>> task, CompletableFuture<T> result) {
+        long startNanos = System.nanoTime();
+
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (Throwable t) {
+            future = CompletableFuture.failedFuture(t);
+        }
+
+        future.whenComplete((value, error) -> {
+            release(System.nanoTime() - startNanos, error);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void release(long latencyNanos, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        onSample(latencyNanos, cause instanceof TimeoutException);
+
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (queuedCount.get() > 0 && tryAcquire()) {
+            Runnable next = queued.poll();
+            if (next == null) {
+                // Counted but not yet added by the submitting thread
+                inFlight.decrementAndGet();
+                return;
+            }
+            queuedCount.decrementAndGet();
+            next.run();
+        }
+    }
+
+    private synchronized void onSample(long latencyNanos, boolean dropped) {
+        windowCount++;
+        windowLatencyNanos += latencyNanos;
+        windowDropped |= dropped;
+        if (windowCount < sampleWindow) {
+            return;
+        }
+
+        double averageNanos = (double) windowLatencyNanos / windowCount;
+        if (baselineNanos == 0 || averageNanos < baselineNanos) {
+            baselineNanos = averageNanos;
+        } else {
+            // Drift up slowly so an unusually fast window is eventually forgotten
+            baselineNanos += (averageNanos - baselineNanos) * 0.01;
+        }
+
+        int current = limit;
+        int next = current;
+        if (windowDropped || averageNanos > baselineNanos * latencyTolerance) {
+            next = Math.max(minLimit, Math.min(current - 1, (int) (current * backoffRatio)));
+        } else if (saturated) {
+            next = Math.min(maxLimit, current + 1);
+        }
+
+        if (next != current) {
+            limit = next;
+            log.debug("Concurrency limit {} -> {} (avg latency {}ms, baseline {}ms)",
+                    current, next, Math.round(averageNanos / 1_000_000), Math.round(baselineNanos / 1_000_000));
+        }
+
+        windowCount = 0;
+        windowLatencyNanos = 0;
+        windowDropped = false;
+        saturated = false;
+    }
+}
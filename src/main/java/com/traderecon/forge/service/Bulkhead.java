@@ -0,0 +1,120 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.model.TradePriority;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fixed concurrency quota with its own bounded waiting queue.
+ *
+ * Tasks over the quota wait without holding a thread, in priority order
+ * with aging ({@link PriorityWaitQueue}); once the queue is full they fail
+ * with a RejectedExecutionException.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Runnable onRejected;
+
+    private final AtomicInteger active = new AtomicInteger(0);
+    private final AtomicInteger queuedCount = new AtomicInteger(0);
+    private final PriorityWaitQueue queued;
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long agingMillis, Runnable onRejected) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.onRejected = onRejected;
+        this.queued = new PriorityWaitQueue(agingMillis);
+    }
+
+    public <T> CompletableFuture<T> submit(TradePriority priority, Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> run(task, result);
+
+        if (tryAcquire()) {
+            start.run();
+            return result;
+        }
+
+        if (queuedCount.incrementAndGet() > maxQueued) {
+            queuedCount.decrementAndGet();
+            onRejected.run();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Bulkhead " + name + " is full (" + maxConcurrent + " running, " + maxQueued + " queued)"));
+            return result;
+        }
+        queued.add(priority, start);
+
+        // A slot may have been released before the task was queued
+        drain();
+        return result;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getQueued() {
+        return queuedCount.get();
+    }
+
+    /**
+     * Share of the quota in use, 0.0 to 1.0.
+     */
+    public double getSaturation() {
+        return Math.min(1.0, (double) active.get() / maxConcurrent);
+    }
+
+    private <T> void run(Supplier<CompletableFuture<T>> task, CompletableFuture<T> result) {
+        CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (Throwable t) {
+            future = CompletableFuture.failedFuture(t);
+        }
+
+        future.whenComplete((value, error) -> {
+            active.decrementAndGet();
+            drain();
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = active.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+        } while (!active.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void drain() {
+        while (queuedCount.get() > 0 && tryAcquire()) {
+            Runnable next = queued.poll();
+            if (next == null) {
+                // Counted but not yet added by the submitting thread
+                active.decrementAndGet();
+                return;
+            }
+            queuedCount.decrementAndGet();
+            next.run();
+        }
+    }
+}
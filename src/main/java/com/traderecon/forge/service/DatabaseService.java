@@ -1,6 +1,7 @@
 package com.traderecon.forge.service;
 
 import com.traderecon.forge.exception.ProcessingException;
+import com.traderecon.forge.model.Deadline;
 import com.traderecon.forge.model.TradeRecord;
 import com.traderecon.forge.repository.TradeRepository;
 
@@ -18,6 +19,15 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
  *
  * In simulation mode: All writes are executed inside transactions
  * but are ALWAYS rolled back to avoid persisting data.
+ *
+ * The transaction timeout is the trade's remaining deadline (capped at
+ * processing.database.transaction-timeout-seconds). Hibernate applies it
+ * as the JDBC statement timeout, so a statement still running when the
+ * trade times out is cancelled by the driver instead of holding the
+ * connection.
+ *
+ * Committed bookings are handed to {@link IdempotencyFilter} so their
+ * redeliveries are dropped at intake.
  */
 @Service
 @Slf4j
@@ -25,28 +35,38 @@ public class DatabaseService {
 
     private final TradeRepository tradeRepository;
     private final PlatformTransactionManager transactionManager;
+    private final IdempotencyFilter idempotencyFilter;
     private final boolean simulationMode;
+    private final int maxTransactionTimeoutSeconds;
 
     @Autowired
     public DatabaseService(
             TradeRepository tradeRepository,
             PlatformTransactionManager transactionManager,
+            IdempotencyFilter idempotencyFilter,
             @Value("${processing.simulation-mode:true}")
-            boolean simulationMode
+            boolean simulationMode,
+            @Value("${processing.database.transaction-timeout-seconds:10}")
+            int maxTransactionTimeoutSeconds
     ) {
         this.tradeRepository = tradeRepository;
         this.transactionManager = transactionManager;
+        this.idempotencyFilter = idempotencyFilter;
         this.simulationMode = simulationMode;
+        this.maxTransactionTimeoutSeconds = maxTransactionTimeoutSeconds;
 
         log.info("DatabaseService initialized in {} mode",
                 simulationMode ? "SIMULATION (rollback)" : "PRODUCTION (commit)");
     }
 
-    public void bookTradeWithRollback(TradeRecord record) {
+    public void bookTradeWithRollback(TradeRecord record, Deadline deadline) {
+        // A timed-out trade must not take a connection
+        deadline.checkpoint("book");
+
         DefaultTransactionDefinition def = new DefaultTransactionDefinition();
         def.setName("TradeBookingTransaction");
         def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
-        def.setTimeout(10);
+        def.setTimeout(transactionTimeoutSeconds(deadline));
 
         TransactionStatus status = transactionManager.getTransaction(def);
 
@@ -64,6 +84,7 @@ public class DatabaseService {
                 // COMMIT in production mode
                 transactionManager.commit(status);
                 log.info("Transaction committed (production mode): {}", record.getTradeId());
+                idempotencyFilter.markProcessed(record.getTradeId());
             }
 
         } catch (Exception e) {
@@ -72,4 +93,9 @@ public class DatabaseService {
             throw new ProcessingException("Database booking failed", e);
         }
     }
-}
\ No newline at end of file
+
+    private int transactionTimeoutSeconds(Deadline deadline) {
+        long remainingSeconds = Math.max(1, (deadline.remainingMillis() + 999) / 1000);
+        return (int) Math.min(maxTransactionTimeoutSeconds, remainingSeconds);
+    }
+}
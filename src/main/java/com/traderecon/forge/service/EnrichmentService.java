@@ -1,98 +1,158 @@
 package com.traderecon.forge.service;
 
+import com.traderecon.forge.marketdata.HistoricalMarketData;
+import com.traderecon.forge.marketdata.HistoricalSeries;
+import com.traderecon.forge.marketdata.MarketDataSnapshot;
+import com.traderecon.forge.marketdata.MarketDataStore;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.TradeContext;
+import com.traderecon.forge.refdata.Symbol;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import com.traderecon.forge.refdata.SymbolKind;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Market data lookups for the enrich step.
+ *
+ * Reads from {@link MarketDataStore}. The first lookup for a trade pins the
+ * current snapshot on its context, so all of a trade's data comes from one
+ * version even if the store reloads meanwhile. Lookups take the trade's
+ * resolved {@link Symbol}s and read the snapshot's arrays by id. A missing key falls back to
+ * a default as before, but is counted in trade_market_data_misses_total.
+ *
+ * With history enabled, a trade dated before today is enriched and valued
+ * as of its trade date from {@link HistoricalMarketData}, so replays and
+ * backfills reproduce. A value missing from history is counted as a
+ * historical_* miss and taken from the snapshot instead.
+ */
 @Service
 @Slf4j
 public class EnrichmentService {
 
-    private static final BigDecimal SOFR_RATE = new BigDecimal("5.30");
-    private static final BigDecimal LIBOR_RATE = new BigDecimal("5.50");
-    private static final BigDecimal EURIBOR_RATE = new BigDecimal("3.90");
-
-    private static final Map<String, BigDecimal> EQUITY_PRICES = Map.of(
-            "AAPL", new BigDecimal("185.50"),
-            "MSFT", new BigDecimal("378.20"),
-            "GOOGL", new BigDecimal("142.80"),
-            "SPX", new BigDecimal("4700.00"),
-            "TSLA", new BigDecimal("208.50")
-    );
-
-    private static final Map<String, BigDecimal> FX_RATES = Map.of(
-            "EUR/USD", new BigDecimal("1.0850"),
-            "GBP/USD", new BigDecimal("1.2650"),
-            "USD/JPY", new BigDecimal("150.00"),
-            "USD/CHF", new BigDecimal("0.8750"),
-            "AUD/USD", new BigDecimal("0.6550")
-    );
-
-    private static final Map<String, String> COUNTERPARTY_TIERS;
-    static {
-        Map<String, String> map = new HashMap<>();
-        map.put("Goldman Sachs", "TIER_1");
-        map.put("JP Morgan", "TIER_1");
-        map.put("Morgan Stanley", "TIER_1");
-        map.put("Citigroup", "TIER_1");
-        map.put("Bank of America", "TIER_2");
-        map.put("Barclays", "TIER_2");
-        map.put("Deutsche Bank", "TIER_2");
-        map.put("UBS", "TIER_2");
-        map.put("Credit Suisse", "TIER_2");
-        map.put("BNP Paribas", "TIER_3");
-        map.put("Societe Generale", "TIER_3");
-        map.put("HSBC", "TIER_3");
-        map.put("RBC", "TIER_3");
-        COUNTERPARTY_TIERS = Collections.unmodifiableMap(map);
-    }
-    public BigDecimal getSofrRate() {
-        return SOFR_RATE;
-    }
-
-    public BigDecimal getLiborRate() {
-        return LIBOR_RATE;
-    }
-
-    public BigDecimal getEuriborRate() {
-        return EURIBOR_RATE;
+    private static final BigDecimal DEFAULT_RATE = new BigDecimal("5.00");
+    private static final BigDecimal DEFAULT_EQUITY_PRICE = new BigDecimal("100.00");
+    private static final BigDecimal DEFAULT_VOLATILITY = new BigDecimal("30.00");
+    private static final String DEFAULT_TIER = "TIER_3";
+
+    private final MarketDataStore marketDataStore;
+    private final HistoricalMarketData history;
+    private final ProcessingMetrics metrics;
+    private final Symbol sofr;
+
+    @Autowired
+    public EnrichmentService(MarketDataStore marketDataStore, HistoricalMarketData history, SymbolDictionary symbols,
+                             ProcessingMetrics metrics) {
+        this.marketDataStore = marketDataStore;
+        this.history = history;
+        this.metrics = metrics;
+        this.sofr = symbols.symbol(SymbolKind.RATE_INDEX, "SOFR");
     }
 
+    /**
+     * The snapshot this trade is enriched from, pinned on first use.
+     */
+    public MarketDataSnapshot marketData(TradeContext context) {
+        MarketDataSnapshot marketData = context.getMarketData();
+        if (marketData == null) {
+            marketData = marketDataStore.current();
+            context.setMarketData(marketData);
+        }
+        return marketData;
+    }
+
+    /**
+     * The date a trade is valued as of: its trade date when that comes from
+     * history, otherwise today.
+     */
+    public LocalDate valuationDate(TradeContext context) {
+        LocalDate historicalDate = historicalDate(context);
+        return historicalDate != null ? historicalDate : LocalDate.now();
+    }
+
+    public BigDecimal getSofrRate(TradeContext context) {
+        return getRateByIndex(context, sofr);
+    }
+
+    public BigDecimal getRateByIndex(TradeContext context, Symbol index) {
+        BigDecimal rate = historical(context, HistoricalSeries.RATE, index);
+        return rate != null ? rate : lookup(marketData(context).rate(index), "rate", index, DEFAULT_RATE);
+    }
+
+    /**
+     * Rate from the latest snapshot, for lookups outside a trade.
+     */
     public BigDecimal getRateByIndex(String index) {
-        return switch (index.toUpperCase()) {
-            case "SOFR" -> SOFR_RATE;
-            case "LIBOR" -> LIBOR_RATE;
-            case "EURIBOR" -> EURIBOR_RATE;
-            default -> new BigDecimal("5.00");
-        };
+        return lookup(marketDataStore.current().rate(index), "rate", index, DEFAULT_RATE);
     }
 
-    public BigDecimal getEquityPrice(String ticker) {
-        BigDecimal price = EQUITY_PRICES.getOrDefault(ticker, new BigDecimal("100.00"));
+    public BigDecimal getEquityPrice(TradeContext context, Symbol ticker) {
+        BigDecimal price = historical(context, HistoricalSeries.EQUITY_PRICE, ticker);
+        if (price == null) {
+            price = lookup(marketData(context).equityPrice(ticker), "equity_price", ticker, DEFAULT_EQUITY_PRICE);
+        }
         log.debug("Fetching equity price for {}: {}", ticker, price);
         return price;
     }
 
-    public BigDecimal getFxRate(String currencyPair) {
-        BigDecimal rate = FX_RATES.getOrDefault(currencyPair, new BigDecimal("1.00"));
-        log.debug("Fetching FX rate for {}: {}", currencyPair, rate);
-        return rate;
+    public BigDecimal getVolatility(TradeContext context, Symbol ticker) {
+        BigDecimal volatility = historical(context, HistoricalSeries.VOLATILITY, ticker);
+        if (volatility == null) {
+            volatility = lookup(marketData(context).volatility(ticker), "volatility", ticker, DEFAULT_VOLATILITY);
+        }
+        log.debug("Fetching volatility for {}: {}%", ticker, volatility);
+        return volatility;
     }
 
-    public String getCounterpartyTier(String counterparty) {
-        String tier = COUNTERPARTY_TIERS.getOrDefault(counterparty, "TIER_3");
-        log.debug("Counterparty {} is {}", counterparty, tier);
-        return tier;
+    public BigDecimal getDividendYield(TradeContext context, Symbol ticker) {
+        BigDecimal dividendYield = historical(context, HistoricalSeries.DIVIDEND_YIELD, ticker);
+        if (dividendYield == null) {
+            dividendYield = lookup(marketData(context).dividendYield(ticker), "dividend_yield", ticker,
+                    BigDecimal.ZERO);
+        }
+        log.debug("Fetching dividend yield for {}: {}%", ticker, dividendYield);
+        return dividendYield;
     }
 
-    public BigDecimal getSpread(String counterparty, BigDecimal notional) {
-        String tier = getCounterpartyTier(counterparty);
+    /**
+     * FX spots for the trade: the snapshot's, overlaid with the trade date's
+     * history when it applies.
+     */
+    public Map<String, BigDecimal> getFxSpots(TradeContext context) {
+        MarketDataSnapshot marketData = marketData(context);
+        LocalDate historicalDate = historicalDate(context);
+        if (historicalDate == null) {
+            return marketData.fxSpots();
+        }
+
+        Map<String, BigDecimal> spots = new HashMap<>(marketData.fxSpots());
+        Map<String, Double> historical = history.values(HistoricalSeries.FX_SPOT, historicalDate);
+        spots.keySet().stream()
+                .filter(pair -> !historical.containsKey(pair))
+                .forEach(pair -> metrics.recordMarketDataMiss("historical_fx_spot"));
+        historical.forEach((pair, value) -> spots.put(pair, BigDecimal.valueOf(value)));
+        return spots;
+    }
 
-        int baseSpread = switch(tier) {
+    /**
+     * Tier from the latest snapshot, for lookups outside a trade.
+     */
+    public String getCounterpartyTier(Symbol counterparty) {
+        return counterpartyTier(marketDataStore.current(), counterparty);
+    }
+
+    public BigDecimal getSpread(TradeContext context, Symbol counterparty, BigDecimal notional) {
+        String tier = counterpartyTier(marketData(context), counterparty);
+        BigDecimal historicalSpread = historical(context, HistoricalSeries.SPREAD, counterparty);
+
+        int baseSpread = historicalSpread != null ? (int) Math.round(historicalSpread.doubleValue()) : switch(tier) {
             case "TIER_1" -> 50;
             case "TIER_2" -> 100;
             case "TIER_3" -> 200;
@@ -106,4 +166,45 @@ public class EnrichmentService {
         log.debug("Calculated spread for {} ({}): {} bps", counterparty, tier, baseSpread);
         return new BigDecimal(baseSpread);
     }
-}
\ No newline at end of file
+
+    private LocalDate historicalDate(TradeContext context) {
+        if (!history.isEnabled()) {
+            return null;
+        }
+        LocalDate tradeDate = context.getTrade().getTradeDate();
+        return tradeDate != null && tradeDate.isBefore(LocalDate.now()) ? tradeDate : null;
+    }
+
+    /**
+     * Value from history on the trade date, or null if history does not
+     * apply to the trade or has no value.
+     */
+    private BigDecimal historical(TradeContext context, HistoricalSeries series, Symbol symbol) {
+        LocalDate historicalDate = historicalDate(context);
+        if (historicalDate == null) {
+            return null;
+        }
+        Double value = history.value(series, symbol, historicalDate);
+        if (value == null) {
+            metrics.recordMarketDataMiss("historical_" + series.name().toLowerCase(Locale.ROOT));
+            log.debug("No {} history for {} on {}, using current market data", series, symbol, historicalDate);
+            return null;
+        }
+        return BigDecimal.valueOf(value);
+    }
+
+    private String counterpartyTier(MarketDataSnapshot marketData, Symbol counterparty) {
+        String tier = lookup(marketData.counterpartyTier(counterparty), "counterparty_tier", counterparty, DEFAULT_TIER);
+        log.debug("Counterparty {} is {}", counterparty, tier);
+        return tier;
+    }
+
+    private <T> T lookup(T value, String kind, Object key, T fallback) {
+        if (value != null) {
+            return value;
+        }
+        metrics.recordMarketDataMiss(kind);
+        log.debug("No {} for {} in market data, using {}", kind, key, fallback);
+        return fallback;
+    }
+}
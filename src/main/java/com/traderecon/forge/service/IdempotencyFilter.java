@@ -0,0 +1,186 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.ProcessedTradeKey;
+import com.traderecon.forge.repository.TradeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drops trades that have already been booked, usually redeliveries after a
+ * failed ack or a rebalance.
+ *
+ * Lookups are tiered so the database is only asked when the cheap tiers
+ * cannot answer:
+ * 1. Bloom filter over the retention window - a negative means new trade
+ * 2. LRU of recent exact tradeIds - a hit means duplicate
+ * 3. TradeRepository.existsByTradeId - settles Bloom positives
+ *
+ * The window is covered by two Bloom generations: ids go into the current
+ * one, lookups check both, and the older one is discarded every window.
+ * Both tiers are warmed from the trades table once the application is
+ * ready. The listener containers start before that, so until warm-up has
+ * loaded the whole window a Bloom negative is not final and falls through
+ * to the database as well. If warm-up fails the filter stays that way.
+ *
+ * Only trades whose booking committed are remembered (see
+ * {@link DatabaseService}); simulation-mode rollbacks and trade types that
+ * do not book are not duplicates when redelivered.
+ */
+@Service
+@Slf4j
+public class IdempotencyFilter {
+
+    private static final int WARM_UP_PAGE_SIZE = 10_000;
+
+    private final TradeRepository tradeRepository;
+    private final ProcessingMetrics metrics;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration window;
+    private final Map<String, Boolean> recentTradeIds;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long rotateAtMs;
+    private volatile boolean warm;
+
+    @Autowired
+    public IdempotencyFilter(
+            TradeRepository tradeRepository,
+            ProcessingMetrics metrics,
+            @Value("${processing.idempotency.enabled:true}") boolean enabled,
+            @Value("${processing.idempotency.expected-trades:1000000}") long expectedInsertions,
+            @Value("${processing.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${processing.idempotency.window-hours:24}") long windowHours,
+            @Value("${processing.idempotency.recent-capacity:100000}") int recentCapacity
+    ) {
+        this.tradeRepository = tradeRepository;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.window = Duration.ofHours(windowHours);
+        this.recentTradeIds = new LinkedHashMap<>(recentCapacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > recentCapacity;
+            }
+        };
+
+        this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.previous = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.rotateAtMs = System.currentTimeMillis() + window.toMillis();
+
+        log.info("IdempotencyFilter initialized (enabled: {}, window: {}h, expected trades: {}, fpp: {})",
+                enabled, windowHours, expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Load tradeIds booked within the window, paging by (processedAt,
+     * tradeId) so each page is an index range rather than an offset scan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime since = LocalDateTime.now().minus(window);
+        PageRequest pageRequest = PageRequest.ofSize(WARM_UP_PAGE_SIZE);
+        int loaded = 0;
+        try {
+            List<ProcessedTradeKey> page = tradeRepository.findProcessedSince(since, pageRequest);
+            while (!page.isEmpty()) {
+                page.forEach(key -> markProcessed(key.tradeId()));
+                loaded += page.size();
+                if (page.size() < WARM_UP_PAGE_SIZE) {
+                    break;
+                }
+                ProcessedTradeKey last = page.get(page.size() - 1);
+                page = tradeRepository.findProcessedAfter(last.processedAt(), last.tradeId(), pageRequest);
+            }
+        } catch (Exception e) {
+            // Bloom negatives keep going to the database, so this only costs lookups
+            log.warn("Idempotency warm-up stopped after {} trades: {}", loaded, e.getMessage());
+            return;
+        }
+
+        warm = true;
+        log.info("Idempotency filter warmed with {} trades", loaded);
+    }
+
+    /**
+     * Whether a trade with this id has already been booked.
+     */
+    public boolean isDuplicate(String tradeId) {
+        if (!enabled || tradeId == null) {
+            return false;
+        }
+        rotateIfDue();
+
+        boolean bloomNegative = !current.mightContain(tradeId) && !previous.mightContain(tradeId);
+        if (bloomNegative && warm) {
+            metrics.recordIdempotencyCheck("miss");
+            return false;
+        }
+
+        synchronized (recentTradeIds) {
+            if (recentTradeIds.get(tradeId) != null) {
+                metrics.recordIdempotencyCheck("hit");
+                return true;
+            }
+        }
+
+        if (tradeRepository.existsByTradeId(tradeId)) {
+            metrics.recordIdempotencyCheck("hit_db");
+            markProcessed(tradeId);
+            return true;
+        }
+
+        metrics.recordIdempotencyCheck(bloomNegative ? "cold_miss" : "false_positive");
+        return false;
+    }
+
+    /**
+     * Remember a trade once its booking has committed.
+     */
+    public void markProcessed(String tradeId) {
+        if (!enabled || tradeId == null) {
+            return;
+        }
+        rotateIfDue();
+
+        current.add(tradeId);
+        synchronized (recentTradeIds) {
+            recentTradeIds.put(tradeId, Boolean.TRUE);
+        }
+    }
+
+    private void rotateIfDue() {
+        if (System.currentTimeMillis() < rotateAtMs) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now >= rotateAtMs) {
+                previous = current;
+                current = new BloomFilter(expectedInsertions, falsePositiveRate);
+                rotateAtMs = now + window.toMillis();
+                log.info("Idempotency filter rotated to a new generation");
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for trade processing, whatever the underlying strategy.
+ *
+ * Counts tasks waiting and running, times how long each task waited before
+ * it started, and counts rejections, so the fixed, work-stealing and
+ * virtual-thread strategies report the same metrics.
+ */
+public class InstrumentedExecutor implements Executor {
+
+    private final String strategy;
+    private final ExecutorService delegate;
+    private final ProcessingMetrics metrics;
+    private final AtomicInteger queued = new AtomicInteger(0);
+    private final AtomicInteger active = new AtomicInteger(0);
+
+    public InstrumentedExecutor(String strategy, ExecutorService delegate, ProcessingMetrics metrics) {
+        this.strategy = strategy;
+        this.delegate = delegate;
+        this.metrics = metrics;
+        metrics.registerExecutor(strategy, active::get);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submittedAt = System.nanoTime();
+        queued.incrementAndGet();
+
+        try {
+            delegate.execute(() -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                metrics.recordExecutorQueueWait(System.nanoTime() - submittedAt);
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            metrics.recordExecutorRejection(strategy);
+            throw e;
+        }
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Tasks submitted but not yet started.
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Tasks currently running.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Stop accepting tasks and give running ones a moment to finish.
+     */
+    public void shutdown() throws InterruptedException {
+        delegate.shutdown();
+        if (!delegate.awaitTermination(5, TimeUnit.SECONDS)) {
+            delegate.shutdownNow();
+        }
+    }
+}
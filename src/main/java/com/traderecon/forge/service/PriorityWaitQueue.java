@@ -0,0 +1,72 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.model.TradePriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Multi-level queue of tasks waiting for a slot, one FIFO per priority.
+ *
+ * Higher classes are served first, but every aging interval a task waits
+ * counts as one class up, so a NORMAL trade that has waited two intervals
+ * competes with fresh URGENT ones and nothing starves. Only the head of
+ * each level is compared, since it is that level's oldest task.
+ */
+public class PriorityWaitQueue {
+
+    private static final TradePriority[] PRIORITIES = TradePriority.values();
+
+    private record Entry(Runnable task, long enqueuedNanos) {
+    }
+
+    private final long agingNanos;
+    private final List<Queue<Entry>> levels;
+
+    public PriorityWaitQueue(long agingMillis) {
+        this.agingNanos = agingMillis * 1_000_000L;
+        List<Queue<Entry>> levels = new ArrayList<>(PRIORITIES.length);
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            levels.add(new ConcurrentLinkedQueue<>());
+        }
+        this.levels = List.copyOf(levels);
+    }
+
+    public void add(TradePriority priority, Runnable task) {
+        levels.get(priority.ordinal()).add(new Entry(task, System.nanoTime()));
+    }
+
+    /**
+     * Remove the task to run next, or null if there is none.
+     */
+    public Runnable poll() {
+        while (true) {
+            long now = System.nanoTime();
+            int best = -1;
+            long bestRank = Long.MAX_VALUE;
+
+            for (int i = 0; i < levels.size(); i++) {
+                Entry head = levels.get(i).peek();
+                if (head == null) {
+                    continue;
+                }
+                long rank = agingNanos > 0 ? i - (now - head.enqueuedNanos()) / agingNanos : i;
+                if (rank < bestRank) {
+                    best = i;
+                    bestRank = rank;
+                }
+            }
+
+            if (best < 0) {
+                return null;
+            }
+            Entry next = levels.get(best).poll();
+            if (next != null) {
+                return next.task();
+            }
+            // Taken by a concurrent poll; choose again
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.TradePriority;
+import io.annapurna.model.TradeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * One {@link Bulkhead} per trade type (processing.bulkheads.*).
+ *
+ * Each type gets its own concurrency quota and waiting queue in front of
+ * the shared concurrency limit, so a slow product (e.g. CDS booking during
+ * a database brownout) can only occupy its own quota and never starves
+ * the others. Quotas default to processing.bulkheads.default.* and can be
+ * overridden per type, e.g. processing.bulkheads.credit-default-swap.max-concurrent.
+ */
+@Component
+@Slf4j
+public class TradeBulkheads {
+
+    private final boolean enabled;
+    private final Map<TradeType, Bulkhead> bulkheads = new EnumMap<>(TradeType.class);
+
+    @Autowired
+    public TradeBulkheads(Environment environment, ProcessingMetrics metrics) {
+        this.enabled = environment.getProperty("processing.bulkheads.enabled", Boolean.class, true);
+
+        int defaultConcurrent = environment.getProperty("processing.bulkheads.default.max-concurrent", Integer.class, 4);
+        int defaultQueued = environment.getProperty("processing.bulkheads.default.max-queued", Integer.class, 200);
+        long agingMillis = environment.getProperty("processing.priority.aging-ms", Long.class, 500L);
+
+        for (TradeType type : TradeType.values()) {
+            String prefix = "processing.bulkheads." + type.name().toLowerCase().replace('_', '-');
+            int maxConcurrent = environment.getProperty(prefix + ".max-concurrent", Integer.class, defaultConcurrent);
+            int maxQueued = environment.getProperty(prefix + ".max-queued", Integer.class, defaultQueued);
+
+            Bulkhead bulkhead = new Bulkhead(type.name(), maxConcurrent, maxQueued, agingMillis,
+                    () -> metrics.recordBulkheadRejection(type));
+            bulkheads.put(type, bulkhead);
+            metrics.registerBulkhead(type, bulkhead::getActive, bulkhead::getQueued, bulkhead::getSaturation);
+        }
+
+        log.info("TradeBulkheads initialized (enabled: {}, default quota: {}, default queue: {})",
+                enabled, defaultConcurrent, defaultQueued);
+    }
+
+    /**
+     * Run a task within its trade type's bulkhead.
+     */
+    public <T> CompletableFuture<T> submit(TradeType type, TradePriority priority,
+                                           Supplier<CompletableFuture<T>> task) {
+        if (!enabled) {
+            return task.get();
+        }
+
+        return bulkheads.get(type).submit(priority, task);
+    }
+
+    /**
+     * Trades waiting in any bulkhead queue.
+     */
+    public int getQueued() {
+        return bulkheads.values().stream().mapToInt(Bulkhead::getQueued).sum();
+    }
+}
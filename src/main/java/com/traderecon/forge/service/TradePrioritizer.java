@@ -0,0 +1,75 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.model.TradeContext;
+import com.traderecon.forge.model.TradePriority;
+import com.traderecon.forge.refdata.Symbol;
+import io.annapurna.model.Trade;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Assigns each trade a {@link TradePriority} from its own fields.
+ *
+ * URGENT when the settlement date is within urgent-settlement-days of
+ * today; HIGH when the notional reaches high-notional or the counterparty
+ * is in one of the high-counterparty-tiers; NORMAL otherwise.
+ */
+@Component
+@Slf4j
+public class TradePrioritizer {
+
+    private final EnrichmentService enrichmentService;
+    private final boolean enabled;
+    private final int urgentSettlementDays;
+    private final BigDecimal highNotional;
+    private final Set<String> highCounterpartyTiers;
+
+    @Autowired
+    public TradePrioritizer(
+            EnrichmentService enrichmentService,
+            @Value("${processing.priority.enabled:true}") boolean enabled,
+            @Value("${processing.priority.urgent-settlement-days:0}") int urgentSettlementDays,
+            @Value("${processing.priority.high-notional:100000000}") BigDecimal highNotional,
+            @Value("${processing.priority.high-counterparty-tiers:TIER_1}") String[] highCounterpartyTiers
+    ) {
+        this.enrichmentService = enrichmentService;
+        this.enabled = enabled;
+        this.urgentSettlementDays = urgentSettlementDays;
+        this.highNotional = highNotional;
+        this.highCounterpartyTiers = Set.of(highCounterpartyTiers);
+
+        log.info("TradePrioritizer initialized (enabled: {}, urgent within {} days, high notional: {}, high tiers: {})",
+                enabled, urgentSettlementDays, highNotional, this.highCounterpartyTiers);
+    }
+
+    public TradePriority classify(TradeContext context) {
+        if (!enabled) {
+            return TradePriority.NORMAL;
+        }
+
+        Trade trade = context.getTrade();
+        LocalDate settlementDate = trade.getSettlementDate();
+        if (settlementDate != null && !settlementDate.isAfter(LocalDate.now().plusDays(urgentSettlementDays))) {
+            return TradePriority.URGENT;
+        }
+
+        BigDecimal notional = trade.getNotional();
+        if (notional != null && notional.compareTo(highNotional) >= 0) {
+            return TradePriority.HIGH;
+        }
+
+        Symbol counterparty = context.getSymbols().counterparty();
+        if (counterparty != null
+                && highCounterpartyTiers.contains(enrichmentService.getCounterpartyTier(counterparty))) {
+            return TradePriority.HIGH;
+        }
+
+        return TradePriority.NORMAL;
+    }
+}
@@ -2,63 +2,181 @@ package com.traderecon.forge.service;
 
 import com.traderecon.forge.metrics.ProcessingMetrics;
 import io.annapurna.model.Trade;
-import io.annapurna.model.TradeType;
 import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.Deadline;
 import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
+import com.traderecon.forge.model.TradePriority;
+import com.traderecon.forge.pipeline.StagedTradePipeline;
 import com.traderecon.forge.processor.TradeProcessor;
+import com.traderecon.forge.processor.TradeProcessorRegistry;
+import com.traderecon.forge.refdata.SymbolDictionary;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.Duration;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service that orchestrates trade processing workflow.
  *
  * Routes trades to appropriate processors and manages async execution.
+ * Each trade first takes a slot in its trade type's bulkhead, then one
+ * under the shared concurrency limit; while waiting for either, trades
+ * are served by their {@link TradePriority}.
+ * Each trade runs start to finish on one executor thread, or through the
+ * stages of {@link StagedTradePipeline} when processing.pipeline.mode=staged.
+ * A trade turned away because a queue on that path is full ends as
+ * REJECTED and counts towards {@link #getRejectedCount()}, which
+ * backpressure treats as a saturation signal.
  */
 @Service
 @Slf4j
 public class TradeProcessingService {
 
-    private final List<TradeProcessor> processors;
-    private final ExecutorService executorService;
+    private final TradeProcessorRegistry processorRegistry;
+    private final InstrumentedExecutor tradeExecutor;
     private final int timeoutSeconds;
     private final ProcessingMetrics metrics;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final TradeBulkheads bulkheads;
+    private final TradePrioritizer prioritizer;
+    private final SymbolDictionary symbols;
+    private final StagedTradePipeline stagedPipeline;
+    private final AtomicInteger inFlightCount = new AtomicInteger(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
 
     @Autowired
     public TradeProcessingService(
-            List<TradeProcessor> processors,
-            @Value("${processing.thread-pool-size:8}") int threadPoolSize,
+            TradeProcessorRegistry processorRegistry,
+            InstrumentedExecutor tradeExecutor,
             @Value("${processing.timeout-seconds:30}") int timeoutSeconds,
-            ProcessingMetrics metrics
+            ProcessingMetrics metrics,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            TradeBulkheads bulkheads,
+            TradePrioritizer prioritizer,
+            SymbolDictionary symbols,
+            ObjectProvider<StagedTradePipeline> stagedPipeline
     ) {
-        this.processors = processors;
+        this.processorRegistry = processorRegistry;
+        this.tradeExecutor = tradeExecutor;
         this.timeoutSeconds = timeoutSeconds;
         this.metrics = metrics;
-        this.executorService = Executors.newFixedThreadPool(threadPoolSize);
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.bulkheads = bulkheads;
+        this.prioritizer = prioritizer;
+        this.symbols = symbols;
+        this.stagedPipeline = stagedPipeline.getIfAvailable();
+        metrics.registerQueueDepth(this::getQueueDepth);
     }
 
+    /**
+     * Trades submitted but not yet completed (queued or running).
+     */
+    public int getInFlightCount() {
+        return inFlightCount.get();
+    }
+
+    /**
+     * Trades turned away so far because a bulkhead, limiter, executor or
+     * pipeline stage queue was full.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Trades waiting to run: in a bulkhead, under the concurrency limit,
+     * for a worker thread, or in a pipeline stage buffer.
+     */
+    public int getQueueDepth() {
+        int pipelineDepth = stagedPipeline != null ? stagedPipeline.getQueueDepth() : 0;
+        return bulkheads.getQueued() + concurrencyLimiter.getQueued() + tradeExecutor.getQueued() + pipelineDepth;
+    }
+
+    /**
+     * Process a trade and wait for the result.
+     */
     public ProcessingResult process(Trade trade) {
+        return processAsync(trade).join();
+    }
+
+    /**
+     * Submit a trade for processing without waiting for it.
+     *
+     * The returned future always completes normally; failures and timeouts
+     * are reported through the result status.
+     */
+    public CompletableFuture<ProcessingResult> processAsync(Trade trade) {
         long startTime = System.currentTimeMillis();
 
+        // The whole budget, including any wait in the bulkhead and under the concurrency limit
+        Deadline deadline = Deadline.after(Duration.ofSeconds(timeoutSeconds));
+
         // Track active processing
+        inFlightCount.incrementAndGet();
         metrics.incrementActiveProcessing();
         metrics.recordKafkaMessageConsumed();
 
         try {
-            TradeProcessor processor = findProcessor(trade.getTradeType());
+            TradeProcessor processor = processorRegistry.processorFor(trade.getTradeType());
+
+            TradeContext context = new TradeContext(trade, symbols.resolve(trade), deadline);
+            TradePriority priority = prioritizer.classify(context);
+
+            // A slow trade type can only fill its own quota of the shared limit
+            return bulkheads.submit(trade.getTradeType(), priority,
+                            () -> concurrencyLimiter.submit(priority, () -> start(processor, context)))
+                    // Times out a trade still queued at the deadline; start() then drops it without running
+                    .orTimeout(deadline.remainingMillis(), TimeUnit.MILLISECONDS)
+                    .handle((result, error) -> {
+                        ProcessingResult completed = complete(trade, startTime, result, error);
+                        metrics.recordPriorityLatency(priority, System.currentTimeMillis() - startTime);
+                        return completed;
+                    })
+                    // Always decrement active count
+                    .whenComplete((result, error) -> {
+                        inFlightCount.decrementAndGet();
+                        metrics.decrementActiveProcessing();
+                    });
+
+        } catch (Exception e) {
+            long duration = System.currentTimeMillis() - startTime;
+            log.error("Unexpected error processing trade: {}", trade.getTradeId(), e);
+            metrics.recordProcessing(trade.getTradeType(), ProcessingStatus.PROCESSING_FAILED, duration);
+            inFlightCount.decrementAndGet();
+            metrics.decrementActiveProcessing();
+            return CompletableFuture.completedFuture(ProcessingResult.failure(
+                    trade.getTradeId(),
+                    ProcessingStatus.PROCESSING_FAILED,
+                    e.getMessage()
+            ));
+        }
+    }
+
+    private CompletableFuture<ProcessingResult> start(TradeProcessor processor, TradeContext context) {
+        Deadline deadline = context.getDeadline();
+        if (deadline.isExpired()) {
+            return CompletableFuture.failedFuture(new TimeoutException("Deadline passed while waiting to start"));
+        }
 
-            CompletableFuture<ProcessingResult> future = CompletableFuture.supplyAsync(
-                    () -> processor.process(trade),
-                    executorService
-            ).orTimeout(timeoutSeconds, TimeUnit.SECONDS);
+        CompletableFuture<ProcessingResult> future = stagedPipeline != null
+                ? stagedPipeline.submit(processor, context)
+                : CompletableFuture.supplyAsync(() -> processor.process(context), tradeExecutor);
 
-            ProcessingResult result = future.join();
+        // Frees the caller at the deadline; the task itself stops at its next checkpoint
+        return future.orTimeout(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+    }
 
-            long duration = System.currentTimeMillis() - startTime;
+    private ProcessingResult complete(Trade trade, long startTime, ProcessingResult result, Throwable error) {
+        long duration = System.currentTimeMillis() - startTime;
+
+        if (error == null) {
             result.setProcessingTimeMs(duration);
 
             // Record metrics
@@ -69,46 +187,42 @@ public class TradeProcessingService {
                 metrics.recordValidationFailure(trade.getTradeType());
             }
 
+            // Stopped at a checkpoint or by the statement timeout
+            if (result.getStatus() == ProcessingStatus.TIMEOUT) {
+                metrics.recordTimeout(trade.getTradeType());
+            }
+
             return result;
+        }
 
-        } catch (CompletionException e) {
-            Throwable cause = e.getCause();
-            long duration = System.currentTimeMillis() - startTime;
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
 
-            if (cause instanceof TimeoutException) {
-                log.error("Processing timeout for trade: {}", trade.getTradeId());
-                metrics.recordTimeout(trade.getTradeType());
-                return ProcessingResult.timeout(trade.getTradeId());
-            }
+        if (cause instanceof TimeoutException) {
+            log.error("Processing timeout for trade: {}", trade.getTradeId());
+            metrics.recordTimeout(trade.getTradeType());
+            return ProcessingResult.timeout(trade.getTradeId());
+        }
 
-            log.error("Processing failed for trade: {}", trade.getTradeId(), cause);
-            metrics.recordProcessing(trade.getTradeType(), ProcessingStatus.PROCESSING_FAILED, duration);
+        if (cause instanceof RejectedExecutionException) {
+            // Overloaded: nothing ran, so the listener can take it again once intake is paused
+            rejectedCount.incrementAndGet();
+            log.warn("Trade {} rejected: {}", trade.getTradeId(), cause.getMessage());
+            metrics.recordProcessing(trade.getTradeType(), ProcessingStatus.REJECTED, duration);
             return ProcessingResult.failure(
                     trade.getTradeId(),
-                    ProcessingStatus.PROCESSING_FAILED,
+                    ProcessingStatus.REJECTED,
                     cause.getMessage()
             );
-
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            log.error("Unexpected error processing trade: {}", trade.getTradeId(), e);
-            metrics.recordProcessing(trade.getTradeType(), ProcessingStatus.PROCESSING_FAILED, duration);
-            return ProcessingResult.failure(
-                    trade.getTradeId(),
-                    ProcessingStatus.PROCESSING_FAILED,
-                    e.getMessage()
-            );
-
-        } finally {
-            // Always decrement active count
-            metrics.decrementActiveProcessing();
         }
-    }
 
-    private TradeProcessor findProcessor(TradeType type) {
-        return processors.stream()
-                .filter(p -> p.supports(type))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No processor found for trade type: " + type));
+        log.error("Processing failed for trade: {}", trade.getTradeId(), cause);
+        metrics.recordProcessing(trade.getTradeType(), ProcessingStatus.PROCESSING_FAILED, duration);
+        return ProcessingResult.failure(
+                trade.getTradeId(),
+                ProcessingStatus.PROCESSING_FAILED,
+                cause.getMessage()
+        );
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,33 @@
 package com.traderecon.forge.service;
 
 import io.annapurna.model.*;
+import com.traderecon.forge.curve.DayCount;
+import com.traderecon.forge.curve.ScheduleGenerator;
 import com.traderecon.forge.exception.ValidationException;
+import com.traderecon.forge.fx.FxMarketCache;
+import com.traderecon.forge.refdata.Symbol;
+import com.traderecon.forge.refdata.SymbolSet;
+import com.traderecon.forge.refdata.TradeSymbols;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
-
+import java.util.regex.Pattern;
+
+/**
+ * Field checks per trade type.
+ *
+ * Counterparties, tickers, currency pairs and rate indices are checked on
+ * the trade's resolved {@link TradeSymbols}: a missing symbol means the
+ * field was null or blank. A currency pair's format is checked once per
+ * symbol and remembered in a bitset. FX forwards are rejected up front if
+ * either currency of the pair has no deposit curve in {@link FxMarketCache},
+ * since they could never be priced.
+ */
 @Service
 @Slf4j
 public class ValidationService {
@@ -18,8 +36,18 @@ public class ValidationService {
     private static final List<String> VALID_CURRENCIES = Arrays.asList(
             "USD", "EUR", "GBP", "JPY", "CHF", "CAD", "AUD"
     );
+    private static final List<String> SWAP_DIRECTIONS = Arrays.asList("PAY_FIXED", "RECEIVE_FIXED");
+    private static final Pattern CURRENCY_PAIR_FORMAT = Pattern.compile("^[A-Z]{3}/[A-Z]{3}$");
+
+    private final SymbolSet wellFormedPairs = new SymbolSet();
+    private final FxMarketCache fxMarketCache;
+
+    @Autowired
+    public ValidationService(FxMarketCache fxMarketCache) {
+        this.fxMarketCache = fxMarketCache;
+    }
 
-    public void validateCommonFields(Trade trade) {
+    public void validateCommonFields(Trade trade, TradeSymbols symbols) {
         if (trade.getTradeId() == null || trade.getTradeId().trim().isEmpty()) {
             throw new ValidationException("Trade ID cannot be null or empty");
         }
@@ -40,7 +68,7 @@ public class ValidationService {
             throw new ValidationException("Settlement date must be on or after trade date");
         }
 
-        if (trade.getCounterparty() == null || trade.getCounterparty().trim().isEmpty()) {
+        if (symbols.counterparty() == null) {
             throw new ValidationException("Counterparty cannot be null or empty");
         }
 
@@ -57,15 +85,15 @@ public class ValidationService {
         }
     }
 
-    public void validateInterestRateSwap(InterestRateSwap swap) {
-        validateCommonFields(swap);
+    public void validateInterestRateSwap(InterestRateSwap swap, TradeSymbols symbols) {
+        validateCommonFields(swap, symbols);
 
         if (swap.getFixedRate() == null || swap.getFixedRate().compareTo(BigDecimal.ZERO) < 0
                 || swap.getFixedRate().compareTo(new BigDecimal("20")) > 0) {
             throw new ValidationException("Fixed rate must be between 0% and 20%");
         }
 
-        if (swap.getFloatingRateIndex() == null || swap.getFloatingRateIndex().trim().isEmpty()) {
+        if (symbols.rateIndex() == null) {
             throw new ValidationException("Floating rate index cannot be null or empty");
         }
 
@@ -73,15 +101,33 @@ public class ValidationService {
             throw new ValidationException("Direction cannot be null or empty");
         }
 
+        if (!SWAP_DIRECTIONS.contains(swap.getDirection().trim().toUpperCase())) {
+            throw new ValidationException("Direction must be PAY_FIXED or RECEIVE_FIXED: " + swap.getDirection());
+        }
+
+        try {
+            if (swap.getFixedLegFrequency() != null) {
+                ScheduleGenerator.frequencyMonths(swap.getFixedLegFrequency());
+            }
+            if (swap.getFloatingLegFrequency() != null) {
+                ScheduleGenerator.frequencyMonths(swap.getFloatingLegFrequency());
+            }
+            if (swap.getDayCountConvention() != null) {
+                DayCount.fromConvention(swap.getDayCountConvention());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+
         if (swap.getEffectiveDate() != null && swap.getEffectiveDate().isBefore(swap.getTradeDate())) {
             throw new ValidationException("Effective date cannot be before trade date");
         }
     }
 
-    public void validateEquitySwap(EquitySwap swap) {
-        validateCommonFields(swap);
+    public void validateEquitySwap(EquitySwap swap, TradeSymbols symbols) {
+        validateCommonFields(swap, symbols);
 
-        if (swap.getReferenceAsset() == null || swap.getReferenceAsset().trim().isEmpty()) {
+        if (symbols.ticker() == null) {
             throw new ValidationException("Reference asset cannot be null or empty");
         }
 
@@ -95,15 +141,36 @@ public class ValidationService {
 
     }
 
-    public void validateFXForward(FXForward forward) {
-        validateCommonFields(forward);
+    public void validateFXForward(FXForward forward, TradeSymbols symbols) {
+        validateCommonFields(forward, symbols);
 
-        if (forward.getCurrencyPair() == null || forward.getCurrencyPair().trim().isEmpty()) {
+        Symbol currencyPair = symbols.currencyPair();
+        if (currencyPair == null) {
             throw new ValidationException("Currency pair cannot be null or empty");
         }
 
-        if (!forward.getCurrencyPair().matches("^[A-Z]{3}/[A-Z]{3}$")) {
-            throw new ValidationException("Invalid currency pair format. Expected XXX/YYY");
+        if (!wellFormedPairs.contains(currencyPair)) {
+            if (!CURRENCY_PAIR_FORMAT.matcher(currencyPair.name()).matches()) {
+                throw new ValidationException("Invalid currency pair format. Expected XXX/YYY");
+            }
+            wellFormedPairs.add(currencyPair);
+        }
+
+        String[] currencies = currencyPair.name().split("/");
+        for (String currency : currencies) {
+            if (!fxMarketCache.supports(currency)) {
+                throw new ValidationException("Unsupported currency in pair " + currencyPair + ": " + currency);
+            }
+        }
+
+        if (forward.getBaseCurrency() != null && !forward.getBaseCurrency().name().equals(currencies[0])) {
+            throw new ValidationException("Base currency " + forward.getBaseCurrency()
+                    + " does not match currency pair " + currencyPair);
+        }
+
+        if (forward.getQuoteCurrency() != null && !forward.getQuoteCurrency().name().equals(currencies[1])) {
+            throw new ValidationException("Quote currency " + forward.getQuoteCurrency()
+                    + " does not match currency pair " + currencyPair);
         }
 
         if (forward.getForwardRate() == null || forward.getForwardRate().compareTo(BigDecimal.ZERO) <= 0) {
@@ -123,8 +190,8 @@ public class ValidationService {
         }
     }
 
-    public void validateEquityOption(EquityOption option) {
-        validateCommonFields(option);
+    public void validateEquityOption(EquityOption option, TradeSymbols symbols) {
+        validateCommonFields(option, symbols);
 
         if (option.getOptionType() == null) {
             throw new ValidationException("Option type cannot be null");
@@ -146,13 +213,13 @@ public class ValidationService {
             throw new ValidationException("Premium cannot be negative");
         }
 
-        if (option.getUnderlyingAsset() == null || option.getUnderlyingAsset().trim().isEmpty()) {
+        if (symbols.ticker() == null) {
             throw new ValidationException("Underlying asset cannot be null or empty");
         }
     }
 
-    public void validateCreditDefaultSwap(CreditDefaultSwap cds) {
-        validateCommonFields(cds);
+    public void validateCreditDefaultSwap(CreditDefaultSwap cds, TradeSymbols symbols) {
+        validateCommonFields(cds, symbols);
 
         if (cds.getReferenceEntity() == null || cds.getReferenceEntity().trim().isEmpty()) {
             throw new ValidationException("Reference entity cannot be null or empty");
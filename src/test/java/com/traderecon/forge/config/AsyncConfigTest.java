@@ -0,0 +1,82 @@
+package com.traderecon.forge.config;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.InstrumentedExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncConfigTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessingMetrics metrics = new ProcessingMetrics(registry);
+    private InstrumentedExecutor executor;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void fixedRunsOnNamedWorkerThreads() throws InterruptedException {
+        executor = AsyncConfig.tradeExecutor("fixed", 2, () -> null, metrics);
+
+        assertThat(executor.getStrategy()).isEqualTo("fixed");
+        assertThat(threadName(executor)).startsWith("trade-worker-");
+    }
+
+    @Test
+    void workStealingRunsOnForkJoinThreads() throws InterruptedException {
+        executor = AsyncConfig.tradeExecutor("work-stealing", 2, () -> null, metrics);
+
+        assertThat(executor.getStrategy()).isEqualTo("work-stealing");
+        assertThat(threadName(executor)).contains("ForkJoinPool");
+    }
+
+    @Test
+    void virtualUsesTheVirtualExecutorWhenAvailable() throws InterruptedException {
+        ExecutorService perTask = Executors.newCachedThreadPool(runnable -> new Thread(runnable, "per-task"));
+        executor = AsyncConfig.tradeExecutor("virtual", 2, () -> perTask, metrics);
+
+        assertThat(executor.getStrategy()).isEqualTo("virtual");
+        assertThat(threadName(executor)).isEqualTo("per-task");
+        assertThat(registry.get("trade_executor_active").tag("strategy", "virtual").gauge()).isNotNull();
+    }
+
+    @Test
+    void virtualFallsBackToFixedWithoutVirtualThreads() throws InterruptedException {
+        executor = AsyncConfig.tradeExecutor("virtual", 2, () -> null, metrics);
+
+        assertThat(executor.getStrategy()).isEqualTo("fixed");
+        assertThat(threadName(executor)).startsWith("trade-worker-");
+        assertThat(registry.find("trade_executor_active").tag("strategy", "virtual").gauge()).isNull();
+    }
+
+    @Test
+    void unknownStrategiesAreRejected() {
+        assertThatThrownBy(() -> AsyncConfig.tradeExecutor("cached", 2, () -> null, metrics))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cached");
+    }
+
+    private static String threadName(InstrumentedExecutor executor) throws InterruptedException {
+        String[] name = new String[1];
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            name[0] = Thread.currentThread().getName();
+            done.countDown();
+        });
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        return name[0];
+    }
+}
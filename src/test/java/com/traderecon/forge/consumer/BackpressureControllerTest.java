@@ -0,0 +1,143 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.TradeProcessingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackpressureControllerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final KafkaListenerEndpointRegistry listenerRegistry = mock(KafkaListenerEndpointRegistry.class);
+    private final MessageListenerContainer intake = mock(MessageListenerContainer.class);
+    private final TradeProcessingService processingService = mock(TradeProcessingService.class);
+    private final AtomicReference<Double> heap = new AtomicReference<>(0.0);
+    private final BackpressureController controller;
+
+    BackpressureControllerTest() {
+        when(listenerRegistry.getListenerContainer(TradeConsumer.LISTENER_ID)).thenReturn(intake);
+        // Checks are driven by the tests, not the scheduler
+        controller = new BackpressureController(listenerRegistry, processingService,
+                new ProcessingMetrics(registry), 500, 250, 300, 100, 0.85, 0.70, 3_600_000, heap::get);
+    }
+
+    @AfterEach
+    void shutdown() {
+        controller.shutdown();
+    }
+
+    @Test
+    void inFlightPausesAtTheHighMarkAndResumesAtTheLowMark() {
+        assertTransitions("in_flight", level -> when(processingService.getInFlightCount()).thenReturn(level),
+                499, 500, 251, 250);
+    }
+
+    @Test
+    void queueDepthPausesAtTheHighMarkAndResumesAtTheLowMark() {
+        assertTransitions("queue_depth", level -> when(processingService.getQueueDepth()).thenReturn(level),
+                299, 300, 101, 100);
+    }
+
+    @Test
+    void heapPausesAtTheHighMarkAndResumesAtTheLowMark() {
+        heap.set(0.84);
+        controller.check();
+        assertThat(controller.isPaused()).isFalse();
+
+        heap.set(0.85);
+        controller.check();
+        assertThat(controller.isPaused()).isTrue();
+
+        heap.set(0.71);
+        controller.check();
+        assertThat(controller.isPaused()).isTrue();
+
+        heap.set(0.70);
+        controller.check();
+        assertThat(controller.isPaused()).isFalse();
+        assertThat(pauses("heap")).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectionsPauseUntilACheckWithoutNewOnes() {
+        when(processingService.getRejectedCount()).thenReturn(3L);
+        controller.check();
+        assertThat(controller.isPaused()).isTrue();
+
+        when(processingService.getRejectedCount()).thenReturn(5L);
+        controller.check();
+        assertThat(controller.isPaused()).isTrue();
+
+        controller.check();
+        assertThat(controller.isPaused()).isFalse();
+        assertThat(pauses("rejected")).isEqualTo(1.0);
+    }
+
+    @Test
+    void onlyTheIntakeContainerIsPausedAndResumed() {
+        when(processingService.getInFlightCount()).thenReturn(500);
+        controller.check();
+        controller.check();
+        when(processingService.getInFlightCount()).thenReturn(0);
+        controller.check();
+
+        verify(intake, times(1)).pause();
+        verify(intake, times(1)).resume();
+        verify(listenerRegistry, never()).getListenerContainers();
+        assertThat(registry.get("trade_consumer_paused").gauge().value()).isZero();
+    }
+
+    @Test
+    void aMissingIntakeContainerIsNotAnError() {
+        when(listenerRegistry.getListenerContainer(TradeConsumer.LISTENER_ID)).thenReturn(null);
+        when(processingService.getInFlightCount()).thenReturn(500);
+
+        controller.check();
+
+        assertThat(controller.isPaused()).isTrue();
+    }
+
+    /**
+     * Below high: running. At high: paused. Between the marks: still
+     * paused. At low: running again.
+     */
+    private void assertTransitions(String reason, IntConsumer setLevel,
+                                   int belowHigh, int high, int aboveLow, int low) {
+        setLevel.accept(belowHigh);
+        controller.check();
+        assertThat(controller.isPaused()).isFalse();
+
+        setLevel.accept(high);
+        controller.check();
+        assertThat(controller.isPaused()).isTrue();
+        verify(intake).pause();
+
+        setLevel.accept(aboveLow);
+        controller.check();
+        assertThat(controller.isPaused()).isTrue();
+        verify(intake, never()).resume();
+
+        setLevel.accept(low);
+        controller.check();
+        assertThat(controller.isPaused()).isFalse();
+        verify(intake).resume();
+        assertThat(pauses(reason)).isEqualTo(1.0);
+    }
+
+    private double pauses(String reason) {
+        return registry.get("trade_consumer_pauses_total").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,200 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.model.TradeEnvelope;
+import com.traderecon.forge.processor.TradeProcessor;
+import com.traderecon.forge.processor.TradeProcessorRegistry;
+import io.annapurna.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class BinaryTradeCodecTest {
+
+    private final BinaryTradeCodec codec = new BinaryTradeCodec(new TradeProcessorRegistry(List.of(
+            processor(TradeType.INTEREST_RATE_SWAP, InterestRateSwap.class),
+            processor(TradeType.EQUITY_SWAP, EquitySwap.class),
+            processor(TradeType.FX_FORWARD, FXForward.class),
+            processor(TradeType.EQUITY_OPTION, EquityOption.class),
+            processor(TradeType.CREDIT_DEFAULT_SWAP, CreditDefaultSwap.class))));
+
+    @Test
+    void interestRateSwapRoundTrips() throws IOException {
+        InterestRateSwap swap = common(new InterestRateSwap(), TradeType.INTEREST_RATE_SWAP);
+        swap.setFixedRate(new BigDecimal("4.1250"));
+        swap.setFloatingRateIndex("SOFR");
+        swap.setFloatingSpreadBps(-15);
+        swap.setDirection("PAY_FIXED");
+        swap.setEffectiveDate(LocalDate.of(2026, 3, 17));
+        swap.setFixedLegFrequency("SEMI_ANNUAL");
+        swap.setFloatingLegFrequency("QUARTERLY");
+        swap.setDayCountConvention("30/360");
+
+        assertRoundTrips(swap);
+    }
+
+    @Test
+    void equitySwapRoundTrips() throws IOException {
+        EquitySwap swap = common(new EquitySwap(), TradeType.EQUITY_SWAP);
+        swap.setReferenceAsset("AAPL");
+        swap.setReturnType("TOTAL_RETURN");
+        swap.setFundingLeg("SOFR");
+        swap.setFundingSpreadBps(85);
+        swap.setSettlementFrequency("MONTHLY");
+        swap.setInitialPrice(new BigDecimal("187.42"));
+        swap.setQuantity(new BigDecimal("25000"));
+        swap.setDirection("RECEIVE_EQUITY");
+
+        assertRoundTrips(swap);
+    }
+
+    @Test
+    void fxForwardRoundTrips() throws IOException {
+        FXForward forward = common(new FXForward(), TradeType.FX_FORWARD);
+        forward.setCurrencyPair("EUR/USD");
+        forward.setBaseCurrency(Currency.EUR);
+        forward.setQuoteCurrency(Currency.USD);
+        forward.setSpotRate(new BigDecimal("1.08215"));
+        forward.setForwardPoints(new BigDecimal("-0.00123"));
+        forward.setForwardRate(new BigDecimal("1.08092"));
+        forward.setDirection("SELL");
+        forward.setSettlementType("PHYSICAL");
+
+        assertRoundTrips(forward);
+    }
+
+    @Test
+    void equityOptionRoundTrips() throws IOException {
+        EquityOption option = common(new EquityOption(), TradeType.EQUITY_OPTION);
+        option.setOptionType("PUT");
+        option.setUnderlyingAsset("MSFT");
+        option.setStrikePrice(new BigDecimal("410.00"));
+        option.setSpotPrice(new BigDecimal("402.17"));
+        option.setPremium(new BigDecimal("12.345678"));
+        option.setExpiryDate(LocalDate.of(2027, 1, 15));
+        option.setContracts(40);
+        option.setQuantity(new BigDecimal("4000"));
+        option.setExerciseStyle("AMERICAN");
+        option.setMoneyness("ITM");
+        option.setPosition("SHORT");
+        option.setImpliedVolatility(new BigDecimal("27.5"));
+
+        assertRoundTrips(option);
+    }
+
+    @Test
+    void creditDefaultSwapRoundTrips() throws IOException {
+        CreditDefaultSwap cds = common(new CreditDefaultSwap(), TradeType.CREDIT_DEFAULT_SWAP);
+        cds.setReferenceEntity("Société Générale");
+        cds.setReferenceTicker("GLE");
+        cds.setSector("FINANCIALS");
+        cds.setCreditRating("A");
+        cds.setSpreadBps(112);
+        cds.setRecoveryRate(new BigDecimal("0.40"));
+        cds.setUpfrontPayment(new BigDecimal("-125000.50"));
+        cds.setPaymentFrequency("QUARTERLY");
+        cds.setPosition("PROTECTION_BUYER");
+        cds.setRestructuringClause("MR");
+        cds.setSeniority("SENIOR_UNSECURED");
+
+        assertRoundTrips(cds);
+    }
+
+    @Test
+    void absentFieldsStayNull() throws IOException {
+        InterestRateSwap swap = new InterestRateSwap();
+        swap.setTradeId("IRS-SPARSE");
+        swap.setFixedRate(BigDecimal.ONE);
+
+        Trade decoded = codec.decode(codec.encode(swap));
+
+        assertThat(decoded).isInstanceOf(InterestRateSwap.class);
+        assertThat(decoded.getTradeType()).isEqualTo(TradeType.INTEREST_RATE_SWAP);
+        assertThat(((InterestRateSwap) decoded).getFixedRate()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(decoded.getCounterparty()).isNull();
+        assertThat(((InterestRateSwap) decoded).getDayCountConvention()).isNull();
+    }
+
+    @Test
+    void scanReadsTypeAndIdOnly() throws IOException {
+        FXForward forward = common(new FXForward(), TradeType.FX_FORWARD);
+
+        TradeEnvelope envelope = codec.scan(codec.encode(forward));
+
+        assertThat(envelope.tradeId()).isEqualTo(forward.getTradeId());
+        assertThat(envelope.tradeType()).isEqualTo(TradeType.FX_FORWARD);
+    }
+
+    @Test
+    void unknownClassesAndTagsAreRejected() {
+        Trade unknown = new Trade() {
+        };
+
+        assertThatThrownBy(() -> codec.encode(unknown)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codec.decode(new byte[]{0x54, 1, 9, 0})).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void tagsAreFixedPerModelClass() {
+        assertThat(codec.encode(new InterestRateSwap())).startsWith(0x54, 1, 1);
+        assertThat(codec.encode(new EquitySwap())).startsWith(0x54, 1, 2);
+        assertThat(codec.encode(new FXForward())).startsWith(0x54, 1, 3);
+        assertThat(codec.encode(new EquityOption())).startsWith(0x54, 1, 4);
+        assertThat(codec.encode(new CreditDefaultSwap())).startsWith(0x54, 1, 5);
+    }
+
+    @Test
+    void otherVersionsAreRejected() {
+        byte[] payload = codec.encode(common(new FXForward(), TradeType.FX_FORWARD));
+        payload[1] = 2;
+
+        assertThatThrownBy(() -> codec.decode(payload))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void truncatedPayloadsFailCleanly() {
+        byte[] payload = codec.encode(common(new EquitySwap(), TradeType.EQUITY_SWAP));
+
+        assertThatThrownBy(() -> codec.decode(Arrays.copyOf(payload, payload.length - 3)))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> codec.decode(new byte[]{0x7B, 0x22})).isInstanceOf(IOException.class);
+    }
+
+    private void assertRoundTrips(Trade trade) throws IOException {
+        Trade decoded = codec.decode(codec.encode(trade));
+
+        assertThat(decoded).isExactlyInstanceOf(trade.getClass());
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(trade);
+    }
+
+    private static <T extends Trade> T common(T trade, TradeType tradeType) {
+        trade.setTradeId("T-" + tradeType.name() + "-000042");
+        trade.setTradeType(tradeType);
+        trade.setTradeDate(LocalDate.of(2026, 3, 13));
+        trade.setSettlementDate(LocalDate.of(2026, 3, 17));
+        trade.setMaturityDate(LocalDate.of(2031, 3, 17));
+        trade.setNotional(new BigDecimal("25000000.00"));
+        trade.setCurrency(Currency.USD);
+        trade.setCounterparty("Goldman Sachs");
+        trade.setBook("RATES-NY-01");
+        trade.setTrader("jdoe");
+        return trade;
+    }
+
+    private static TradeProcessor processor(TradeType tradeType, Class<? extends Trade> tradeClass) {
+        TradeProcessor processor = mock(TradeProcessor.class);
+        doReturn(tradeType).when(processor).tradeType();
+        doReturn(tradeClass).when(processor).tradeClass();
+        return processor;
+    }
+}
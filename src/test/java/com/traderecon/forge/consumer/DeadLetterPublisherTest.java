@@ -0,0 +1,181 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.ProcessingStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadLetterPublisherTest {
+
+    private static final String INPUT = "trades";
+    private static final String DLQ = "trades-dlq";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    private final DeadLetterPublisher publisher = publisher(3);
+
+    @BeforeEach
+    void sendSucceeds() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void retryTopicsAreOnePerAttempt() {
+        assertThat(publisher.retryTopics()).containsExactly("trades-retry-0", "trades-retry-1", "trades-retry-2");
+        assertThat(publisher(0).retryTopics()).isEmpty();
+    }
+
+    @Test
+    void aFirstRetryableFailureGoesToTierZeroWithItsOrigin() {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(INPUT, 4, 120L, "T-1", payload());
+
+        long before = System.currentTimeMillis();
+        publisher.publishResult(record, failure(ProcessingStatus.DATABASE_FAILED)).join();
+        ProducerRecord<String, byte[]> sent = sent();
+
+        assertThat(sent.topic()).isEqualTo("trades-retry-0");
+        assertThat(sent.key()).isEqualTo("T-1");
+        assertThat(sent.value()).isEqualTo(payload());
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_ORIGINAL_TOPIC)).isEqualTo(INPUT);
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_ORIGINAL_PARTITION)).isEqualTo("4");
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_ORIGINAL_OFFSET)).isEqualTo("120");
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_FAILURE_REASON)).isEqualTo("DATABASE_FAILED");
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_FAILURE_MESSAGE)).isEqualTo("boom");
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_RETRY_ATTEMPT)).isEqualTo("1");
+        assertThat(Long.parseLong(header(sent.headers(), DeadLetterPublisher.HEADER_RETRY_NOT_BEFORE)))
+                .isBetween(before + 1_000, System.currentTimeMillis() + 1_000);
+        assertThat(registry.get("trades_retried_total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void laterTiersBackOffExponentiallyAndKeepTheFirstOrigin() {
+        ConsumerRecord<String, byte[]> record = retried("trades-retry-1", 2);
+        publisher.publishResult(record, failure(ProcessingStatus.TIMEOUT)).join();
+
+        ProducerRecord<String, byte[]> sent = sent();
+        long notBefore = Long.parseLong(header(sent.headers(), DeadLetterPublisher.HEADER_RETRY_NOT_BEFORE));
+
+        assertThat(sent.topic()).isEqualTo("trades-retry-2");
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_RETRY_ATTEMPT)).isEqualTo("3");
+        // initial 1000ms x 2.0^2
+        assertThat(notBefore - System.currentTimeMillis()).isBetween(3_000L, 4_000L);
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_ORIGINAL_TOPIC)).isEqualTo(INPUT);
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_ORIGINAL_OFFSET)).isEqualTo("120");
+        assertThat(sent.headers().headers(DeadLetterPublisher.HEADER_FAILURE_REASON)).hasSize(1);
+        assertThat(sent.headers().headers(DeadLetterPublisher.HEADER_RETRY_ATTEMPT)).hasSize(1);
+        assertThat(publisher.notBefore(new ConsumerRecord<>("trades-retry-2", 0, 0L, "T-1", payload())))
+                .isZero();
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximumDelay() {
+        DeadLetterPublisher longRetries = new DeadLetterPublisher(kafkaTemplate,
+                new ProcessingMetrics(registry), INPUT, DLQ, 10, 1_000, 10.0, 60_000);
+
+        longRetries.publishResult(retried("trades-retry-4", 5), failure(ProcessingStatus.TIMEOUT)).join();
+        long notBefore = Long.parseLong(header(sent().headers(), DeadLetterPublisher.HEADER_RETRY_NOT_BEFORE));
+
+        assertThat(notBefore - System.currentTimeMillis()).isBetween(59_000L, 60_000L);
+    }
+
+    @Test
+    void exhaustedAttemptsGoToTheDeadLetterTopic() {
+        publisher.publishResult(retried("trades-retry-2", 3), failure(ProcessingStatus.TIMEOUT)).join();
+        ProducerRecord<String, byte[]> sent = sent();
+
+        assertThat(sent.topic()).isEqualTo(DLQ);
+        assertThat(header(sent.headers(), DeadLetterPublisher.HEADER_RETRY_ATTEMPT)).isEqualTo("4");
+        assertThat(sent.headers().lastHeader(DeadLetterPublisher.HEADER_RETRY_NOT_BEFORE)).isNull();
+        assertThat(registry.get("trades_dead_lettered_total").tag("reason", "TIMEOUT").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void failuresThatCannotSucceedSkipTheRetryTiers() {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(INPUT, 0, 7L, "T-1", payload());
+
+        publisher.publishResult(record, failure(ProcessingStatus.VALIDATION_FAILED)).join();
+        assertThat(sent().topic()).isEqualTo(DLQ);
+
+        publisher.publishError(record, new IllegalArgumentException("bad json")).join();
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = captor();
+        verify(kafkaTemplate, times(2)).send(captor.capture());
+        ProducerRecord<String, byte[]> error = captor.getAllValues().get(1);
+        assertThat(error.topic()).isEqualTo(DLQ);
+        assertThat(header(error.headers(), DeadLetterPublisher.HEADER_FAILURE_REASON))
+                .isEqualTo("DESERIALIZATION_FAILED");
+    }
+
+    @Test
+    void successfulTradesAreNotPublished() {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(INPUT, 0, 7L, "T-1", payload());
+
+        assertThat(publisher.publishResult(record, ProcessingResult.success("T-1"))).isCompleted();
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    private DeadLetterPublisher publisher(int attempts) {
+        return new DeadLetterPublisher(kafkaTemplate, new ProcessingMetrics(registry), INPUT, DLQ,
+                attempts, 1_000, 2.0, 60_000);
+    }
+
+    /**
+     * A record as it arrives on a retry tier after earlier attempts.
+     */
+    private ConsumerRecord<String, byte[]> retried(String topic, int attempts) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(topic, 1, 3L, "T-1", payload());
+        add(record.headers(), DeadLetterPublisher.HEADER_ORIGINAL_TOPIC, INPUT);
+        add(record.headers(), DeadLetterPublisher.HEADER_ORIGINAL_PARTITION, "4");
+        add(record.headers(), DeadLetterPublisher.HEADER_ORIGINAL_OFFSET, "120");
+        add(record.headers(), DeadLetterPublisher.HEADER_FAILURE_REASON, "DATABASE_FAILED");
+        add(record.headers(), DeadLetterPublisher.HEADER_RETRY_ATTEMPT, String.valueOf(attempts));
+        add(record.headers(), DeadLetterPublisher.HEADER_RETRY_NOT_BEFORE, "0");
+        return record;
+    }
+
+    private ProducerRecord<String, byte[]> sent() {
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = captor();
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<ProducerRecord<String, byte[]>> captor() {
+        return ArgumentCaptor.forClass(ProducerRecord.class);
+    }
+
+    private static ProcessingResult failure(ProcessingStatus status) {
+        return ProcessingResult.failure("T-1", status, "boom");
+    }
+
+    private static byte[] payload() {
+        return "{\"tradeId\":\"T-1\"}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void add(Headers headers, String key, String value) {
+        headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String header(Headers headers, String key) {
+        return new String(headers.lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+}
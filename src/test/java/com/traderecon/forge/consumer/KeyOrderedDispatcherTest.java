@@ -0,0 +1,63 @@
+package com.traderecon.forge.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedDispatcherTest {
+
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher();
+
+    @Test
+    void tasksWithTheSameKeyRunInSubmissionOrder() {
+        List<String> started = new ArrayList<>();
+        CompletableFuture<String> first = new CompletableFuture<>();
+
+        CompletableFuture<String> a = dispatcher.dispatch("BOOK-1", () -> {
+            started.add("a");
+            return first;
+        });
+        CompletableFuture<String> b = dispatcher.dispatch("BOOK-1", () -> {
+            started.add("b");
+            return CompletableFuture.completedFuture("b");
+        });
+
+        assertThat(started).containsExactly("a");
+        assertThat(dispatcher.activeKeys()).isEqualTo(1);
+
+        first.complete("a");
+
+        assertThat(started).containsExactly("a", "b");
+        assertThat(a).isCompletedWithValue("a");
+        assertThat(b).isCompletedWithValue("b");
+        assertThat(dispatcher.activeKeys()).isZero();
+    }
+
+    @Test
+    void otherKeysAndUnkeyedTasksDoNotWait() {
+        dispatcher.dispatch("BOOK-1", CompletableFuture::new);
+
+        CompletableFuture<String> other = dispatcher.dispatch("BOOK-2",
+                () -> CompletableFuture.completedFuture("other"));
+        CompletableFuture<String> unkeyed = dispatcher.dispatch(null,
+                () -> CompletableFuture.completedFuture("unkeyed"));
+
+        assertThat(other).isCompletedWithValue("other");
+        assertThat(unkeyed).isCompletedWithValue("unkeyed");
+    }
+
+    @Test
+    void aFailedTaskDoesNotBlockItsKey() {
+        CompletableFuture<String> failed = dispatcher.dispatch("BOOK-1",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+        CompletableFuture<String> next = dispatcher.dispatch("BOOK-1",
+                () -> CompletableFuture.completedFuture("next"));
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(next).isCompletedWithValue("next");
+    }
+}
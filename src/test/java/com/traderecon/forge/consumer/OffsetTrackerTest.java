@@ -0,0 +1,133 @@
+package com.traderecon.forge.consumer;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffsetTrackerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("trades", 0);
+    private static final TopicPartition OTHER = new TopicPartition("trades", 1);
+
+    private final OffsetTracker tracker = new OffsetTracker();
+
+    @Test
+    void commitsOnlyTheContiguousCompletedPrefix() {
+        long generation = tracker.track(PARTITION, 10);
+        for (long offset = 11; offset < 15; offset++) {
+            tracker.track(PARTITION, offset);
+        }
+
+        // Out of order: 12 and 14 finish before 10
+        tracker.complete(PARTITION, 12, generation, true);
+        tracker.complete(PARTITION, 14, generation, true);
+        assertThat(tracker.drain(List.of(PARTITION)).commits()).isEmpty();
+
+        tracker.complete(PARTITION, 10, generation, true);
+        assertThat(tracker.drain(List.of(PARTITION)).commits())
+                .containsEntry(PARTITION, new OffsetAndMetadata(11));
+
+        tracker.complete(PARTITION, 11, generation, true);
+        assertThat(tracker.drain(List.of(PARTITION)).commits())
+                .containsEntry(PARTITION, new OffsetAndMetadata(13));
+        assertThat(tracker.pending(PARTITION)).isEqualTo(2);
+
+        tracker.complete(PARTITION, 13, generation, true);
+        assertThat(tracker.drain(List.of(PARTITION)).commits())
+                .containsEntry(PARTITION, new OffsetAndMetadata(15));
+        assertThat(tracker.pending(PARTITION)).isZero();
+    }
+
+    @Test
+    void sparseOffsetsDoNotHoldBackTheWatermark() {
+        long generation = tracker.track(PARTITION, 5);
+        tracker.track(PARTITION, 1_000_000);
+        tracker.complete(PARTITION, 5, generation, true);
+        tracker.complete(PARTITION, 1_000_000, generation, true);
+
+        assertThat(tracker.drain(List.of(PARTITION)).commits())
+                .containsEntry(PARTITION, new OffsetAndMetadata(1_000_001));
+    }
+
+    @Test
+    void failedHeadRewindsThePartitionAfterCommittingItsPrefix() {
+        long generation = tracker.track(PARTITION, 0);
+        for (long offset = 1; offset < 4; offset++) {
+            tracker.track(PARTITION, offset);
+        }
+        tracker.complete(PARTITION, 0, generation, true);
+        tracker.complete(PARTITION, 1, generation, false);
+        tracker.complete(PARTITION, 2, generation, true);
+
+        OffsetTracker.Progress progress = tracker.drain(List.of(PARTITION));
+
+        assertThat(progress.commits()).containsEntry(PARTITION, new OffsetAndMetadata(1));
+        assertThat(progress.rewinds()).isEqualTo(Map.of(PARTITION, 1L));
+        assertThat(tracker.pending(PARTITION)).isZero();
+    }
+
+    @Test
+    void partitionsAreDrainedIndependently() {
+        tracker.track(PARTITION, 0);
+        long generation = tracker.track(OTHER, 0);
+        tracker.complete(OTHER, 0, generation, true);
+
+        OffsetTracker.Progress progress = tracker.drain(List.of(PARTITION, OTHER));
+
+        assertThat(progress.commits()).isEqualTo(Map.of(OTHER, new OffsetAndMetadata(1)));
+        assertThat(tracker.hasInFlight(List.of(PARTITION))).isTrue();
+        assertThat(tracker.hasInFlight(List.of(OTHER))).isFalse();
+    }
+
+    @Test
+    void completionsForUntrackedOffsetsAreIgnored() {
+        long generation = tracker.track(PARTITION, 0);
+        tracker.remove(List.of(PARTITION));
+        tracker.complete(PARTITION, 0, generation, true);
+
+        assertThat(tracker.drain(List.of(PARTITION)).commits()).isEmpty();
+        assertThat(tracker.pending(PARTITION)).isZero();
+    }
+
+    @Test
+    void completionsFromBeforeARewindDoNotCountForTheRedelivery() {
+        long before = tracker.track(PARTITION, 0);
+        tracker.track(PARTITION, 1);
+        tracker.complete(PARTITION, 0, before, false);
+        assertThat(tracker.drain(List.of(PARTITION)).rewinds()).isEqualTo(Map.of(PARTITION, 0L));
+
+        // Redelivered while the first dispatch of offset 1 is still running
+        long after = tracker.track(PARTITION, 0);
+        tracker.track(PARTITION, 1);
+        assertThat(after).isNotEqualTo(before);
+
+        tracker.complete(PARTITION, 1, before, true);
+        tracker.complete(PARTITION, 0, after, true);
+
+        assertThat(tracker.drain(List.of(PARTITION)).commits())
+                .containsEntry(PARTITION, new OffsetAndMetadata(1));
+        assertThat(tracker.hasInFlight(List.of(PARTITION))).isTrue();
+
+        tracker.complete(PARTITION, 1, after, true);
+        assertThat(tracker.drain(List.of(PARTITION)).commits())
+                .containsEntry(PARTITION, new OffsetAndMetadata(2));
+    }
+
+    @Test
+    void reassignedPartitionsStartANewGeneration() {
+        long before = tracker.track(PARTITION, 0);
+        tracker.remove(List.of(PARTITION));
+
+        long after = tracker.track(PARTITION, 0);
+        tracker.complete(PARTITION, 0, before, true);
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(tracker.drain(List.of(PARTITION)).commits()).isEmpty();
+        assertThat(tracker.hasInFlight(List.of(PARTITION))).isTrue();
+    }
+}
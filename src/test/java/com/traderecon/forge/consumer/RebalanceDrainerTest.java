@@ -0,0 +1,89 @@
+package com.traderecon.forge.consumer;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RebalanceDrainerTest {
+
+    private static final TopicPartition P0 = new TopicPartition("trades", 0);
+    private static final TopicPartition P1 = new TopicPartition("trades", 1);
+
+    private final OffsetTracker tracker = new OffsetTracker();
+    private final Consumer<?, ?> consumer = mock(Consumer.class);
+
+    @Test
+    void revocationWaitsForInFlightTradesAndCommitsThem() {
+        RebalanceDrainer drainer = new RebalanceDrainer(tracker, 5_000);
+        long generation = tracker.track(P0, 10);
+        tracker.track(P0, 11);
+        tracker.track(P0, 12);
+        tracker.complete(P0, 10, generation, true);
+
+        // Still processing when the partition is revoked
+        CompletableFuture.runAsync(() -> {
+            tracker.complete(P0, 12, generation, true);
+            tracker.complete(P0, 11, generation, true);
+        }, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        drainer.onPartitionsRevokedBeforeCommit(consumer, List.of(P0));
+
+        verify(consumer).pause(List.of(P0));
+        verify(consumer).commitSync(Map.of(P0, new OffsetAndMetadata(13)));
+        assertThat(tracker.pending(P0)).isZero();
+    }
+
+    @Test
+    void timedOutDrainCommitsOnlyTheFinishedPrefix() {
+        RebalanceDrainer drainer = new RebalanceDrainer(tracker, 50);
+        long generation = tracker.track(P0, 10);
+        tracker.track(P0, 11);
+        tracker.track(P0, 12);
+        tracker.complete(P0, 10, generation, true);
+        tracker.complete(P0, 12, generation, true);
+
+        long start = System.currentTimeMillis();
+        drainer.onPartitionsRevokedBeforeCommit(consumer, List.of(P0));
+
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(50);
+        verify(consumer).commitSync(Map.of(P0, new OffsetAndMetadata(11)));
+        assertThat(tracker.pending(P0)).isZero();
+    }
+
+    @Test
+    void partitionsThatStayAreNotTouched() {
+        RebalanceDrainer drainer = new RebalanceDrainer(tracker, 50);
+        long generation = tracker.track(P0, 10);
+        tracker.track(P1, 20);
+        tracker.complete(P0, 10, generation, true);
+
+        drainer.onPartitionsRevokedBeforeCommit(consumer, List.of(P0));
+
+        verify(consumer).commitSync(Map.of(P0, new OffsetAndMetadata(11)));
+        assertThat(tracker.pending(P1)).isEqualTo(1);
+    }
+
+    @Test
+    void lostPartitionsAreForgottenWithoutCommitting() {
+        RebalanceDrainer drainer = new RebalanceDrainer(tracker, 50);
+        long generation = tracker.track(P0, 10);
+        tracker.complete(P0, 10, generation, true);
+
+        drainer.onPartitionsLost(consumer, List.of(P0));
+
+        verify(consumer, never()).commitSync(anyMap());
+        assertThat(tracker.pending(P0)).isZero();
+    }
+}
@@ -0,0 +1,138 @@
+package com.traderecon.forge.consumer;
+
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.service.TradeProcessingService;
+import io.annapurna.model.FXForward;
+import io.annapurna.model.Trade;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.config.KafkaListenerEndpoint;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistrar;
+import org.springframework.kafka.config.MethodKafkaListenerEndpoint;
+import org.springframework.kafka.listener.AcknowledgingConsumerAwareMessageListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RetryTradeConsumerTest {
+
+    private final TradeIntake tradeIntake = mock(TradeIntake.class);
+    private final TradeProcessingService processingService = mock(TradeProcessingService.class);
+    private final DeadLetterPublisher deadLetterPublisher = mock(DeadLetterPublisher.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final RetryTradeConsumer consumer = new RetryTradeConsumer(tradeIntake, processingService,
+            deadLetterPublisher, "trade-forge");
+
+    @Test
+    void everyTierGetsItsOwnContainer() {
+        when(deadLetterPublisher.retryTopics()).thenReturn(new String[]{"trades-retry-0", "trades-retry-1"});
+
+        List<MethodKafkaListenerEndpoint<?, ?>> endpoints = register(2);
+
+        assertThat(endpoints).extracting(KafkaListenerEndpoint::getId)
+                .containsExactly("retry-tier-0", "retry-tier-1");
+        assertThat(endpoints).flatExtracting(KafkaListenerEndpoint::getTopics)
+                .containsExactly("trades-retry-0", "trades-retry-1");
+        assertThat(endpoints).extracting(KafkaListenerEndpoint::getGroupId).containsOnly("trade-forge");
+    }
+
+    @Test
+    void noAttemptsMeansNoRetryListeners() {
+        when(deadLetterPublisher.retryTopics()).thenReturn(new String[0]);
+
+        KafkaListenerEndpointRegistrar registrar = mock(KafkaListenerEndpointRegistrar.class);
+        consumer.configureKafkaListeners(registrar);
+
+        verify(registrar, never()).registerEndpoint(any());
+    }
+
+    @Test
+    void registeredContainersDeliverToTheRetryHandler() {
+        when(deadLetterPublisher.retryTopics()).thenReturn(new String[]{"trades-retry-0"});
+        when(deadLetterPublisher.notBefore(any())).thenReturn(Long.MAX_VALUE);
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+
+        register(1).get(0).setupListenerContainer(container, null);
+        ArgumentCaptor<Object> listener = ArgumentCaptor.forClass(Object.class);
+        verify(container).setupMessageListener(listener.capture());
+
+        @SuppressWarnings("unchecked")
+        AcknowledgingConsumerAwareMessageListener<String, byte[]> handler =
+                (AcknowledgingConsumerAwareMessageListener<String, byte[]>) listener.getValue();
+        handler.onMessage(record(), acknowledgment, null);
+
+        verify(acknowledgment).nack(any(Duration.class));
+    }
+
+    @Test
+    void recordsNotYetDueAreNackedForTheRemainingDelay() {
+        when(deadLetterPublisher.notBefore(any())).thenReturn(System.currentTimeMillis() + 2_000);
+
+        consumer.consumeRetry(record(), acknowledgment);
+
+        ArgumentCaptor<Duration> delay = ArgumentCaptor.forClass(Duration.class);
+        verify(acknowledgment).nack(delay.capture());
+        assertThat(delay.getValue()).isBetween(Duration.ofMillis(1_000), Duration.ofMillis(2_000));
+        verify(acknowledgment, never()).acknowledge();
+        verify(processingService, never()).process(any());
+    }
+
+    @Test
+    void dueRecordsAreProcessedAndRoutedByTheirResult() throws Exception {
+        Trade trade = new FXForward();
+        trade.setTradeId("T-1");
+        ProcessingResult result = ProcessingResult.failure("T-1", ProcessingStatus.DATABASE_FAILED, "down");
+        ConsumerRecord<String, byte[]> record = record();
+        when(tradeIntake.read(record)).thenReturn(trade);
+        when(processingService.process(trade)).thenReturn(result);
+        when(deadLetterPublisher.publishResult(record, result)).thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.consumeRetry(record, acknowledgment);
+
+        verify(deadLetterPublisher).publishResult(record, result);
+        verify(acknowledgment).acknowledge();
+        verify(acknowledgment, never()).nack(any(Duration.class));
+    }
+
+    @Test
+    void undecodableRecordsGoToTheDeadLetterTopic() throws Exception {
+        ConsumerRecord<String, byte[]> record = record();
+        IllegalArgumentException error = new IllegalArgumentException("bad json");
+        when(tradeIntake.read(record)).thenThrow(error);
+        when(deadLetterPublisher.publishError(record, error)).thenReturn(CompletableFuture.completedFuture(null));
+
+        consumer.consumeRetry(record, acknowledgment);
+
+        verify(deadLetterPublisher).publishError(record, error);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MethodKafkaListenerEndpoint<?, ?>> register(int expected) {
+        KafkaListenerEndpointRegistrar registrar = mock(KafkaListenerEndpointRegistrar.class);
+        consumer.configureKafkaListeners(registrar);
+
+        ArgumentCaptor<KafkaListenerEndpoint> endpoints = ArgumentCaptor.forClass(KafkaListenerEndpoint.class);
+        verify(registrar, times(expected)).registerEndpoint(endpoints.capture());
+        return endpoints.getAllValues().stream()
+                .<MethodKafkaListenerEndpoint<?, ?>>map(endpoint -> (MethodKafkaListenerEndpoint<?, ?>) endpoint)
+                .toList();
+    }
+
+    private static ConsumerRecord<String, byte[]> record() {
+        return new ConsumerRecord<>("trades-retry-0", 0, 5L, "T-1", new byte[]{'{', '}'});
+    }
+}
@@ -0,0 +1,162 @@
+package com.traderecon.forge.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traderecon.forge.config.KafkaConsumerConfig;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.TradeEnvelope;
+import com.traderecon.forge.processor.TradeProcessor;
+import com.traderecon.forge.processor.TradeProcessorRegistry;
+import com.traderecon.forge.service.IdempotencyFilter;
+import io.annapurna.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TradeIntakeTest {
+
+    private final ObjectMapper objectMapper = new KafkaConsumerConfig().objectMapper();
+    private final TradeProcessorRegistry processorRegistry = new TradeProcessorRegistry(List.of(
+            processor(TradeType.INTEREST_RATE_SWAP, InterestRateSwap.class),
+            processor(TradeType.EQUITY_SWAP, EquitySwap.class),
+            processor(TradeType.FX_FORWARD, FXForward.class),
+            processor(TradeType.EQUITY_OPTION, EquityOption.class),
+            processor(TradeType.CREDIT_DEFAULT_SWAP, CreditDefaultSwap.class)));
+    private final TradePayloadParser parser = spy(new TradePayloadParser(objectMapper, processorRegistry));
+    private final BinaryTradeCodec binaryCodec = new BinaryTradeCodec(processorRegistry);
+    private final IdempotencyFilter idempotencyFilter = mock(IdempotencyFilter.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TradeIntake intake = new TradeIntake(parser, binaryCodec, idempotencyFilter,
+            new ProcessingMetrics(registry), new String[]{"CREDIT_DEFAULT_SWAP", " "});
+
+    @Test
+    void headersRouteWithoutScanningThePayload() throws IOException {
+        ConsumerRecord<String, byte[]> record = record(json(forward("FX-1")));
+        header(record, TradeEnvelope.HEADER_TRADE_ID, "FX-1");
+        header(record, TradeEnvelope.HEADER_TRADE_TYPE, "FX_FORWARD");
+
+        Trade trade = intake.read(record);
+
+        assertThat(trade).isInstanceOf(FXForward.class);
+        assertThat(trade.getTradeId()).isEqualTo("FX-1");
+        verify(parser, never()).scan(any());
+        verify(parser).parse(record.value(), TradeType.FX_FORWARD);
+    }
+
+    @Test
+    void withoutHeadersThePayloadPrefixIsScanned() throws IOException {
+        ConsumerRecord<String, byte[]> record = record(json(forward("FX-1")));
+
+        Trade trade = intake.read(record);
+
+        assertThat(trade.getTradeType()).isEqualTo(TradeType.FX_FORWARD);
+        verify(parser).scan(record.value());
+        verify(idempotencyFilter).isDuplicate("FX-1");
+    }
+
+    @Test
+    void aGarbageTradeTypeHeaderFallsBackToTheScan() throws IOException {
+        ConsumerRecord<String, byte[]> record = record(json(forward("FX-1")));
+        header(record, TradeEnvelope.HEADER_TRADE_ID, "FX-1");
+        header(record, TradeEnvelope.HEADER_TRADE_TYPE, "fx-forward?");
+
+        Trade trade = intake.read(record);
+
+        assertThat(trade).isInstanceOf(FXForward.class);
+        verify(parser).scan(record.value());
+    }
+
+    @Test
+    void disabledTypesAreDroppedBeforeTheFullParse() throws IOException {
+        CreditDefaultSwap cds = new CreditDefaultSwap();
+        cds.setTradeId("CDS-1");
+        cds.setTradeType(TradeType.CREDIT_DEFAULT_SWAP);
+        ConsumerRecord<String, byte[]> record = record(json(cds));
+
+        assertThat(intake.read(record)).isNull();
+
+        verify(parser, never()).parse(any());
+        verify(parser, never()).parse(any(), any());
+        assertThat(skipped("CREDIT_DEFAULT_SWAP", "disabled_type")).isEqualTo(1.0);
+    }
+
+    @Test
+    void duplicatesAreDroppedBeforeTheFullParse() throws IOException {
+        when(idempotencyFilter.isDuplicate("FX-1")).thenReturn(true);
+        ConsumerRecord<String, byte[]> record = record(json(forward("FX-1")));
+
+        assertThat(intake.read(record)).isNull();
+
+        verify(parser, never()).parse(any());
+        verify(parser, never()).parse(any(), any());
+        assertThat(skipped("FX_FORWARD", "duplicate")).isEqualTo(1.0);
+    }
+
+    @Test
+    void binaryPayloadsAreRoutedByContentType() throws IOException {
+        ConsumerRecord<String, byte[]> record = record(binaryCodec.encode(forward("FX-1")));
+        header(record, TradeEnvelope.HEADER_CONTENT_TYPE, BinaryTradeCodec.CONTENT_TYPE);
+
+        Trade trade = intake.read(record);
+
+        assertThat(trade).isInstanceOf(FXForward.class);
+        assertThat(trade.getTradeId()).isEqualTo("FX-1");
+        verify(parser, never()).scan(any());
+        verify(idempotencyFilter).isDuplicate("FX-1");
+    }
+
+    @Test
+    void unparseablePayloadsFail() {
+        assertThatThrownBy(() -> intake.read(record("not json".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> new TradeIntake(parser, binaryCodec, idempotencyFilter,
+                new ProcessingMetrics(registry), new String[]{"BOND"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private byte[] json(Trade trade) throws IOException {
+        return objectMapper.writeValueAsBytes(trade);
+    }
+
+    private double skipped(String type, String reason) {
+        return registry.get("trades_skipped_total").tag("type", type).tag("reason", reason).counter().count();
+    }
+
+    private static FXForward forward(String tradeId) {
+        FXForward forward = new FXForward();
+        forward.setTradeId(tradeId);
+        forward.setTradeType(TradeType.FX_FORWARD);
+        forward.setCurrencyPair("EUR/USD");
+        forward.setNotional(new BigDecimal("1000000"));
+        return forward;
+    }
+
+    private static ConsumerRecord<String, byte[]> record(byte[] payload) {
+        return new ConsumerRecord<>("trades", 0, 0L, null, payload);
+    }
+
+    private static void header(ConsumerRecord<String, byte[]> record, String key, String value) {
+        record.headers().add(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TradeProcessor processor(TradeType tradeType, Class<? extends Trade> tradeClass) {
+        TradeProcessor processor = mock(TradeProcessor.class);
+        doReturn(tradeType).when(processor).tradeType();
+        doReturn(tradeClass).when(processor).tradeClass();
+        return processor;
+    }
+}
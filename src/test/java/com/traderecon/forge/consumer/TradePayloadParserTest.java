@@ -0,0 +1,189 @@
+package com.traderecon.forge.consumer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.traderecon.forge.config.KafkaConsumerConfig;
+import com.traderecon.forge.processor.TradeProcessor;
+import com.traderecon.forge.processor.TradeProcessorRegistry;
+import io.annapurna.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class TradePayloadParserTest {
+
+    private static final String TYPE_PROPERTY = "tradeType";
+
+    private final ObjectMapper objectMapper = new KafkaConsumerConfig().objectMapper();
+    private final TradePayloadParser parser = new TradePayloadParser(objectMapper, new TradeProcessorRegistry(List.of(
+            processor(TradeType.INTEREST_RATE_SWAP, InterestRateSwap.class),
+            processor(TradeType.EQUITY_SWAP, EquitySwap.class),
+            processor(TradeType.FX_FORWARD, FXForward.class),
+            processor(TradeType.EQUITY_OPTION, EquityOption.class),
+            processor(TradeType.CREDIT_DEFAULT_SWAP, CreditDefaultSwap.class))));
+
+    static List<Trade> trades() {
+        InterestRateSwap swap = common(new InterestRateSwap(), TradeType.INTEREST_RATE_SWAP);
+        swap.setFixedRate(new BigDecimal("4.1250"));
+        swap.setFloatingRateIndex("SOFR");
+        swap.setFloatingSpreadBps(-15);
+        swap.setEffectiveDate(LocalDate.of(2026, 3, 17));
+        swap.setDayCountConvention("30/360");
+
+        EquitySwap equitySwap = common(new EquitySwap(), TradeType.EQUITY_SWAP);
+        equitySwap.setReferenceAsset("AAPL");
+        equitySwap.setInitialPrice(new BigDecimal("187.42"));
+        equitySwap.setQuantity(new BigDecimal("25000"));
+
+        FXForward forward = common(new FXForward(), TradeType.FX_FORWARD);
+        forward.setCurrencyPair("EUR/USD");
+        forward.setBaseCurrency(Currency.EUR);
+        forward.setQuoteCurrency(Currency.USD);
+        forward.setForwardRate(new BigDecimal("1.08092"));
+
+        EquityOption option = common(new EquityOption(), TradeType.EQUITY_OPTION);
+        option.setOptionType("PUT");
+        option.setStrikePrice(new BigDecimal("410.00"));
+        option.setExpiryDate(LocalDate.of(2027, 1, 15));
+        option.setContracts(40);
+
+        CreditDefaultSwap cds = common(new CreditDefaultSwap(), TradeType.CREDIT_DEFAULT_SWAP);
+        cds.setReferenceEntity("Société Générale");
+        cds.setSpreadBps(112);
+        cds.setRecoveryRate(new BigDecimal("0.40"));
+
+        return List.of(swap, equitySwap, forward, option, cds);
+    }
+
+    @ParameterizedTest
+    @MethodSource("trades")
+    void parsesLikeTheObjectMapper(Trade trade) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(trade);
+
+        assertMatchesObjectMapper(payload, trade.getTradeType());
+    }
+
+    @ParameterizedTest
+    @MethodSource("trades")
+    void fieldsBeforeTheDiscriminatorAreReplayed(Trade trade) throws IOException {
+        ObjectNode tree = objectMapper.valueToTree(trade);
+        JsonNode type = tree.remove(TYPE_PROPERTY);
+        assertThat(type.asText()).isEqualTo(trade.getTradeType().name());
+        ObjectNode reordered = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = tree.fields();
+        // Half the fields, the discriminator, then the rest
+        for (int i = 0; fields.hasNext(); i++) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (i == tree.size() / 2) {
+                reordered.set(TYPE_PROPERTY, type);
+            }
+            reordered.set(field.getKey(), field.getValue());
+        }
+
+        assertMatchesObjectMapper(objectMapper.writeValueAsBytes(reordered), trade.getTradeType());
+    }
+
+    @ParameterizedTest
+    @MethodSource("trades")
+    void theDiscriminatorMayComeLast(Trade trade) throws IOException {
+        ObjectNode tree = objectMapper.valueToTree(trade);
+        JsonNode type = tree.remove(TYPE_PROPERTY);
+        tree.set(TYPE_PROPERTY, type);
+
+        assertMatchesObjectMapper(objectMapper.writeValueAsBytes(tree), trade.getTradeType());
+    }
+
+    @ParameterizedTest
+    @MethodSource("trades")
+    void aKnownTypeBindsWithoutReadingTheDiscriminator(Trade trade) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(trade);
+
+        Trade parsed = parser.parse(payload, trade.getTradeType());
+
+        assertThat(parsed).usingRecursiveComparison().ignoringFields("tradeType")
+                .isEqualTo(objectMapper.readValue(payload, Trade.class));
+        assertThat(parsed.getTradeType()).isEqualTo(trade.getTradeType());
+    }
+
+    @Test
+    void nestedValuesBeforeTheDiscriminatorSurviveTheReplay() throws IOException {
+        byte[] payload = ("{\"tradeId\":\"FX-1\",\"extra\":{\"a\":[1,{\"b\":2}]},\"notional\":1000000,"
+                + "\"tradeType\":\"FX_FORWARD\",\"currencyPair\":\"EUR/USD\"}").getBytes();
+        ObjectMapper lenient = new KafkaConsumerConfig().objectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        TradePayloadParser lenientParser = new TradePayloadParser(lenient, new TradeProcessorRegistry(List.of(
+                processor(TradeType.INTEREST_RATE_SWAP, InterestRateSwap.class),
+                processor(TradeType.EQUITY_SWAP, EquitySwap.class),
+                processor(TradeType.FX_FORWARD, FXForward.class),
+                processor(TradeType.EQUITY_OPTION, EquityOption.class),
+                processor(TradeType.CREDIT_DEFAULT_SWAP, CreditDefaultSwap.class))));
+
+        FXForward parsed = (FXForward) lenientParser.parse(payload);
+
+        assertThat(parsed.getTradeId()).isEqualTo("FX-1");
+        assertThat(parsed.getNotional()).isEqualByComparingTo("1000000");
+        assertThat(parsed.getCurrencyPair()).isEqualTo("EUR/USD");
+    }
+
+    @Test
+    void aTypeOnlyPayloadBindsAnEmptyTrade() throws IOException {
+        Trade parsed = parser.parse("{\"tradeType\":\"EQUITY_OPTION\"}".getBytes());
+
+        assertThat(parsed).isExactlyInstanceOf(EquityOption.class);
+        assertThat(parsed.getTradeType()).isEqualTo(TradeType.EQUITY_OPTION);
+    }
+
+    @Test
+    void malformedPayloadsAreRejected() {
+        assertThatThrownBy(() -> parser.parse("{\"tradeType\":\"BOND\",\"tradeId\":\"B-1\"}".getBytes()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unknown trade type");
+        assertThatThrownBy(() -> parser.parse("[1,2]".getBytes())).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> parser.parse("{\"tradeId\":\"T-1\"}".getBytes())).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> parser.parse("{\"tradeId\":\"T-1\",\"tradeType\":\"FX_FORWARD\"".getBytes()))
+                .isInstanceOf(IOException.class);
+    }
+
+    private void assertMatchesObjectMapper(byte[] payload, TradeType tradeType) throws IOException {
+        Trade expected = objectMapper.readValue(payload, Trade.class);
+        Trade parsed = parser.parse(payload);
+
+        assertThat(parsed).isExactlyInstanceOf(expected.getClass());
+        // The ObjectMapper consumes the discriminator as a type id; the parser also sets it on the trade
+        assertThat(parsed).usingRecursiveComparison().ignoringFields("tradeType").isEqualTo(expected);
+        assertThat(parsed.getTradeType()).isEqualTo(tradeType);
+    }
+
+    private static <T extends Trade> T common(T trade, TradeType tradeType) {
+        trade.setTradeId("T-" + tradeType.name() + "-000042");
+        trade.setTradeType(tradeType);
+        trade.setTradeDate(LocalDate.of(2026, 3, 13));
+        trade.setMaturityDate(LocalDate.of(2031, 3, 17));
+        trade.setNotional(new BigDecimal("25000000.00"));
+        trade.setCurrency(Currency.USD);
+        trade.setCounterparty("Goldman Sachs");
+        trade.setBook("RATES-NY-01");
+        return trade;
+    }
+
+    private static TradeProcessor processor(TradeType tradeType, Class<? extends Trade> tradeClass) {
+        TradeProcessor processor = mock(TradeProcessor.class);
+        doReturn(tradeType).when(processor).tradeType();
+        doReturn(tradeClass).when(processor).tradeClass();
+        return processor;
+    }
+}
@@ -0,0 +1,82 @@
+package com.traderecon.forge.credit;
+
+import com.traderecon.forge.curve.CurveBootstrapper;
+import com.traderecon.forge.curve.CurveDefinition;
+import com.traderecon.forge.curve.DayCount;
+import com.traderecon.forge.curve.DiscountCurve;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CreditCurveBootstrapperTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2026, 3, 17);
+    private static final DiscountCurve DISCOUNT_CURVE = CurveBootstrapper.bootstrap(
+            new CurveDefinition("SOFR", List.of(
+                    new CurveDefinition.Quote("3M", 5.33),
+                    new CurveDefinition.Quote("1Y", 5.10),
+                    new CurveDefinition.Quote("5Y", 4.24),
+                    new CurveDefinition.Quote("10Y", 4.10)),
+                    DayCount.THIRTY_360, 12, DayCount.ACT_360, 3),
+            VALUATION_DATE);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7})
+    void hazardCurveRepricesItsSpreads(int gridDays) {
+        Map<String, Double> spreads = new LinkedHashMap<>();
+        spreads.put("1Y", 95.0);
+        spreads.put("3Y", 145.0);
+        spreads.put("5Y", 190.0);
+        spreads.put("7Y", 215.0);
+        spreads.put("10Y", 235.0);
+        double recovery = 0.4;
+
+        CreditCurve curve = CreditCurveBootstrapper.bootstrap("ford-motor-co", VALUATION_DATE, spreads, recovery,
+                DISCOUNT_CURVE, gridDays, 15);
+
+        spreads.forEach((tenor, bps) -> {
+            LocalDate maturity = CreditCurveBootstrapper.nextImmDate(
+                    CurveBootstrapper.tenorDate(VALUATION_DATE, tenor));
+            double protection = curve.protectionLegPV(maturity, 1.0, recovery);
+            double premium = curve.premiumLegPV(maturity, 1.0, bps / 10_000);
+
+            assertThat(protection - premium).as(tenor).isCloseTo(0.0, within(1e-6));
+        });
+    }
+
+    @Test
+    void survivalDecreasesAndFollowsTheSpread() {
+        CreditCurve tight = CreditCurveBootstrapper.bootstrap("tight", VALUATION_DATE, Map.of("5Y", 50.0), 0.4,
+                DISCOUNT_CURVE, 7, 15);
+        CreditCurve wide = CreditCurveBootstrapper.bootstrap("wide", VALUATION_DATE, Map.of("5Y", 500.0), 0.4,
+                DISCOUNT_CURVE, 7, 15);
+
+        assertThat(tight.survivalProbability(VALUATION_DATE)).isEqualTo(1.0);
+        double previous = 1.0;
+        for (int year = 1; year <= 15; year++) {
+            double next = tight.survivalProbability(VALUATION_DATE.plusYears(year));
+            assertThat(next).isLessThan(previous);
+            assertThat(wide.survivalProbability(VALUATION_DATE.plusYears(year))).isLessThan(next);
+            previous = next;
+        }
+        // Credit triangle: hazard is roughly spread / (1 - recovery)
+        assertThat(-Math.log(tight.survivalProbability(VALUATION_DATE.plusYears(5))) / 5)
+                .isCloseTo(0.005 / 0.6, within(2e-4));
+    }
+
+    @Test
+    void couponsFallOnImmDates() {
+        assertThat(CreditCurveBootstrapper.immDates(LocalDate.of(2026, 3, 20), LocalDate.of(2027, 3, 20)))
+                .containsExactly(LocalDate.of(2026, 6, 20), LocalDate.of(2026, 9, 20), LocalDate.of(2026, 12, 20),
+                        LocalDate.of(2027, 3, 20));
+        assertThat(CreditCurveBootstrapper.nextImmDate(LocalDate.of(2026, 12, 21))).isEqualTo(LocalDate.of(2027, 3, 20));
+    }
+}
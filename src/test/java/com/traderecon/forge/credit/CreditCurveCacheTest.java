@@ -0,0 +1,148 @@
+package com.traderecon.forge.credit;
+
+import com.traderecon.forge.curve.CurveCache;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CreditCurveCacheTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2026, 3, 17);
+    private static final LocalDate MATURITY = LocalDate.of(2031, 3, 20);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessingMetrics metrics = new ProcessingMetrics(registry);
+
+    @Test
+    void configuredEntitiesAreMatchedByName() {
+        CreditCurveCache cache = cache(environment());
+
+        CreditCurve curve = cache.curve("Ford Motor Co.", 100, 0.25, VALUATION_DATE);
+
+        assertThat(curve.getName()).isEqualTo("ford-motor-co");
+        assertThat(cache.curve("FORD MOTOR CO", 300, 0.4, VALUATION_DATE)).isSameAs(curve);
+        // Bootstrapped at the entity's own recovery, so its 5Y quote prices to par there
+        assertThat(curve.protectionLegPV(MATURITY, 1.0, 0.35) - curve.premiumLegPV(MATURITY, 1.0, 0.0190))
+                .isCloseTo(0.0, within(1e-6));
+    }
+
+    @Test
+    void flatCurvesUseTheTradesSpreadAndRecovery() {
+        CreditCurveCache cache = cache(environment());
+
+        CreditCurve curve = cache.curve("Acme Corp", 250, 0.25, VALUATION_DATE);
+
+        assertThat(curve.protectionLegPV(MATURITY, 1.0, 0.25) - curve.premiumLegPV(MATURITY, 1.0, 0.0250))
+                .isCloseTo(0.0, within(1e-6));
+        assertThat(cache.curve("Other Corp", 250, 0.25, VALUATION_DATE)).isSameAs(curve);
+        assertThat(cache.curve("Other Corp", 250, 0.40, VALUATION_DATE)).isNotSameAs(curve);
+        assertThat(cache.curve("Other Corp", 300, 0.25, VALUATION_DATE)).isNotSameAs(curve);
+    }
+
+    @Test
+    void leastRecentlyUsedCurvesAreEvicted() {
+        CreditCurveCache cache = cache(environment().withProperty("processing.credit-curves.max-cached", "2"));
+
+        CreditCurve first = cache.curve("Acme Corp", 100, 0.4, VALUATION_DATE);
+        cache.curve("Acme Corp", 200, 0.4, VALUATION_DATE);
+        assertThat(cache.curve("Acme Corp", 100, 0.4, VALUATION_DATE)).isSameAs(first);
+        cache.curve("Acme Corp", 300, 0.4, VALUATION_DATE);
+
+        assertThat(cache.curve("Acme Corp", 100, 0.4, VALUATION_DATE)).isSameAs(first);
+        assertThat(cache.curve("Acme Corp", 200, 0.4, VALUATION_DATE)).isNotNull();
+        assertThat(registry.get("trade_credit_curves_cached").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void aBuildInProgressDoesNotBlockOtherCurves() throws Exception {
+        MockEnvironment environment = environment();
+        CurveCache discountCurves = new CurveCache(environment, mock(EnrichmentService.class), metrics);
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CurveCache slowOnNextDay = mock(CurveCache.class);
+        when(slowOnNextDay.curve(anyString(), any())).thenAnswer(invocation -> {
+            LocalDate date = invocation.getArgument(1);
+            if (date.equals(VALUATION_DATE.plusDays(1))) {
+                building.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return discountCurves.curve(invocation.getArgument(0), date);
+        });
+        CreditCurveCache cache = new CreditCurveCache(environment, slowOnNextDay, metrics);
+        CreditCurve cached = cache.curve("Acme Corp", 100, 0.4, VALUATION_DATE);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CreditCurve> slow = executor.submit(() -> cache.curve("Acme Corp", 100, 0.4,
+                    VALUATION_DATE.plusDays(1)));
+            assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<CreditCurve> sameKey = executor.submit(() -> cache.curve("Other Corp", 100, 0.4,
+                    VALUATION_DATE.plusDays(1)));
+
+            // Hits and builds of other keys go ahead while the slow build holds no lock
+            assertThat(cache.curve("Acme Corp", 100, 0.4, VALUATION_DATE)).isSameAs(cached);
+            assertThat(cache.curve("Acme Corp", 200, 0.4, VALUATION_DATE)).isNotNull();
+            assertThat(slow.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(sameKey.get(5, TimeUnit.SECONDS)).isSameAs(slow.get(5, TimeUnit.SECONDS));
+            assertThat(registry.get("trade_credit_curve_build_duration").timer().count()).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedBuildsAreNotCached() {
+        MockEnvironment environment = environment();
+        CurveCache discountCurves = new CurveCache(environment, mock(EnrichmentService.class), metrics);
+        CurveCache flaky = mock(CurveCache.class);
+        when(flaky.curve(anyString(), any()))
+                .thenThrow(new IllegalStateException("curve unavailable"))
+                .thenAnswer(invocation -> discountCurves.curve(invocation.getArgument(0), invocation.getArgument(1)));
+        CreditCurveCache cache = new CreditCurveCache(environment, flaky, metrics);
+
+        assertThatThrownBy(() -> cache.curve("Acme Corp", 100, 0.4, VALUATION_DATE))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("curve unavailable");
+        assertThat(cache.curve("Acme Corp", 100, 0.4, VALUATION_DATE)).isNotNull();
+    }
+
+    @Test
+    void malformedQuotesFailAtStartup() {
+        MockEnvironment environment = environment()
+                .withProperty("processing.credit-curves.entities.broken.spreads", "1Y-95");
+
+        assertThatThrownBy(() -> cache(environment)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CreditCurveCache cache(MockEnvironment environment) {
+        CurveCache curveCache = new CurveCache(environment, mock(EnrichmentService.class), metrics);
+        return new CreditCurveCache(environment, curveCache, metrics);
+    }
+
+    private static MockEnvironment environment() {
+        return new MockEnvironment()
+                .withProperty("processing.curves.sofr.quotes", "3M:5.33,1Y:5.10,5Y:4.24,10Y:4.10")
+                .withProperty("processing.credit-curves.entities.ford-motor-co.spreads", "1Y:95,3Y:145,5Y:190")
+                .withProperty("processing.credit-curves.entities.ford-motor-co.recovery-rate", "35")
+                .withProperty("processing.credit-curves.grid-days", "7");
+    }
+}
@@ -0,0 +1,104 @@
+package com.traderecon.forge.curve;
+
+import com.traderecon.forge.pricing.SwapPricing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class CurveBootstrapperTest {
+
+    private static final LocalDate VALUATION_DATE = LocalDate.of(2026, 3, 17);
+    private static final List<CurveDefinition.Quote> QUOTES = List.of(
+            new CurveDefinition.Quote("1M", 5.31),
+            new CurveDefinition.Quote("3M", 5.33),
+            new CurveDefinition.Quote("6M", 5.28),
+            new CurveDefinition.Quote("1Y", 5.10),
+            new CurveDefinition.Quote("2Y", 4.72),
+            new CurveDefinition.Quote("3Y", 4.48),
+            new CurveDefinition.Quote("5Y", 4.24),
+            new CurveDefinition.Quote("7Y", 4.15),
+            new CurveDefinition.Quote("10Y", 4.10));
+
+    @ParameterizedTest
+    @EnumSource(DayCount.class)
+    void depositsRepriceToTheirQuotes(DayCount dayCount) {
+        CurveDefinition definition = definition(dayCount);
+        DiscountCurve curve = CurveBootstrapper.bootstrap(definition, VALUATION_DATE);
+
+        for (CurveDefinition.Quote quote : deposits()) {
+            LocalDate maturity = CurveBootstrapper.tenorDate(VALUATION_DATE, quote.tenor());
+            double accrual = dayCount.yearFraction(VALUATION_DATE, maturity);
+
+            assertThat(curve.discountFactor(maturity) * (1 + quote.ratePercent() / 100 * accrual))
+                    .as(quote.tenor())
+                    .isCloseTo(1.0, within(1e-12));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DayCount.class)
+    void parSwapsRepriceToZero(DayCount dayCount) {
+        CurveDefinition definition = definition(dayCount);
+        DiscountCurve curve = CurveBootstrapper.bootstrap(definition, VALUATION_DATE);
+
+        for (CurveDefinition.Quote quote : swaps()) {
+            LocalDate maturity = CurveBootstrapper.tenorDate(VALUATION_DATE, quote.tenor());
+            LocalDate firstPayment = VALUATION_DATE.plusMonths(definition.floatingFrequencyMonths());
+            double firstFixing = curve.forwardRate(VALUATION_DATE, firstPayment, definition.floatingDayCount());
+
+            double fixed = SwapPricing.fixedLegPV(curve, 1.0, quote.ratePercent() / 100,
+                    definition.fixedDayCount(), definition.fixedFrequencyMonths(), VALUATION_DATE, maturity);
+            double floating = SwapPricing.floatingLegPV(curve, 1.0, firstFixing, 0,
+                    definition.floatingDayCount(), definition.floatingFrequencyMonths(), VALUATION_DATE, maturity);
+
+            assertThat(fixed - floating).as(quote.tenor()).isCloseTo(0.0, within(1e-10));
+            assertThat(fixed + curve.discountFactor(maturity)).as(quote.tenor()).isCloseTo(1.0, within(1e-10));
+        }
+    }
+
+    @Test
+    void discountFactorsDecreaseWithMaturity() {
+        DiscountCurve curve = CurveBootstrapper.bootstrap(definition(DayCount.ACT_360), VALUATION_DATE);
+
+        double previous = curve.discountFactor(VALUATION_DATE);
+        assertThat(previous).isEqualTo(1.0);
+        for (int months = 1; months <= 180; months++) {
+            double next = curve.discountFactor(VALUATION_DATE.plusMonths(months));
+            assertThat(next).isLessThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void tradeConventionsAreParsed() {
+        assertThat(DayCount.fromConvention("ACT/360")).isEqualTo(DayCount.ACT_360);
+        assertThat(DayCount.fromConvention("act/365f")).isEqualTo(DayCount.ACT_365F);
+        assertThat(DayCount.fromConvention("30/360")).isEqualTo(DayCount.THIRTY_360);
+        assertThat(ScheduleGenerator.frequencyMonths("QUARTERLY")).isEqualTo(3);
+        assertThat(ScheduleGenerator.frequencyMonths("SEMI_ANNUAL")).isEqualTo(6);
+        assertThat(ScheduleGenerator.frequencyMonths("ANNUAL")).isEqualTo(12);
+
+        assertThatThrownBy(() -> DayCount.fromConvention("ACT/ACT")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScheduleGenerator.frequencyMonths("WEEKLY"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CurveDefinition definition(DayCount dayCount) {
+        return new CurveDefinition("SOFR", QUOTES, dayCount, 12, dayCount, 3);
+    }
+
+    private static List<CurveDefinition.Quote> deposits() {
+        return QUOTES.subList(0, 4);
+    }
+
+    private static List<CurveDefinition.Quote> swaps() {
+        return QUOTES.subList(4, QUOTES.size());
+    }
+}
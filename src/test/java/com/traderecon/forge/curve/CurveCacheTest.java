@@ -0,0 +1,74 @@
+package com.traderecon.forge.curve;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CurveCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 17);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EnrichmentService enrichmentService = mock(EnrichmentService.class);
+    private final CurveCache cache = new CurveCache(new MockEnvironment()
+            .withProperty("processing.curves.sofr.quotes", "3M:5.33,1Y:5.10,5Y:4.24")
+            .withProperty("processing.curves.max-cached", "3"),
+            enrichmentService, new ProcessingMetrics(registry));
+
+    @Test
+    void curvesAreBuiltOncePerIndexAndDate() {
+        DiscountCurve curve = cache.curve("SOFR", TODAY);
+
+        assertThat(cache.curve("sofr", TODAY)).isSameAs(curve);
+        assertThat(cache.curve("SOFR", TODAY.plusDays(1))).isNotSameAs(curve);
+        assertThat(curve.getDefinition().quotes()).hasSize(3);
+    }
+
+    @Test
+    void indicesWithoutQuotesGetAFlatCurve() {
+        when(enrichmentService.getRateByIndex("EURIBOR")).thenReturn(new BigDecimal("3.90"));
+
+        DiscountCurve curve = cache.curve("EURIBOR", TODAY);
+
+        assertThat(curve.getDefinition().quotes()).containsExactly(new CurveDefinition.Quote("1Y", 3.90));
+    }
+
+    @Test
+    void replaysInAnyDateOrderStayBounded() {
+        for (int day = 0; day < 30; day++) {
+            cache.curve("SOFR", TODAY.minusDays(day));
+            assertThat(gauge()).isLessThanOrEqualTo(3.0);
+        }
+        for (int day = 0; day < 30; day++) {
+            cache.curve("SOFR", TODAY.minusDays(day * 7L % 30));
+        }
+
+        assertThat(gauge()).isEqualTo(3.0);
+    }
+
+    @Test
+    void leastRecentlyUsedCurvesAreEvicted() {
+        DiscountCurve today = cache.curve("SOFR", TODAY);
+        DiscountCurve yesterday = cache.curve("SOFR", TODAY.minusDays(1));
+        cache.curve("SOFR", TODAY.minusDays(2));
+        assertThat(cache.curve("SOFR", TODAY)).isSameAs(today);
+
+        cache.curve("SOFR", TODAY.minusDays(3));
+
+        assertThat(cache.curve("SOFR", TODAY)).isSameAs(today);
+        assertThat(cache.curve("SOFR", TODAY.minusDays(1))).isNotSameAs(yesterday);
+    }
+
+    private double gauge() {
+        return registry.get("trade_curves_cached").gauge().value();
+    }
+}
@@ -0,0 +1,66 @@
+package com.traderecon.forge.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class FxForwardGridTest {
+
+    private static final LocalDate SPOT_DATE = LocalDate.of(2026, 3, 19);
+    private static final long[] DAYS = {
+            SPOT_DATE.toEpochDay(),
+            SPOT_DATE.plusDays(30).toEpochDay(),
+            SPOT_DATE.plusDays(90).toEpochDay()
+    };
+
+    private final FxForwardGrid grid = new FxForwardGrid("EUR/USD", 1.08, DAYS, new double[]{0, 0.0030, 0.0090});
+
+    @Test
+    void nodesReturnTheirPoints() {
+        assertThat(grid.forwardPoints(SPOT_DATE)).isEqualTo(0.0);
+        assertThat(grid.forwardPoints(SPOT_DATE.plusDays(30))).isCloseTo(0.0030, within(1e-15));
+        assertThat(grid.forwardPoints(SPOT_DATE.plusDays(90))).isCloseTo(0.0090, within(1e-15));
+        assertThat(grid.forwardRate(SPOT_DATE.plusDays(90))).isCloseTo(1.0890, within(1e-15));
+    }
+
+    @Test
+    void brokenDatesInterpolateLinearlyInDays() {
+        assertThat(grid.forwardPoints(SPOT_DATE.plusDays(15))).isCloseTo(0.0015, within(1e-15));
+        assertThat(grid.forwardPoints(SPOT_DATE.plusDays(60))).isCloseTo(0.0060, within(1e-15));
+    }
+
+    @Test
+    void datesBeforeSpotAreClampedToSpot() {
+        assertThat(grid.forwardPoints(SPOT_DATE.minusDays(1))).isEqualTo(0.0);
+        assertThat(grid.forwardPoints(SPOT_DATE.minusDays(30))).isEqualTo(0.0);
+        assertThat(grid.forwardRate(SPOT_DATE.minusDays(2))).isEqualTo(1.08);
+    }
+
+    @Test
+    void datesPastTheLastTenorExtendTheLastSegment() {
+        assertThat(grid.forwardPoints(SPOT_DATE.plusDays(150))).isCloseTo(0.0150, within(1e-15));
+    }
+
+    @Test
+    void crossPairsAreTheRatioOfTheirUsdLegs() {
+        FxMarketSnapshot snapshot = new FxMarketSnapshot(SPOT_DATE.minusDays(2), SPOT_DATE, DAYS, Map.of(), Map.of(
+                "USD", new double[]{1, 1, 1},
+                "EUR", new double[]{1.08, 1.083, 1.089},
+                "GBP", new double[]{1.27, 1.271, 1.273}));
+
+        FxForwardGrid cross = snapshot.grid("EUR/GBP");
+        FxForwardGrid usdBase = snapshot.grid("USD/GBP");
+
+        assertThat(cross.getSpot()).isCloseTo(1.08 / 1.27, within(1e-15));
+        assertThat(cross.forwardRate(SPOT_DATE.plusDays(90))).isCloseTo(1.089 / 1.273, within(1e-15));
+        assertThat(usdBase.forwardRate(SPOT_DATE.plusDays(30))).isCloseTo(1 / 1.271, within(1e-15));
+        assertThat(snapshot.grid("EUR/GBP")).isSameAs(cross);
+        assertThatThrownBy(() -> snapshot.grid("EUR/NZD")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> snapshot.grid("EURGBP")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.traderecon.forge.fx;
+
+import com.traderecon.forge.curve.CurveCache;
+import com.traderecon.forge.marketdata.MarketDataStore;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.service.EnrichmentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FxMarketCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 17);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger builds = new AtomicInteger();
+    private final FxMarketCache cache;
+
+    FxMarketCacheTest() {
+        EnrichmentService enrichmentService = mock(EnrichmentService.class);
+        when(enrichmentService.getRateByIndex(anyString())).thenReturn(new BigDecimal("4.00"));
+        ProcessingMetrics metrics = new ProcessingMetrics(registry);
+        CurveCache curveCache = new CurveCache(new MockEnvironment(), enrichmentService, metrics);
+        cache = new FxMarketCache(new MockEnvironment()
+                .withProperty("processing.fx.pairs", "EUR/USD")
+                .withProperty("processing.fx.max-cached", "3"),
+                curveCache, mock(MarketDataStore.class), metrics);
+    }
+
+    @Test
+    void snapshotsAreBuiltOncePerDateAndVersion() {
+        FxMarketSnapshot snapshot = cache.snapshot(TODAY, 1, spots());
+
+        assertThat(cache.snapshot(TODAY, 1, spots())).isSameAs(snapshot);
+        assertThat(cache.snapshot(TODAY, 2, spots())).isNotSameAs(snapshot);
+        assertThat(builds).hasValue(2);
+    }
+
+    @Test
+    void replaysInAnyDateOrderStayBounded() {
+        for (int day = 0; day < 20; day++) {
+            cache.snapshot(TODAY.minusDays(day * 7L % 20), 1, spots());
+            assertThat(gridGauge()).isLessThanOrEqualTo(3.0);
+        }
+
+        assertThat(gridGauge()).isEqualTo(3.0);
+    }
+
+    @Test
+    void leastRecentlyUsedSnapshotsAreEvicted() {
+        FxMarketSnapshot today = cache.snapshot(TODAY, 1, spots());
+        FxMarketSnapshot yesterday = cache.snapshot(TODAY.minusDays(1), 1, spots());
+        cache.snapshot(TODAY.minusDays(2), 1, spots());
+
+        cache.snapshot(TODAY, 1, spots());
+        cache.snapshot(TODAY.minusDays(3), 1, spots());
+
+        assertThat(cache.snapshot(TODAY, 1, spots())).isSameAs(today);
+        assertThat(cache.snapshot(TODAY.minusDays(1), 1, spots())).isNotSameAs(yesterday);
+    }
+
+    @Test
+    void olderVersionsStayUsableForTradesStillInFlight() {
+        FxMarketSnapshot first = cache.snapshot(TODAY, 1, spots());
+        cache.snapshot(TODAY, 2, spots());
+
+        assertThat(cache.snapshot(TODAY, 1, spots())).isSameAs(first);
+    }
+
+    private Supplier<Map<String, BigDecimal>> spots() {
+        return () -> {
+            builds.incrementAndGet();
+            return Map.of("EUR/USD", new BigDecimal("1.08"));
+        };
+    }
+
+    private double gridGauge() {
+        return registry.get("trade_fx_grids_cached").gauge().value();
+    }
+}
@@ -0,0 +1,128 @@
+package com.traderecon.forge.marketdata;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarSeriesFileTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2025, 12, 29);
+    private static final int DAYS = 40;
+    private static final int SYMBOLS = 7;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void valuesRoundTripAcrossSegmentBoundaries() throws IOException {
+        // Symbol s starts on day s and is observed every (s + 1) days, so gaps carry forward
+        List<String> rows = new ArrayList<>();
+        rows.add("date,symbol,value");
+        for (int s = 0; s < SYMBOLS; s++) {
+            for (int d = s; d < DAYS; d += s + 1) {
+                rows.add(FIRST.plusDays(d) + "," + symbol(s) + "," + observation(s, d));
+            }
+        }
+        Path column = importCsv(rows);
+
+        // Three columns per segment: segments of 3, 3 and 1
+        ColumnarSeriesFile segmented = ColumnarSeriesFile.open(column, 3L * DAYS * Double.BYTES);
+        ColumnarSeriesFile single = ColumnarSeriesFile.open(column);
+
+        assertThat(segmented.getSymbolCount()).isEqualTo(SYMBOLS);
+        assertThat(segmented.getFirstDate()).isEqualTo(FIRST);
+        assertThat(segmented.getLastDate()).isEqualTo(FIRST.plusDays(DAYS - 1));
+        assertThat(segmented.getMappedBytes()).isEqualTo((long) SYMBOLS * DAYS * Double.BYTES);
+        for (int s = 0; s < SYMBOLS; s++) {
+            int index = segmented.getColumns().get(symbol(s));
+            assertThat(single.getColumns().get(symbol(s))).isEqualTo(index);
+            for (int d = -1; d <= DAYS; d++) {
+                LocalDate date = FIRST.plusDays(d);
+                assertValue(segmented.value(index, date), s, d);
+                assertValue(single.value(index, date), s, d);
+            }
+        }
+        assertThat(segmented.values(FIRST.plusDays(2))).containsOnlyKeys(symbol(0), symbol(1), symbol(2));
+    }
+
+    @Test
+    void quotedSymbolsMayContainCommas() throws IOException {
+        Path column = importCsv(List.of(
+                FIRST + ",\"Goldman Sachs, Inc.\",125.5",
+                "",
+                FIRST.plusDays(3) + ",\"Goldman Sachs, Inc.\",130"));
+
+        ColumnarSeriesFile file = ColumnarSeriesFile.open(column);
+        int index = file.getColumns().get("Goldman Sachs, Inc.");
+
+        assertThat(file.value(index, FIRST.plusDays(2))).isEqualTo(125.5);
+        assertThat(file.value(index, FIRST.plusDays(3))).isEqualTo(130.0);
+    }
+
+    @Test
+    void unsortedRowsAreRejected() {
+        assertThatThrownBy(() -> importCsv(List.of(
+                FIRST + ",MSFT,1", FIRST + ",AAPL,2")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("sorted");
+        assertThatThrownBy(() -> importCsv(List.of(
+                FIRST.plusDays(1) + ",AAPL,1", FIRST + ",AAPL,2")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("sorted");
+        assertThatThrownBy(() -> importCsv(List.of(
+                FIRST + ",AAPL,1", FIRST + ",AAPL,2")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("sorted");
+    }
+
+    @Test
+    void malformedAndEmptyFilesAreRejected() {
+        assertThatThrownBy(() -> importCsv(List.of(FIRST + ",AAPL,abc"))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> importCsv(List.of("2026-13-01,AAPL,1"))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> importCsv(List.of(FIRST + "-AAPL"))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> importCsv(List.of("date,symbol,value"))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ColumnarSeriesFile.open(Files.writeString(directory.resolve("junk.col"),
+                "not a series file at all"))).isInstanceOf(IOException.class);
+    }
+
+    private Path importCsv(List<String> rows) throws IOException {
+        Path csv = Files.write(directory.resolve("series.csv"), rows, StandardCharsets.UTF_8);
+        Path column = directory.resolve("series.col");
+        ColumnarSeriesFile.importCsv(csv, column);
+        return column;
+    }
+
+    private static void assertValue(double actual, int s, int d) {
+        double expected = expected(s, d);
+        if (Double.isNaN(expected)) {
+            assertThat(actual).as("%s on day %d", symbol(s), d).isNaN();
+        } else {
+            assertThat(actual).as("%s on day %d", symbol(s), d).isEqualTo(expected);
+        }
+    }
+
+    private static String symbol(int s) {
+        return "SYM" + s;
+    }
+
+    private static double observation(int s, int d) {
+        return 100 * s + d + 0.25;
+    }
+
+    private static double expected(int s, int d) {
+        if (d < s || d >= DAYS) {
+            return Double.NaN;
+        }
+        return observation(s, d - (d - s) % (s + 1));
+    }
+}
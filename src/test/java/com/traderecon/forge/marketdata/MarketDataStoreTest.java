@@ -0,0 +1,122 @@
+package com.traderecon.forge.marketdata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarketDataStoreTest {
+
+    private static final String RATES = """
+            {"rates": {"SOFR": %s}, "fxSpots": {"EUR/USD": 1.0850}, "counterpartyTiers": {"UBS": "TIER_2"}}
+            """;
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessingMetrics metrics = new ProcessingMetrics(registry);
+    private final SymbolDictionary symbols = new SymbolDictionary(new MockEnvironment(), metrics);
+    private MarketDataStore store;
+
+    @AfterEach
+    void shutdown() {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    void changedContentIsPublishedAsTheNextVersion() throws IOException {
+        store = store(RATES.formatted("5.30"));
+        MarketDataSnapshot first = store.current();
+
+        write(RATES.formatted("5.25"));
+
+        assertThat(store.reload()).isTrue();
+        MarketDataSnapshot second = store.current();
+        assertThat(first.getVersion()).isEqualTo(1);
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.rate("sofr")).isEqualByComparingTo("5.25");
+        // Readers holding the previous version keep a consistent view
+        assertThat(first.rate("SOFR")).isEqualByComparingTo("5.30");
+        assertThat(reloads("loaded")).isEqualTo(2.0);
+        assertThat(registry.get("trade_market_data_version").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void unchangedContentIsNotReloaded() throws IOException {
+        store = store(RATES.formatted("5.30"));
+        MarketDataSnapshot first = store.current();
+
+        write(RATES.formatted("5.30"));
+
+        assertThat(store.reload()).isTrue();
+        assertThat(store.current()).isSameAs(first);
+        assertThat(reloads("loaded")).isEqualTo(1.0);
+    }
+
+    @Test
+    void aFileThatFailsToParseKeepsTheCurrentVersion() throws IOException {
+        store = store(RATES.formatted("5.30"));
+        MarketDataSnapshot first = store.current();
+
+        write("{\"rates\": {\"SOFR\": ");
+
+        assertThat(store.reload()).isFalse();
+        assertThat(store.current()).isSameAs(first);
+        assertThat(reloads("failed")).isEqualTo(1.0);
+
+        write(RATES.formatted("5.25"));
+
+        assertThat(store.reload()).isTrue();
+        assertThat(store.current().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void startupFailsWithoutReadableMarketData() throws IOException {
+        write("not json");
+
+        assertThatThrownBy(() -> store(null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void missingKeysAreNullAndUnknownSectionsEmpty() throws IOException {
+        store = store(RATES.formatted("5.30"));
+        MarketDataSnapshot snapshot = store.current();
+
+        assertThat(snapshot.rate("EURIBOR")).isNull();
+        assertThat(snapshot.rate("NOT_AN_INDEX")).isNull();
+        assertThat(snapshot.fxSpots()).containsEntry("EUR/USD", new BigDecimal("1.0850"));
+        assertThat(snapshot.equityPrice(null)).isNull();
+    }
+
+    private MarketDataStore store(String content) throws IOException {
+        if (content != null) {
+            write(content);
+        }
+        return new MarketDataStore(new DefaultResourceLoader(), new ObjectMapper(), symbols, metrics,
+                directory.resolve("market-data.json").toUri().toString(), 0);
+    }
+
+    private void write(String content) throws IOException {
+        Files.writeString(directory.resolve("market-data.json"), content);
+    }
+
+    private double reloads(String result) {
+        return registry.get("trade_market_data_reloads_total").tag("result", result).counter().count();
+    }
+}
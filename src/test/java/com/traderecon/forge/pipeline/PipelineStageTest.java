@@ -0,0 +1,180 @@
+package com.traderecon.forge.pipeline;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.Deadline;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
+import com.traderecon.forge.processor.TradeProcessor;
+import io.annapurna.model.InterestRateSwap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PipelineStageTest {
+
+    private final ProcessingMetrics metrics = new ProcessingMetrics(new SimpleMeterRegistry());
+    private final TradeProcessor processor = mock(TradeProcessor.class);
+    private final List<String> steps = new CopyOnWriteArrayList<>();
+    private final List<PipelineStage> stages = new ArrayList<>();
+
+    PipelineStageTest() {
+        when(processor.success(any())).thenAnswer(invocation ->
+                ProcessingResult.success(invocation.<TradeContext>getArgument(0).getTrade().getTradeId()));
+        when(processor.failure(any(), any())).thenAnswer(invocation -> ProcessingResult.failure(
+                invocation.<TradeContext>getArgument(0).getTrade().getTradeId(),
+                ProcessingStatus.PROCESSING_FAILED, invocation.<Exception>getArgument(1).getMessage()));
+    }
+
+    @AfterEach
+    void stopStages() {
+        stages.forEach(PipelineStage::stop);
+    }
+
+    @Test
+    void tasksRunEveryStageInOrder() throws Exception {
+        PipelineStage first = stage("validate", record("validate"), null);
+        PipelineStage second = stage("book", record("book"), null);
+        first.setNext(second);
+        startAll();
+
+        PipelineStage.Task task = task("T-1", Duration.ofSeconds(5));
+        assertThat(first.offer(task)).isTrue();
+
+        ProcessingResult result = task.result().get(5, TimeUnit.SECONDS);
+        assertThat(result.getStatus()).isEqualTo(ProcessingStatus.SUCCESS);
+        assertThat(steps).containsExactly("validate:T-1", "book:T-1");
+    }
+
+    @Test
+    void aFailedStepCompletesTheTaskWithoutAdvancing() throws Exception {
+        PipelineStage first = stage("validate", (processor, context) -> {
+            throw new IllegalArgumentException("bad trade");
+        }, null);
+        PipelineStage second = stage("book", record("book"), null);
+        first.setNext(second);
+        startAll();
+
+        PipelineStage.Task task = task("T-1", Duration.ofSeconds(5));
+        first.offer(task);
+
+        ProcessingResult result = task.result().get(5, TimeUnit.SECONDS);
+        assertThat(result.getStatus()).isEqualTo(ProcessingStatus.PROCESSING_FAILED);
+        assertThat(result.getErrorMessage()).isEqualTo("bad trade");
+        assertThat(steps).isEmpty();
+    }
+
+    @Test
+    void aFailedBatchFallsBackToOneByOne() throws Exception {
+        PipelineStage stage = stage("price", (processor, context) -> {
+            if (context.getTrade().getTradeId().equals("T-BAD")) {
+                throw new IllegalStateException("no curve");
+            }
+            steps.add("price:" + context.getTrade().getTradeId());
+        }, (processor, contexts) -> {
+            throw new IllegalStateException("batch failed");
+        });
+
+        // Queued before the workers start, so they land in one batch
+        PipelineStage.Task good = task("T-GOOD", Duration.ofSeconds(5));
+        PipelineStage.Task bad = task("T-BAD", Duration.ofSeconds(5));
+        stage.offer(good);
+        stage.offer(bad);
+        startAll();
+
+        assertThat(good.result().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(ProcessingStatus.SUCCESS);
+        assertThat(bad.result().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(ProcessingStatus.PROCESSING_FAILED);
+        assertThat(steps).containsExactly("price:T-GOOD");
+    }
+
+    @Test
+    void expiredTasksFailAtTheCheckpoint() throws Exception {
+        PipelineStage stage = stage("enrich", record("enrich"), null);
+        startAll();
+
+        PipelineStage.Task task = task("T-1", Duration.ofMillis(-1));
+        stage.offer(task);
+
+        assertThat(task.result().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(ProcessingStatus.PROCESSING_FAILED);
+        assertThat(steps).isEmpty();
+    }
+
+    @Test
+    void idleWorkersParkUntilAnOfferWakesThem() throws Exception {
+        PipelineStage stage = stage("idle", record("idle"), null);
+        startAll();
+
+        Thread worker = awaitWorker("pipeline-idle-0");
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (worker.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        // Parked without a timeout, not polling
+        assertThat(worker.getState()).isEqualTo(Thread.State.WAITING);
+
+        PipelineStage.Task task = task("T-1", Duration.ofSeconds(5));
+        stage.offer(task);
+
+        assertThat(task.result().get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(ProcessingStatus.SUCCESS);
+    }
+
+    @Test
+    void stopWakesParkedWorkers() throws Exception {
+        PipelineStage stage = stage("stopping", record("stopping"), null);
+        startAll();
+        Thread worker = awaitWorker("pipeline-stopping-0");
+
+        stage.stop();
+        worker.join(5_000);
+
+        assertThat(worker.isAlive()).isFalse();
+    }
+
+    private PipelineStage stage(String name, BiConsumer<TradeProcessor, TradeContext> step,
+                                BiConsumer<TradeProcessor, List<TradeContext>> batchStep) {
+        PipelineStage stage = new PipelineStage(name, 16, 1, 8, step, batchStep, metrics);
+        stages.add(stage);
+        return stage;
+    }
+
+    private void startAll() {
+        stages.forEach(PipelineStage::start);
+    }
+
+    private BiConsumer<TradeProcessor, TradeContext> record(String name) {
+        return (processor, context) -> steps.add(name + ":" + context.getTrade().getTradeId());
+    }
+
+    private PipelineStage.Task task(String tradeId, Duration budget) {
+        InterestRateSwap trade = new InterestRateSwap();
+        trade.setTradeId(tradeId);
+        return new PipelineStage.Task(processor, new TradeContext(trade, null, Deadline.after(budget)),
+                new CompletableFuture<>());
+    }
+
+    private static Thread awaitWorker(String name) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().equals(name)) {
+                    return thread;
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Worker " + name + " did not start");
+    }
+}
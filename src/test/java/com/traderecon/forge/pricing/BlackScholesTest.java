@@ -0,0 +1,96 @@
+package com.traderecon.forge.pricing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BlackScholesTest {
+
+    @Test
+    void matchesTheTextbookValues() {
+        // Hull: S=100, K=100, T=1, sigma=20%, r=5%, no dividend
+        assertThat(price(true, 100, 100, 1, 0.2, 0.05, 0)).isCloseTo(10.450584, within(1e-6));
+        assertThat(price(false, 100, 100, 1, 0.2, 0.05, 0)).isCloseTo(5.573526, within(1e-6));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "100, 100, 1.0, 0.20, 0.05, 0.00",
+            "100, 120, 0.5, 0.35, 0.03, 0.02",
+            "250, 180, 2.0, 0.15, 0.01, 0.04",
+            "42, 45, 0.02, 0.60, 0.00, 0.00",
+            "100, 100, 5.0, 0.25, -0.005, 0.01"
+    })
+    void callsAndPutsSatisfyParity(double s, double k, double t, double sigma, double r, double q) {
+        double call = price(true, s, k, t, sigma, r, q);
+        double put = price(false, s, k, t, sigma, r, q);
+
+        assertThat(call - put).isCloseTo(s * Math.exp(-q * t) - k * Math.exp(-r * t), within(1e-9));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "true, 100, 100, 1.0, 0.20, 0.05, 0.00",
+            "false, 100, 100, 1.0, 0.20, 0.05, 0.00",
+            "true, 100, 120, 0.5, 0.35, 0.03, 0.02",
+            "false, 250, 180, 2.0, 0.15, 0.01, 0.04",
+            "false, 42, 45, 0.1, 0.60, 0.02, 0.00"
+    })
+    void greeksMatchFiniteDifferences(boolean call, double s, double k, double t, double sigma, double r, double q) {
+        OptionBatch batch = new OptionBatch(1);
+        batch.add(call, s, k, t, sigma, r, q);
+        BlackScholes.evaluate(batch, 0, 1);
+
+        double ds = s * 1e-4;
+        double dVol = 1e-5;
+        double dt = 1e-5;
+        double delta = (price(call, s + ds, k, t, sigma, r, q) - price(call, s - ds, k, t, sigma, r, q)) / (2 * ds);
+        double gamma = (price(call, s + ds, k, t, sigma, r, q) - 2 * price(call, s, k, t, sigma, r, q)
+                + price(call, s - ds, k, t, sigma, r, q)) / (ds * ds);
+        double vega = (price(call, s, k, t, sigma + dVol, r, q) - price(call, s, k, t, sigma - dVol, r, q))
+                / (2 * dVol);
+        // Theta is the change in value as calendar time passes, i.e. as expiry gets closer
+        double theta = -(price(call, s, k, t + dt, sigma, r, q) - price(call, s, k, t - dt, sigma, r, q)) / (2 * dt);
+
+        assertThat(batch.delta(0)).isCloseTo(delta, within(1e-6));
+        assertThat(batch.gamma(0)).isCloseTo(gamma, within(1e-4));
+        assertThat(batch.vega(0)).isCloseTo(vega, within(1e-4));
+        assertThat(batch.theta(0)).isCloseTo(theta, within(1e-4));
+    }
+
+    @Test
+    void expiredOptionsAreWorthIntrinsic() {
+        OptionBatch batch = new OptionBatch(2);
+        batch.add(true, 110, 100, 0, 0.2, 0.05, 0);
+        batch.add(false, 110, 100, 0, 0.2, 0.05, 0);
+        BlackScholes.evaluate(batch, 0, 2);
+
+        assertThat(batch.price(0)).isCloseTo(10, within(1e-12));
+        assertThat(batch.delta(0)).isEqualTo(1);
+        assertThat(batch.price(1)).isZero();
+        assertThat(batch.delta(1)).isZero();
+        assertThat(batch.gamma(0)).isZero();
+        assertThat(batch.vega(0)).isZero();
+    }
+
+    @Test
+    void normalCdfIsAccurateAndSymmetric() {
+        assertThat(BlackScholes.normalCdf(0)).isEqualTo(0.5);
+        assertThat(BlackScholes.normalCdf(1.959963984540054)).isCloseTo(0.975, within(1e-14));
+        assertThat(BlackScholes.normalCdf(-1)).isCloseTo(0.15865525393145707, within(1e-14));
+        assertThat(BlackScholes.normalCdf(8)).isCloseTo(1, within(1e-15));
+        for (double x = -6; x <= 6; x += 0.37) {
+            assertThat(BlackScholes.normalCdf(x) + BlackScholes.normalCdf(-x)).isCloseTo(1, within(1e-15));
+        }
+    }
+
+    private static double price(boolean call, double s, double k, double t, double sigma, double r, double q) {
+        OptionBatch batch = new OptionBatch(1);
+        batch.add(call, s, k, t, sigma, r, q);
+        BlackScholes.evaluate(batch, 0, 1);
+        return batch.price(0);
+    }
+}
@@ -0,0 +1,41 @@
+package com.traderecon.forge.pricing;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OptionAnalyticsEngineTest {
+
+    @Test
+    void splitBatchesMatchSerialEvaluation() {
+        OptionAnalyticsEngine engine = new OptionAnalyticsEngine(3, 4,
+                new ProcessingMetrics(new SimpleMeterRegistry()));
+        try {
+            OptionBatch split = batch(37);
+            OptionBatch serial = batch(37);
+
+            engine.evaluate(split);
+            BlackScholes.evaluate(serial, 0, serial.size());
+
+            for (int i = 0; i < 37; i++) {
+                assertThat(split.price(i)).isEqualTo(serial.price(i));
+                assertThat(split.delta(i)).isEqualTo(serial.delta(i));
+                assertThat(split.gamma(i)).isEqualTo(serial.gamma(i));
+                assertThat(split.vega(i)).isEqualTo(serial.vega(i));
+                assertThat(split.theta(i)).isEqualTo(serial.theta(i));
+            }
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static OptionBatch batch(int size) {
+        OptionBatch batch = new OptionBatch(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(i % 2 == 0, 80 + i, 100, 0.1 + i * 0.05, 0.15 + i * 0.01, 0.03, 0.01);
+        }
+        return batch;
+    }
+}
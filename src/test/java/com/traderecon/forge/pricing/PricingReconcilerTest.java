@@ -0,0 +1,92 @@
+package com.traderecon.forge.pricing;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import io.annapurna.model.TradeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class PricingReconcilerTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessingMetrics metrics = new ProcessingMetrics(registry);
+
+    @Test
+    void onlyTheTwoModesAreAccepted() {
+        assertThat(new PricingReconciler("primitive", 0.01, TOLERANCE, metrics).isPrimitive()).isTrue();
+        assertThat(new PricingReconciler("decimal", 0.01, TOLERANCE, metrics).isPrimitive()).isFalse();
+
+        assertThatThrownBy(() -> new PricingReconciler("Primitive", 0.01, TOLERANCE, metrics))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("processing.pricing.mode");
+        assertThatThrownBy(() -> new PricingReconciler("double", 0.01, TOLERANCE, metrics))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decimalModeAndAZeroRateNeverShadow() {
+        PricingReconciler decimal = new PricingReconciler("decimal", 1.0, TOLERANCE, metrics);
+        PricingReconciler disabled = new PricingReconciler("primitive", 0.0, TOLERANCE, metrics);
+        PricingReconciler always = new PricingReconciler("primitive", 1.0, TOLERANCE, metrics);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(decimal.shouldShadow()).isFalse();
+            assertThat(disabled.shouldShadow()).isFalse();
+            assertThat(always.shouldShadow()).isTrue();
+        }
+    }
+
+    @Test
+    void largeValuesAreComparedRelatively() {
+        PricingReconciler reconciler = new PricingReconciler("primitive", 1.0, TOLERANCE, metrics);
+
+        reconciler.reconcile(TradeType.EQUITY_SWAP, "EQ-1", "swapValue", 1_000_000.0009, new BigDecimal("1000000"));
+        reconciler.reconcile(TradeType.EQUITY_SWAP, "EQ-1", "swapValue", 1_000_000.0011, new BigDecimal("1000000"));
+        reconciler.reconcile(TradeType.EQUITY_SWAP, "EQ-1", "swapValue", -1_000_000.0011, new BigDecimal("-1000000"));
+
+        assertThat(shadows("match")).isEqualTo(1.0);
+        assertThat(shadows("mismatch")).isEqualTo(2.0);
+        assertThat(registry.get("trade_pricing_divergence").tag("measure", "swapValue").summary().max())
+                .isCloseTo(1.1e-9, within(1e-12));
+    }
+
+    @Test
+    void valuesBelowOneAreComparedAbsolutely() {
+        PricingReconciler reconciler = new PricingReconciler("primitive", 1.0, TOLERANCE, metrics);
+
+        reconciler.reconcile(TradeType.EQUITY_OPTION, "OPT-1", "intrinsicValue", 0.0, BigDecimal.ZERO);
+        reconciler.reconcile(TradeType.EQUITY_OPTION, "OPT-1", "intrinsicValue", 0.0000000009, BigDecimal.ZERO);
+        reconciler.reconcile(TradeType.EQUITY_OPTION, "OPT-1", "intrinsicValue", 0.0010000011,
+                new BigDecimal("0.001"));
+
+        assertThat(shadows("match")).isEqualTo(2.0);
+        assertThat(shadows("mismatch")).isEqualTo(1.0);
+        assertThat(registry.get("trade_pricing_divergence").tag("measure", "intrinsicValue").summary().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void theToleranceItselfStillMatches() {
+        PricingReconciler reconciler = new PricingReconciler("primitive", 1.0, 0.5, metrics);
+
+        reconciler.reconcile(TradeType.EQUITY_SWAP, "EQ-1", "equityLegValue", 3.0, new BigDecimal("2"));
+        reconciler.reconcile(TradeType.EQUITY_SWAP, "EQ-1", "equityLegValue", 0.5, BigDecimal.ZERO);
+        reconciler.reconcile(TradeType.EQUITY_SWAP, "EQ-1", "equityLegValue", 0.75, BigDecimal.ZERO);
+
+        assertThat(shadows("match")).isEqualTo(2.0);
+        assertThat(shadows("mismatch")).isEqualTo(1.0);
+    }
+
+    private double shadows(String result) {
+        return registry.find("trade_pricing_shadow_total").tag("result", result).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
@@ -0,0 +1,34 @@
+package com.traderecon.forge.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PrimitivePricingTest {
+
+    @Test
+    void swapLegsMatchTheDecimalFormulas() {
+        BigDecimal notional = new BigDecimal("12345678.90");
+        BigDecimal sofr = new BigDecimal("5.31");
+
+        BigDecimal equityLeg = notional.multiply(BigDecimal.valueOf(0.08));
+        BigDecimal fundingLeg = notional.multiply(sofr.divide(BigDecimal.valueOf(100))).multiply(BigDecimal.valueOf(0.5));
+
+        assertThat(PrimitivePricing.equityLegValue(notional.doubleValue()))
+                .isCloseTo(equityLeg.doubleValue(), within(1e-6));
+        assertThat(PrimitivePricing.fundingLegValue(notional.doubleValue(), sofr.doubleValue()))
+                .isCloseTo(fundingLeg.doubleValue(), within(1e-6));
+    }
+
+    @Test
+    void intrinsicValueIsNeverNegative() {
+        assertThat(PrimitivePricing.optionIntrinsicValue(true, 110.0, 100.0)).isEqualTo(10.0);
+        assertThat(PrimitivePricing.optionIntrinsicValue(true, 90.0, 100.0)).isEqualTo(0.0);
+        assertThat(PrimitivePricing.optionIntrinsicValue(false, 90.0, 100.0)).isEqualTo(10.0);
+        assertThat(PrimitivePricing.optionIntrinsicValue(false, 110.0, 100.0)).isEqualTo(0.0);
+        assertThat(PrimitivePricing.optionIntrinsicValue(true, 100.0, 100.0)).isEqualTo(0.0);
+    }
+}
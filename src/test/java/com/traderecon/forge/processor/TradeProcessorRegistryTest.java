@@ -0,0 +1,81 @@
+package com.traderecon.forge.processor;
+
+import io.annapurna.model.CreditDefaultSwap;
+import io.annapurna.model.EquityOption;
+import io.annapurna.model.EquitySwap;
+import io.annapurna.model.FXForward;
+import io.annapurna.model.InterestRateSwap;
+import io.annapurna.model.Trade;
+import io.annapurna.model.TradeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class TradeProcessorRegistryTest {
+
+    @Test
+    void looksUpProcessorsByTypeAndClass() {
+        List<TradeProcessor> processors = allProcessors();
+        TradeProcessorRegistry registry = new TradeProcessorRegistry(processors);
+
+        assertThat(registry.tradeTypes()).isEqualTo(EnumSet.allOf(TradeType.class));
+        assertThat(registry.processorFor(TradeType.FX_FORWARD)).isSameAs(processors.get(2));
+        assertThat(registry.tradeClass(TradeType.CREDIT_DEFAULT_SWAP)).isEqualTo(CreditDefaultSwap.class);
+        assertThat(registry.tradeType(EquityOption.class)).isEqualTo(TradeType.EQUITY_OPTION);
+        assertThatThrownBy(() -> registry.tradeType(Trade.class)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.tradeTypes().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void duplicateProcessorsFailStartup() {
+        List<TradeProcessor> processors = allProcessors();
+        processors.add(processor(TradeType.FX_FORWARD, FXForward.class));
+
+        assertThatThrownBy(() -> new TradeProcessorRegistry(processors))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Duplicate processors for trade type FX_FORWARD");
+    }
+
+    @Test
+    void aClassClaimedByTwoTypesFailsStartup() {
+        List<TradeProcessor> processors = allProcessors();
+        processors.set(1, processor(TradeType.EQUITY_SWAP, InterestRateSwap.class));
+
+        assertThatThrownBy(() -> new TradeProcessorRegistry(processors))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("InterestRateSwap");
+    }
+
+    @Test
+    void aTradeTypeWithoutProcessorFailsStartup() {
+        List<TradeProcessor> processors = allProcessors();
+        processors.remove(4);
+
+        assertThatThrownBy(() -> new TradeProcessorRegistry(processors))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("CREDIT_DEFAULT_SWAP");
+    }
+
+    private static List<TradeProcessor> allProcessors() {
+        return new ArrayList<>(List.of(
+                processor(TradeType.INTEREST_RATE_SWAP, InterestRateSwap.class),
+                processor(TradeType.EQUITY_SWAP, EquitySwap.class),
+                processor(TradeType.FX_FORWARD, FXForward.class),
+                processor(TradeType.EQUITY_OPTION, EquityOption.class),
+                processor(TradeType.CREDIT_DEFAULT_SWAP, CreditDefaultSwap.class)));
+    }
+
+    private static TradeProcessor processor(TradeType tradeType, Class<? extends Trade> tradeClass) {
+        TradeProcessor processor = mock(TradeProcessor.class);
+        doReturn(tradeType).when(processor).tradeType();
+        doReturn(tradeClass).when(processor).tradeClass();
+        return processor;
+    }
+}
@@ -0,0 +1,203 @@
+package com.traderecon.forge.refdata;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import io.annapurna.model.CreditDefaultSwap;
+import io.annapurna.model.EquityOption;
+import io.annapurna.model.FXForward;
+import io.annapurna.model.InterestRateSwap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SymbolDictionaryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void spellingsOfOneNameShareAnId() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment());
+
+        Symbol aapl = dictionary.symbol(SymbolKind.TICKER, "AAPL");
+        Symbol msft = dictionary.symbol(SymbolKind.TICKER, "MSFT");
+
+        assertThat(aapl.id()).isEqualTo(0);
+        assertThat(msft.id()).isEqualTo(1);
+        assertThat(dictionary.symbol(SymbolKind.TICKER, " aapl ")).isSameAs(aapl);
+        assertThat(dictionary.symbol(SymbolKind.TICKER, "Aapl")).isSameAs(aapl);
+        assertThat(aapl.name()).isEqualTo("AAPL");
+        assertThat(aapl.kind()).isEqualTo(SymbolKind.TICKER);
+    }
+
+    @Test
+    void counterpartiesKeepTheirCase() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment());
+
+        Symbol upper = dictionary.symbol(SymbolKind.COUNTERPARTY, "Goldman Sachs");
+        Symbol lower = dictionary.symbol(SymbolKind.COUNTERPARTY, "goldman sachs");
+
+        assertThat(dictionary.symbol(SymbolKind.COUNTERPARTY, "  Goldman Sachs ")).isSameAs(upper);
+        assertThat(lower.id()).isNotEqualTo(upper.id());
+        assertThat(lower.name()).isEqualTo("goldman sachs");
+    }
+
+    @Test
+    void kindsHaveSeparateIdSpaces() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment());
+
+        Symbol ticker = dictionary.symbol(SymbolKind.TICKER, "SOFR");
+        Symbol index = dictionary.symbol(SymbolKind.RATE_INDEX, "SOFR");
+
+        assertThat(ticker.id()).isZero();
+        assertThat(index.id()).isZero();
+        assertThat(ticker).isNotEqualTo(index);
+        assertThat(gauge("ticker")).isEqualTo(1.0);
+        assertThat(gauge("currency-pair")).isZero();
+    }
+
+    @Test
+    void aliasesMapToTheirCanonicalName() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment()
+                .withProperty("processing.symbols.aliases.rate-index", "USD-SOFR:SOFR, libor3m:LIBOR")
+                .withProperty("processing.symbols.aliases.counterparty", "GS:Goldman Sachs"));
+
+        Symbol sofr = dictionary.symbol(SymbolKind.RATE_INDEX, "usd-sofr");
+
+        assertThat(sofr.name()).isEqualTo("SOFR");
+        assertThat(dictionary.symbol(SymbolKind.RATE_INDEX, "SOFR")).isSameAs(sofr);
+        assertThat(dictionary.symbol(SymbolKind.RATE_INDEX, "LIBOR3M").name()).isEqualTo("LIBOR");
+        assertThat(dictionary.symbol(SymbolKind.COUNTERPARTY, "GS").name()).isEqualTo("Goldman Sachs");
+        assertThat(gauge("rate-index")).isEqualTo(2.0);
+    }
+
+    @Test
+    void malformedAliasesAreRejected() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("processing.symbols.aliases.ticker", "GOOGL");
+
+        assertThatThrownBy(() -> dictionary(environment))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ticker");
+    }
+
+    @Test
+    void findDoesNotIntern() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment()
+                .withProperty("processing.symbols.aliases.currency-pair", "EURUSD:EUR/USD"));
+
+        assertThat(dictionary.find(SymbolKind.CURRENCY_PAIR, "EUR/USD")).isNull();
+        assertThat(dictionary.find(SymbolKind.CURRENCY_PAIR, null)).isNull();
+
+        Symbol pair = dictionary.symbol(SymbolKind.CURRENCY_PAIR, "EUR/USD");
+
+        assertThat(dictionary.find(SymbolKind.CURRENCY_PAIR, "eur/usd")).isSameAs(pair);
+        assertThat(dictionary.find(SymbolKind.CURRENCY_PAIR, "EURUSD")).isSameAs(pair);
+        assertThat(dictionary.find(SymbolKind.CURRENCY_PAIR, "GBP/USD")).isNull();
+        assertThat(gauge("currency-pair")).isEqualTo(1.0);
+    }
+
+    @Test
+    void nullAndBlankNamesHaveNoSymbol() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment());
+
+        assertThat(dictionary.symbol(SymbolKind.TICKER, null)).isNull();
+        assertThat(dictionary.symbol(SymbolKind.TICKER, "   ")).isNull();
+        assertThat(gauge("ticker")).isZero();
+    }
+
+    @Test
+    void fullDictionariesStillNormalizeButAssignNoId() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment()
+                .withProperty("processing.symbols.max-per-kind", "2"));
+
+        Symbol aapl = dictionary.symbol(SymbolKind.TICKER, "AAPL");
+        assertThat(dictionary.symbol(SymbolKind.TICKER, "aapl")).isSameAs(aapl);
+
+        Symbol overflow = dictionary.symbol(SymbolKind.TICKER, " msft");
+
+        assertThat(overflow.id()).isEqualTo(Symbol.NO_ID);
+        assertThat(overflow.name()).isEqualTo("MSFT");
+        assertThat(dictionary.symbol(SymbolKind.TICKER, "Aapl")).isSameAs(aapl);
+        assertThat(Symbol.lookup(new String[]{"apple"}, overflow)).isNull();
+        assertThat(gauge("ticker")).isEqualTo(1.0);
+    }
+
+    @Test
+    void tradesResolveTheSymbolsTheyCarry() {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment());
+
+        InterestRateSwap swap = new InterestRateSwap();
+        swap.setCounterparty("Barclays");
+        swap.setFloatingRateIndex("sofr");
+        EquityOption option = new EquityOption();
+        option.setCounterparty("Barclays");
+        option.setUnderlyingAsset("nvda");
+        FXForward forward = new FXForward();
+        forward.setCurrencyPair("gbp/usd");
+        CreditDefaultSwap cds = new CreditDefaultSwap();
+        cds.setCounterparty("JP Morgan");
+
+        TradeSymbols swapSymbols = dictionary.resolve(swap);
+        TradeSymbols optionSymbols = dictionary.resolve(option);
+        TradeSymbols forwardSymbols = dictionary.resolve(forward);
+        TradeSymbols cdsSymbols = dictionary.resolve(cds);
+
+        assertThat(swapSymbols.rateIndex().name()).isEqualTo("SOFR");
+        assertThat(swapSymbols.ticker()).isNull();
+        assertThat(optionSymbols.counterparty()).isSameAs(swapSymbols.counterparty());
+        assertThat(optionSymbols.ticker().name()).isEqualTo("NVDA");
+        assertThat(forwardSymbols.counterparty()).isNull();
+        assertThat(forwardSymbols.currencyPair().name()).isEqualTo("GBP/USD");
+        assertThat(cdsSymbols.counterparty().name()).isEqualTo("JP Morgan");
+        assertThat(cdsSymbols.rateIndex()).isNull();
+    }
+
+    @Test
+    void concurrentInterningAssignsEachNameOneId() throws InterruptedException {
+        SymbolDictionary dictionary = dictionary(new MockEnvironment());
+        Set<Symbol> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String spelling = t % 2 == 0 ? "cp-%d" : " CP-%d ";
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    seen.add(dictionary.symbol(SymbolKind.TICKER, String.format(spelling, i)));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(seen).hasSize(500);
+        assertThat(seen).extracting(Symbol::id).doesNotHaveDuplicates().allMatch(id -> id >= 0 && id < 500);
+        assertThat(gauge("ticker")).isEqualTo(500.0);
+    }
+
+    private SymbolDictionary dictionary(MockEnvironment environment) {
+        return new SymbolDictionary(environment, new ProcessingMetrics(registry));
+    }
+
+    private double gauge(String kind) {
+        return registry.get("trade_symbols_interned").tag("kind", kind).gauge().value();
+    }
+}
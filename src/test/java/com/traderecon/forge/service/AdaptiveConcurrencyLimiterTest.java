@@ -0,0 +1,147 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.TradePriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final List<String> started = new ArrayList<>();
+    private final List<CompletableFuture<String>> running = new ArrayList<>();
+
+    @Test
+    void tasksOverTheLimitWaitForASlot() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 10, 50, 0.9);
+
+        CompletableFuture<String> first = limiter.submit(TradePriority.NORMAL, task("a"));
+        limiter.submit(TradePriority.NORMAL, task("b"));
+        CompletableFuture<String> third = limiter.submit(TradePriority.NORMAL, task("c"));
+
+        assertThat(started).containsExactly("a", "b");
+        assertThat(limiter.getQueued()).isEqualTo(1);
+
+        running.get(0).complete("a");
+
+        assertThat(first).isCompletedWithValue("a");
+        assertThat(started).containsExactly("a", "b", "c");
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(third).isNotDone();
+    }
+
+    @Test
+    void tasksBeyondTheQueueAreRejected() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 50, 0.9);
+
+        limiter.submit(TradePriority.NORMAL, task("a"));
+        limiter.submit(TradePriority.NORMAL, task("b"));
+        CompletableFuture<String> rejected = limiter.submit(TradePriority.NORMAL, task("c"));
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(rejected.handle((value, error) -> error).join())
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(started).containsExactly("a");
+    }
+
+    @Test
+    void waitingTasksStartByPriority() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 10, 50, 0.9);
+
+        limiter.submit(TradePriority.NORMAL, task("running"));
+        limiter.submit(TradePriority.NORMAL, task("normal"));
+        limiter.submit(TradePriority.URGENT, task("urgent"));
+        limiter.submit(TradePriority.HIGH, task("high"));
+
+        running.get(0).complete("done");
+        running.get(1).complete("done");
+        running.get(2).complete("done");
+
+        assertThat(started).containsExactly("running", "urgent", "high", "normal");
+    }
+
+    @Test
+    void timeoutsCutTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 10, 1, 0.5);
+
+        limiter.submit(TradePriority.NORMAL, task("a"));
+        running.get(0).completeExceptionally(new TimeoutException("deadline"));
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void limitDoesNotFallBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 2, 2, 10, 10, 1, 2.0, 0.1, 60_000,
+                metrics());
+
+        limiter.submit(TradePriority.NORMAL, task("a"));
+        running.get(0).completeExceptionally(new TimeoutException("deadline"));
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void saturatedHealthyWindowsGrowTheLimitUpToTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(true, 1, 1, 2, 10, 1, 1_000.0, 0.9,
+                60_000, metrics());
+
+        limiter.submit(TradePriority.NORMAL, task("a"));
+        limiter.submit(TradePriority.NORMAL, task("b"));
+        running.get(0).complete("a");
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.submit(TradePriority.NORMAL, task("c"));
+        limiter.submit(TradePriority.NORMAL, task("d"));
+        running.get(1).complete("b");
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void unsaturatedWindowsLeaveTheLimitAlone() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 10, 1, 0.9);
+
+        limiter.submit(TradePriority.NORMAL, task("a"));
+        running.get(0).complete("a");
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void disabledLimiterRunsEverythingImmediately() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(false, 1, 1, 1, 0, 1, 2.0, 0.9, 500,
+                metrics());
+
+        for (int i = 0; i < 5; i++) {
+            limiter.submit(TradePriority.NORMAL, task("t" + i));
+        }
+
+        assertThat(started).hasSize(5);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int limit, int maxQueued, int sampleWindow, double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter(true, limit, 1, 16, maxQueued, sampleWindow, 2.0, backoffRatio,
+                60_000, metrics());
+    }
+
+    private Supplier<CompletableFuture<String>> task(String name) {
+        return () -> {
+            started.add(name);
+            CompletableFuture<String> future = new CompletableFuture<>();
+            running.add(future);
+            return future;
+        };
+    }
+
+    private static ProcessingMetrics metrics() {
+        return new ProcessingMetrics(new SimpleMeterRegistry());
+    }
+}
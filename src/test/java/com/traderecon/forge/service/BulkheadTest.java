@@ -0,0 +1,106 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.model.TradePriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    private final List<String> started = new ArrayList<>();
+    private final List<CompletableFuture<String>> running = new ArrayList<>();
+    private final AtomicInteger rejections = new AtomicInteger();
+
+    @Test
+    void tasksOverTheQuotaWaitForASlot() {
+        Bulkhead bulkhead = new Bulkhead("options", 2, 10, 60_000, rejections::incrementAndGet);
+
+        bulkhead.submit(TradePriority.NORMAL, task("a"));
+        bulkhead.submit(TradePriority.NORMAL, task("b"));
+        bulkhead.submit(TradePriority.NORMAL, task("c"));
+
+        assertThat(started).containsExactly("a", "b");
+        assertThat(bulkhead.getActive()).isEqualTo(2);
+        assertThat(bulkhead.getQueued()).isEqualTo(1);
+        assertThat(bulkhead.getSaturation()).isEqualTo(1.0);
+
+        running.get(1).complete("b");
+
+        assertThat(started).containsExactly("a", "b", "c");
+        assertThat(bulkhead.getActive()).isEqualTo(2);
+        assertThat(bulkhead.getQueued()).isZero();
+    }
+
+    @Test
+    void aFullQueueRejectsAndReports() {
+        Bulkhead bulkhead = new Bulkhead("options", 1, 1, 60_000, rejections::incrementAndGet);
+
+        bulkhead.submit(TradePriority.NORMAL, task("a"));
+        bulkhead.submit(TradePriority.NORMAL, task("b"));
+        CompletableFuture<String> rejected = bulkhead.submit(TradePriority.URGENT, task("c"));
+
+        assertThat(rejected.handle((value, error) -> error).join())
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("options");
+        assertThat(rejections).hasValue(1);
+        assertThat(started).containsExactly("a");
+    }
+
+    @Test
+    void queuedTasksStartByPriority() {
+        Bulkhead bulkhead = new Bulkhead("swaps", 1, 10, 60_000, rejections::incrementAndGet);
+
+        bulkhead.submit(TradePriority.NORMAL, task("running"));
+        bulkhead.submit(TradePriority.NORMAL, task("normal"));
+        bulkhead.submit(TradePriority.HIGH, task("high"));
+
+        running.get(0).complete("done");
+        running.get(1).complete("done");
+
+        assertThat(started).containsExactly("running", "high", "normal");
+    }
+
+    @Test
+    void resultsAndFailuresArePassedThrough() {
+        Bulkhead bulkhead = new Bulkhead("fx", 2, 0, 60_000, rejections::incrementAndGet);
+
+        CompletableFuture<String> ok = bulkhead.submit(TradePriority.NORMAL, task("ok"));
+        CompletableFuture<String> failed = bulkhead.submit(TradePriority.NORMAL, task("failed"));
+        running.get(0).complete("priced");
+        running.get(1).completeExceptionally(new IllegalStateException("no curve"));
+
+        assertThat(ok).isCompletedWithValue("priced");
+        assertThat(failed.handle((value, error) -> error).join()).isInstanceOf(IllegalStateException.class);
+        assertThat(bulkhead.getActive()).isZero();
+    }
+
+    @Test
+    void aTaskThatThrowsReleasesItsSlot() {
+        Bulkhead bulkhead = new Bulkhead("cds", 1, 0, 60_000, rejections::incrementAndGet);
+
+        CompletableFuture<String> thrown = bulkhead.submit(TradePriority.NORMAL, () -> {
+            throw new IllegalArgumentException("bad trade");
+        });
+
+        assertThat(thrown).isCompletedExceptionally();
+        assertThat(bulkhead.getActive()).isZero();
+        bulkhead.submit(TradePriority.NORMAL, task("next"));
+        assertThat(started).containsExactly("next");
+    }
+
+    private Supplier<CompletableFuture<String>> task(String name) {
+        return () -> {
+            started.add(name);
+            CompletableFuture<String> future = new CompletableFuture<>();
+            running.add(future);
+            return future;
+        };
+    }
+}
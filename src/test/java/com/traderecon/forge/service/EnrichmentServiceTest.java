@@ -0,0 +1,174 @@
+package com.traderecon.forge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traderecon.forge.exception.ValidationException;
+import com.traderecon.forge.marketdata.HistoricalMarketData;
+import com.traderecon.forge.marketdata.MarketDataStore;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.Deadline;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradeContext;
+import com.traderecon.forge.processor.AbstractTradeProcessor;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import io.annapurna.model.FXForward;
+import io.annapurna.model.Trade;
+import io.annapurna.model.TradeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrichmentServiceTest {
+
+    private static final String MARKET_DATA = """
+            {"rates": {"SOFR": %s}, "counterpartyTiers": {"UBS": "TIER_2"}}
+            """;
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessingMetrics metrics = new ProcessingMetrics(registry);
+    private final SymbolDictionary symbols = new SymbolDictionary(new MockEnvironment(), metrics);
+    private MarketDataStore store;
+    private EnrichmentService enrichmentService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        write(MARKET_DATA.formatted("5.30"));
+        store = new MarketDataStore(new DefaultResourceLoader(), new ObjectMapper(), symbols, metrics,
+                directory.resolve("market-data.json").toUri().toString(), 0);
+        enrichmentService = new EnrichmentService(store,
+                new HistoricalMarketData(false, directory.toString(), symbols, metrics), symbols, metrics);
+    }
+
+    @AfterEach
+    void shutdown() {
+        store.shutdown();
+    }
+
+    @Test
+    void missingKeysFallBackAndAreCountedByKind() {
+        TradeContext known = context("UBS");
+        TradeContext unknown = context("Unknown Bank");
+
+        assertThat(enrichmentService.getSpread(known, known.getSymbols().counterparty(), BigDecimal.ONE))
+                .isEqualByComparingTo("100");
+        assertThat(enrichmentService.getSpread(unknown, unknown.getSymbols().counterparty(), BigDecimal.ONE))
+                .isEqualByComparingTo("200");
+        assertThat(enrichmentService.getRateByIndex("EURIBOR")).isEqualByComparingTo("5.00");
+        assertThat(enrichmentService.getSofrRate(known)).isEqualByComparingTo("5.30");
+
+        assertThat(misses("counterparty_tier")).isEqualTo(1.0);
+        assertThat(misses("rate")).isEqualTo(1.0);
+    }
+
+    @Test
+    void aTradeIsEnrichedFromOneVersionThroughout() throws IOException {
+        TradeContext context = context("UBS");
+        assertThat(enrichmentService.getSofrRate(context)).isEqualByComparingTo("5.30");
+
+        write(MARKET_DATA.formatted("5.25"));
+        store.reload();
+
+        assertThat(enrichmentService.getSofrRate(context)).isEqualByComparingTo("5.30");
+        assertThat(context.getMarketData().getVersion()).isEqualTo(1);
+        assertThat(enrichmentService.getSofrRate(context("UBS"))).isEqualByComparingTo("5.25");
+    }
+
+    @Test
+    void resultsCarryTheVersionTheTradeWasEnrichedFrom() throws IOException {
+        TradeContext first = context("UBS");
+        ProcessingResult success = new EnrichingProcessor(false).process(first);
+
+        write(MARKET_DATA.formatted("5.25"));
+        store.reload();
+        ProcessingResult failure = new EnrichingProcessor(true).process(context("UBS"));
+
+        assertThat(success.getStatus()).isEqualTo(ProcessingStatus.SUCCESS);
+        assertThat(success.getMarketDataVersion()).isEqualTo(1L);
+        assertThat(failure.getStatus()).isEqualTo(ProcessingStatus.PROCESSING_FAILED);
+        assertThat(failure.getMarketDataVersion()).isEqualTo(2L);
+        assertThat(new EnrichingProcessor(false) {
+            @Override
+            public void validate(TradeContext context) {
+                throw new ValidationException("rejected before enrichment");
+            }
+        }.process(context("UBS")).getMarketDataVersion()).isNull();
+    }
+
+    private TradeContext context(String counterparty) {
+        Trade trade = new FXForward();
+        trade.setTradeId("FX-1");
+        trade.setTradeType(TradeType.FX_FORWARD);
+        trade.setCounterparty(counterparty);
+        return new TradeContext(trade, symbols.resolve(trade), Deadline.after(Duration.ofSeconds(30)));
+    }
+
+    private void write(String content) throws IOException {
+        Files.writeString(directory.resolve("market-data.json"), content);
+    }
+
+    private double misses(String kind) {
+        return registry.get("trade_market_data_misses_total").tag("kind", kind).counter().count();
+    }
+
+    /**
+     * Enriches from the SOFR rate, then optionally fails pricing.
+     */
+    private class EnrichingProcessor extends AbstractTradeProcessor {
+
+        private final boolean failPricing;
+
+        EnrichingProcessor(boolean failPricing) {
+            this.failPricing = failPricing;
+        }
+
+        @Override
+        protected String productName() {
+            return "test trade";
+        }
+
+        @Override
+        public TradeType tradeType() {
+            return TradeType.FX_FORWARD;
+        }
+
+        @Override
+        public Class<? extends Trade> tradeClass() {
+            return FXForward.class;
+        }
+
+        @Override
+        public void validate(TradeContext context) {
+        }
+
+        @Override
+        public void enrich(TradeContext context) {
+            context.put("rate", enrichmentService.getSofrRate(context));
+        }
+
+        @Override
+        public void price(TradeContext context) {
+            if (failPricing) {
+                throw new IllegalStateException("pricing failed");
+            }
+        }
+
+        @Override
+        public void book(TradeContext context) {
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.ProcessedTradeKey;
+import com.traderecon.forge.repository.TradeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private final TradeRepository tradeRepository = mock(TradeRepository.class);
+
+    @Test
+    void bloomNegativesGoToTheDatabaseUntilWarm() {
+        IdempotencyFilter filter = filter(24);
+        when(tradeRepository.existsByTradeId("TRD-1")).thenReturn(true);
+
+        assertThat(filter.isDuplicate("TRD-1")).isTrue();
+        assertThat(filter.isDuplicate("TRD-2")).isFalse();
+        verify(tradeRepository).existsByTradeId("TRD-2");
+    }
+
+    @Test
+    void bloomNegativesAreFinalOnceWarm() {
+        IdempotencyFilter filter = filter(24);
+        when(tradeRepository.findProcessedSince(any(), any())).thenReturn(List.of());
+
+        filter.warmUp();
+
+        assertThat(filter.isDuplicate("TRD-1")).isFalse();
+        verify(tradeRepository, never()).existsByTradeId(anyString());
+    }
+
+    @Test
+    void warmUpPagesByKeyset() {
+        IdempotencyFilter filter = filter(24);
+        LocalDateTime processedAt = LocalDateTime.now().minusHours(1);
+        List<ProcessedTradeKey> firstPage = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            firstPage.add(new ProcessedTradeKey(processedAt, "TRD-%05d".formatted(i)));
+        }
+        when(tradeRepository.findProcessedSince(any(), any())).thenReturn(firstPage);
+        when(tradeRepository.findProcessedAfter(eq(processedAt), eq("TRD-09999"), any()))
+                .thenReturn(List.of(new ProcessedTradeKey(processedAt.plusSeconds(1), "TRD-LAST")));
+
+        filter.warmUp();
+
+        assertThat(filter.isDuplicate("TRD-00000")).isTrue();
+        assertThat(filter.isDuplicate("TRD-LAST")).isTrue();
+        assertThat(filter.isDuplicate("TRD-NEW")).isFalse();
+    }
+
+    @Test
+    void failedWarmUpLeavesTheFilterCold() {
+        IdempotencyFilter filter = filter(24);
+        when(tradeRepository.findProcessedSince(any(), any())).thenThrow(new IllegalStateException("db down"));
+        when(tradeRepository.existsByTradeId("TRD-1")).thenReturn(true);
+
+        filter.warmUp();
+
+        assertThat(filter.isDuplicate("TRD-1")).isTrue();
+    }
+
+    @Test
+    void markedTradesAreDuplicatesWithoutTheDatabase() {
+        IdempotencyFilter filter = filter(24);
+        filter.markProcessed("TRD-1");
+
+        assertThat(filter.isDuplicate("TRD-1")).isTrue();
+        verify(tradeRepository, never()).existsByTradeId(anyString());
+    }
+
+    @Test
+    void rotationKeepsOnePreviousGeneration() {
+        // A zero window rotates on every call
+        IdempotencyFilter filter = filter(0);
+        when(tradeRepository.findProcessedSince(any(), any())).thenReturn(List.of());
+        filter.warmUp();
+
+        filter.markProcessed("TRD-1");
+        // Rotated once: TRD-1 is in the previous generation
+        assertThat(filter.isDuplicate("TRD-1")).isTrue();
+
+        // Rotated twice more: the generation holding TRD-1 has aged out of the window
+        filter.markProcessed("TRD-2");
+        assertThat(filter.isDuplicate("TRD-1")).isFalse();
+        verify(tradeRepository, never()).existsByTradeId(anyString());
+    }
+
+    private IdempotencyFilter filter(long windowHours) {
+        return new IdempotencyFilter(tradeRepository, new ProcessingMetrics(new SimpleMeterRegistry()), true,
+                100_000, 0.001, windowHours, 20_000);
+    }
+}
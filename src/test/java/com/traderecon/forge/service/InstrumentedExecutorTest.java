@@ -0,0 +1,100 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // One thread and one queue slot: a third concurrent task is rejected
+    private final InstrumentedExecutor executor = new InstrumentedExecutor("fixed",
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1)),
+            new ProcessingMetrics(registry));
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void countsQueuedAndActiveTasks() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+            done.countDown();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(done::countDown);
+
+        assertThat(executor.getActiveCount()).isEqualTo(1);
+        assertThat(executor.getQueued()).isEqualTo(1);
+        assertThat(registry.get("trade_executor_active").tag("strategy", "fixed").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getQueued()).isZero();
+    }
+
+    @Test
+    void recordsHowLongEachTaskWaited() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+
+        executor.execute(() -> {
+            await(release);
+            done.countDown();
+        });
+        executor.execute(done::countDown);
+        Thread.sleep(50);
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var queueWait = registry.get("trade_executor_queue_wait").timer();
+        assertThat(queueWait.count()).isEqualTo(2);
+        assertThat(queueWait.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(40.0);
+    }
+
+    @Test
+    void rejectionsAreCountedAndRethrown() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(() -> {
+        });
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(registry.get("trade_executor_rejections_total").tag("strategy", "fixed").counter().count())
+                .isEqualTo(1.0);
+        assertThat(executor.getQueued()).isEqualTo(1);
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
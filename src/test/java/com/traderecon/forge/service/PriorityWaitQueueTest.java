@@ -0,0 +1,81 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.model.TradePriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityWaitQueueTest {
+
+    private final List<String> ran = new ArrayList<>();
+
+    @Test
+    void higherClassesAreServedFirst() {
+        PriorityWaitQueue queue = new PriorityWaitQueue(60_000);
+        queue.add(TradePriority.NORMAL, task("normal"));
+        queue.add(TradePriority.HIGH, task("high"));
+        queue.add(TradePriority.URGENT, task("urgent"));
+
+        drain(queue);
+
+        assertThat(ran).containsExactly("urgent", "high", "normal");
+    }
+
+    @Test
+    void eachClassIsFirstInFirstOut() {
+        PriorityWaitQueue queue = new PriorityWaitQueue(60_000);
+        queue.add(TradePriority.HIGH, task("high-1"));
+        queue.add(TradePriority.NORMAL, task("normal-1"));
+        queue.add(TradePriority.HIGH, task("high-2"));
+        queue.add(TradePriority.NORMAL, task("normal-2"));
+
+        drain(queue);
+
+        assertThat(ran).containsExactly("high-1", "high-2", "normal-1", "normal-2");
+    }
+
+    @Test
+    void waitingTasksAgeIntoHigherClasses() throws InterruptedException {
+        PriorityWaitQueue queue = new PriorityWaitQueue(20);
+        queue.add(TradePriority.NORMAL, task("old-normal"));
+        // Two aging intervals: competes with fresh URGENT trades and wins on age
+        Thread.sleep(70);
+        queue.add(TradePriority.URGENT, task("urgent"));
+        queue.add(TradePriority.HIGH, task("high"));
+
+        drain(queue);
+
+        assertThat(ran.get(0)).isEqualTo("old-normal");
+    }
+
+    @Test
+    void withoutAgingStrictPriorityApplies() throws InterruptedException {
+        PriorityWaitQueue queue = new PriorityWaitQueue(0);
+        queue.add(TradePriority.NORMAL, task("old-normal"));
+        Thread.sleep(20);
+        queue.add(TradePriority.URGENT, task("urgent"));
+
+        drain(queue);
+
+        assertThat(ran).containsExactly("urgent", "old-normal");
+    }
+
+    @Test
+    void emptyQueueReturnsNull() {
+        assertThat(new PriorityWaitQueue(500).poll()).isNull();
+    }
+
+    private Runnable task(String name) {
+        return () -> ran.add(name);
+    }
+
+    private static void drain(PriorityWaitQueue queue) {
+        Runnable next;
+        while ((next = queue.poll()) != null) {
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.model.ProcessingResult;
+import com.traderecon.forge.model.ProcessingStatus;
+import com.traderecon.forge.model.TradePriority;
+import com.traderecon.forge.pipeline.StagedTradePipeline;
+import com.traderecon.forge.processor.TradeProcessor;
+import com.traderecon.forge.processor.TradeProcessorRegistry;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import io.annapurna.model.FXForward;
+import io.annapurna.model.Trade;
+import io.annapurna.model.TradeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TradeProcessingServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProcessingMetrics metrics = new ProcessingMetrics(registry);
+    private final ExecutorService threads = Executors.newFixedThreadPool(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AdaptiveConcurrencyLimiter limiter = mock(AdaptiveConcurrencyLimiter.class);
+    private final TradeProcessingService service = service(null, 30, 0);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    void tradesTurnedAwayByAFullBulkheadAreRejectedNotFailed() throws Exception {
+        CompletableFuture<ProcessingResult> running = service.processAsync(trade("FX-1"));
+
+        ProcessingResult rejected = service.processAsync(trade("FX-2")).get(5, TimeUnit.SECONDS);
+
+        assertThat(rejected.getStatus()).isEqualTo(ProcessingStatus.REJECTED);
+        assertThat(rejected.getStatus().isRetryable()).isTrue();
+        assertThat(service.getRejectedCount()).isEqualTo(1);
+        assertThat(registry.get("trade_bulkhead_rejections_total").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(ProcessingStatus.SUCCESS);
+        assertThat(service.getRejectedCount()).isEqualTo(1);
+        assertThat(service.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void tradesTurnedAwayByAFullPipelineStageAreRejectedNotFailed() throws Exception {
+        StagedTradePipeline pipeline = mock(StagedTradePipeline.class);
+        when(pipeline.submit(any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new RejectedExecutionException("Pipeline stage validate is full")));
+
+        TradeProcessingService staged = service(pipeline, 30, 0);
+        ProcessingResult rejected = staged.processAsync(trade("FX-1")).get(5, TimeUnit.SECONDS);
+
+        assertThat(rejected.getStatus()).isEqualTo(ProcessingStatus.REJECTED);
+        assertThat(staged.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void theDeadlineRunsOutWhileATradeIsStillQueued() throws Exception {
+        TradeProcessingService queueing = service(null, 1, 0);
+        // Never admitted under the concurrency limit
+        doReturn(new CompletableFuture<>()).when(limiter).submit(any(), any());
+
+        ProcessingResult queued = queueing.processAsync(trade("FX-1")).get(5, TimeUnit.SECONDS);
+
+        assertThat(queued.getStatus()).isEqualTo(ProcessingStatus.TIMEOUT);
+        assertThat(registry.get("trades_timeout_total").counter().count()).isEqualTo(1.0);
+        assertThat(queueing.getInFlightCount()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TradeProcessingService service(StagedTradePipeline stagedPipeline, int timeoutSeconds, int maxQueued) {
+        TradeProcessor processor = mock(TradeProcessor.class);
+        when(processor.process(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ProcessingResult.success("FX-1");
+        });
+        TradeProcessorRegistry processors = mock(TradeProcessorRegistry.class);
+        when(processors.processorFor(TradeType.FX_FORWARD)).thenReturn(processor);
+
+        doAnswer(invocation -> invocation.<Supplier<CompletableFuture<ProcessingResult>>>getArgument(1).get())
+                .when(limiter).submit(any(), any());
+        TradePrioritizer prioritizer = mock(TradePrioritizer.class);
+        when(prioritizer.classify(any())).thenReturn(TradePriority.NORMAL);
+        ObjectProvider<StagedTradePipeline> pipeline = mock(ObjectProvider.class);
+        when(pipeline.getIfAvailable()).thenReturn(stagedPipeline);
+
+        TradeBulkheads bulkheads = new TradeBulkheads(new MockEnvironment()
+                .withProperty("processing.bulkheads.default.max-concurrent", "1")
+                .withProperty("processing.bulkheads.default.max-queued", String.valueOf(maxQueued)), metrics);
+
+        return new TradeProcessingService(processors, new InstrumentedExecutor("fixed", threads, metrics),
+                timeoutSeconds,
+                metrics, limiter, bulkheads, prioritizer, new SymbolDictionary(new MockEnvironment(), metrics),
+                pipeline);
+    }
+
+    private static Trade trade(String tradeId) {
+        FXForward trade = new FXForward();
+        trade.setTradeId(tradeId);
+        trade.setTradeType(TradeType.FX_FORWARD);
+        return trade;
+    }
+}
@@ -0,0 +1,119 @@
+package com.traderecon.forge.service;
+
+import com.traderecon.forge.exception.ValidationException;
+import com.traderecon.forge.fx.FxMarketCache;
+import com.traderecon.forge.metrics.ProcessingMetrics;
+import com.traderecon.forge.refdata.SymbolDictionary;
+import io.annapurna.model.Currency;
+import io.annapurna.model.FXForward;
+import io.annapurna.model.InterestRateSwap;
+import io.annapurna.model.Trade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ValidationServiceTest {
+
+    private static final Set<String> CURVE_CURRENCIES = Set.of("USD", "EUR", "GBP", "JPY", "CHF", "AUD");
+
+    private final SymbolDictionary symbols = new SymbolDictionary(new MockEnvironment(),
+            new ProcessingMetrics(new SimpleMeterRegistry()));
+    private final ValidationService validationService = new ValidationService(fxMarketCache());
+
+    @Test
+    void fxForwardsOnSupportedCurrenciesPass() {
+        FXForward forward = forward("EUR/USD");
+        forward.setBaseCurrency(Currency.EUR);
+        forward.setQuoteCurrency(Currency.USD);
+
+        assertThatCode(() -> validationService.validateFXForward(forward, symbols.resolve(forward)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void fxForwardsOnCurrenciesWithoutACurveAreRejected() {
+        FXForward forward = forward("USD/CAD");
+
+        assertThatThrownBy(() -> validationService.validateFXForward(forward, symbols.resolve(forward)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("CAD");
+    }
+
+    @Test
+    void fxCurrenciesMustMatchThePair() {
+        FXForward forward = forward("EUR/USD");
+        forward.setQuoteCurrency(Currency.GBP);
+
+        assertThatThrownBy(() -> validationService.validateFXForward(forward, symbols.resolve(forward)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Quote currency");
+    }
+
+    @Test
+    void swapsWithUnknownConventionsAreRejected() {
+        InterestRateSwap swap = swap();
+        assertThatCode(() -> validationService.validateInterestRateSwap(swap, symbols.resolve(swap)))
+                .doesNotThrowAnyException();
+
+        swap.setDirection("BUY");
+        assertThatThrownBy(() -> validationService.validateInterestRateSwap(swap, symbols.resolve(swap)))
+                .isInstanceOf(ValidationException.class);
+
+        InterestRateSwap frequency = swap();
+        frequency.setFixedLegFrequency("WEEKLY");
+        assertThatThrownBy(() -> validationService.validateInterestRateSwap(frequency, symbols.resolve(frequency)))
+                .isInstanceOf(ValidationException.class);
+
+        InterestRateSwap dayCount = swap();
+        dayCount.setDayCountConvention("ACT/ACT");
+        assertThatThrownBy(() -> validationService.validateInterestRateSwap(dayCount, symbols.resolve(dayCount)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private static FXForward forward(String pair) {
+        FXForward forward = common(new FXForward());
+        forward.setCurrencyPair(pair);
+        forward.setForwardRate(new BigDecimal("1.08"));
+        forward.setMaturityDate(forward.getTradeDate().plusMonths(6));
+        return forward;
+    }
+
+    private static InterestRateSwap swap() {
+        InterestRateSwap swap = common(new InterestRateSwap());
+        swap.setFixedRate(new BigDecimal("4.25"));
+        swap.setFloatingRateIndex("SOFR");
+        swap.setDirection("PAY_FIXED");
+        swap.setEffectiveDate(swap.getTradeDate().plusDays(2));
+        swap.setMaturityDate(swap.getTradeDate().plusYears(5));
+        swap.setFixedLegFrequency("SEMI_ANNUAL");
+        swap.setFloatingLegFrequency("QUARTERLY");
+        swap.setDayCountConvention("ACT/360");
+        return swap;
+    }
+
+    private static <T extends Trade> T common(T trade) {
+        trade.setTradeId("T-1");
+        trade.setTradeDate(LocalDate.now().minusDays(1));
+        trade.setSettlementDate(LocalDate.now().plusDays(1));
+        trade.setCounterparty("Barclays");
+        trade.setNotional(new BigDecimal("1000000"));
+        trade.setCurrency(Currency.USD);
+        return trade;
+    }
+
+    private static FxMarketCache fxMarketCache() {
+        FxMarketCache cache = mock(FxMarketCache.class);
+        when(cache.supports(anyString())).thenAnswer(invocation -> CURVE_CURRENCIES.contains(invocation.<String>getArgument(0)));
+        return cache;
+    }
+}